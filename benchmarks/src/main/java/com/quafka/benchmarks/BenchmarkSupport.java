@@ -0,0 +1,78 @@
+package com.quafka.benchmarks;
+
+import com.quafka.config.LogConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark'ların ortak kullandığı yardımcı metotlar.
+ */
+final class BenchmarkSupport {
+    /** Yayınlama benchmark'larında disk dolmasın diye partition başına tutulan en fazla veri */
+    static final long RETENTION_BYTES = 256L * 1024 * 1024;
+    
+    private BenchmarkSupport() {
+    }
+    
+    /**
+     * Geçici bir log dizini için saklama sınırı hızla uygulanan yapılandırma oluşturur.
+     * @param logDir Log dizini
+     * @return Log yapılandırması
+     */
+    static LogConfig logConfig(Path logDir) {
+        return new LogConfig.Builder()
+            .withLogDir(logDir)
+            .withRetentionBytes(RETENTION_BYTES)
+            .withRetentionCheckIntervalMs(1000)
+            .withFileDeleteDelayMs(0)
+            .build();
+    }
+    
+    /**
+     * İşletim sisteminin boş bulduğu bir port döndürür; sunucu başlatılana kadar başka bir sürecin
+     * portu alması olasılığı göz ardı edilir.
+     * @return Port numarası
+     */
+    static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    static Path createLogDir() {
+        try {
+            return Files.createTempDirectory("quafka-bench");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    static void deleteRecursively(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    static byte[] value(int size) {
+        byte[] value = new byte[size];
+        for (int i = 0; i < size; i++) {
+            value[i] = (byte) ('a' + i % 26);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,147 @@
+package com.quafka.benchmarks;
+
+import com.quafka.config.ConnectionConfig;
+import com.quafka.config.ConsumerConfig;
+import com.quafka.config.ProducerConfig;
+import com.quafka.config.ServerConfig;
+import com.quafka.connection.impl.DefaultConnection;
+import com.quafka.consumer.impl.DefaultMessageConsumer;
+import com.quafka.producer.AckMode;
+import com.quafka.producer.impl.DefaultMessageProducer;
+import com.quafka.protocol.ProtocolType;
+import com.quafka.server.Server;
+import com.quafka.server.impl.DefaultServer;
+import com.quafka.server.impl.NioServer;
+import com.quafka.topic.TopicManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yerel bir sunucuya gerçek soket üzerinden üretici ve tüketici yolunu ölçer: üretim onayı gecikmesi,
+ * ardışık gönderim verimi ve üretimden tüketime tam tur. Sunucu boş bir portta başlatılır.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    private static final String TOPIC = "bench";
+    private static final int PIPELINE_DEPTH = 100;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    
+    @Param({"100", "1024"})
+    private int valueSize;
+    
+    @Param({"blocking", "nio"})
+    private String server;
+    
+    private Path logDir;
+    private int port;
+    private Server instance;
+    private DefaultConnection connection;
+    private DefaultMessageProducer producer;
+    private DefaultMessageConsumer consumer;
+    private byte[] value;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        logDir = BenchmarkSupport.createLogDir();
+        port = BenchmarkSupport.freePort();
+        ServerConfig serverConfig = new ServerConfig.Builder()
+            .withPort(port)
+            .withVirtualThreads(true)
+            .withLogConfig(BenchmarkSupport.logConfig(logDir))
+            .withDefaultPartitionCount(1)
+            .build();
+        instance = "nio".equals(server) ? new NioServer(serverConfig) : new DefaultServer(serverConfig);
+        instance.start();
+        
+        connection = new DefaultConnection(new ConnectionConfig.Builder()
+            .withPort(port)
+            .withProtocol(ProtocolType.BINARY)
+            .build());
+        connection.connect();
+        producer = new DefaultMessageProducer(connection, new ProducerConfig.Builder()
+            .withLingerMs(0)
+            .withAcks(AckMode.LEADER)
+            .build());
+        value = BenchmarkSupport.value(valueSize);
+        
+        // Topic oluşturulur ve tüketici gruba katılıp partition'ı alır
+        producer.send(TOPIC, 0, value).join();
+        consumer = new DefaultMessageConsumer(new ConsumerConfig.Builder()
+            .withPort(port)
+            .withGroupId("bench-group")
+            .withTopic(TOPIC)
+            .withPollTimeout(POLL_TIMEOUT.toMillis())
+            .build());
+        awaitRecords();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        consumer.close();
+        producer.close();
+        connection.close();
+        instance.stop();
+        BenchmarkSupport.deleteRecursively(logDir);
+    }
+    
+    /**
+     * Tek bir kaydın gönderilip lider onayının alınması.
+     */
+    @Benchmark
+    public TopicManager.PartitionOffset produceAck() {
+        return producer.send(TOPIC, 0, value).join();
+    }
+    
+    /**
+     * Onay beklemeden art arda gönderim; aynı partition'a giden istekler sırayla onaylandığından
+     * son isteğin onayı hepsinin tamamlandığını gösterir.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public TopicManager.PartitionOffset producePipelined() {
+        CompletableFuture<TopicManager.PartitionOffset> last = null;
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            last = producer.send(TOPIC, 0, value);
+        }
+        return last.join();
+    }
+    
+    /**
+     * Bir kaydın gönderilmesinden tüketici tarafından alınmasına kadar geçen süre.
+     */
+    @Benchmark
+    public int roundTrip() throws Exception {
+        producer.send(TOPIC, 0, value).join();
+        return awaitRecords();
+    }
+    
+    private int awaitRecords() throws Exception {
+        int count;
+        while ((count = consumer.poll(POLL_TIMEOUT).count()) == 0) {
+            // Sunucu FETCH isteğini veri gelene ya da süre dolana kadar bekletir
+        }
+        return count;
+    }
+}
@@ -0,0 +1,102 @@
+package com.quafka.benchmarks;
+
+import com.quafka.config.LogConfig;
+import com.quafka.storage.FileRegion;
+import com.quafka.storage.LogRecord;
+import com.quafka.topic.TopicManager;
+import com.quafka.topic.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset'e göre okuma yolunu ölçer: bellek halkasındaki son mesajlar, log'dan rastgele tekil ve toplu
+ * okuma ve sıfır kopya aktarım için dosya bölümü bulma.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PollBenchmark {
+    private static final String TOPIC = "bench";
+    private static final int RECORD_COUNT = 1_000_000;
+    private static final int FETCH_SIZE = 100;
+    
+    @Param({"100", "1024"})
+    private int valueSize;
+    
+    private Path logDir;
+    private TopicManager topicManager;
+    private TopicPartition partition;
+    private long cachedFrom;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        logDir = BenchmarkSupport.createLogDir();
+        // Okunan offset'ler ölçüm sırasında silinmesin diye saklama sınırı uygulanmaz
+        topicManager = new TopicManager(new LogConfig.Builder().withLogDir(logDir).build());
+        topicManager.createTopic(TOPIC, 1);
+        partition = topicManager.getPartition(TOPIC, 0);
+        
+        byte[] value = BenchmarkSupport.value(valueSize);
+        List<LogRecord> batch = new ArrayList<>(FETCH_SIZE);
+        for (int i = 0; i < FETCH_SIZE; i++) {
+            batch.add(LogRecord.of(null, value));
+        }
+        for (int i = 0; i < RECORD_COUNT / FETCH_SIZE; i++) {
+            partition.publish(batch);
+        }
+        // Bellek halkası en son eklenen mesajları tutar
+        cachedFrom = partition.getLastOffset() - 1024;
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        topicManager.close();
+        BenchmarkSupport.deleteRecursively(logDir);
+    }
+    
+    @Benchmark
+    public TopicPartition.MessageWithOffset pollCached() {
+        return partition.poll(cachedFrom + ThreadLocalRandom.current().nextInt(1024));
+    }
+    
+    @Benchmark
+    public TopicPartition.MessageWithOffset pollFromLog() {
+        return partition.poll(randomOldOffset());
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(FETCH_SIZE)
+    public List<TopicPartition.MessageWithOffset> pollBatchFromLog() {
+        return partition.poll(randomOldOffset(), FETCH_SIZE);
+    }
+    
+    @Benchmark
+    public FileRegion sliceFromLog() {
+        return partition.slice(randomOldOffset(), FETCH_SIZE, 1024 * 1024);
+    }
+    
+    private long randomOldOffset() {
+        return ThreadLocalRandom.current().nextLong(partition.getLogStartOffset(), cachedFrom - FETCH_SIZE);
+    }
+}
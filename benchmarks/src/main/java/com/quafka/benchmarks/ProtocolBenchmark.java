@@ -0,0 +1,142 @@
+package com.quafka.benchmarks;
+
+import com.quafka.compression.CompressionType;
+import com.quafka.group.GroupCoordinator;
+import com.quafka.group.OffsetStore;
+import com.quafka.producer.AckMode;
+import com.quafka.protocol.Frame;
+import com.quafka.protocol.FrameCodec;
+import com.quafka.protocol.OpCode;
+import com.quafka.protocol.ProtocolException;
+import com.quafka.protocol.WireFormat;
+import com.quafka.server.impl.MessageProcessor;
+import com.quafka.storage.LogRecord;
+import com.quafka.storage.RecordBatch;
+import com.quafka.topic.TopicManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tel protokolü ve sunucu tarafı istek işleme yolunu ağ olmadan ölçer: çerçeve kodlama/çözme,
+ * batch kodlama/çözme ve sıkıştırma, {@link MessageProcessor} üzerinden PRODUCE ve metin protokolü POLL.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProtocolBenchmark {
+    private static final String TOPIC = "bench";
+    private static final int RECORDS_PER_BATCH = 100;
+    
+    @Param({"100", "1024"})
+    private int valueSize;
+    
+    private Path logDir;
+    private TopicManager topicManager;
+    private GroupCoordinator groupCoordinator;
+    private MessageProcessor processor;
+    private List<LogRecord> records;
+    private ByteBuffer batch;
+    private Frame produceFrame;
+    private ByteBuffer encodedFrame;
+    private long pollRange;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        logDir = BenchmarkSupport.createLogDir();
+        topicManager = new TopicManager(BenchmarkSupport.logConfig(logDir));
+        topicManager.createTopic(TOPIC, 1);
+        groupCoordinator = new GroupCoordinator(topicManager, new OffsetStore(logDir));
+        processor = new MessageProcessor(topicManager, groupCoordinator);
+        
+        byte[] value = BenchmarkSupport.value(valueSize);
+        records = new ArrayList<>(RECORDS_PER_BATCH);
+        for (int i = 0; i < RECORDS_PER_BATCH; i++) {
+            records.add(LogRecord.of(("key-" + i).getBytes(), value));
+        }
+        batch = RecordBatch.encode(records);
+        
+        ByteBuffer payload = ByteBuffer.allocate(WireFormat.sizeOf(TOPIC) + 4 + 1 + 4 + batch.remaining());
+        WireFormat.putString(payload, TOPIC);
+        payload.putInt(0)
+            .put((byte) AckMode.LEADER.id())
+            .putInt(batch.remaining())
+            .put(batch.duplicate());
+        produceFrame = Frame.of(OpCode.PRODUCE, 1, payload.flip());
+        encodedFrame = FrameCodec.encode(produceFrame);
+        
+        for (int i = 0; i < 1000; i++) {
+            topicManager.publishBatch(TOPIC, 0, records);
+        }
+        pollRange = topicManager.getPartition(TOPIC, 0).getLastOffset();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processor.close();
+        groupCoordinator.close();
+        topicManager.close();
+        BenchmarkSupport.deleteRecursively(logDir);
+    }
+    
+    @Benchmark
+    public ByteBuffer encodeFrame() {
+        return FrameCodec.encode(produceFrame);
+    }
+    
+    @Benchmark
+    public Frame decodeFrame() throws ProtocolException {
+        return FrameCodec.decode(encodedFrame.duplicate());
+    }
+    
+    @Benchmark
+    public ByteBuffer encodeBatch() {
+        return RecordBatch.encode(records);
+    }
+    
+    @Benchmark
+    public List<LogRecord> decodeBatch() {
+        return new RecordBatch(batch.duplicate()).records();
+    }
+    
+    @Benchmark
+    public ByteBuffer compressBatchLz4() {
+        return RecordBatch.compress(batch.duplicate(), CompressionType.LZ4);
+    }
+    
+    /**
+     * PRODUCE isteğinin çözülmesi, doğrulanması, log'a eklenmesi ve yanıtın oluşturulması.
+     */
+    @Benchmark
+    public Frame processProduce() {
+        return processor.process(produceFrame.copy()).join();
+    }
+    
+    /**
+     * Metin protokolünde komutun ayrıştırılması, log'dan okuma ve yanıtın biçimlendirilmesi.
+     */
+    @Benchmark
+    public String processTextPoll() {
+        return processor.process("POLL:" + TOPIC + ":0:" + ThreadLocalRandom.current().nextLong(pollRange));
+    }
+}
@@ -0,0 +1,122 @@
+package com.quafka.benchmarks;
+
+import com.quafka.storage.LogRecord;
+import com.quafka.topic.TopicManager;
+import com.quafka.topic.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Partition log'una yayınlama yolunu ölçer: tek ve çok iş parçacıklı yayınlama, anahtarlı
+ * yayınlamada partition seçimi ve batch ekleme. SampleTime modu gecikme yüzdeliklerini verir.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublishBenchmark {
+    private static final String TOPIC = "bench";
+    private static final int PARTITIONS = 8;
+    private static final int BATCH_SIZE = 100;
+    
+    @Param({"100", "1024"})
+    private int valueSize;
+    
+    private Path logDir;
+    private TopicManager topicManager;
+    private TopicPartition sharedPartition;
+    private byte[] value;
+    private List<LogRecord> batch;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        logDir = BenchmarkSupport.createLogDir();
+        topicManager = new TopicManager(BenchmarkSupport.logConfig(logDir));
+        topicManager.createTopic(TOPIC, PARTITIONS);
+        sharedPartition = topicManager.getPartition(TOPIC, 0);
+        value = BenchmarkSupport.value(valueSize);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(LogRecord.of(null, value));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        topicManager.close();
+        BenchmarkSupport.deleteRecursively(logDir);
+    }
+    
+    /**
+     * Her iş parçacığına ayrı bir partition atar.
+     */
+    @State(Scope.Thread)
+    public static class ThreadPartition {
+        private TopicPartition partition;
+        
+        @Setup(Level.Trial)
+        public void setUp(PublishBenchmark benchmark) {
+            int partitionId = benchmark.nextPartition.getAndIncrement() % PARTITIONS;
+            partition = benchmark.topicManager.getPartition(TOPIC, partitionId);
+        }
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public long publishSingleThread() {
+        return sharedPartition.publish(value);
+    }
+    
+    /**
+     * Dört iş parçacığı aynı partition'a yazar; ekleme kilidindeki çekişmeyi gösterir.
+     */
+    @Benchmark
+    @Threads(4)
+    public long publishSharedPartition() {
+        return sharedPartition.publish(value);
+    }
+    
+    /**
+     * Dört iş parçacığının her biri kendi partition'ına yazar; partition'lar arası ölçeklenmeyi gösterir.
+     */
+    @Benchmark
+    @Threads(4)
+    public long publishPartitionPerThread(ThreadPartition state) {
+        return state.partition.publish(value);
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public TopicManager.PartitionOffset publishKeyed() {
+        return topicManager.publish(TOPIC, value, value);
+    }
+    
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public TopicManager.PartitionOffset publishBatch() {
+        return topicManager.publishBatch(TOPIC, 0, batch);
+    }
+}
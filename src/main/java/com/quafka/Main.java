@@ -5,7 +5,7 @@ import com.quafka.config.ConsumerConfig;
 import com.quafka.config.ServerConfig;
 import com.quafka.connection.impl.DefaultConnection;
 import com.quafka.server.Server;
-import com.quafka.server.impl.DefaultServer;
+import com.quafka.server.impl.NioServer;
 import com.quafka.consumer.MessageConsumer;
 import com.quafka.consumer.impl.DefaultMessageConsumer;
 
@@ -15,7 +15,7 @@ public class Main {
                 .withPort(8080)
                 .build();
 
-        Server server = new DefaultServer(serverConfig);
+        Server server = new NioServer(serverConfig);
         server.start();
 
         ConsumerConfig consumerConfig = new ConsumerConfig.Builder()
@@ -0,0 +1,158 @@
+package com.quafka;
+
+import com.quafka.compression.CompressionType;
+import com.quafka.config.PerfConfig;
+import com.quafka.config.ProducerConfig;
+import com.quafka.monitoring.LatencyHistogram;
+import com.quafka.perf.LoadGenerator;
+import com.quafka.perf.PerfResult;
+import com.quafka.producer.AckMode;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * quafka-perf: yerel bir sunucuya karşı açık döngü yük uygulayıp üretim onayı ve uçtan uca gecikme
+ * yüzdeliklerini ve sürdürülen verimi yazdıran komut satırı aracı.
+ * <pre>
+ * java -cp quafka.jar com.quafka.QuafkaPerf --producers 4 --consumers 2 --size 1024 --rate 50000
+ * </pre>
+ */
+public class QuafkaPerf {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    
+    public static void main(String[] args) throws Exception {
+        PerfConfig.Builder builder = new PerfConfig.Builder();
+        ProducerConfig.Builder producer = new ProducerConfig.Builder();
+        boolean verbose = false;
+        
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help")) {
+                printUsage();
+                return;
+            }
+            if (option.equals("--verbose")) {
+                verbose = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Seçenek için değer eksik: " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--producers":
+                    builder.withProducers(Integer.parseInt(value));
+                    break;
+                case "--consumers":
+                    builder.withConsumers(Integer.parseInt(value));
+                    break;
+                case "--size":
+                    builder.withMessageSize(Integer.parseInt(value));
+                    break;
+                case "--rate":
+                    builder.withMessagesPerSecond(Integer.parseInt(value));
+                    break;
+                case "--duration":
+                    builder.withDurationMs(Long.parseLong(value) * 1000);
+                    break;
+                case "--warmup":
+                    builder.withWarmupMs(Long.parseLong(value) * 1000);
+                    break;
+                case "--topic":
+                    builder.withTopic(value);
+                    break;
+                case "--partitions":
+                    builder.withPartitions(Integer.parseInt(value));
+                    break;
+                case "--port":
+                    builder.withPort(Integer.parseInt(value));
+                    break;
+                case "--log-dir":
+                    builder.withLogDir(Path.of(value));
+                    break;
+                case "--acks":
+                    producer.withAcks(AckMode.valueOf(value.toUpperCase(Locale.ROOT)));
+                    break;
+                case "--linger":
+                    producer.withLingerMs(Long.parseLong(value));
+                    break;
+                case "--batch-size":
+                    producer.withBatchSize(Integer.parseInt(value));
+                    break;
+                case "--compression":
+                    producer.withCompression(CompressionType.valueOf(value.toUpperCase(Locale.ROOT)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Bilinmeyen seçenek: " + option);
+            }
+        }
+        PerfConfig config = builder.withProducerConfig(producer.build()).build();
+        
+        if (!verbose) {
+            // Sunucunun mesaj başına logları sonuçları bastırmasın
+            org.slf4j.Logger root = LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+            if (root instanceof ch.qos.logback.classic.Logger) {
+                ((ch.qos.logback.classic.Logger) root).setLevel(ch.qos.logback.classic.Level.WARN);
+            }
+        }
+        
+        System.out.printf(Locale.ROOT, "quafka-perf: %d üretici, %d tüketici, %d partition, %d byte, hedef %d mesaj/sn, "
+                + "%d sn (+%d sn ısınma), acks=%s%n",
+            config.getProducers(), config.getConsumers(), config.getPartitions(), config.getMessageSize(),
+            config.getMessagesPerSecond(), config.getDurationMs() / 1000, config.getWarmupMs() / 1000,
+            config.getProducerConfig().getAcks());
+        
+        PerfResult result = new LoadGenerator(config).run();
+        printResult(result);
+    }
+    
+    private static void printResult(PerfResult result) {
+        System.out.printf(Locale.ROOT, "%nGönderilen: %d, onaylanan: %d, başarısız: %d, tüketilen: %d%n",
+            result.getSent(), result.getAcked(), result.getFailed(), result.getConsumed());
+        System.out.printf(Locale.ROOT, "Üretim verimi: %.1f mesaj/sn (%.2f MB/sn)%n",
+            result.getProduceThroughput(), result.getProduceMegabytesPerSecond());
+        System.out.printf(Locale.ROOT, "Tüketim verimi: %.1f mesaj/sn%n%n", result.getConsumeThroughput());
+        
+        System.out.printf(Locale.ROOT, "%-14s %10s", "Gecikme (ms)", "ortalama");
+        for (double percentile : PERCENTILES) {
+            System.out.printf(Locale.ROOT, " %9s", "p" + (percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile) : String.valueOf(percentile)));
+        }
+        System.out.printf(Locale.ROOT, " %9s%n", "max");
+        printLatency("üretim onayı", result.getProduceLatency());
+        printLatency("uçtan uca", result.getEndToEndLatency());
+    }
+    
+    private static void printLatency(String name, LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            System.out.printf(Locale.ROOT, "%-14s %10s%n", name, "-");
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%-14s %10.3f", name, histogram.getMean() / 1e6);
+        for (double percentile : PERCENTILES) {
+            System.out.printf(Locale.ROOT, " %9.3f", histogram.getValueAtPercentile(percentile) / 1e6);
+        }
+        System.out.printf(Locale.ROOT, " %9.3f%n", histogram.getMax() / 1e6);
+    }
+    
+    private static void printUsage() {
+        System.out.println("Kullanım: QuafkaPerf [seçenekler]");
+        System.out.println("  --producers N      Üretici bağlantısı sayısı (varsayılan 1)");
+        System.out.println("  --consumers N      Tüketici sayısı, 0 ise uçtan uca gecikme ölçülmez (varsayılan 1)");
+        System.out.println("  --size BYTE        Mesaj boyutu, en az 8 (varsayılan 100)");
+        System.out.println("  --rate N           Toplam hedef mesaj/saniye (varsayılan 10000)");
+        System.out.println("  --duration SN      Ölçüm süresi (varsayılan 30)");
+        System.out.println("  --warmup SN        Isınma süresi (varsayılan 5)");
+        System.out.println("  --topic AD         Topic adı (varsayılan quafka-perf)");
+        System.out.println("  --partitions N     Partition sayısı (varsayılan 3)");
+        System.out.println("  --acks MOD         none, leader veya flush (varsayılan leader)");
+        System.out.println("  --linger MS        Üretici bekleme süresi (varsayılan 5)");
+        System.out.println("  --batch-size BYTE  Üretici batch boyutu (varsayılan 16384)");
+        System.out.println("  --compression TÜR  none, lz4 veya deflate (varsayılan none)");
+        System.out.println("  --port N           Sunucu portu (varsayılan 8080)");
+        System.out.println("  --log-dir DİZİN    Sunucu log dizini (varsayılan geçici dizin)");
+        System.out.println("  --verbose          Sunucu ve istemci loglarını gizleme");
+    }
+}
@@ -0,0 +1,140 @@
+package com.quafka.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boyut sınıflarına ayrılmış, direct {@link ByteBuffer} havuzu.
+ * İstenen boyut bir üst ikinin kuvvetine yuvarlanır ve o sınıfın boş listesinden karşılanır;
+ * liste boşsa yeni bir direct buffer ayrılır. Her sınıfta en fazla belirli miktarda byte
+ * saklanır, fazlası çöp toplayıcıya bırakılır. En büyük sınıftan büyük istekler havuzlanmaz
+ * ve heap'ten karşılanır.
+ *
+ * <p>Direct buffer'lar soket ve dosya kanallarına JDK'nın ara kopyası olmadan yazılır; havuz
+ * sayesinde kararlı durumda yayınlama ve okuma yolları yeni buffer ayırmaz.</p>
+ */
+public class BufferPool {
+    public static final int MIN_BUFFER_SIZE = 1024;
+    public static final int MAX_BUFFER_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_MAX_BYTES_PER_CLASS = 4 * 1024 * 1024;
+    
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    private static final int CLASS_COUNT = Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE) - MIN_SHIFT + 1;
+    private static final BufferPool SHARED = new BufferPool(DEFAULT_MAX_BYTES_PER_CLASS);
+    
+    private final SizeClass[] classes;
+    private final AtomicLong allocations;
+    private final AtomicLong unpooledAllocations;
+    
+    /**
+     * @param maxBytesPerClass Her boyut sınıfında saklanacak en fazla byte; her sınıf en az iki buffer saklar
+     */
+    public BufferPool(int maxBytesPerClass) {
+        this.classes = new SizeClass[CLASS_COUNT];
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            int size = MIN_BUFFER_SIZE << i;
+            classes[i] = new SizeClass(size, Math.max(2, maxBytesPerClass / size));
+        }
+        this.allocations = new AtomicLong();
+        this.unpooledAllocations = new AtomicLong();
+    }
+    
+    /**
+     * Sunucu, bağlantılar ve depolama katmanı tarafından paylaşılan havuzu döndürür.
+     * @return Paylaşılan havuz
+     */
+    public static BufferPool shared() {
+        return SHARED;
+    }
+    
+    /**
+     * En az verilen boyutta bir buffer alır. Buffer'ın konumu 0, sınırı istenen boyuttur;
+     * kapasite boyut sınıfına yuvarlandığından daha büyük olabilir.
+     * @param size İstenen boyut (byte)
+     * @return Referans sayısı 1 olan buffer
+     */
+    public PooledBuffer acquire(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Geçersiz buffer boyutu: " + size);
+        }
+        if (size > MAX_BUFFER_SIZE) {
+            unpooledAllocations.incrementAndGet();
+            return new PooledBuffer(this, ByteBuffer.allocate(size));
+        }
+        SizeClass sizeClass = classes[classIndex(size)];
+        ByteBuffer buffer = sizeClass.free.poll();
+        if (buffer != null) {
+            sizeClass.pooled.decrementAndGet();
+        } else {
+            allocations.incrementAndGet();
+            buffer = ByteBuffer.allocateDirect(sizeClass.size);
+        }
+        buffer.clear().limit(size);
+        return new PooledBuffer(this, buffer);
+    }
+    
+    /**
+     * Havuzun o ana kadar ayırdığı direct buffer sayısını döndürür. Kararlı durumda artmamalıdır.
+     * @return Ayrılan direct buffer sayısı
+     */
+    public long getAllocations() {
+        return allocations.get();
+    }
+    
+    /**
+     * En büyük sınıftan büyük olduğu için havuzlanmadan ayrılan buffer sayısını döndürür.
+     * @return Havuzlanmayan buffer sayısı
+     */
+    public long getUnpooledAllocations() {
+        return unpooledAllocations.get();
+    }
+    
+    /**
+     * Havuzda bekleyen boş buffer'ların toplam boyutunu döndürür.
+     * @return Toplam boyut (byte)
+     */
+    public long getPooledBytes() {
+        long total = 0;
+        for (SizeClass sizeClass : classes) {
+            total += (long) sizeClass.pooled.get() * sizeClass.size;
+        }
+        return total;
+    }
+    
+    void recycle(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (!buffer.isDirect() || capacity > MAX_BUFFER_SIZE || Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        SizeClass sizeClass = classes[classIndex(capacity)];
+        // Sınır aşıldıysa buffer saklanmaz; sayaç kısa süreliğine sınırı aşabilir, bu kabul edilebilir
+        if (sizeClass.pooled.incrementAndGet() > sizeClass.maxBuffers) {
+            sizeClass.pooled.decrementAndGet();
+            return;
+        }
+        sizeClass.free.add(buffer);
+    }
+    
+    private static int classIndex(int size) {
+        int rounded = Math.max(size, MIN_BUFFER_SIZE);
+        return 32 - Integer.numberOfLeadingZeros(rounded - 1) - MIN_SHIFT;
+    }
+    
+    /**
+     * Tek bir boyut sınıfının boş buffer listesi.
+     */
+    private static final class SizeClass {
+        private final int size;
+        private final int maxBuffers;
+        private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pooled = new AtomicInteger();
+        
+        private SizeClass(int size, int maxBuffers) {
+            this.size = size;
+            this.maxBuffers = maxBuffers;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.quafka.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link BufferPool}'dan alınmış, referans sayımlı buffer.
+ * Son referans bırakıldığında buffer havuza geri döner; bırakıldıktan sonra kullanılmamalıdır.
+ * Bırakılmayan buffer havuza dönmez, çöp toplayıcı tarafından serbest bırakılır.
+ */
+public final class PooledBuffer {
+    private final BufferPool pool;
+    private final ByteBuffer buffer;
+    private final AtomicInteger refCount;
+    
+    PooledBuffer(BufferPool pool, ByteBuffer buffer) {
+        this.pool = pool;
+        this.buffer = buffer;
+        this.refCount = new AtomicInteger(1);
+    }
+    
+    /**
+     * Buffer'ı döndürür. Buffer'ın konum ve sınırı çağırana aittir.
+     * @return Buffer
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+    
+    public int capacity() {
+        return buffer.capacity();
+    }
+    
+    /**
+     * Referans sayısını bir artırır.
+     * @return Bu buffer
+     * @throws IllegalStateException Buffer zaten havuza döndüyse
+     */
+    public PooledBuffer retain() {
+        int current;
+        do {
+            current = refCount.get();
+            if (current <= 0) {
+                throw new IllegalStateException("Bırakılmış buffer yeniden kullanılamaz");
+            }
+        } while (!refCount.compareAndSet(current, current + 1));
+        return this;
+    }
+    
+    /**
+     * Referans sayısını bir azaltır; sıfıra inerse buffer havuza döner.
+     * @return Buffer havuza döndüyse true
+     * @throws IllegalStateException Buffer zaten havuza döndüyse
+     */
+    public boolean release() {
+        int remaining = refCount.decrementAndGet();
+        if (remaining < 0) {
+            refCount.incrementAndGet();
+            throw new IllegalStateException("Buffer birden fazla kez bırakıldı");
+        }
+        if (remaining == 0) {
+            pool.recycle(buffer);
+            return true;
+        }
+        return false;
+    }
+    
+    public int refCount() {
+        return refCount.get();
+    }
+}
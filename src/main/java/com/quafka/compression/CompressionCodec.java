@@ -0,0 +1,40 @@
+package com.quafka.compression;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bir byte bloğunu sıkıştıran ve açan codec arayüzü.
+ * Uygulamalar durumsuz ve thread-safe olmalıdır.
+ */
+public interface CompressionCodec {
+    /**
+     * Codec'in sıkıştırma türünü döndürür.
+     * @return Sıkıştırma türü
+     */
+    CompressionType type();
+    
+    /**
+     * Verilen uzunluktaki bir bloğun sıkıştırılmış halinin alabileceği en büyük boyutu döndürür.
+     * @param length Sıkıştırılmamış uzunluk
+     * @return En büyük sıkıştırılmış boyut
+     */
+    int maxCompressedLength(int length);
+    
+    /**
+     * Kaynağın kalan içeriğini sıkıştırıp hedefin konumundan itibaren yazar.
+     * Kaynağın konumu sonuna, hedefin konumu yazılan verinin sonuna ilerler.
+     * @param src Sıkıştırılacak veri
+     * @param dst En az {@link #maxCompressedLength(int)} byte boş alanı olan hedef
+     * @return Yazılan byte sayısı
+     */
+    int compress(ByteBuffer src, ByteBuffer dst);
+    
+    /**
+     * Kaynağın kalan içeriğini açıp hedefe yazar. Hedefin kalan alanı açılmış verinin
+     * uzunluğuna eşit olmalıdır.
+     * @param src Sıkıştırılmış veri
+     * @param dst Açılmış verinin yazılacağı hedef
+     * @throws CompressionException Veri bozuksa veya uzunluk eşleşmiyorsa
+     */
+    void decompress(ByteBuffer src, ByteBuffer dst);
+}
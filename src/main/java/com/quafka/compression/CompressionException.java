@@ -0,0 +1,14 @@
+package com.quafka.compression;
+
+/**
+ * Sıkıştırma ve açma işlemleri sırasında oluşabilecek hataları temsil eden istisna sınıfı.
+ */
+public class CompressionException extends RuntimeException {
+    public CompressionException(String message) {
+        super(message);
+    }
+    
+    public CompressionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
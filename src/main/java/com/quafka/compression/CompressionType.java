@@ -0,0 +1,47 @@
+package com.quafka.compression;
+
+/**
+ * Kayıt batch'lerine uygulanabilecek sıkıştırma türlerini temsil eden enum.
+ * Kimlik değeri batch'in attributes alanında saklanır ve değiştirilmemelidir.
+ */
+public enum CompressionType {
+    /**
+     * Sıkıştırma uygulanmaz
+     */
+    NONE(0),
+    
+    /**
+     * java.util.zip Deflater ile sıkıştırır; oranı yüksek, maliyeti de yüksektir
+     */
+    DEFLATE(1),
+    
+    /**
+     * Bağımlılıksız LZ4 blok formatı ile sıkıştırır; oranı düşük, çok hızlıdır
+     */
+    LZ4(2);
+    
+    private final int id;
+    
+    CompressionType(int id) {
+        this.id = id;
+    }
+    
+    public int id() {
+        return id;
+    }
+    
+    /**
+     * Kimlik değerine karşılık gelen sıkıştırma türünü döndürür.
+     * @param id Kimlik değeri
+     * @return Sıkıştırma türü
+     * @throws CompressionException Bilinmeyen kimlik değeri için
+     */
+    public static CompressionType fromId(int id) {
+        for (CompressionType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+        throw new CompressionException("Bilinmeyen sıkıştırma türü: " + id);
+    }
+}
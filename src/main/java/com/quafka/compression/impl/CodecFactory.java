@@ -0,0 +1,34 @@
+package com.quafka.compression.impl;
+
+import com.quafka.compression.CompressionCodec;
+import com.quafka.compression.CompressionException;
+import com.quafka.compression.CompressionType;
+
+/**
+ * Sıkıştırma türüne göre codec döndüren yardımcı sınıf.
+ * Codec'ler durumsuz olduğundan her tür için tek bir örnek paylaşılır.
+ */
+public final class CodecFactory {
+    private static final CompressionCodec DEFLATE = new DeflateCodec();
+    private static final CompressionCodec LZ4 = new Lz4Codec();
+    
+    private CodecFactory() {
+    }
+    
+    /**
+     * @param type Sıkıştırma türü
+     * @return Paylaşılan codec
+     * @throws CompressionException NONE türü için
+     */
+    public static CompressionCodec codecFor(CompressionType type) {
+        switch (type) {
+            case DEFLATE:
+                return DEFLATE;
+            case LZ4:
+                return LZ4;
+            case NONE:
+            default:
+                throw new CompressionException("Sıkıştırma türü için codec yok: " + type);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.quafka.compression.impl;
+
+import com.quafka.compression.CompressionCodec;
+import com.quafka.compression.CompressionException;
+import com.quafka.compression.CompressionType;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * java.util.zip ile ham deflate formatında sıkıştıran codec.
+ * Deflater ve Inflater örnekleri native bellek tuttuğundan thread başına bir kez oluşturulup
+ * her blokta sıfırlanır.
+ */
+public class DeflateCodec implements CompressionCodec {
+    private static final ThreadLocal<Deflater> DEFLATERS =
+        ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATERS =
+        ThreadLocal.withInitial(() -> new Inflater(true));
+    
+    @Override
+    public CompressionType type() {
+        return CompressionType.DEFLATE;
+    }
+    
+    @Override
+    public int maxCompressedLength(int length) {
+        // zlib'in deflateBound sınırı, saklanan (sıkıştırılmamış) bloklar dahil
+        return length + (length >> 12) + (length >> 14) + (length >> 25) + 16;
+    }
+    
+    @Override
+    public int compress(ByteBuffer src, ByteBuffer dst) {
+        Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        deflater.setInput(src);
+        deflater.finish();
+        int start = dst.position();
+        while (!deflater.finished()) {
+            if (deflater.deflate(dst) == 0 && !dst.hasRemaining()) {
+                throw new CompressionException("Sıkıştırılmış veri hedef buffer'a sığmadı");
+            }
+        }
+        return dst.position() - start;
+    }
+    
+    @Override
+    public void decompress(ByteBuffer src, ByteBuffer dst) {
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setInput(src);
+        try {
+            while (!inflater.finished()) {
+                if (inflater.inflate(dst) == 0 && !inflater.finished()) {
+                    if (!dst.hasRemaining()) {
+                        throw new CompressionException("Açılan veri beklenenden uzun");
+                    }
+                    if (inflater.needsInput() || inflater.needsDictionary()) {
+                        throw new CompressionException("Sıkıştırılmış veri eksik veya bozuk");
+                    }
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new CompressionException("Sıkıştırılmış veri çözülemedi", e);
+        }
+        if (dst.hasRemaining()) {
+            throw new CompressionException("Açılan veri beklenenden kısa: " + dst.remaining() + " byte eksik");
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.quafka.compression.impl;
+
+import com.quafka.compression.CompressionCodec;
+import com.quafka.compression.CompressionException;
+import com.quafka.compression.CompressionType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Harici bağımlılık gerektirmeyen LZ4 blok formatı codec'i.
+ *
+ * <p>Her dizi (sequence) bir token, değişmez (literal) byte'lar ve bir eşleşmeden oluşur:</p>
+ * <pre>
+ * token          int8    (üst 4 bit literal uzunluğu, alt 4 bit eşleşme uzunluğu - 4)
+ * literalLength  [int8]* (token'daki değer 15 ise 255 olmayan bir byte'a kadar eklenir)
+ * literals
+ * offset         int16   (little-endian, eşleşmenin geriye uzaklığı)
+ * matchLength    [int8]* (token'daki değer 15 ise 255 olmayan bir byte'a kadar eklenir)
+ * </pre>
+ * <p>Son dizi yalnızca literal içerir. Sıkıştırıcı, tek geçişte 4 byte'lık diziler için
+ * bir hash tablosu tutar; eşleşme bulamadığı sürece adımını büyüterek sıkıştırılamayan
+ * veride hızlıca ilerler.</p>
+ */
+public class Lz4Codec implements CompressionCodec {
+    private static final int MIN_MATCH = 4;
+    private static final int HASH_LOG = 12;
+    private static final int MAX_DISTANCE = 65535;
+    /** Son eşleşme bloğun sonundan en az bu kadar byte önce başlamalıdır */
+    private static final int MF_LIMIT = 12;
+    /** Bloğun son byte'ları her zaman literal olarak yazılır */
+    private static final int LAST_LITERALS = 5;
+    private static final int SKIP_TRIGGER = 6;
+    private static final int RUN_MASK = 15;
+    
+    @Override
+    public CompressionType type() {
+        return CompressionType.LZ4;
+    }
+    
+    @Override
+    public int maxCompressedLength(int length) {
+        return bound(length);
+    }
+    
+    @Override
+    public int compress(ByteBuffer src, ByteBuffer dst) {
+        int srcLength = src.remaining();
+        if (dst.remaining() < bound(srcLength)) {
+            throw new CompressionException("Hedef buffer sıkıştırma için yetersiz: " + dst.remaining());
+        }
+        byte[] in;
+        int inOffset;
+        if (src.hasArray()) {
+            in = src.array();
+            inOffset = src.arrayOffset() + src.position();
+        } else {
+            in = new byte[srcLength];
+            src.get(src.position(), in);
+            inOffset = 0;
+        }
+        
+        int written;
+        if (dst.hasArray()) {
+            written = compress(in, inOffset, srcLength, dst.array(), dst.arrayOffset() + dst.position());
+        } else {
+            byte[] out = new byte[bound(srcLength)];
+            written = compress(in, inOffset, srcLength, out, 0);
+            dst.put(dst.position(), out, 0, written);
+        }
+        src.position(src.limit());
+        dst.position(dst.position() + written);
+        return written;
+    }
+    
+    @Override
+    public void decompress(ByteBuffer src, ByteBuffer dst) {
+        int srcLength = src.remaining();
+        byte[] in;
+        int inOffset;
+        if (src.hasArray()) {
+            in = src.array();
+            inOffset = src.arrayOffset() + src.position();
+        } else {
+            in = new byte[srcLength];
+            src.get(src.position(), in);
+            inOffset = 0;
+        }
+        
+        int dstLength = dst.remaining();
+        if (dst.hasArray()) {
+            decompress(in, inOffset, srcLength, dst.array(), dst.arrayOffset() + dst.position(), dstLength);
+        } else {
+            byte[] out = new byte[dstLength];
+            decompress(in, inOffset, srcLength, out, 0, dstLength);
+            dst.put(dst.position(), out);
+        }
+        src.position(src.limit());
+        dst.position(dst.limit());
+    }
+    
+    private static int compress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset) {
+        int srcEnd = srcOffset + srcLength;
+        int anchor = srcOffset;
+        int op = dstOffset;
+        
+        if (srcLength > MF_LIMIT) {
+            // Tablo, konumları srcOffset'e göre +1 kaydırılmış olarak tutar; 0 boş giriştir
+            int[] table = new int[1 << HASH_LOG];
+            int matchLimit = srcEnd - LAST_LITERALS;
+            int mfLimit = srcEnd - MF_LIMIT;
+            int ip = srcOffset;
+            int searches = 1 << SKIP_TRIGGER;
+            
+            while (ip < mfLimit) {
+                int sequence = readInt(src, ip);
+                int hash = hash(sequence);
+                int ref = table[hash] - 1 + srcOffset;
+                table[hash] = ip - srcOffset + 1;
+                
+                if (ref < srcOffset || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    ip += searches++ >>> SKIP_TRIGGER;
+                    continue;
+                }
+                searches = 1 << SKIP_TRIGGER;
+                
+                while (ip > anchor && ref > srcOffset && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]) {
+                    matchLength++;
+                }
+                
+                op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, op);
+                ip += matchLength;
+                anchor = ip;
+                if (ip < mfLimit) {
+                    table[hash(readInt(src, ip - 2))] = ip - 2 - srcOffset + 1;
+                }
+            }
+        }
+        
+        op = writeLiterals(src, anchor, srcEnd - anchor, dst, op, 0);
+        return op - dstOffset;
+    }
+    
+    private static void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength) {
+        int ip = srcOffset;
+        int srcEnd = srcOffset + srcLength;
+        int op = dstOffset;
+        int dstEnd = dstOffset + dstLength;
+        
+        while (ip < srcEnd) {
+            int token = src[ip++] & 0xFF;
+            
+            int literalLength = token >>> 4;
+            if (literalLength == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd || literalLength > dstLength) {
+                        throw corrupt();
+                    }
+                    b = src[ip++] & 0xFF;
+                    literalLength += b;
+                } while (b == 255);
+            }
+            if (literalLength > srcEnd - ip || literalLength > dstEnd - op) {
+                throw corrupt();
+            }
+            System.arraycopy(src, ip, dst, op, literalLength);
+            ip += literalLength;
+            op += literalLength;
+            if (ip == srcEnd) {
+                break;
+            }
+            
+            if (srcEnd - ip < 2) {
+                throw corrupt();
+            }
+            int distance = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+            ip += 2;
+            int ref = op - distance;
+            if (distance == 0 || ref < dstOffset) {
+                throw corrupt();
+            }
+            
+            int matchLength = token & RUN_MASK;
+            if (matchLength == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd || matchLength > dstLength) {
+                        throw corrupt();
+                    }
+                    b = src[ip++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += MIN_MATCH;
+            if (matchLength > dstEnd - op) {
+                throw corrupt();
+            }
+            if (distance >= matchLength) {
+                System.arraycopy(dst, ref, dst, op, matchLength);
+            } else {
+                // Örtüşen eşleşme tekrar eden bir deseni kodlar; byte byte kopyalanmalıdır
+                for (int i = 0; i < matchLength; i++) {
+                    dst[op + i] = dst[ref + i];
+                }
+            }
+            op += matchLength;
+        }
+        
+        if (op != dstEnd) {
+            throw new CompressionException("Açılan veri beklenenden kısa: " + (dstEnd - op) + " byte eksik");
+        }
+    }
+    
+    private static int writeSequence(byte[] src, int literalStart, int literalLength, int distance,
+                                     int matchLength, byte[] dst, int op) {
+        int matchCode = matchLength - MIN_MATCH;
+        op = writeLiterals(src, literalStart, literalLength, dst, op, Math.min(matchCode, RUN_MASK));
+        dst[op++] = (byte) distance;
+        dst[op++] = (byte) (distance >>> 8);
+        if (matchCode >= RUN_MASK) {
+            op = writeLength(matchCode - RUN_MASK, dst, op);
+        }
+        return op;
+    }
+    
+    private static int writeLiterals(byte[] src, int start, int length, byte[] dst, int op, int matchBits) {
+        int tokenPosition = op++;
+        if (length >= RUN_MASK) {
+            dst[tokenPosition] = (byte) (RUN_MASK << 4 | matchBits);
+            op = writeLength(length - RUN_MASK, dst, op);
+        } else {
+            dst[tokenPosition] = (byte) (length << 4 | matchBits);
+        }
+        System.arraycopy(src, start, dst, op, length);
+        return op + length;
+    }
+    
+    private static int writeLength(int length, byte[] dst, int op) {
+        while (length >= 255) {
+            dst[op++] = (byte) 255;
+            length -= 255;
+        }
+        dst[op++] = (byte) length;
+        return op;
+    }
+    
+    private static int bound(int length) {
+        return length + length / 255 + 16;
+    }
+    
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+    
+    private static int readInt(byte[] buffer, int position) {
+        return (buffer[position] & 0xFF)
+            | (buffer[position + 1] & 0xFF) << 8
+            | (buffer[position + 2] & 0xFF) << 16
+            | (buffer[position + 3] & 0xFF) << 24;
+    }
+    
+    private static CompressionException corrupt() {
+        return new CompressionException("Sıkıştırılmış veri bozuk");
+    }
+}
@@ -1,6 +1,7 @@
 package com.quafka.config;
 
 import com.quafka.loadbalancer.LoadBalancingStrategy;
+import com.quafka.protocol.ProtocolType;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -16,6 +17,9 @@ public class ConnectionConfig {
     private final long initialRetryDelay;
     private final long maxRetryDelay;
     private final LoadBalancingStrategy strategy;
+    private final boolean virtualThreads;
+    private final ProtocolType protocol;
+    private final int maxInFlightRequests;
     
     private ConnectionConfig(Builder builder) {
         this.connectionId = builder.connectionId;
@@ -26,6 +30,9 @@ public class ConnectionConfig {
         this.initialRetryDelay = builder.initialRetryDelay;
         this.maxRetryDelay = builder.maxRetryDelay;
         this.strategy = builder.strategy;
+        this.virtualThreads = builder.virtualThreads;
+        this.protocol = builder.protocol;
+        this.maxInFlightRequests = builder.maxInFlightRequests;
     }
     
     public String getConnectionId() {
@@ -60,6 +67,22 @@ public class ConnectionConfig {
         return strategy;
     }
     
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    public ProtocolType getProtocol() {
+        return protocol;
+    }
+    
+    /**
+     * Yanıtı beklenen en fazla eşzamanlı istek sayısı.
+     * @return Uçuştaki istek sınırı
+     */
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -70,15 +93,18 @@ public class ConnectionConfig {
             maxRetries == that.maxRetries &&
             initialRetryDelay == that.initialRetryDelay &&
             maxRetryDelay == that.maxRetryDelay &&
+            virtualThreads == that.virtualThreads &&
+            maxInFlightRequests == that.maxInFlightRequests &&
             Objects.equals(connectionId, that.connectionId) &&
             Objects.equals(host, that.host) &&
-            strategy == that.strategy;
+            strategy == that.strategy &&
+            protocol == that.protocol;
     }
     
     @Override
     public int hashCode() {
         return Objects.hash(connectionId, host, port, timeout, maxRetries,
-            initialRetryDelay, maxRetryDelay, strategy);
+            initialRetryDelay, maxRetryDelay, strategy, virtualThreads, protocol, maxInFlightRequests);
     }
     
     /**
@@ -93,6 +119,9 @@ public class ConnectionConfig {
         private long initialRetryDelay = 1000;
         private long maxRetryDelay = 10000;
         private LoadBalancingStrategy strategy = LoadBalancingStrategy.ROUND_ROBIN;
+        private boolean virtualThreads = false;
+        private ProtocolType protocol = ProtocolType.TEXT;
+        private int maxInFlightRequests = 16;
         
         public Builder withConnectionId(String connectionId) {
             this.connectionId = connectionId;
@@ -134,6 +163,21 @@ public class ConnectionConfig {
             return this;
         }
         
+        public Builder withVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+        
+        public Builder withProtocol(ProtocolType protocol) {
+            this.protocol = protocol;
+            return this;
+        }
+        
+        public Builder withMaxInFlightRequests(int maxInFlightRequests) {
+            this.maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+        
         public ConnectionConfig build() {
             return new ConnectionConfig(this);
         }
@@ -1,23 +1,64 @@
 package com.quafka.config;
 
+import com.quafka.consumer.ProcessingMode;
+import com.quafka.group.AssignmentStrategy;
+
 import java.util.Objects;
 
 /**
  * Tüketici yapılandırmasını temsil eden sınıf.
  */
 public class ConsumerConfig {
+    private final String host;
+    private final int port;
     private final String groupId;
     private final String topic;
     private final boolean autoCommit;
     private final long pollTimeout;
     private final long pollInterval;
+    private final boolean virtualThreads;
+    private final long sessionTimeout;
+    private final long heartbeatInterval;
+    private final AssignmentStrategy assignmentStrategy;
+    private final int maxPollRecords;
+    private final int fetchMaxBytes;
+    private final ProcessingMode processingMode;
+    private final int processingThreads;
+    private final int maxPendingRecords;
     
     private ConsumerConfig(Builder builder) {
+        this.host = builder.host;
+        this.port = builder.port;
         this.groupId = builder.groupId;
         this.topic = builder.topic;
         this.autoCommit = builder.autoCommit;
         this.pollTimeout = builder.pollTimeout;
         this.pollInterval = builder.pollInterval;
+        this.virtualThreads = builder.virtualThreads;
+        this.sessionTimeout = builder.sessionTimeout;
+        this.heartbeatInterval = builder.heartbeatInterval;
+        this.assignmentStrategy = builder.assignmentStrategy;
+        this.maxPollRecords = builder.maxPollRecords;
+        this.fetchMaxBytes = builder.fetchMaxBytes;
+        this.processingMode = builder.processingMode;
+        this.processingThreads = builder.processingThreads;
+        this.maxPendingRecords = builder.maxPendingRecords;
+    }
+    
+    /**
+     * Tüketicinin bağlanacağı sunucunun adresi.
+     * @return Sunucu adresi
+     */
+    public String getHost() {
+        return host;
+    }
+    
+    /**
+     * Tüketicinin bağlanacağı sunucunun portu.
+     * @return Port numarası
+     */
+    public int getPort() {
+        return port;
     }
     
     public String getGroupId() {
@@ -40,31 +81,138 @@ public class ConsumerConfig {
         return pollInterval;
     }
     
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    /**
+     * Heartbeat gelmediğinde tüketicinin gruptan çıkarılacağı süre.
+     * @return Oturum süresi (milisaniye)
+     */
+    public long getSessionTimeout() {
+        return sessionTimeout;
+    }
+    
+    /**
+     * Gruba heartbeat gönderme aralığı. Oturum süresinden kısa olmalıdır; yeniden dengelenen
+     * atamalar bu aralıkla öğrenilir.
+     * @return Heartbeat aralığı (milisaniye)
+     */
+    public long getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+    
+    /**
+     * Gruptaki tüketicilere partition atama stratejisi. Aynı gruptaki tüm tüketiciler aynı stratejiyi kullanmalıdır.
+     * @return Atama stratejisi
+     */
+    public AssignmentStrategy getAssignmentStrategy() {
+        return assignmentStrategy;
+    }
+    
+    /**
+     * Tek bir poll çağrısında tüm partition'lardan dönebilecek en fazla kayıt sayısı.
+     * @return Kayıt sayısı
+     */
+    public int getMaxPollRecords() {
+        return maxPollRecords;
+    }
+    
+    /**
+     * Tek bir poll çağrısında dönebilecek yaklaşık en fazla veri boyutu. İlerleme için sınırı
+     * aşan ilk kayıt yine de döner.
+     * @return Boyut (byte)
+     */
+    public int getFetchMaxBytes() {
+        return fetchMaxBytes;
+    }
+    
+    /**
+     * Arka plan döngüsünde okunan kayıtların işlenme biçimi.
+     * @return İşleme modu
+     */
+    public ProcessingMode getProcessingMode() {
+        return processingMode;
+    }
+    
+    /**
+     * Paralel işleme modlarında kullanılan işçi thread sayısı. KEY modunda her partition bu sayı
+     * kadar şeride bölünür. Sanal thread'ler açıksa işçi sayısı sınırlanmaz.
+     * @return İşçi thread sayısı
+     */
+    public int getProcessingThreads() {
+        return processingThreads;
+    }
+    
+    /**
+     * Paralel işleme modlarında işlenmeyi bekleyebilecek en fazla kayıt sayısı. Sınıra ulaşıldığında
+     * şeritler boşalana kadar yeni kayıt okunmaz.
+     * @return Kayıt sayısı
+     */
+    public int getMaxPendingRecords() {
+        return maxPendingRecords;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ConsumerConfig that = (ConsumerConfig) o;
-        return pollTimeout == that.pollTimeout &&
+        return port == that.port &&
+            pollTimeout == that.pollTimeout &&
             pollInterval == that.pollInterval &&
+            virtualThreads == that.virtualThreads &&
+            sessionTimeout == that.sessionTimeout &&
+            heartbeatInterval == that.heartbeatInterval &&
+            maxPollRecords == that.maxPollRecords &&
+            fetchMaxBytes == that.fetchMaxBytes &&
+            processingThreads == that.processingThreads &&
+            maxPendingRecords == that.maxPendingRecords &&
+            Objects.equals(host, that.host) &&
             Objects.equals(groupId, that.groupId) &&
-            Objects.equals(topic, that.topic);
+            Objects.equals(topic, that.topic) &&
+            assignmentStrategy == that.assignmentStrategy &&
+            processingMode == that.processingMode;
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(groupId, topic, pollTimeout, pollInterval);
+        return Objects.hash(host, port, groupId, topic, pollTimeout, pollInterval, virtualThreads,
+            sessionTimeout, heartbeatInterval, assignmentStrategy,
+            maxPollRecords, fetchMaxBytes, processingMode,
+            processingThreads, maxPendingRecords);
     }
     
     /**
      * ConsumerConfig için builder sınıfı.
      */
     public static class Builder {
+        private String host = "localhost";
+        private int port = 8080;
         private String groupId;
         private String topic;
         private boolean autoCommit = true;
         private long pollTimeout = 5000;
         private long pollInterval = 1000;
+        private boolean virtualThreads = false;
+        private long sessionTimeout = 10000;
+        private long heartbeatInterval = 3000;
+        private AssignmentStrategy assignmentStrategy = AssignmentStrategy.STICKY;
+        private int maxPollRecords = 500;
+        private int fetchMaxBytes = 4 * 1024 * 1024;
+        private ProcessingMode processingMode = ProcessingMode.SEQUENTIAL;
+        private int processingThreads = Runtime.getRuntime().availableProcessors();
+        private int maxPendingRecords = 10000;
+        
+        public Builder withHost(String host) {
+            this.host = host;
+            return this;
+        }
+        
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
         
         public Builder withGroupId(String groupId) {
             this.groupId = groupId;
@@ -91,6 +239,51 @@ public class ConsumerConfig {
             return this;
         }
         
+        public Builder withVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+        
+        public Builder withSessionTimeout(long sessionTimeout) {
+            this.sessionTimeout = sessionTimeout;
+            return this;
+        }
+        
+        public Builder withHeartbeatInterval(long heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+            return this;
+        }
+        
+        public Builder withAssignmentStrategy(AssignmentStrategy assignmentStrategy) {
+            this.assignmentStrategy = assignmentStrategy;
+            return this;
+        }
+        
+        public Builder withMaxPollRecords(int maxPollRecords) {
+            this.maxPollRecords = maxPollRecords;
+            return this;
+        }
+        
+        public Builder withFetchMaxBytes(int fetchMaxBytes) {
+            this.fetchMaxBytes = fetchMaxBytes;
+            return this;
+        }
+        
+        public Builder withProcessingMode(ProcessingMode processingMode) {
+            this.processingMode = processingMode;
+            return this;
+        }
+        
+        public Builder withProcessingThreads(int processingThreads) {
+            this.processingThreads = processingThreads;
+            return this;
+        }
+        
+        public Builder withMaxPendingRecords(int maxPendingRecords) {
+            this.maxPendingRecords = maxPendingRecords;
+            return this;
+        }
+        
         public ConsumerConfig build() {
             return new ConsumerConfig(this);
         }
@@ -0,0 +1,411 @@
+package com.quafka.config;
+
+import com.quafka.compression.CompressionType;
+import com.quafka.storage.CleanupPolicy;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Partition log depolama yapılandırmasını temsil eden sınıf.
+ */
+public class LogConfig {
+    private final Path logDir;
+    private final int segmentBytes;
+    private final int indexIntervalBytes;
+    private final int maxIndexBytes;
+    private final int cacheMessages;
+    private final CompressionType compression;
+    private final Map<String, CompressionType> topicCompression;
+    private final Map<String, Long> topicRetentionMs;
+    private final Map<String, Long> topicRetentionBytes;
+    private final Map<String, CleanupPolicy> topicCleanupPolicy;
+    private final long flushIntervalMs;
+    private final int flushIntervalBytes;
+    private final long retentionMs;
+    private final long retentionBytes;
+    private final long retentionCheckIntervalMs;
+    private final long fileDeleteDelayMs;
+    private final CleanupPolicy cleanupPolicy;
+    private final long deleteRetentionMs;
+    private final double minCleanableDirtyRatio;
+    private final int recoveryThreads;
+    
+    private LogConfig(Builder builder) {
+        this.logDir = builder.logDir;
+        this.segmentBytes = builder.segmentBytes;
+        this.indexIntervalBytes = builder.indexIntervalBytes;
+        this.maxIndexBytes = builder.maxIndexBytes;
+        this.cacheMessages = builder.cacheMessages;
+        this.compression = builder.compression;
+        this.flushIntervalMs = builder.flushIntervalMs;
+        this.flushIntervalBytes = builder.flushIntervalBytes;
+        this.retentionMs = builder.retentionMs;
+        this.retentionBytes = builder.retentionBytes;
+        this.retentionCheckIntervalMs = builder.retentionCheckIntervalMs;
+        this.fileDeleteDelayMs = builder.fileDeleteDelayMs;
+        this.cleanupPolicy = builder.cleanupPolicy;
+        this.deleteRetentionMs = builder.deleteRetentionMs;
+        this.minCleanableDirtyRatio = builder.minCleanableDirtyRatio;
+        this.recoveryThreads = builder.recoveryThreads;
+        this.topicCompression = Map.copyOf(builder.topicCompression);
+        this.topicRetentionMs = Map.copyOf(builder.topicRetentionMs);
+        this.topicRetentionBytes = Map.copyOf(builder.topicRetentionBytes);
+        this.topicCleanupPolicy = Map.copyOf(builder.topicCleanupPolicy);
+    }
+    
+    /**
+     * Varsayılan değerlerle yapılandırma oluşturur.
+     * @return Varsayılan log yapılandırması
+     */
+    public static LogConfig defaults() {
+        return new Builder().build();
+    }
+    
+    public Path getLogDir() {
+        return logDir;
+    }
+    
+    public int getSegmentBytes() {
+        return segmentBytes;
+    }
+    
+    public int getIndexIntervalBytes() {
+        return indexIntervalBytes;
+    }
+    
+    public int getMaxIndexBytes() {
+        return maxIndexBytes;
+    }
+    
+    public int getCacheMessages() {
+        return cacheMessages;
+    }
+    
+    /**
+     * Topic'e özel ayar yoksa sıkıştırılmamış gelen batch'lere uygulanacak sıkıştırma türünü döndürür.
+     * @return Varsayılan sıkıştırma türü
+     */
+    public CompressionType getCompression() {
+        return compression;
+    }
+    
+    /**
+     * Topic için sunucu tarafında uygulanacak sıkıştırma türünü döndürür.
+     * Üretici tarafından zaten sıkıştırılmış batch'ler yeniden sıkıştırılmaz.
+     * @param topic Topic adı
+     * @return Topic'e özel sıkıştırma türü, tanımlı değilse varsayılan tür
+     */
+    public CompressionType getCompression(String topic) {
+        return topicCompression.getOrDefault(topic, compression);
+    }
+    
+    public Map<String, CompressionType> getTopicCompression() {
+        return topicCompression;
+    }
+    
+    /**
+     * FLUSH onayı bekleyen ilk batch'ten sonra diske zorlamanın en fazla ertelenebileceği süre.
+     * Bu sürede gelen diğer batch'ler aynı fsync ile onaylanır; 0 ise beklemeden zorlanır.
+     * @return Süre (milisaniye)
+     */
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+    
+    /**
+     * Bir partition'da diske zorlanmamış bu kadar byte biriktiğinde süre dolmadan zorlanır.
+     * @return Byte sayısı
+     */
+    public int getFlushIntervalBytes() {
+        return flushIntervalBytes;
+    }
+    
+    /**
+     * Topic'e özel ayar yoksa segment'lerin saklanacağı süre. Son kaydı bu süreden eski olan
+     * segment'ler silinir; -1 ise süre sınırı yoktur.
+     * @return Süre (milisaniye)
+     */
+    public long getRetentionMs() {
+        return retentionMs;
+    }
+    
+    /**
+     * @param topic Topic adı
+     * @return Topic'e özel saklama süresi, tanımlı değilse varsayılan süre (milisaniye)
+     */
+    public long getRetentionMs(String topic) {
+        return topicRetentionMs.getOrDefault(topic, retentionMs);
+    }
+    
+    /**
+     * Topic'e özel ayar yoksa her partition log'unun aşmaması gereken toplam boyut. Aşıldığında
+     * en eski segment'ler silinir; -1 ise boyut sınırı yoktur.
+     * @return Boyut (byte)
+     */
+    public long getRetentionBytes() {
+        return retentionBytes;
+    }
+    
+    /**
+     * @param topic Topic adı
+     * @return Topic'e özel partition boyut sınırı, tanımlı değilse varsayılan sınır (byte)
+     */
+    public long getRetentionBytes(String topic) {
+        return topicRetentionBytes.getOrDefault(topic, retentionBytes);
+    }
+    
+    /**
+     * Saklama kurallarının arka planda kontrol edilme aralığı.
+     * @return Süre (milisaniye)
+     */
+    public long getRetentionCheckIntervalMs() {
+        return retentionCheckIntervalMs;
+    }
+    
+    /**
+     * Saklama nedeniyle log'dan çıkarılan segment'lerin dosyaları silinmeden önce beklenecek süre.
+     * Bu sürede segment'i okumakta olan istekler tamamlanabilir.
+     * @return Süre (milisaniye)
+     */
+    public long getFileDeleteDelayMs() {
+        return fileDeleteDelayMs;
+    }
+    
+    /**
+     * Topic'e özel ayar yoksa eski kayıtların temizlenme politikası.
+     * @return Temizleme politikası
+     */
+    public CleanupPolicy getCleanupPolicy() {
+        return cleanupPolicy;
+    }
+    
+    /**
+     * @param topic Topic adı
+     * @return Topic'e özel temizleme politikası, tanımlı değilse varsayılan politika
+     */
+    public CleanupPolicy getCleanupPolicy(String topic) {
+        return topicCleanupPolicy.getOrDefault(topic, cleanupPolicy);
+    }
+    
+    /**
+     * Sıkıştırılan topic'lerde silme işaretlerinin (değeri null kayıtlar) log'da tutulacağı süre.
+     * Tüketiciler bu süre içinde log'u okuyarak silmeyi görebilir; süre dolunca işaret de atılır.
+     * @return Süre (milisaniye)
+     */
+    public long getDeleteRetentionMs() {
+        return deleteRetentionMs;
+    }
+    
+    /**
+     * Sıkıştırılan bir log'un yeniden yazılması için son sıkıştırmadan bu yana eklenen verinin,
+     * aktif olmayan segment'lerin toplam boyutuna oranının ulaşması gereken alt sınır.
+     * Yüksek değer daha az yeniden yazma, daha fazla disk kullanımı demektir.
+     * @return Oran (0 ile 1 arası)
+     */
+    public double getMinCleanableDirtyRatio() {
+        return minCleanableDirtyRatio;
+    }
+    
+    /**
+     * Açılışta partition log'larını paralel yükleyen iş parçacığı sayısı. Düzgün kapatılmamış
+     * log'larda son segment'lerin doğrulanması bu iş parçacıkları arasında paylaştırılır.
+     * @return İş parçacığı sayısı
+     */
+    public int getRecoveryThreads() {
+        return recoveryThreads;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LogConfig that = (LogConfig) o;
+        return segmentBytes == that.segmentBytes &&
+            indexIntervalBytes == that.indexIntervalBytes &&
+            maxIndexBytes == that.maxIndexBytes &&
+            cacheMessages == that.cacheMessages &&
+            flushIntervalMs == that.flushIntervalMs &&
+            flushIntervalBytes == that.flushIntervalBytes &&
+            retentionMs == that.retentionMs &&
+            retentionBytes == that.retentionBytes &&
+            retentionCheckIntervalMs == that.retentionCheckIntervalMs &&
+            fileDeleteDelayMs == that.fileDeleteDelayMs &&
+            deleteRetentionMs == that.deleteRetentionMs &&
+            Double.compare(minCleanableDirtyRatio, that.minCleanableDirtyRatio) == 0 &&
+            cleanupPolicy == that.cleanupPolicy &&
+            recoveryThreads == that.recoveryThreads &&
+            Objects.equals(logDir, that.logDir) &&
+            compression == that.compression &&
+            Objects.equals(topicCompression, that.topicCompression) &&
+            Objects.equals(topicRetentionMs, that.topicRetentionMs) &&
+            Objects.equals(topicRetentionBytes, that.topicRetentionBytes) &&
+            Objects.equals(topicCleanupPolicy, that.topicCleanupPolicy);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(logDir, segmentBytes, indexIntervalBytes, maxIndexBytes, cacheMessages,
+            compression, topicCompression, flushIntervalMs, flushIntervalBytes,
+            retentionMs, retentionBytes, retentionCheckIntervalMs, fileDeleteDelayMs,
+            topicRetentionMs, topicRetentionBytes, cleanupPolicy, topicCleanupPolicy,
+            deleteRetentionMs, minCleanableDirtyRatio, recoveryThreads);
+    }
+    
+    /**
+     * LogConfig için builder sınıfı.
+     */
+    public static class Builder {
+        private Path logDir = Paths.get(System.getProperty("java.io.tmpdir"), "quafka-logs");
+        private int segmentBytes = 64 * 1024 * 1024;
+        private int indexIntervalBytes = 4096;
+        private int maxIndexBytes = 1024 * 1024;
+        private int cacheMessages = 8192;
+        private CompressionType compression = CompressionType.NONE;
+        private final Map<String, CompressionType> topicCompression = new HashMap<>();
+        private final Map<String, Long> topicRetentionMs = new HashMap<>();
+        private final Map<String, Long> topicRetentionBytes = new HashMap<>();
+        private final Map<String, CleanupPolicy> topicCleanupPolicy = new HashMap<>();
+        private long flushIntervalMs = 5;
+        private int flushIntervalBytes = 1024 * 1024;
+        private long retentionMs = -1;
+        private long retentionBytes = -1;
+        private long retentionCheckIntervalMs = 5 * 60 * 1000L;
+        private long fileDeleteDelayMs = 60 * 1000L;
+        private CleanupPolicy cleanupPolicy = CleanupPolicy.DELETE;
+        private long deleteRetentionMs = 24 * 60 * 60 * 1000L;
+        private double minCleanableDirtyRatio = 0.5;
+        private int recoveryThreads = Runtime.getRuntime().availableProcessors();
+        
+        public Builder withLogDir(Path logDir) {
+            this.logDir = logDir;
+            return this;
+        }
+        
+        public Builder withSegmentBytes(int segmentBytes) {
+            this.segmentBytes = segmentBytes;
+            return this;
+        }
+        
+        public Builder withIndexIntervalBytes(int indexIntervalBytes) {
+            this.indexIntervalBytes = indexIntervalBytes;
+            return this;
+        }
+        
+        public Builder withMaxIndexBytes(int maxIndexBytes) {
+            this.maxIndexBytes = maxIndexBytes;
+            return this;
+        }
+        
+        public Builder withCacheMessages(int cacheMessages) {
+            this.cacheMessages = cacheMessages;
+            return this;
+        }
+        
+        public Builder withCompression(CompressionType compression) {
+            this.compression = compression;
+            return this;
+        }
+        
+        /**
+         * Topic için varsayılandan farklı bir sıkıştırma türü tanımlar.
+         * @param topic Topic adı
+         * @param compression Sıkıştırma türü
+         * @return Builder
+         */
+        public Builder withTopicCompression(String topic, CompressionType compression) {
+            this.topicCompression.put(topic, compression);
+            return this;
+        }
+        
+        public Builder withFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+            return this;
+        }
+        
+        public Builder withFlushIntervalBytes(int flushIntervalBytes) {
+            this.flushIntervalBytes = flushIntervalBytes;
+            return this;
+        }
+        
+        public Builder withRetentionMs(long retentionMs) {
+            this.retentionMs = retentionMs;
+            return this;
+        }
+        
+        public Builder withRetentionBytes(long retentionBytes) {
+            this.retentionBytes = retentionBytes;
+            return this;
+        }
+        
+        public Builder withRetentionCheckIntervalMs(long retentionCheckIntervalMs) {
+            this.retentionCheckIntervalMs = retentionCheckIntervalMs;
+            return this;
+        }
+        
+        public Builder withFileDeleteDelayMs(long fileDeleteDelayMs) {
+            this.fileDeleteDelayMs = fileDeleteDelayMs;
+            return this;
+        }
+        
+        /**
+         * Topic için varsayılandan farklı bir saklama süresi tanımlar.
+         * @param topic Topic adı
+         * @param retentionMs Saklama süresi (milisaniye), -1 ise sınırsız
+         * @return Builder
+         */
+        public Builder withTopicRetentionMs(String topic, long retentionMs) {
+            this.topicRetentionMs.put(topic, retentionMs);
+            return this;
+        }
+        
+        /**
+         * Topic için varsayılandan farklı bir partition boyut sınırı tanımlar.
+         * @param topic Topic adı
+         * @param retentionBytes Boyut sınırı (byte), -1 ise sınırsız
+         * @return Builder
+         */
+        public Builder withTopicRetentionBytes(String topic, long retentionBytes) {
+            this.topicRetentionBytes.put(topic, retentionBytes);
+            return this;
+        }
+        
+        public Builder withCleanupPolicy(CleanupPolicy cleanupPolicy) {
+            this.cleanupPolicy = cleanupPolicy;
+            return this;
+        }
+        
+        /**
+         * Topic için varsayılandan farklı bir temizleme politikası tanımlar.
+         * @param topic Topic adı
+         * @param cleanupPolicy Temizleme politikası
+         * @return Builder
+         */
+        public Builder withTopicCleanupPolicy(String topic, CleanupPolicy cleanupPolicy) {
+            this.topicCleanupPolicy.put(topic, cleanupPolicy);
+            return this;
+        }
+        
+        public Builder withDeleteRetentionMs(long deleteRetentionMs) {
+            this.deleteRetentionMs = deleteRetentionMs;
+            return this;
+        }
+        
+        public Builder withMinCleanableDirtyRatio(double minCleanableDirtyRatio) {
+            this.minCleanableDirtyRatio = minCleanableDirtyRatio;
+            return this;
+        }
+        
+        public Builder withRecoveryThreads(int recoveryThreads) {
+            this.recoveryThreads = recoveryThreads;
+            return this;
+        }
+        
+        public LogConfig build() {
+            return new LogConfig(this);
+        }
+    }
+}
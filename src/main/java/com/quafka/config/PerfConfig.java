@@ -0,0 +1,216 @@
+package com.quafka.config;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Yük üreticisi (quafka-perf) yapılandırmasını temsil eden sınıf.
+ */
+public class PerfConfig {
+    private final int producers;
+    private final int consumers;
+    private final int messageSize;
+    private final int messagesPerSecond;
+    private final long durationMs;
+    private final long warmupMs;
+    private final String topic;
+    private final int partitions;
+    private final ProducerConfig producerConfig;
+    private final Path logDir;
+    private final int port;
+    
+    private PerfConfig(Builder builder) {
+        this.producers = builder.producers;
+        this.consumers = builder.consumers;
+        this.messageSize = builder.messageSize;
+        this.messagesPerSecond = builder.messagesPerSecond;
+        this.durationMs = builder.durationMs;
+        this.warmupMs = builder.warmupMs;
+        this.topic = builder.topic;
+        this.partitions = builder.partitions;
+        this.producerConfig = builder.producerConfig;
+        this.logDir = builder.logDir;
+        this.port = builder.port;
+    }
+    
+    /**
+     * Her biri kendi bağlantısını kullanan üretici sayısı.
+     * @return Üretici sayısı
+     */
+    public int getProducers() {
+        return producers;
+    }
+    
+    /**
+     * Aynı grupta partition'ları paylaşan tüketici sayısı. 0 ise uçtan uca gecikme ölçülmez.
+     * @return Tüketici sayısı
+     */
+    public int getConsumers() {
+        return consumers;
+    }
+    
+    /**
+     * Gönderilen mesajların boyutu. İlk 8 byte gönderim zamanını taşır.
+     * @return Mesaj boyutu (byte)
+     */
+    public int getMessageSize() {
+        return messageSize;
+    }
+    
+    /**
+     * Tüm üreticilerin toplamda saniyede göndermesi planlanan mesaj sayısı. Gönderimler yanıtlardan
+     * bağımsız olarak bu takvime göre yapılır.
+     * @return Hedef mesaj hızı (mesaj/saniye)
+     */
+    public int getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+    
+    /**
+     * Ölçüm süresi; ısınma süresine dahil değildir.
+     * @return Süre (milisaniye)
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+    
+    /**
+     * Ölçümden önce yük uygulanan ancak gecikmelerin kaydedilmediği süre.
+     * @return Isınma süresi (milisaniye)
+     */
+    public long getWarmupMs() {
+        return warmupMs;
+    }
+    
+    public String getTopic() {
+        return topic;
+    }
+    
+    public int getPartitions() {
+        return partitions;
+    }
+    
+    /**
+     * Üreticilerin batch, bekleme, sıkıştırma ve onay ayarları.
+     * @return Üretici yapılandırması
+     */
+    public ProducerConfig getProducerConfig() {
+        return producerConfig;
+    }
+    
+    /**
+     * Sunucunun log dizini.
+     * @return Log dizini, null ise geçici bir dizin oluşturulup sonunda silinir
+     */
+    public Path getLogDir() {
+        return logDir;
+    }
+    
+    /**
+     * Sunucunun başlatılacağı ve üretici ile tüketicilerin bağlanacağı port.
+     * @return Port numarası
+     */
+    public int getPort() {
+        return port;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PerfConfig that = (PerfConfig) o;
+        return producers == that.producers &&
+            consumers == that.consumers &&
+            messageSize == that.messageSize &&
+            messagesPerSecond == that.messagesPerSecond &&
+            durationMs == that.durationMs &&
+            warmupMs == that.warmupMs &&
+            partitions == that.partitions &&
+            port == that.port &&
+            Objects.equals(topic, that.topic) &&
+            Objects.equals(producerConfig, that.producerConfig) &&
+            Objects.equals(logDir, that.logDir);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(producers, consumers, messageSize, messagesPerSecond, durationMs, warmupMs, topic,
+            partitions, producerConfig, logDir, port);
+    }
+    
+    /**
+     * PerfConfig için builder sınıfı.
+     */
+    public static class Builder {
+        private int producers = 1;
+        private int consumers = 1;
+        private int messageSize = 100;
+        private int messagesPerSecond = 10000;
+        private long durationMs = 30000;
+        private long warmupMs = 5000;
+        private String topic = "quafka-perf";
+        private int partitions = 3;
+        private ProducerConfig producerConfig = new ProducerConfig.Builder().build();
+        private Path logDir;
+        private int port = 8080;
+        
+        public Builder withProducers(int producers) {
+            this.producers = producers;
+            return this;
+        }
+        
+        public Builder withConsumers(int consumers) {
+            this.consumers = consumers;
+            return this;
+        }
+        
+        public Builder withMessageSize(int messageSize) {
+            this.messageSize = messageSize;
+            return this;
+        }
+        
+        public Builder withMessagesPerSecond(int messagesPerSecond) {
+            this.messagesPerSecond = messagesPerSecond;
+            return this;
+        }
+        
+        public Builder withDurationMs(long durationMs) {
+            this.durationMs = durationMs;
+            return this;
+        }
+        
+        public Builder withWarmupMs(long warmupMs) {
+            this.warmupMs = warmupMs;
+            return this;
+        }
+        
+        public Builder withTopic(String topic) {
+            this.topic = topic;
+            return this;
+        }
+        
+        public Builder withPartitions(int partitions) {
+            this.partitions = partitions;
+            return this;
+        }
+        
+        public Builder withProducerConfig(ProducerConfig producerConfig) {
+            this.producerConfig = producerConfig;
+            return this;
+        }
+        
+        public Builder withLogDir(Path logDir) {
+            this.logDir = logDir;
+            return this;
+        }
+        
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+        
+        public PerfConfig build() {
+            return new PerfConfig(this);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.quafka.config;
+
+import com.quafka.compression.CompressionType;
+import com.quafka.partitioner.PartitioningStrategy;
+import com.quafka.producer.AckMode;
+
+import java.util.Objects;
+
+/**
+ * Üretici (producer) yapılandırmasını temsil eden sınıf.
+ */
+public class ProducerConfig {
+    private final int batchSize;
+    private final long lingerMs;
+    private final PartitioningStrategy partitioningStrategy;
+    private final long metadataMaxAgeMs;
+    private final CompressionType compression;
+    private final AckMode acks;
+    
+    private ProducerConfig(Builder builder) {
+        this.batchSize = builder.batchSize;
+        this.lingerMs = builder.lingerMs;
+        this.partitioningStrategy = builder.partitioningStrategy;
+        this.metadataMaxAgeMs = builder.metadataMaxAgeMs;
+        this.compression = builder.compression;
+        this.acks = builder.acks;
+    }
+    
+    /**
+     * Bir partition için biriktirilecek en fazla byte sayısı. Sınıra ulaşan batch hemen gönderilir.
+     * @return Batch boyutu (byte)
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * Batch dolmasa bile ilk kayıttan sonra en fazla bekleme süresi.
+     * @return Bekleme süresi (milisaniye)
+     */
+    public long getLingerMs() {
+        return lingerMs;
+    }
+    
+    /**
+     * Partition belirtilmeyen kayıtların partition seçme stratejisi.
+     * @return Partition seçme stratejisi
+     */
+    public PartitioningStrategy getPartitioningStrategy() {
+        return partitioningStrategy;
+    }
+    
+    /**
+     * Önbelleğe alınan topic partition sayılarının yenilenmeden kullanılacağı en uzun süre.
+     * Topic'e sonradan eklenen partition'lar bu süre dolduğunda kullanılmaya başlanır.
+     * @return Süre (milisaniye)
+     */
+    public long getMetadataMaxAgeMs() {
+        return metadataMaxAgeMs;
+    }
+    
+    /**
+     * Batch'lerin gönderilmeden önce sıkıştırılacağı türü döndürür. Sıkıştırılmış batch'ler
+     * sunucuda açılmadan saklanır ve tüketicide açılır.
+     * @return Sıkıştırma türü
+     */
+    public CompressionType getCompression() {
+        return compression;
+    }
+    
+    /**
+     * Batch'lerin başarılı sayılması için sunucudan beklenen onay düzeyini döndürür.
+     * @return Onay düzeyi
+     */
+    public AckMode getAcks() {
+        return acks;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProducerConfig that = (ProducerConfig) o;
+        return batchSize == that.batchSize &&
+            lingerMs == that.lingerMs &&
+            partitioningStrategy == that.partitioningStrategy &&
+            metadataMaxAgeMs == that.metadataMaxAgeMs &&
+            compression == that.compression &&
+            acks == that.acks;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(batchSize, lingerMs, partitioningStrategy, metadataMaxAgeMs, compression,
+            acks);
+    }
+    
+    /**
+     * ProducerConfig için builder sınıfı.
+     */
+    public static class Builder {
+        private int batchSize = 16 * 1024;
+        private long lingerMs = 5;
+        private PartitioningStrategy partitioningStrategy = PartitioningStrategy.STICKY;
+        private long metadataMaxAgeMs = 60000;
+        private CompressionType compression = CompressionType.NONE;
+        private AckMode acks = AckMode.LEADER;
+        
+        public Builder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+        
+        public Builder withLingerMs(long lingerMs) {
+            this.lingerMs = lingerMs;
+            return this;
+        }
+        
+        public Builder withPartitioningStrategy(PartitioningStrategy partitioningStrategy) {
+            this.partitioningStrategy = partitioningStrategy;
+            return this;
+        }
+        
+        public Builder withMetadataMaxAgeMs(long metadataMaxAgeMs) {
+            this.metadataMaxAgeMs = metadataMaxAgeMs;
+            return this;
+        }
+        
+        public Builder withCompression(CompressionType compression) {
+            this.compression = compression;
+            return this;
+        }
+        
+        public Builder withAcks(AckMode acks) {
+            this.acks = acks;
+            return this;
+        }
+        
+        public ProducerConfig build() {
+            return new ProducerConfig(this);
+        }
+    }
+}
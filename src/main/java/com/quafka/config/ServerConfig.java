@@ -1,5 +1,7 @@
 package com.quafka.config;
 
+import com.quafka.partitioner.PartitioningStrategy;
+
 import java.util.Objects;
 
 /**
@@ -10,12 +12,26 @@ public class ServerConfig {
     private final int backlog;
     private final int maxConnections;
     private final int workerThreads;
+    private final int eventLoopThreads;
+    private final boolean virtualThreads;
+    private final LogConfig logConfig;
+    private final PartitioningStrategy partitioningStrategy;
+    private final int defaultPartitionCount;
+    private final int metricsPort;
+    private final TraceConfig traceConfig;
     
     private ServerConfig(Builder builder) {
         this.port = builder.port;
         this.backlog = builder.backlog;
         this.maxConnections = builder.maxConnections;
         this.workerThreads = builder.workerThreads;
+        this.eventLoopThreads = builder.eventLoopThreads;
+        this.virtualThreads = builder.virtualThreads;
+        this.logConfig = builder.logConfig;
+        this.partitioningStrategy = builder.partitioningStrategy;
+        this.defaultPartitionCount = builder.defaultPartitionCount;
+        this.metricsPort = builder.metricsPort;
+        this.traceConfig = builder.traceConfig;
     }
     
     public int getPort() {
@@ -34,6 +50,50 @@ public class ServerConfig {
         return workerThreads;
     }
     
+    public int getEventLoopThreads() {
+        return eventLoopThreads;
+    }
+    
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    public LogConfig getLogConfig() {
+        return logConfig;
+    }
+    
+    /**
+     * Anahtarlı ve anahtarsız mesajların partition'lara dağıtılma stratejisi.
+     * @return Partition seçme stratejisi
+     */
+    public PartitioningStrategy getPartitioningStrategy() {
+        return partitioningStrategy;
+    }
+    
+    /**
+     * Partition sayısı belirtilmeden oluşturulan topic'lerin partition sayısı.
+     * @return Varsayılan partition sayısı
+     */
+    public int getDefaultPartitionCount() {
+        return defaultPartitionCount;
+    }
+    
+    /**
+     * Metriklerin Prometheus metin biçiminde sunulduğu HTTP portu ({@code GET /metrics}).
+     * @return Metrik portu, -1 ise metrik dinleyicisi başlatılmaz
+     */
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+    
+    /**
+     * Mesaj başına iz kaydı ayarları; sunucu başlatılırken paylaşılan iz kaydediciye uygulanır.
+     * @return İz kaydı yapılandırması
+     */
+    public TraceConfig getTraceConfig() {
+        return traceConfig;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -42,12 +102,20 @@ public class ServerConfig {
         return port == that.port &&
             backlog == that.backlog &&
             maxConnections == that.maxConnections &&
-            workerThreads == that.workerThreads;
+            workerThreads == that.workerThreads &&
+            eventLoopThreads == that.eventLoopThreads &&
+            virtualThreads == that.virtualThreads &&
+            defaultPartitionCount == that.defaultPartitionCount &&
+            metricsPort == that.metricsPort &&
+            Objects.equals(logConfig, that.logConfig) &&
+            partitioningStrategy == that.partitioningStrategy &&
+            Objects.equals(traceConfig, that.traceConfig);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(port, backlog, maxConnections, workerThreads);
+        return Objects.hash(port, backlog, maxConnections, workerThreads, eventLoopThreads, virtualThreads, logConfig,
+            partitioningStrategy, defaultPartitionCount, metricsPort, traceConfig);
     }
     
     /**
@@ -58,6 +126,13 @@ public class ServerConfig {
         private int backlog = 50;
         private int maxConnections = 100;
         private int workerThreads = 10;
+        private int eventLoopThreads = Runtime.getRuntime().availableProcessors();
+        private boolean virtualThreads = false;
+        private LogConfig logConfig = LogConfig.defaults();
+        private PartitioningStrategy partitioningStrategy = PartitioningStrategy.STICKY;
+        private int defaultPartitionCount = 3;
+        private int metricsPort = -1;
+        private TraceConfig traceConfig = TraceConfig.defaults();
         
         public Builder withPort(int port) {
             this.port = port;
@@ -79,8 +154,43 @@ public class ServerConfig {
             return this;
         }
         
+        public Builder withEventLoopThreads(int eventLoopThreads) {
+            this.eventLoopThreads = eventLoopThreads;
+            return this;
+        }
+        
+        public Builder withVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+        
+        public Builder withLogConfig(LogConfig logConfig) {
+            this.logConfig = logConfig;
+            return this;
+        }
+        
+        public Builder withPartitioningStrategy(PartitioningStrategy partitioningStrategy) {
+            this.partitioningStrategy = partitioningStrategy;
+            return this;
+        }
+        
+        public Builder withDefaultPartitionCount(int defaultPartitionCount) {
+            this.defaultPartitionCount = defaultPartitionCount;
+            return this;
+        }
+        
+        public Builder withMetricsPort(int metricsPort) {
+            this.metricsPort = metricsPort;
+            return this;
+        }
+        
+        public Builder withTraceConfig(TraceConfig traceConfig) {
+            this.traceConfig = traceConfig;
+            return this;
+        }
+        
         public ServerConfig build() {
             return new ServerConfig(this);
         }
     }
-} 
\ No newline at end of file
+}
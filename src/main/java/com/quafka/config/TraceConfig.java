@@ -0,0 +1,95 @@
+package com.quafka.config;
+
+import java.util.Objects;
+
+/**
+ * Mesaj başına iz kaydı (trace) yapılandırmasını temsil eden sınıf.
+ * İz kaydı varsayılan olarak kapalıdır; açıldığında mesajların bir kısmı örneklenir ve saniyedeki
+ * kayıt sayısı sınırlanır, böylece yüksek hacimde log maliyeti sabit kalır.
+ */
+public class TraceConfig {
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int maxEventsPerSecond;
+    
+    private TraceConfig(Builder builder) {
+        this.enabled = builder.enabled;
+        this.sampleRate = builder.sampleRate;
+        this.maxEventsPerSecond = builder.maxEventsPerSecond;
+    }
+    
+    /**
+     * İz kaydı kapalı varsayılan yapılandırmayı döndürür.
+     * @return Varsayılan yapılandırma
+     */
+    public static TraceConfig defaults() {
+        return new Builder().build();
+    }
+    
+    /**
+     * İz kaydının açık olup olmadığı.
+     * @return Açıksa true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Mesajların iz kaydı için seçilme olasılığı.
+     * @return Örnekleme oranı (0-1), 1 ise tüm mesajlar
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+    
+    /**
+     * Saniyede yazılacak en fazla iz kaydı; fazlası atılır ve sayılır.
+     * @return Saniyedeki kayıt sınırı, 0 veya negatifse sınırsız
+     */
+    public int getMaxEventsPerSecond() {
+        return maxEventsPerSecond;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TraceConfig that = (TraceConfig) o;
+        return enabled == that.enabled &&
+            Double.compare(sampleRate, that.sampleRate) == 0 &&
+            maxEventsPerSecond == that.maxEventsPerSecond;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, sampleRate, maxEventsPerSecond);
+    }
+    
+    /**
+     * TraceConfig için builder sınıfı.
+     */
+    public static class Builder {
+        private boolean enabled = false;
+        private double sampleRate = 1.0;
+        private int maxEventsPerSecond = 100;
+        
+        public Builder withEnabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+        
+        public Builder withSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+        
+        public Builder withMaxEventsPerSecond(int maxEventsPerSecond) {
+            this.maxEventsPerSecond = maxEventsPerSecond;
+            return this;
+        }
+        
+        public TraceConfig build() {
+            return new TraceConfig(this);
+        }
+    }
+}
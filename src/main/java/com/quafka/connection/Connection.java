@@ -3,6 +3,9 @@ package com.quafka.connection;
 import com.quafka.config.ConnectionConfig;
 import com.quafka.monitoring.ConnectionMetrics;
 import com.quafka.monitoring.ConnectionMonitor;
+import com.quafka.protocol.Frame;
+import com.quafka.protocol.OpCode;
+import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
@@ -54,6 +57,33 @@ public interface Connection extends AutoCloseable {
      */
     CompletableFuture<String> sendMessageAsync(String message);
     
+    /**
+     * İkili protokolle istek gönderir ve yanıt çerçevesini bekler.
+     * Bağlantı {@code ProtocolType.BINARY} ile yapılandırılmış olmalıdır.
+     * @param opCode İstek türü
+     * @param payload İstek içeriği
+     * @return Yanıt çerçevesi
+     * @throws ConnectionException İstek gönderilemezse veya sunucu hata döndürürse
+     */
+    Frame send(OpCode opCode, ByteBuffer payload) throws ConnectionException;
+    
+    /**
+     * İkili protokolle isteği asenkron olarak gönderir.
+     * @param opCode İstek türü
+     * @param payload İstek içeriği
+     * @return Yanıt çerçevesi için CompletableFuture
+     */
+    CompletableFuture<Frame> sendAsync(OpCode opCode, ByteBuffer payload);
+    
+    /**
+     * İkili protokolle yanıt beklenmeyen bir istek gönderir (ör. onaysız PRODUCE).
+     * İstek uçuştaki istek sınırına dahil edilmez; sunucunun gönderebileceği hata yanıtları atlanır.
+     * @param opCode İstek türü
+     * @param payload İstek içeriği
+     * @return İstek sokete yazıldığında tamamlanan CompletableFuture
+     */
+    CompletableFuture<Void> sendOneWay(OpCode opCode, ByteBuffer payload);
+    
     /**
      * Bağlantı durumunu döndürür.
      * @return Bağlantı durumu
@@ -83,4 +113,4 @@ public interface Connection extends AutoCloseable {
      * @return Bağlantı açık ise true
      */
     boolean isConnected();
-} 
\ No newline at end of file
+}
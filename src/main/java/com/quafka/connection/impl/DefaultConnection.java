@@ -1,43 +1,85 @@
 package com.quafka.connection.impl;
 
+import com.quafka.buffer.BufferPool;
+import com.quafka.buffer.PooledBuffer;
 import com.quafka.connection.Connection;
 import com.quafka.connection.ConnectionException;
 import com.quafka.connection.ConnectionState;
 import com.quafka.config.ConnectionConfig;
 import com.quafka.monitoring.ConnectionMetrics;
 import com.quafka.monitoring.ConnectionMonitor;
+import com.quafka.monitoring.OperationType;
 import com.quafka.monitoring.impl.DefaultConnectionMonitor;
 import com.quafka.monitoring.impl.DefaultConnectionMetrics;
+import com.quafka.protocol.Frame;
+import com.quafka.protocol.FrameCodec;
+import com.quafka.protocol.OpCode;
+import com.quafka.protocol.ProtocolType;
+import com.quafka.protocol.WireFormat;
 import com.quafka.retry.RetryPolicy;
 import com.quafka.retry.impl.ExponentialBackoffRetryPolicy;
-import com.quafka.topic.TopicManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 /**
  * Varsayılan bağlantı implementasyonu.
- * TCP Socket üzerinden mesajlaşma sağlar.
+ * TCP Socket üzerinden mesajlaşma sağlar; yapılandırmaya göre satır tabanlı metin
+ * protokolünü veya uzunluk önekli ikili protokolü kullanır.
+ *
+ * <p>İstekler yanıt beklenmeden art arda yazılır (pipelining). Yanıtları ayrı bir okuyucu
+ * thread'i alır: ikili protokolde korelasyon ID'si ile, metin protokolünde ise sunucu
+ * yanıtları sırayla döndürdüğü için gönderim sırasıyla eşleştirilir. Aynı anda yanıt
+ * bekleyen istek sayısı {@link ConnectionConfig#getMaxInFlightRequests()} ile sınırlanır.</p>
+ *
+ * <p>İkili protokolde soket bir {@link SocketChannel} üzerinden kullanılır. İstekler paylaşılan
+ * {@link BufferPool}'dan alınan direct buffer'a kodlanıp tek yazmayla gönderilir; yanıtlar bağlantıya
+ * ait havuzlanmış bir alma buffer'ında çözülür ve çağırana yalnızca içerikleri kopyalanarak teslim edilir.</p>
  */
 public class DefaultConnection implements Connection {
     private static final Logger logger = LoggerFactory.getLogger(DefaultConnection.class);
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final int RECEIVE_BUFFER_SIZE = 64 * 1024;
     
     private final ConnectionConfig config;
     private final AtomicReference<ConnectionState> state;
     private final ConnectionMonitor monitor;
     private final ConnectionMetrics metrics;
     private final RetryPolicy retryPolicy;
+    private final Executor asyncExecutor;
+    private final AtomicInteger correlationIds;
+    private final Map<Integer, CompletableFuture<Frame>> pendingFrames;
+    private final Queue<CompletableFuture<String>> pendingLines;
+    private final Semaphore inFlightPermits;
+    private final Object writeLock = new Object();
+    private final BufferPool bufferPool;
     
     private Socket socket;
+    private SocketChannel channel;
     private BufferedReader reader;
     private BufferedWriter writer;
+    private byte protocolVersion;
     
     public DefaultConnection(ConnectionConfig config) {
         this.config = config;
@@ -49,28 +91,57 @@ public class DefaultConnection implements Connection {
             config.getInitialRetryDelay(),
             config.getMaxRetryDelay()
         );
+        // Soket I/O'su sırasında bloklanan asenkron işlemler ortak ForkJoinPool'u tıkamasın diye
+        // sanal thread modunda her işlem kendi sanal thread'inde çalışır
+        this.asyncExecutor = config.isVirtualThreads()
+            ? VIRTUAL_THREAD_EXECUTOR
+            : ForkJoinPool.commonPool();
+        this.correlationIds = new AtomicInteger();
+        this.pendingFrames = new ConcurrentHashMap<>();
+        this.pendingLines = new ConcurrentLinkedQueue<>();
+        this.inFlightPermits = new Semaphore(Math.max(1, config.getMaxInFlightRequests()));
+        this.bufferPool = BufferPool.shared();
     }
     
     @Override
     public void connect() throws ConnectionException {
         if (state.compareAndSet(ConnectionState.DISCONNECTED, ConnectionState.CONNECTING)) {
+            long startTime = System.nanoTime();
             try {
                 logger.info("Bağlantı kuruluyor: {}", config.getConnectionId());
                 
-                // Socket bağlantısını oluştur
-                socket = new Socket(config.getHost(), config.getPort());
+                // Socket bağlantısını oluştur; ikili protokol kanal üzerinden çalışır
+                if (config.getProtocol() == ProtocolType.BINARY) {
+                    channel = SocketChannel.open(new InetSocketAddress(config.getHost(), config.getPort()));
+                    socket = channel.socket();
+                } else {
+                    socket = new Socket(config.getHost(), config.getPort());
+                }
                 socket.setSoTimeout(config.getTimeout());
+                socket.setTcpNoDelay(true);
                 
                 // I/O akışlarını oluştur
-                reader = new BufferedReader(
-                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
-                );
-                writer = new BufferedWriter(
-                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)
-                );
+                if (config.getProtocol() == ProtocolType.BINARY) {
+                    protocolVersion = handshake();
+                } else {
+                    reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
+                    );
+                    writer = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)
+                    );
+                }
+                
+                // Okuyucu thread yanıtları beklediğinden soket okuma zaman aşımı kapatılır;
+                // zaman aşımı her istek için ayrı uygulanır
+                socket.setSoTimeout(0);
                 
                 state.set(ConnectionState.CONNECTED);
+                (config.isVirtualThreads() ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true))
+                    .name("quafka-connection-reader-" + config.getConnectionId())
+                    .start(this::readLoop);
                 metrics.recordConnection();
+                metrics.recordOperation(OperationType.CONNECT, System.nanoTime() - startTime);
                 monitor.monitorState(ConnectionState.CONNECTED);
                 logger.info("Bağlantı başarılı: {}", config.getConnectionId());
             } catch (Exception e) {
@@ -114,7 +185,7 @@ public class DefaultConnection implements Connection {
                 T result = operation.get();
                 long duration = System.nanoTime() - startTime;
                 
-                metrics.recordOperation(duration);
+                metrics.recordOperation(OperationType.EXECUTE, duration);
                 monitor.monitorPerformance(duration);
                 return result;
             });
@@ -133,63 +204,312 @@ public class DefaultConnection implements Connection {
      */
     @Override
     public String sendMessage(String message) throws ConnectionException {
-        if (!isConnected()) {
-            throw new ConnectionException("Bağlantı kapalı");
+        return await(sendMessageAsync(message), "Mesaj gönderilemedi");
+    }
+    
+    /**
+     * Mesajı asenkron olarak gönderir. Uçuştaki istek sınırına ulaşıldıysa yer açılana kadar bekler.
+     * @param message Gönderilecek mesaj
+     * @return Yanıt için CompletableFuture
+     */
+    @Override
+    public CompletableFuture<String> sendMessageAsync(String message) {
+        if (config.getProtocol() == ProtocolType.BINARY) {
+            return sendAsync(OpCode.TEXT_COMMAND, WireFormat.encodeString(message), OperationType.forCommand(message))
+                .thenApply(response -> WireFormat.decodeString(response.getPayload()));
+        }
+        
+        CompletableFuture<String> future = new CompletableFuture<>();
+        long startTime = System.nanoTime();
+        if (!acquirePermit(future)) {
+            return future;
         }
-
         try {
-            // Mesajı gönder
-            writer.write(message);
-            writer.newLine();
-            writer.flush();
-
-            // Yanıtı bekle
-            StringBuilder response = new StringBuilder();
-            int ch;
-            while ((ch = reader.read()) != '\n' && ch != -1) {
-                response.append((char) ch);
+            synchronized (writeLock) {
+                if (writer == null) {
+                    throw new IOException("Bağlantı kapalı");
+                }
+                // Yanıtlar sırayla döndüğünden kuyruğa ekleme ve yazma aynı kilit altında yapılır
+                pendingLines.add(future);
+                writer.write(message);
+                writer.newLine();
+                writer.flush();
             }
-
-            String responseStr = response.toString();
-
-            if (message.startsWith("TEXT:")) {
-                String content = message.substring(5);
-                TopicManager.getInstance().publish("default-topic", content);
-            }
-
-            return responseStr;
         } catch (IOException e) {
-            throw new ConnectionException("Mesaj gönderilemedi: " + e.getMessage(), e);
+            future.completeExceptionally(new ConnectionException("Mesaj gönderilemedi: " + e.getMessage(), e));
         }
+        // Zaman aşımına uğrayan istek kuyrukta kalır; geç gelen yanıtı sonraki isteğe kaymasın diye o tüketir
+        OperationType type = OperationType.forCommand(message);
+        future.orTimeout(config.getTimeout(), TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> {
+                inFlightPermits.release();
+                recordLatency(type, startTime, error);
+            });
+        return future;
+    }
+    
+    @Override
+    public Frame send(OpCode opCode, ByteBuffer payload) throws ConnectionException {
+        return await(sendAsync(opCode, payload), "İstek gönderilemedi");
     }
     
     /**
-     * Mesajı asenkron olarak gönderir.
-     * @param message Gönderilecek mesaj
-     * @return Yanıt için CompletableFuture
+     * İsteği yanıt beklemeden yazar. Uçuştaki istek sınırına ulaşıldıysa yer açılana kadar bekler.
+     * @param opCode İstek türü
+     * @param payload İstek içeriği
+     * @return Yanıt çerçevesi için CompletableFuture
      */
     @Override
-    public CompletableFuture<String> sendMessageAsync(String message) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return sendMessage(message);
-            } catch (ConnectionException e) {
-                throw new CompletionException(e);
+    public CompletableFuture<Frame> sendAsync(OpCode opCode, ByteBuffer payload) {
+        return sendAsync(opCode, payload, OperationType.forOpCode(opCode));
+    }
+    
+    /**
+     * İsteği gönderir ve gecikmesini verilen işlem türüne kaydeder. Gecikme, uçuştaki istek sınırı
+     * için beklenen süreyi de içerir.
+     */
+    private CompletableFuture<Frame> sendAsync(OpCode opCode, ByteBuffer payload, OperationType type) {
+        CompletableFuture<Frame> future = new CompletableFuture<>();
+        long startTime = System.nanoTime();
+        if (config.getProtocol() != ProtocolType.BINARY) {
+            future.completeExceptionally(new ConnectionException("İkili protokol bu bağlantıda etkin değil"));
+            return future;
+        }
+        if (!acquirePermit(future)) {
+            return future;
+        }
+        
+        int correlationId = correlationIds.incrementAndGet();
+        pendingFrames.put(correlationId, future);
+        future.orTimeout(config.getTimeout(), TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> {
+                pendingFrames.remove(correlationId, future);
+                inFlightPermits.release();
+                recordLatency(type, startTime, error);
+            });
+        
+        try {
+            write(new Frame(protocolVersion, opCode, correlationId, payload));
+        } catch (IOException e) {
+            future.completeExceptionally(new ConnectionException("İstek gönderilemedi: " + e.getMessage(), e));
+        }
+        return future;
+    }
+    
+    @Override
+    public CompletableFuture<Void> sendOneWay(OpCode opCode, ByteBuffer payload) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (config.getProtocol() != ProtocolType.BINARY) {
+            future.completeExceptionally(new ConnectionException("İkili protokol bu bağlantıda etkin değil"));
+            return future;
+        }
+        if (!isConnected()) {
+            future.completeExceptionally(new ConnectionException("Bağlantı kapalı"));
+            return future;
+        }
+        try {
+            write(new Frame(protocolVersion, opCode, correlationIds.incrementAndGet(), payload));
+            future.complete(null);
+        } catch (IOException e) {
+            future.completeExceptionally(new ConnectionException("İstek gönderilemedi: " + e.getMessage(), e));
+        }
+        return future;
+    }
+    
+    /**
+     * Çerçeveyi havuzlanmış bir buffer'a kodlayıp kanala yazar.
+     */
+    private void write(Frame request) throws IOException {
+        PooledBuffer pooled = bufferPool.acquire(FrameCodec.encodedSize(request));
+        try {
+            ByteBuffer buffer = pooled.buffer();
+            FrameCodec.encode(request, buffer);
+            buffer.flip();
+            synchronized (writeLock) {
+                if (channel == null) {
+                    throw new IOException("Bağlantı kapalı");
+                }
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } finally {
+            pooled.release();
+        }
+    }
+    
+    private void recordLatency(OperationType type, long startTime, Throwable error) {
+        // Başarısız isteklerin süresi (çoğunlukla zaman aşımı) hata sayacına yansır, gecikmeye değil
+        if (error == null) {
+            metrics.recordOperation(type, System.nanoTime() - startTime);
+        }
+    }
+    
+    private boolean acquirePermit(CompletableFuture<?> future) {
+        if (!isConnected()) {
+            future.completeExceptionally(new ConnectionException("Bağlantı kapalı"));
+            return false;
+        }
+        try {
+            inFlightPermits.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new ConnectionException("İstek gönderimi kesintiye uğradı", e));
+            return false;
+        }
+    }
+    
+    private <T> T await(CompletableFuture<T> future, String errorMessage) throws ConnectionException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectionException) {
+                throw (ConnectionException) cause;
+            }
+            if (cause instanceof TimeoutException) {
+                throw new ConnectionException(errorMessage + ": yanıt zaman aşımına uğradı", cause);
             }
-        });
+            throw new ConnectionException(errorMessage + ": " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionException(errorMessage + ": kesintiye uğradı", e);
+        }
     }
     
-    private void closeQuietly() {
+    /**
+     * Sunucudan gelen yanıtları okuyup bekleyen isteklere teslim eden döngü.
+     */
+    private void readLoop() {
+        SocketChannel frameChannel = channel;
+        BufferedReader lineReader = reader;
+        ConnectionException failure;
         try {
-            if (writer != null) writer.close();
-            if (reader != null) reader.close();
-            if (socket != null) socket.close();
+            if (frameChannel != null) {
+                readFrames(frameChannel);
+            } else {
+                String line;
+                while ((line = lineReader.readLine()) != null) {
+                    CompletableFuture<String> future = pendingLines.poll();
+                    if (future != null) {
+                        future.complete(line);
+                    }
+                }
+            }
+            failure = new ConnectionException("Sunucu bağlantıyı kapattı");
         } catch (IOException e) {
-            logger.warn("Bağlantı kapatılırken hata oluştu", e);
+            failure = new ConnectionException("Bağlantı okunamadı: " + e.getMessage(), e);
+        }
+        
+        if (isConnected()) {
+            logger.warn("Bağlantı koptu: {} ({})", config.getConnectionId(), failure.getMessage());
+            metrics.recordError();
+            monitor.monitorError("Bağlantı koptu: " + failure.getMessage());
+            if (state.compareAndSet(ConnectionState.CONNECTED, ConnectionState.DISCONNECTING)) {
+                closeQuietly();
+                state.set(ConnectionState.DISCONNECTED);
+                monitor.monitorState(ConnectionState.DISCONNECTED);
+            }
+        }
+        failPending(failure);
+    }
+    
+    /**
+     * Kanal kapanana kadar yanıt çerçevelerini havuzlanmış alma buffer'ına okur. Çerçeve içeriği
+     * buffer'ın görünümü olduğundan teslim edilmeden önce kopyalanır.
+     */
+    private void readFrames(SocketChannel frameChannel) throws IOException {
+        PooledBuffer pooled = bufferPool.acquire(RECEIVE_BUFFER_SIZE);
+        ByteBuffer buffer = pooled.buffer().clear();
+        try {
+            while (true) {
+                buffer.flip();
+                Frame response;
+                while ((response = FrameCodec.decode(buffer)) != null) {
+                    deliver(response.copy());
+                }
+                int required = FrameCodec.requiredBytes(buffer);
+                buffer.compact();
+                
+                // Büyük bir yanıt için büyütülen buffer, boşaldığında varsayılan boyuta döner
+                int capacity = required > buffer.capacity() ? required
+                    : buffer.position() == 0 && buffer.capacity() > RECEIVE_BUFFER_SIZE ? RECEIVE_BUFFER_SIZE
+                    : 0;
+                if (capacity > 0) {
+                    PooledBuffer resized = bufferPool.acquire(capacity);
+                    ByteBuffer resizedBuffer = resized.buffer().clear();
+                    resizedBuffer.put(buffer.flip());
+                    pooled.release();
+                    pooled = resized;
+                    buffer = resizedBuffer;
+                }
+                if (frameChannel.read(buffer) < 0) {
+                    return;
+                }
+            }
         } finally {
-            writer = null;
-            reader = null;
-            socket = null;
+            pooled.release();
+        }
+    }
+    
+    private void deliver(Frame response) {
+        CompletableFuture<Frame> future = pendingFrames.remove(response.getCorrelationId());
+        if (future == null) {
+            logger.debug("Bekleyen isteği olmayan yanıt atlandı: {}", response);
+        } else if (response.isError()) {
+            future.completeExceptionally(new ConnectionException(
+                "Sunucu hatası: " + WireFormat.decodeString(response.getPayload())));
+        } else {
+            future.complete(response);
+        }
+    }
+    
+    private void failPending(ConnectionException failure) {
+        for (Integer correlationId : pendingFrames.keySet()) {
+            CompletableFuture<Frame> future = pendingFrames.remove(correlationId);
+            if (future != null) {
+                future.completeExceptionally(failure);
+            }
+        }
+        CompletableFuture<String> future;
+        while ((future = pendingLines.poll()) != null) {
+            future.completeExceptionally(failure);
+        }
+    }
+    
+    /**
+     * İkili protokol el sıkışmasını yapar ve sunucunun kabul ettiği sürümü döndürür.
+     */
+    private byte handshake() throws IOException {
+        ByteBuffer request = ByteBuffer.wrap(FrameCodec.handshakeBytes(FrameCodec.VERSION));
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+        
+        // Soketin akışı okuma zaman aşımını uygular; kanaldan doğrudan okuma süresiz bloklanır
+        byte[] reply = new byte[FrameCodec.HANDSHAKE_SIZE];
+        new DataInputStream(socket.getInputStream()).readFully(reply);
+        byte version = FrameCodec.readHandshake(ByteBuffer.wrap(reply));
+        if (version > FrameCodec.VERSION) {
+            throw new IOException("Sunucu desteklenmeyen protokol sürümü önerdi: " + version);
+        }
+        return version;
+    }
+    
+    private void closeQuietly() {
+        // Soket kapatıldığında okuyucu thread sonlanır ve bekleyen istekleri hata ile tamamlar
+        synchronized (writeLock) {
+            try {
+                if (socket != null) socket.close();
+            } catch (IOException e) {
+                logger.warn("Bağlantı kapatılırken hata oluştu", e);
+            } finally {
+                writer = null;
+                reader = null;
+                channel = null;
+                socket = null;
+            }
         }
     }
     
@@ -207,7 +527,7 @@ public class DefaultConnection implements Connection {
             } catch (ConnectionException e) {
                 throw new RuntimeException(e);
             }
-        });
+        }, asyncExecutor);
     }
     
     @Override
@@ -241,4 +561,4 @@ public class DefaultConnection implements Connection {
             disconnect();
         }
     }
-} 
\ No newline at end of file
+}
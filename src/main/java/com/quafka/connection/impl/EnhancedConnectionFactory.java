@@ -11,8 +11,8 @@ import com.quafka.health.ConnectionHealthCheck;
 import com.quafka.health.impl.DefaultConnectionHealthCheck;
 import com.quafka.loadbalancer.ConnectionLoadBalancer;
 import com.quafka.loadbalancer.impl.RoundRobinLoadBalancer;
-import com.quafka.metrics.ConnectionMetrics;
-import com.quafka.metrics.impl.DefaultConnectionMetrics;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
 import com.quafka.reconnect.ConnectionReconnectStrategy;
 import com.quafka.reconnect.impl.ExponentialBackoffReconnectStrategy;
 
@@ -28,7 +28,7 @@ import java.util.concurrent.TimeUnit;
 public class EnhancedConnectionFactory implements ConnectionFactory {
     
     private final ConnectionFactory delegate;
-    private final ConnectionMetrics metrics;
+    private final MetricsRegistry registry;
     private final ConnectionHealthCheck healthCheck;
     private final ConnectionReconnectStrategy reconnectStrategy;
     private final ConnectionLoadBalancer loadBalancer;
@@ -37,7 +37,7 @@ public class EnhancedConnectionFactory implements ConnectionFactory {
     public EnhancedConnectionFactory() {
         this(
             DefaultConnectionFactory.getInstance(),
-            new DefaultConnectionMetrics(),
+            MetricsRegistry.getDefault(),
             new DefaultConnectionHealthCheck(),
             new ExponentialBackoffReconnectStrategy(),
             new RoundRobinLoadBalancer()
@@ -46,13 +46,13 @@ public class EnhancedConnectionFactory implements ConnectionFactory {
     
     public EnhancedConnectionFactory(
         ConnectionFactory delegate,
-        ConnectionMetrics metrics,
+        MetricsRegistry registry,
         ConnectionHealthCheck healthCheck,
         ConnectionReconnectStrategy reconnectStrategy,
         ConnectionLoadBalancer loadBalancer
     ) {
         this.delegate = delegate;
-        this.metrics = metrics;
+        this.registry = registry;
         this.healthCheck = healthCheck;
         this.reconnectStrategy = reconnectStrategy;
         this.loadBalancer = loadBalancer;
@@ -64,18 +64,22 @@ public class EnhancedConnectionFactory implements ConnectionFactory {
     
     @Override
     public Connection createConnection(ConnectionConfig config) throws ConnectionException {
-        long startTime = System.currentTimeMillis();
+        Tags tags = Tags.of("connection", config.getHost() + ":" + config.getPort());
+        long startTime = System.nanoTime();
         
         try {
             Connection connection = delegate.createConnection(config);
             connection.connect();
             
-            metrics.recordConnectionCreation(System.currentTimeMillis() - startTime);
-            metrics.incrementSuccessCount();
+            registry.histogram("quafka_client_connection_create_seconds",
+                "Bağlantı oluşturma ve el sıkışma süresi", tags).record(System.nanoTime() - startTime);
+            registry.counter("quafka_client_connections_created_total",
+                "Başarıyla oluşturulan bağlantı sayısı", tags).increment();
             
-            return new MonitoredConnection(connection, connection.getMonitor(), null);
+            return new MonitoredConnection(connection, connection.getMonitor(), connection.getMetrics());
         } catch (Exception e) {
-            metrics.incrementErrorCount();
+            registry.counter("quafka_client_connection_errors_total",
+                "Oluşturulamayan bağlantı sayısı", tags).increment();
             throw new ConnectionException(ConnectionErrorCode.UNKNOWN_ERROR,
                 "Bağlantı oluşturulurken hata oluştu", e);
         }
@@ -105,8 +109,12 @@ public class EnhancedConnectionFactory implements ConnectionFactory {
         // Sağlık kontrolü mantığı burada implemente edilecek
     }
     
-    public ConnectionMetrics getMetrics() {
-        return metrics;
+    /**
+     * Bağlantı oluşturma metriklerinin kaydedildiği kayıt defterini döndürür.
+     * @return Kayıt defteri
+     */
+    public MetricsRegistry getRegistry() {
+        return registry;
     }
     
     public ConnectionHealthCheck getHealthCheck() {
@@ -120,4 +128,4 @@ public class EnhancedConnectionFactory implements ConnectionFactory {
     public ConnectionLoadBalancer getLoadBalancer() {
         return loadBalancer;
     }
-} 
\ No newline at end of file
+}
@@ -6,9 +6,13 @@ import com.quafka.connection.ConnectionState;
 import com.quafka.config.ConnectionConfig;
 import com.quafka.monitoring.ConnectionMetrics;
 import com.quafka.monitoring.ConnectionMonitor;
+import com.quafka.monitoring.OperationType;
+import com.quafka.protocol.Frame;
+import com.quafka.protocol.OpCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
@@ -64,7 +68,7 @@ public class MonitoredConnection implements Connection {
             T result = delegate.execute(operation);
             long duration = System.nanoTime() - startTime;
             monitor.monitorPerformance(duration);
-            metrics.recordOperation(duration);
+            metrics.recordOperation(OperationType.EXECUTE, duration);
             return result;
         } catch (ConnectionException e) {
             monitor.monitorError("İşlem hatası: " + e.getMessage());
@@ -83,7 +87,7 @@ public class MonitoredConnection implements Connection {
                 }
             });
     }
-
+    
     @Override
     public String sendMessage(String message) throws ConnectionException {
         try {
@@ -94,7 +98,7 @@ public class MonitoredConnection implements Connection {
             throw e;
         }
     }
-
+    
     @Override
     public CompletableFuture<String> sendMessageAsync(String message) {
         return delegate.sendMessageAsync(message)
@@ -105,7 +109,40 @@ public class MonitoredConnection implements Connection {
                 }
             });
     }
-
+    
+    @Override
+    public Frame send(OpCode opCode, ByteBuffer payload) throws ConnectionException {
+        try {
+            return delegate.send(opCode, payload);
+        } catch (ConnectionException e) {
+            monitor.monitorError("İstek gönderme hatası: " + e.getMessage());
+            metrics.recordError();
+            throw e;
+        }
+    }
+    
+    @Override
+    public CompletableFuture<Frame> sendAsync(OpCode opCode, ByteBuffer payload) {
+        return delegate.sendAsync(opCode, payload)
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    monitor.monitorError("Asenkron istek gönderme hatası: " + error.getMessage());
+                    metrics.recordError();
+                }
+            });
+    }
+    
+    @Override
+    public CompletableFuture<Void> sendOneWay(OpCode opCode, ByteBuffer payload) {
+        return delegate.sendOneWay(opCode, payload)
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    monitor.monitorError("Yanıtsız istek gönderme hatası: " + error.getMessage());
+                    metrics.recordError();
+                }
+            });
+    }
+    
     @Override
     public ConnectionState getState() {
         return delegate.getState();
@@ -135,4 +172,4 @@ public class MonitoredConnection implements Connection {
     public void close() throws Exception {
         delegate.close();
     }
-} 
\ No newline at end of file
+}
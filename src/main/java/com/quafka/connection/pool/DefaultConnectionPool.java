@@ -5,6 +5,9 @@ import com.quafka.connection.Connection;
 import com.quafka.connection.ConnectionPool;
 import com.quafka.exception.ConnectionErrorCode;
 import com.quafka.exception.ConnectionException;
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
 import com.quafka.connection.impl.DefaultConnection;
 
 import java.util.concurrent.BlockingQueue;
@@ -22,6 +25,8 @@ public class DefaultConnectionPool implements ConnectionPool {
     private final BlockingQueue<Connection> connectionPool;
     private final AtomicInteger activeConnections;
     private final AtomicInteger totalConnections;
+    private final Tags tags;
+    private final Counter exhausted;
     
     public DefaultConnectionPool(ConnectionConfig config, int maxPoolSize) {
         this.config = config;
@@ -29,6 +34,15 @@ public class DefaultConnectionPool implements ConnectionPool {
         this.connectionPool = new LinkedBlockingQueue<>(maxPoolSize);
         this.activeConnections = new AtomicInteger(0);
         this.totalConnections = new AtomicInteger(0);
+        
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        this.tags = Tags.of("connection", config.getHost() + ":" + config.getPort());
+        this.exhausted = registry.counter("quafka_client_pool_exhausted_total",
+            "Havuz dolu olduğu için reddedilen bağlantı istekleri", tags);
+        registry.gauge("quafka_client_pool_active_connections", "Havuzdan alınmış bağlantı sayısı",
+            tags, this::getActiveConnections);
+        registry.gauge("quafka_client_pool_idle_connections", "Havuzda boşta bekleyen bağlantı sayısı",
+            tags, this::getIdleConnections);
     }
     
     @Override
@@ -40,6 +54,7 @@ public class DefaultConnectionPool implements ConnectionPool {
                 if (totalConnections.get() < maxPoolSize) {
                     connection = createNewConnection();
                 } else {
+                    exhausted.increment();
                     throw new ConnectionException(ConnectionErrorCode.CONNECTION_TIMEOUT,
                         "Bağlantı havuzu dolu ve yeni bağlantı oluşturulamıyor");
                 }
@@ -91,9 +106,12 @@ public class DefaultConnectionPool implements ConnectionPool {
     
     @Override
     public void close() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.remove("quafka_client_pool_active_connections", tags);
+        registry.remove("quafka_client_pool_idle_connections", tags);
         Connection connection;
         while ((connection = connectionPool.poll()) != null) {
             connection.disconnect();
         }
     }
-} 
\ No newline at end of file
+}
@@ -6,6 +6,9 @@ import com.quafka.connection.ConnectionFactory;
 import com.quafka.connection.ConnectionPool;
 import com.quafka.exception.ConnectionErrorCode;
 import com.quafka.exception.ConnectionException;
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
 import com.quafka.connection.impl.MonitoredConnection;
 
 import java.util.concurrent.BlockingQueue;
@@ -25,6 +28,8 @@ public class EnhancedConnectionPool implements ConnectionPool {
     private final BlockingQueue<Connection> connectionPool;
     private final AtomicInteger activeConnections;
     private final AtomicInteger totalConnections;
+    private final Tags tags;
+    private final Counter exhausted;
     
     public EnhancedConnectionPool(ConnectionConfig config, int maxPoolSize, ConnectionFactory factory) {
         this.config = config;
@@ -33,6 +38,15 @@ public class EnhancedConnectionPool implements ConnectionPool {
         this.connectionPool = new LinkedBlockingQueue<>(maxPoolSize);
         this.activeConnections = new AtomicInteger(0);
         this.totalConnections = new AtomicInteger(0);
+        
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        this.tags = Tags.of("connection", config.getHost() + ":" + config.getPort());
+        this.exhausted = registry.counter("quafka_client_pool_exhausted_total",
+            "Havuz dolu olduğu için reddedilen bağlantı istekleri", tags);
+        registry.gauge("quafka_client_pool_active_connections", "Havuzdan alınmış bağlantı sayısı",
+            tags, this::getActiveConnections);
+        registry.gauge("quafka_client_pool_idle_connections", "Havuzda boşta bekleyen bağlantı sayısı",
+            tags, this::getIdleConnections);
     }
     
     @Override
@@ -44,6 +58,7 @@ public class EnhancedConnectionPool implements ConnectionPool {
                 if (totalConnections.get() < maxPoolSize) {
                     connection = createNewConnection();
                 } else {
+                    exhausted.increment();
                     throw new ConnectionException(ConnectionErrorCode.CONNECTION_TIMEOUT,
                         "Bağlantı havuzu dolu ve yeni bağlantı oluşturulamıyor");
                 }
@@ -97,9 +112,12 @@ public class EnhancedConnectionPool implements ConnectionPool {
     
     @Override
     public void close() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.remove("quafka_client_pool_active_connections", tags);
+        registry.remove("quafka_client_pool_idle_connections", tags);
         Connection connection;
         while ((connection = connectionPool.poll()) != null) {
             connection.disconnect();
         }
     }
-} 
\ No newline at end of file
+}
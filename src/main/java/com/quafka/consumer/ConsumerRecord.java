@@ -0,0 +1,61 @@
+package com.quafka.consumer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Partition'dan okunan tek bir kayıt.
+ * Anahtar ve değer, FETCH yanıtının içeriğine salt okunur görünümlerdir; kopyalanmaz.
+ */
+public class ConsumerRecord {
+    private final String topic;
+    private final int partition;
+    private final long offset;
+    private final ByteBuffer key;
+    private final ByteBuffer value;
+    
+    public ConsumerRecord(String topic, int partition, long offset, ByteBuffer key, ByteBuffer value) {
+        this.topic = topic;
+        this.partition = partition;
+        this.offset = offset;
+        this.key = key;
+        this.value = value;
+    }
+    
+    public String getTopic() {
+        return topic;
+    }
+    
+    public int getPartition() {
+        return partition;
+    }
+    
+    public long getOffset() {
+        return offset;
+    }
+    
+    /**
+     * Kaydın anahtarını döndürür.
+     * @return Anahtar, anahtarsız kayıtlar için null
+     */
+    public ByteBuffer getKey() {
+        return key != null ? key.duplicate() : null;
+    }
+    
+    /**
+     * Kaydın içeriğini döndürür.
+     * @return İçerik, boş kayıtlar için null
+     */
+    public ByteBuffer getValue() {
+        return value != null ? value.duplicate() : null;
+    }
+    
+    @Override
+    public String toString() {
+        return "ConsumerRecord{" +
+            "topic='" + topic + '\'' +
+            ", partition=" + partition +
+            ", offset=" + offset +
+            ", valueSize=" + (value != null ? value.remaining() : -1) +
+            '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.quafka.consumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tek bir {@link MessageConsumer#poll(java.time.Duration)} çağrısında okunan kayıtlar.
+ * Kayıtlar partition bazında gruplanır; her partition içinde offset sırası korunur.
+ */
+public class ConsumerRecords implements Iterable<ConsumerRecord> {
+    private static final ConsumerRecords EMPTY = new ConsumerRecords(Map.of());
+    
+    private final Map<Integer, List<ConsumerRecord>> records;
+    private final int count;
+    
+    public ConsumerRecords(Map<Integer, List<ConsumerRecord>> records) {
+        this.records = Collections.unmodifiableMap(new LinkedHashMap<>(records));
+        this.count = records.values().stream().mapToInt(List::size).sum();
+    }
+    
+    /**
+     * Kayıt içermeyen örneği döndürür.
+     * @return Boş kayıt kümesi
+     */
+    public static ConsumerRecords empty() {
+        return EMPTY;
+    }
+    
+    /**
+     * Partition'dan okunan kayıtları döndürür.
+     * @param partition Partition ID
+     * @return Partition'ın kayıtları, kayıt yoksa boş liste
+     */
+    public List<ConsumerRecord> records(int partition) {
+        return records.getOrDefault(partition, List.of());
+    }
+    
+    /**
+     * Kayıt içeren partition'ları döndürür.
+     * @return Partition ID'leri
+     */
+    public Set<Integer> partitions() {
+        return records.keySet();
+    }
+    
+    public int count() {
+        return count;
+    }
+    
+    public boolean isEmpty() {
+        return count == 0;
+    }
+    
+    @Override
+    public Iterator<ConsumerRecord> iterator() {
+        List<ConsumerRecord> all = new ArrayList<>(count);
+        records.values().forEach(all::addAll);
+        return Collections.unmodifiableList(all).iterator();
+    }
+}
@@ -2,12 +2,25 @@ package com.quafka.consumer;
 
 import com.quafka.config.ConsumerConfig;
 
+import java.time.Duration;
+
 /**
  * Mesaj tüketici arayüzü.
  */
 public interface MessageConsumer extends AutoCloseable {
     /**
-     * Tüketiciyi başlatır.
+     * Atanan tüm partition'lardan tek bir istekle kayıt okur. Veri yoksa en fazla verilen süre kadar
+     * bekler. Tüketici henüz bağlanmadıysa bağlanır ve gruba katılır. Auto-commit açıksa önceki
+     * çağrıda dönen kayıtların offset'leri bu çağrıda commit edilir.
+     * {@link #start()} ile başlatılan arka plan döngüsü çalışırken çağrılamaz.
+     * @param timeout En fazla bekleme süresi
+     * @return Okunan kayıtlar, veri yoksa boş
+     * @throws Exception Okuma sırasında hata oluşursa
+     */
+    ConsumerRecords poll(Duration timeout) throws Exception;
+    
+    /**
+     * Tüketiciyi başlatır. Kayıtlar arka plan döngüsünde {@link #poll(Duration)} ile okunup işlenir.
      * @throws Exception Başlatma sırasında hata oluşursa
      */
     void start() throws Exception;
@@ -0,0 +1,23 @@
+package com.quafka.consumer;
+
+/**
+ * Tüketicinin okuduğu kayıtları işleme biçimlerini temsil eden enum.
+ */
+public enum ProcessingMode {
+    /**
+     * Kayıtlar tüketici thread'inde, okundukları sırayla işlenir
+     */
+    SEQUENTIAL,
+    
+    /**
+     * Her partition kendi şeridinde (lane) işlenir; partition içindeki sıra korunur,
+     * farklı partition'lar paralel işlenir
+     */
+    PARTITION,
+    
+    /**
+     * Partition içindeki kayıtlar anahtarlarına göre şeritlere dağıtılır; yalnızca aynı
+     * anahtarlı kayıtların sırası korunur
+     */
+    KEY
+}
@@ -2,54 +2,137 @@ package com.quafka.consumer.impl;
 
 import com.quafka.config.ConnectionConfig;
 import com.quafka.config.ConsumerConfig;
+import com.quafka.consumer.ConsumerRecord;
+import com.quafka.consumer.ConsumerRecords;
 import com.quafka.consumer.MessageConsumer;
+import com.quafka.consumer.ProcessingMode;
 import com.quafka.connection.Connection;
+import com.quafka.connection.ConnectionException;
 import com.quafka.connection.impl.DefaultConnection;
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
+import com.quafka.monitoring.MessageTracer;
+import com.quafka.monitoring.TraceEvent;
 import com.quafka.monitoring.impl.DefaultConnectionMonitor;
 import com.quafka.monitoring.impl.DefaultConnectionMetrics;
+import com.quafka.protocol.OpCode;
+import com.quafka.protocol.ProtocolException;
+import com.quafka.protocol.ProtocolType;
+import com.quafka.protocol.WireFormat;
+import com.quafka.storage.RecordBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Varsayılan mesaj tüketici implementasyonu.
+ * Sunucuya ikili protokolle bağlanır, {@link ConsumerConfig#getGroupId()} grubuna katılır ve
+ * yalnızca kendisine atanan partition'ları, grubun commit ettiği offset'ten itibaren okur.
+ * Her {@link #poll(Duration)} çağrısı atanan tüm partition'ları, partition başına offset ve toplam
+ * kayıt/byte sınırları taşıyan tek bir {@link OpCode#FETCH_BATCHES} isteğiyle okur. İstek sunucuda veri
+ * gelene kadar bekletilir (long-poll), böylece periyodik sorgulama yapılmaz. Sunucu diskteki batch'leri
+ * olduğu gibi (sıfır kopya) gönderir; kayıtlar istemcide, yanıt buffer'ından kopyalanmadan çözülür.
+ * Grup yeniden dengelendiğinde yeni atama heartbeat yanıtından alınır; bırakılan partition'ların
+ * offset'leri (auto-commit açıksa) bırakılmadan önce commit edilir ve bırakma bir sonraki heartbeat
+ * ile hemen bildirilir. Sunucu partition'ı yeni sahibine ancak bu bildirimden sonra verir.
+ * {@link ProcessingMode#PARTITION} ve {@link ProcessingMode#KEY} modlarında arka plan döngüsü
+ * kayıtları {@link LaneDispatcher} ile paralel işler; yavaş bir partition diğerlerini bekletmez.
  */
 public class DefaultMessageConsumer implements MessageConsumer {
     private static final Logger logger = LoggerFactory.getLogger(DefaultMessageConsumer.class);
+    private static final MessageTracer tracer = MessageTracer.shared();
+    
+    private static final int MIN_FETCH_BYTES = 1;
+    private static final int REQUEST_TIMEOUT_MARGIN_MS = 5000;
+    private static final byte[] TEXT_TYPE = "TEXT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_TYPE = "JSON".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BINARY_TYPE = "BINARY".getBytes(StandardCharsets.US_ASCII);
     
     private final ConsumerConfig config;
     private final AtomicBoolean running;
     private final ExecutorService executorService;
+    private final DefaultConnectionMetrics metrics;
+    private final Map<Integer, Long> positions;
+    private final Map<Integer, Long> committed;
+    private final LaneDispatcher dispatcher;
+    private final Counter receivedMessages;
+    private final Counter processedMessages;
+    private final Counter failedMessages;
     private Connection connection;
-    private DefaultConnectionMetrics metrics;
+    private String memberId;
+    private int generation;
+    private long nextHeartbeat;
+    private int fetchRotation;
     
     public DefaultMessageConsumer(ConsumerConfig config) {
         this.config = config;
         this.running = new AtomicBoolean(false);
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.metrics = new DefaultConnectionMetrics();
+        this.positions = new HashMap<>();
+        this.committed = new HashMap<>();
+        this.executorService = config.isVirtualThreads()
+            ? Executors.newSingleThreadExecutor(Thread.ofVirtual().name("quafka-consumer-", 0).factory())
+            : Executors.newSingleThreadExecutor();
+        this.dispatcher = config.getProcessingMode() == ProcessingMode.SEQUENTIAL
+            ? null
+            : new LaneDispatcher(config.getProcessingMode(), config.getProcessingThreads(), createWorkers(config),
+                this::processMessage);
+        
+        // Mesaj başına log satırı yerine grup ve topic sayaçları tutulur
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        Tags tags = Tags.of("group", config.getGroupId(), "topic", config.getTopic());
+        this.receivedMessages = registry.counter("quafka_consumer_messages_received_total",
+            "Tüketicinin aldığı mesaj sayısı", tags);
+        this.processedMessages = registry.counter("quafka_consumer_messages_processed_total",
+            "Tüketicinin başarıyla işlediği mesaj sayısı", tags);
+        this.failedMessages = registry.counter("quafka_consumer_messages_failed_total",
+            "Tüketicinin işleyemediği veya geçersiz bulduğu mesaj sayısı", tags);
+    }
+    
+    private static ExecutorService createWorkers(ConsumerConfig config) {
+        if (config.isVirtualThreads()) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("quafka-consumer-worker-", 0).factory());
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(config.getProcessingThreads(), r -> {
+            Thread thread = new Thread(r, "quafka-consumer-worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     @Override
     public void start() throws Exception {
         if (running.compareAndSet(false, true)) {
-            logger.info("Tüketici başlatılıyor: groupId={}, topic={}", 
+            logger.info("Tüketici başlatılıyor: groupId={}, topic={}",
                 config.getGroupId(), config.getTopic());
             
-            ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
-                .withHost("localhost")
-                .withPort(8080)
-                .withTimeout((int) config.getPollTimeout())
-                .build();
-            
-            connection = new DefaultConnection(connectionConfig);
-            connection.connect();
-            
+            try {
+                ensureConnected();
+            } catch (Exception e) {
+                running.set(false);
+                throw e;
+            }
             executorService.submit(this::consumeMessages);
             
-            logger.info("Tüketici başlatıldı: groupId={}, topic={}", 
+            logger.info("Tüketici başlatıldı: groupId={}, topic={}",
                 config.getGroupId(), config.getTopic());
         }
     }
@@ -59,11 +142,17 @@ public class DefaultMessageConsumer implements MessageConsumer {
         if (running.compareAndSet(true, false)) {
             logger.info("Tüketici durduruluyor");
             
-            if (connection != null) {
-                connection.close();
+            // Döngü son offset'leri commit edip gruptan ayrıldıktan sonra bağlantı kapatılır
+            executorService.shutdown();
+            // Döngü, kalan kayıtların işlenmesini de en fazla pollTimeout kadar bekler
+            if (!executorService.awaitTermination(2 * config.getPollTimeout() + REQUEST_TIMEOUT_MARGIN_MS, TimeUnit.MILLISECONDS)) {
+                logger.warn("Tüketici döngüsü zamanında durmadı");
             }
             
-            executorService.shutdown();
+            closeConnection();
+            if (dispatcher != null) {
+                dispatcher.close();
+            }
             
             logger.info("Tüketici durduruldu");
         }
@@ -79,28 +168,78 @@ public class DefaultMessageConsumer implements MessageConsumer {
         return running.get();
     }
     
+    @Override
+    public synchronized ConsumerRecords poll(Duration timeout) throws Exception {
+        if (running.get()) {
+            throw new IllegalStateException("Tüketici döngüsü çalışırken poll çağrılamaz");
+        }
+        ensureConnected();
+        return pollRecords(timeout.toMillis());
+    }
+    
     @Override
     public void close() throws Exception {
-        stop();
+        if (running.get()) {
+            stop();
+            return;
+        }
+        synchronized (this) {
+            if (connection != null) {
+                leaveGroup();
+                closeConnection();
+            }
+        }
+    }
+    
+    private synchronized void ensureConnected() throws Exception {
+        if (connection != null) {
+            return;
+        }
+        ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+            .withHost(config.getHost())
+            .withPort(config.getPort())
+            // Sunucuda bekletilen FETCH istekleri istek zaman aşımından önce yanıtlanmalıdır
+            .withTimeout((int) config.getPollTimeout() + REQUEST_TIMEOUT_MARGIN_MS)
+            .withVirtualThreads(config.isVirtualThreads())
+            .withProtocol(ProtocolType.BINARY)
+            .build();
+        
+        Connection created = new DefaultConnection(connectionConfig);
+        created.connect();
+        connection = created;
+    }
+    
+    private synchronized void closeConnection() throws Exception {
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
     }
     
     private void consumeMessages() {
         while (running.get()) {
             try {
-                // Topic'ten mesaj al
-                String message = connection.sendMessage("POLL:" + config.getTopic());
-                logger.info("Mesaj alındı: {}", message);
-                
-                // Mesajı işle
-                processMessage(message);
-                
-                // Auto-commit aktifse commit yap
-                if (config.isAutoCommit()) {
-                    connection.sendMessage("COMMIT:" + config.getGroupId());
+                if (dispatcher != null && !dispatcher.awaitCapacity(config.getMaxPendingRecords(), config.getPollInterval())) {
+                    // Şeritler dolu; yeni kayıt okunmadan yalnızca grup üyeliği ve commit sürdürülür
+                    maintainMembership();
+                    continue;
                 }
                 
-                // Belirtilen aralık kadar bekle
-                Thread.sleep(config.getPollInterval());
+                ConsumerRecords records = pollRecords(config.getPollTimeout());
+                if (records.isEmpty()) {
+                    continue;
+                }
+                receivedMessages.increment(records.count());
+                if (tracer.sample()) {
+                    tracer.trace(TraceEvent.RECEIVE, config.getTopic(), -1, -1, records.count(), sizeInBytes(records));
+                }
+                if (dispatcher != null) {
+                    dispatcher.dispatch(records);
+                } else {
+                    for (ConsumerRecord record : records) {
+                        processMessage(record);
+                    }
+                }
             } catch (InterruptedException e) {
                 if (running.get()) {
                     logger.warn("Tüketici kesintiye uğradı", e);
@@ -118,54 +257,412 @@ public class DefaultMessageConsumer implements MessageConsumer {
                 }
             }
         }
+        if (dispatcher != null) {
+            awaitProcessing(positions.keySet());
+        }
+        leaveGroup();
+    }
+    
+    /**
+     * Grup üyeliğini günceller, önceki çağrıda dönen kayıtları (auto-commit açıksa) commit eder
+     * ve atanan partition'ları tek bir istekle okur. Heartbeat zamanı gelmeden dönülmesi için
+     * sunucudaki bekleme süresi bir sonraki heartbeat'e kadar sınırlanır.
+     */
+    private synchronized ConsumerRecords pollRecords(long timeoutMs) throws Exception {
+        maintainMembership();
+        
+        long now = System.currentTimeMillis();
+        long wait = Math.max(0, Math.min(Math.min(timeoutMs, config.getPollTimeout()), nextHeartbeat - now));
+        if (positions.isEmpty()) {
+            // Atanan partition yok; yeni atama bir sonraki heartbeat ile gelir
+            Thread.sleep(Math.min(wait, config.getPollInterval()));
+            return ConsumerRecords.empty();
+        }
+        return fetch((int) wait);
+    }
+    
+    /**
+     * Gerekiyorsa gruba katılır veya heartbeat gönderir; auto-commit açıksa işlenen kayıtların
+     * offset'lerini commit eder.
+     */
+    private synchronized void maintainMembership() throws Exception {
+        long now = System.currentTimeMillis();
+        if (memberId == null) {
+            nextHeartbeat = now + config.getHeartbeatInterval();
+            joinGroup();
+        } else if (now >= nextHeartbeat) {
+            nextHeartbeat = now + config.getHeartbeatInterval();
+            heartbeat();
+        }
+        if (config.isAutoCommit()) {
+            commitPositions(positions.keySet());
+        }
+    }
+    
+    /**
+     * Partition'ların şeritlerdeki kayıtlarının işlenmesini en fazla pollTimeout kadar bekler.
+     */
+    private void awaitProcessing(Set<Integer> partitions) {
+        try {
+            if (!dispatcher.awaitPartitions(partitions, config.getPollTimeout())) {
+                logger.warn("Partition'ların kayıtları zamanında işlenemedi: {}", partitions);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Atanan partition'ları tek bir FETCH_BATCHES isteğiyle okur ve okuma konumlarını ilerletir.
+     * Bir partition'ın sınırları doldurup diğerlerini aç bırakmaması için istekteki partition
+     * sırası her çağrıda kaydırılır.
+     */
+    private ConsumerRecords fetch(int maxWaitMs) throws Exception {
+        List<Integer> partitions = new ArrayList<>(positions.keySet());
+        Collections.rotate(partitions, -(fetchRotation++ % partitions.size()));
+        
+        String topic = config.getTopic();
+        ByteBuffer payload = ByteBuffer.allocate(WireFormat.sizeOf(topic) + 4 * 5 + partitions.size() * 12);
+        WireFormat.putString(payload, topic);
+        payload.putInt(config.getMaxPollRecords()).putInt(config.getFetchMaxBytes());
+        payload.putInt(maxWaitMs).putInt(MIN_FETCH_BYTES);
+        payload.putInt(partitions.size());
+        for (int partition : partitions) {
+            payload.putInt(partition).putLong(positions.get(partition));
+        }
+        
+        ByteBuffer response = connection.send(OpCode.FETCH_BATCHES, payload.flip()).getPayload();
+        int partitionCount = response.getInt();
+        int[] partitionIds = new int[partitionCount];
+        int[] sizes = new int[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitionIds[i] = response.getInt();
+            sizes[i] = response.getInt();
+        }
+        
+        // Batch'ler başlıklardan sonra, başlıklarla aynı sırayla gelir
+        Map<Integer, List<ConsumerRecord>> records = new LinkedHashMap<>();
+        for (int i = 0; i < partitionCount; i++) {
+            if (sizes[i] == 0) {
+                continue;
+            }
+            int partition = partitionIds[i];
+            ByteBuffer batches = response.slice(response.position(), sizes[i]);
+            response.position(response.position() + sizes[i]);
+            
+            List<ConsumerRecord> partitionRecords = new ArrayList<>();
+            readBatches(topic, partition, batches, positions.get(partition), partitionRecords);
+            if (!partitionRecords.isEmpty()) {
+                records.put(partition, partitionRecords);
+                positions.put(partition, partitionRecords.get(partitionRecords.size() - 1).getOffset() + 1);
+            }
+        }
+        return new ConsumerRecords(records);
+    }
+    
+    /**
+     * Ham batch'lerdeki kayıtları, okuma konumundan küçük olanları atlayarak çözer. Anahtar ve
+     * değerler yanıt buffer'ının salt okunur görünümleridir; içerik kopyalanmaz.
+     */
+    private static void readBatches(String topic, int partition, ByteBuffer batches, long fromOffset,
+                                    List<ConsumerRecord> out) throws ProtocolException {
+        while (batches.remaining() >= RecordBatch.LOG_OVERHEAD) {
+            int batchSize = RecordBatch.LOG_OVERHEAD + batches.getInt(batches.position() + RecordBatch.LENGTH_OFFSET);
+            if (batchSize < RecordBatch.HEADER_SIZE || batchSize > batches.remaining()) {
+                throw new ProtocolException("Geçersiz batch boyutu: " + batchSize);
+            }
+            RecordBatch batch = new RecordBatch(batches.slice(batches.position(), batchSize));
+            if (!batch.isValid()) {
+                throw new ProtocolException("Batch CRC doğrulaması başarısız (partition: " + partition
+                    + ", offset: " + batch.baseOffset() + ")");
+            }
+            batch.forEachRecord(fromOffset, (offset, timestamp, key, value) ->
+                out.add(new ConsumerRecord(topic, partition, offset, key, value)));
+            batches.position(batches.position() + batchSize);
+        }
+    }
+    
+    /**
+     * Gruba katılır ve dönen atamayı uygular.
+     */
+    private void joinGroup() throws Exception {
+        String group = config.getGroupId();
+        String strategy = config.getAssignmentStrategy().name();
+        String currentMemberId = memberId != null ? memberId : "";
+        ByteBuffer payload = ByteBuffer.allocate(WireFormat.sizeOf(group) + WireFormat.sizeOf(config.getTopic())
+            + WireFormat.sizeOf(currentMemberId) + 4 + WireFormat.sizeOf(strategy));
+        WireFormat.putString(payload, group);
+        WireFormat.putString(payload, config.getTopic());
+        WireFormat.putString(payload, currentMemberId);
+        payload.putInt((int) config.getSessionTimeout());
+        WireFormat.putString(payload, strategy);
+        
+        ByteBuffer response = connection.send(OpCode.JOIN_GROUP, payload.flip()).getPayload();
+        memberId = WireFormat.getString(response);
+        logger.info("Gruba katılındı: groupId={}, memberId={}", group, memberId);
+        applyAssignment(response);
+    }
+    
+    /**
+     * Okunan partition'ları bildiren bir heartbeat gönderir; grup yeniden dengelendiyse yeni atamayı
+     * uygular. Üyelik düşmüşse (ör. oturum zaman aşımı) partition'lar commit edilmeden bırakılır,
+     * çünkü başka bir üyeye verilmiş olabilirler; bir sonraki turda gruba yeniden katılınır.
+     */
+    private void heartbeat() throws Exception {
+        String group = config.getGroupId();
+        ByteBuffer payload = ByteBuffer.allocate(WireFormat.sizeOf(group) + WireFormat.sizeOf(memberId)
+            + 4 + positions.size() * 4);
+        WireFormat.putString(payload, group);
+        WireFormat.putString(payload, memberId);
+        payload.putInt(positions.size());
+        positions.keySet().forEach(payload::putInt);
+        
+        ByteBuffer response;
+        try {
+            response = connection.send(OpCode.HEARTBEAT, payload.flip()).getPayload();
+        } catch (ConnectionException e) {
+            logger.warn("Heartbeat başarısız, gruba yeniden katılınacak: {}", e.getMessage());
+            memberId = null;
+            generation = 0;
+            if (dispatcher != null) {
+                dispatcher.revoke(positions.keySet());
+            }
+            positions.clear();
+            committed.clear();
+            return;
+        }
+        WireFormat.getString(response);
+        applyAssignment(response);
+    }
+    
+    /**
+     * Atama yanıtındaki nesli ve partition'ları uygular. Bırakılan partition'ların offset'leri yeni
+     * nesille commit edilir, yeni partition'lar grubun commit ettiği offset'ten okunmaya başlanır.
+     */
+    private void applyAssignment(ByteBuffer response) throws Exception {
+        int newGeneration = response.getInt();
+        int count = response.getInt();
+        Set<Integer> assigned = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            assigned.add(response.getInt());
+        }
+        if (newGeneration == generation && assigned.equals(positions.keySet())) {
+            return;
+        }
+        
+        generation = newGeneration;
+        Set<Integer> revoked = new HashSet<>(positions.keySet());
+        revoked.removeAll(assigned);
+        if (dispatcher != null && !revoked.isEmpty()) {
+            // Partition yeni sahibine geçmeden önce şeritteki kayıtları işlenir
+            awaitProcessing(revoked);
+        }
+        if (config.isAutoCommit() && !revoked.isEmpty()) {
+            commitPositions(revoked);
+        }
+        if (dispatcher != null) {
+            dispatcher.revoke(revoked);
+        }
+        positions.keySet().removeAll(revoked);
+        committed.keySet().removeAll(revoked);
+        if (!revoked.isEmpty()) {
+            // Sunucu partition'ı yeni sahibine ancak bırakıldığı bildirilince verir
+            nextHeartbeat = 0;
+        }
+        
+        List<Integer> added = new ArrayList<>(assigned);
+        added.removeAll(positions.keySet());
+        if (!added.isEmpty()) {
+            fetchCommittedOffsets(added);
+        }
+        logger.info("Partition ataması güncellendi: groupId={}, generation={}, partitions={}",
+            config.getGroupId(), generation, positions.keySet());
+    }
+    
+    /**
+     * Partition'ların commit edilmiş offset'lerini alır; commit yoksa partition başından okunur.
+     */
+    private void fetchCommittedOffsets(List<Integer> partitions) throws Exception {
+        String group = config.getGroupId();
+        ByteBuffer payload = ByteBuffer.allocate(WireFormat.sizeOf(group) + WireFormat.sizeOf(config.getTopic())
+            + 4 + partitions.size() * 4);
+        WireFormat.putString(payload, group);
+        WireFormat.putString(payload, config.getTopic());
+        payload.putInt(partitions.size());
+        partitions.forEach(payload::putInt);
+        
+        ByteBuffer response = connection.send(OpCode.OFFSET_FETCH, payload.flip()).getPayload();
+        int count = response.getInt();
+        for (int i = 0; i < count; i++) {
+            int partition = response.getInt();
+            long offset = Math.max(response.getLong(), 0);
+            positions.put(partition, offset);
+            committed.put(partition, offset);
+        }
+    }
+    
+    /**
+     * Verilen partition'lardan son commit'ten sonra ilerleyenlerin konumlarını commit eder.
+     * Paralel işlemede konum, partition'da henüz işlenmemiş en küçük offset'tir. Sunucu commit'i
+     * reddederse (eski nesil veya partition başka üyede) güncel atama için hemen heartbeat gönderilir.
+     */
+    private void commitPositions(Set<Integer> partitions) throws Exception {
+        Map<Integer, Long> offsets = new HashMap<>();
+        for (int partition : partitions) {
+            Long position = processedPosition(partition);
+            if (position != null && !position.equals(committed.get(partition))) {
+                offsets.put(partition, position);
+            }
+        }
+        if (offsets.isEmpty()) {
+            return;
+        }
+        
+        String group = config.getGroupId();
+        String member = memberId != null ? memberId : "";
+        ByteBuffer payload = ByteBuffer.allocate(WireFormat.sizeOf(group) + WireFormat.sizeOf(member) + 4
+            + WireFormat.sizeOf(config.getTopic()) + 4 + offsets.size() * 12);
+        WireFormat.putString(payload, group);
+        WireFormat.putString(payload, member);
+        payload.putInt(generation);
+        WireFormat.putString(payload, config.getTopic());
+        payload.putInt(offsets.size());
+        offsets.forEach((partition, offset) -> payload.putInt(partition).putLong(offset));
+        
+        try {
+            connection.send(OpCode.COMMIT, payload.flip());
+        } catch (ConnectionException e) {
+            logger.warn("Commit reddedildi: groupId={}, generation={}: {}", group, generation, e.getMessage());
+            nextHeartbeat = 0;
+            return;
+        }
+        committed.putAll(offsets);
+    }
+    
+    private Long processedPosition(int partition) {
+        if (dispatcher != null) {
+            long committable = dispatcher.committableOffset(partition);
+            if (committable >= 0) {
+                return committable;
+            }
+        }
+        return positions.get(partition);
+    }
+    
+    /**
+     * Auto-commit açıksa son konumları commit eder ve gruptan ayrılır.
+     */
+    private void leaveGroup() {
+        if (memberId == null) {
+            return;
+        }
+        try {
+            if (config.isAutoCommit()) {
+                commitPositions(positions.keySet());
+            }
+            String group = config.getGroupId();
+            ByteBuffer payload = ByteBuffer.allocate(WireFormat.sizeOf(group) + WireFormat.sizeOf(memberId));
+            WireFormat.putString(payload, group);
+            WireFormat.putString(payload, memberId);
+            connection.send(OpCode.LEAVE_GROUP, payload.flip());
+            logger.info("Gruptan ayrılındı: groupId={}, memberId={}", group, memberId);
+        } catch (Exception e) {
+            logger.warn("Gruptan ayrılırken hata oluştu: groupId={}", config.getGroupId(), e);
+        }
+        memberId = null;
     }
     
-    private void processMessage(String message) {
+    /**
+     * Mesajı {@code TYPE:content} formatına göre işler. Tip öneki byte düzeyinde
+     * karşılaştırılır; BINARY içerik metne dönüştürülmeden işleyiciye iletilir.
+     */
+    private void processMessage(ConsumerRecord record) {
+        ByteBuffer message = record.getValue();
+        long offset = record.getOffset();
         try {
-            if (message == null || message.trim().isEmpty()) {
-                logger.warn("Boş mesaj alındı");
+            if (message == null || !message.hasRemaining()) {
+                logger.warn("Boş mesaj alındı (offset: {})", offset);
+                failedMessages.increment();
                 return;
             }
-
-            String[] parts = message.split(":", 2);
-            if (parts.length != 2) {
-                logger.warn("Geçersiz mesaj formatı: {}", message);
+            
+            int separator = indexOf(message, (byte) ':');
+            if (separator < 0) {
+                logger.warn("Geçersiz mesaj formatı (offset: {})", offset);
+                failedMessages.increment();
                 return;
             }
-
-            String messageType = parts[0];
-            String messageContent = parts[1];
-
-            switch (messageType) {
-                case "TEXT":
-                    handleTextMessage(messageContent);
-                    break;
-                case "JSON":
-                    handleJsonMessage(messageContent);
-                    break;
-                case "BINARY":
-                    handleBinaryMessage(messageContent);
-                    break;
-                default:
-                    logger.warn("Bilinmeyen mesaj tipi: {}", messageType);
+            
+            ByteBuffer content = message.slice(separator + 1, message.remaining() - separator - 1);
+            if (typeEquals(message, separator, TEXT_TYPE)) {
+                handleTextMessage(content);
+            } else if (typeEquals(message, separator, JSON_TYPE)) {
+                handleJsonMessage(content);
+            } else if (typeEquals(message, separator, BINARY_TYPE)) {
+                handleBinaryMessage(content);
+            } else {
+                logger.warn("Bilinmeyen mesaj tipi (offset: {})", offset);
+                failedMessages.increment();
+                return;
+            }
+            
+            processedMessages.increment();
+            if (tracer.sample()) {
+                tracer.trace(TraceEvent.PROCESS, record.getTopic(), record.getPartition(), offset, 1, message.remaining());
             }
-
-            logger.info("Mesaj başarıyla işlendi: type={}, content={}", messageType, messageContent);
         } catch (Exception e) {
-            logger.error("Mesaj işlenirken hata oluştu: {}", message, e);
+            logger.error("Mesaj işlenirken hata oluştu (offset: {})", offset, e);
+            failedMessages.increment();
             metrics.recordError();
         }
     }
     
-    private void handleTextMessage(String content) {
-        logger.debug("Metin mesajı işleniyor: {}", content);
+    private static long sizeInBytes(ConsumerRecords records) {
+        long bytes = 0;
+        for (ConsumerRecord record : records) {
+            ByteBuffer value = record.getValue();
+            bytes += value != null ? value.remaining() : 0;
+        }
+        return bytes;
+    }
+    
+    private static int indexOf(ByteBuffer buffer, byte value) {
+        for (int i = 0; i < buffer.remaining(); i++) {
+            if (buffer.get(buffer.position() + i) == value) {
+                return i;
+            }
+        }
+        return -1;
     }
     
-    private void handleJsonMessage(String content) {
-        logger.debug("JSON mesajı işleniyor: {}", content);
+    private static boolean typeEquals(ByteBuffer message, int length, byte[] type) {
+        if (length != type.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (message.get(message.position() + i) != type[i]) {
+                return false;
+            }
+        }
+        return true;
     }
     
-    private void handleBinaryMessage(String content) {
-        logger.debug("Binary mesaj işleniyor: {}", content);
+    // İçerik yalnızca TRACE seviyesinde metne çevrilir; aksi halde mesaj başına metin oluşturulmaz
+    private void handleTextMessage(ByteBuffer content) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Metin mesajı işleniyor: {}", WireFormat.decodeString(content));
+        }
+    }
+    
+    private void handleJsonMessage(ByteBuffer content) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("JSON mesajı işleniyor: {}", WireFormat.decodeString(content));
+        }
+    }
+    
+    private void handleBinaryMessage(ByteBuffer content) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Binary mesaj işleniyor: {} byte", content.remaining());
+        }
     }
-} 
\ No newline at end of file
+}
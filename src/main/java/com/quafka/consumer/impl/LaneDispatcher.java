@@ -0,0 +1,251 @@
+package com.quafka.consumer.impl;
+
+import com.quafka.consumer.ConsumerRecord;
+import com.quafka.consumer.ConsumerRecords;
+import com.quafka.consumer.ProcessingMode;
+import com.quafka.partitioner.impl.HashPartitioner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Kayıtları şeritlere (lane) dağıtarak paralel işleyen sınıf.
+ * Her şerit kayıtlarını sırayla işler; farklı şeritler ortak işçi havuzunda paralel çalışır.
+ * PARTITION modunda her partition tek şerittir, KEY modunda partition'ın kayıtları anahtar
+ * özetine göre şeritlere bölünür. Her partition için işlenmeyi bekleyen offset'ler izlenir;
+ * commit edilebilecek offset, partition'da henüz tamamlanmamış en küçük offset'tir.
+ */
+public class LaneDispatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LaneDispatcher.class);
+    
+    /** Bir şeridin, işçi thread'ini başka şeritlere bırakmadan önce işleyeceği en fazla kayıt sayısı */
+    private static final int LANE_BATCH_SIZE = 64;
+    
+    private final ProcessingMode mode;
+    private final int keyLanes;
+    private final ExecutorService workers;
+    private final Consumer<ConsumerRecord> handler;
+    private final Map<Long, Lane> lanes;
+    private final Map<Integer, PartitionProgress> progress;
+    private final AtomicInteger pending;
+    private final AtomicInteger waiters;
+    
+    /**
+     * @param mode İşleme modu, PARTITION veya KEY
+     * @param keyLanes KEY modunda her partition'ın bölüneceği şerit sayısı
+     * @param workers Şeritlerin çalıştırılacağı işçi havuzu; kapatma sorumluluğu bu sınıfa geçer
+     * @param handler Her kayıt için çağrılacak işleyici
+     */
+    public LaneDispatcher(ProcessingMode mode, int keyLanes, ExecutorService workers, Consumer<ConsumerRecord> handler) {
+        if (mode == ProcessingMode.SEQUENTIAL) {
+            throw new IllegalArgumentException("Sıralı işleme için şerit kullanılmaz");
+        }
+        this.mode = mode;
+        this.keyLanes = Math.max(keyLanes, 1);
+        this.workers = workers;
+        this.handler = handler;
+        this.lanes = new ConcurrentHashMap<>();
+        this.progress = new ConcurrentHashMap<>();
+        this.pending = new AtomicInteger();
+        this.waiters = new AtomicInteger();
+    }
+    
+    /**
+     * Kayıtları şeritlerine ekler. Aynı partition'ın kayıtları offset sırasıyla verilmelidir.
+     * @param records Okunan kayıtlar
+     */
+    public void dispatch(ConsumerRecords records) {
+        for (int partition : records.partitions()) {
+            PartitionProgress partitionProgress = progress.computeIfAbsent(partition, p -> new PartitionProgress());
+            for (ConsumerRecord record : records.records(partition)) {
+                partitionProgress.inFlight.add(record.getOffset());
+                partitionProgress.nextOffset = record.getOffset() + 1;
+                pending.incrementAndGet();
+                lanes.computeIfAbsent(laneId(record), id -> new Lane()).add(record);
+            }
+        }
+    }
+    
+    /**
+     * İşlenmeyi bekleyen kayıt sayısını döndürür.
+     * @return Bekleyen kayıt sayısı
+     */
+    public int pending() {
+        return pending.get();
+    }
+    
+    /**
+     * Bekleyen kayıt sayısı sınırın altına inene kadar bekler.
+     * @param maxPending Bekleyen kayıt sınırı
+     * @param timeoutMs En fazla bekleme süresi
+     * @return Sınırın altına inildiyse true
+     */
+    public boolean awaitCapacity(int maxPending, long timeoutMs) throws InterruptedException {
+        return await(() -> pending.get() < maxPending, timeoutMs);
+    }
+    
+    /**
+     * Verilen partition'ların şeritlerdeki tüm kayıtları işlenene kadar bekler.
+     * @param partitions Partition ID'leri
+     * @param timeoutMs En fazla bekleme süresi
+     * @return Tüm kayıtlar işlendiyse true
+     */
+    public boolean awaitPartitions(Set<Integer> partitions, long timeoutMs) throws InterruptedException {
+        return await(() -> {
+            for (int partition : partitions) {
+                PartitionProgress partitionProgress = progress.get(partition);
+                if (partitionProgress != null && !partitionProgress.inFlight.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }, timeoutMs);
+    }
+    
+    /**
+     * Partition için commit edilebilecek offset'i döndürür: tamamlanmamış en küçük offset, hepsi
+     * tamamlandıysa dağıtılan son kaydın bir sonrası.
+     * @param partition Partition ID
+     * @return Commit edilebilecek offset, partition'a henüz kayıt dağıtılmadıysa -1
+     */
+    public long committableOffset(int partition) {
+        PartitionProgress partitionProgress = progress.get(partition);
+        if (partitionProgress == null) {
+            return -1;
+        }
+        Iterator<Long> inFlight = partitionProgress.inFlight.iterator();
+        return inFlight.hasNext() ? inFlight.next() : partitionProgress.nextOffset;
+    }
+    
+    /**
+     * Bırakılan partition'ların izlenmesini sonlandırır. Şeritlerde kalan kayıtlar işlenmeye devam eder.
+     * @param partitions Partition ID'leri
+     */
+    public void revoke(Set<Integer> partitions) {
+        progress.keySet().removeAll(partitions);
+    }
+    
+    /**
+     * İşçi havuzunu kapatır; şeritlerde kalan kayıtlar işlenmez.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+    
+    private long laneId(ConsumerRecord record) {
+        long laneId = (long) record.getPartition() << 32;
+        if (mode == ProcessingMode.KEY) {
+            ByteBuffer key = record.getKey();
+            if (key != null) {
+                byte[] bytes = new byte[key.remaining()];
+                key.get(bytes);
+                laneId |= HashPartitioner.partitionForKey(bytes, keyLanes);
+            }
+        }
+        return laneId;
+    }
+    
+    private void complete(ConsumerRecord record) {
+        PartitionProgress partitionProgress = progress.get(record.getPartition());
+        if (partitionProgress != null) {
+            partitionProgress.inFlight.remove(record.getOffset());
+        }
+        pending.decrementAndGet();
+        // Bekleyen yokken her kayıtta kilit alınmaz
+        if (waiters.get() > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+    
+    private boolean await(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return true;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        waiters.incrementAndGet();
+        try {
+            synchronized (this) {
+                while (!condition.getAsBoolean()) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    wait(remaining);
+                }
+                return true;
+            }
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Partition'da işlenmekte olan offset'ler ve dağıtılan son offset'in bir sonrası.
+     */
+    private static final class PartitionProgress {
+        private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        private volatile long nextOffset;
+    }
+    
+    /**
+     * Kayıtlarını sırayla işleyen şerit. Kuyrukta kayıt varken havuza en fazla bir görev gönderilir.
+     */
+    private final class Lane implements Runnable {
+        private final Queue<ConsumerRecord> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        
+        private void add(ConsumerRecord record) {
+            queue.add(record);
+            schedule();
+        }
+        
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    workers.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    logger.warn("Şerit çalıştırılamadı, işçi havuzu kapatılmış olabilir", e);
+                }
+            }
+        }
+        
+        @Override
+        public void run() {
+            ConsumerRecord record;
+            int processed = 0;
+            while (processed < LANE_BATCH_SIZE && (record = queue.poll()) != null) {
+                try {
+                    handler.accept(record);
+                } catch (RuntimeException e) {
+                    logger.error("Kayıt işlenirken hata oluştu: {}", record, e);
+                } finally {
+                    complete(record);
+                }
+                processed++;
+            }
+            scheduled.set(false);
+            // Bu sırada eklenen veya sınır nedeniyle kalan kayıtlar için şerit yeniden zamanlanır
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.quafka.group;
+
+/**
+ * Tüketici grubundaki üyelere partition atama stratejilerini temsil eden enum.
+ */
+public enum AssignmentStrategy {
+    /**
+     * Partition'ları üye kimliği sırasına göre ardışık aralıklar halinde böler
+     */
+    RANGE,
+    
+    /**
+     * Dengeli dağılımı koruyarak üyelerin önceki partition'larını mümkün olduğunca değiştirmez
+     */
+    STICKY
+}
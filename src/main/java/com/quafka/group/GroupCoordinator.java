@@ -0,0 +1,332 @@
+package com.quafka.group;
+
+import com.quafka.group.impl.AssignorFactory;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
+import com.quafka.topic.TopicManager;
+import com.quafka.topic.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tüketici gruplarının üyeliğini, partition atamalarını ve commit edilen offset'lerini yöneten sınıf.
+ * Üye katıldığında, ayrıldığında, oturum süresi içinde heartbeat göndermediğinde veya topic'in
+ * partition sayısı değiştiğinde grup yeniden dengelenir (rebalance) ve nesil (generation) artar.
+ * Üyeler yeni atamalarını bir sonraki heartbeat yanıtında öğrenir.
+ *
+ * <p>Başka bir üyeye geçen partition, önceki sahibi onu bıraktığını heartbeat ile bildirene
+ * (veya gruptan çıkana) kadar yeni sahibine verilmez; böylece önceki sahibin son commit'i yeni
+ * sahip okumaya başlamadan yapılır. Commit'ler yalnızca güncel nesilde ve üyenin sahip olduğu
+ * partition'lar için kabul edilir.</p>
+ */
+public class GroupCoordinator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(GroupCoordinator.class);
+    private static final String LAG_METRIC = "quafka_group_lag_messages";
+    
+    private final TopicManager topicManager;
+    private final OffsetStore offsetStore;
+    private final Map<String, ConsumerGroup> groups;
+    private final MetricsRegistry registry;
+    private final Set<Tags> lagSeries;
+    
+    public GroupCoordinator(TopicManager topicManager, OffsetStore offsetStore) {
+        this.topicManager = topicManager;
+        this.offsetStore = offsetStore;
+        this.groups = new ConcurrentHashMap<>();
+        this.registry = MetricsRegistry.getDefault();
+        this.lagSeries = ConcurrentHashMap.newKeySet();
+    }
+    
+    /**
+     * Üyeyi gruba ekler ve grubu yeniden dengeler. Grup yoksa verilen topic ve stratejiyle oluşturulur.
+     * @param groupId Grup kimliği
+     * @param topic Abone olunan topic
+     * @param memberId Üye kimliği, yeni üyeler için boş
+     * @param sessionTimeoutMs Heartbeat gelmezse üyenin gruptan çıkarılacağı süre
+     * @param strategy Partition atama stratejisi
+     * @return Üyenin kimliği, grubun nesli ve üyeye atanan partition'lar
+     */
+    public MemberAssignment join(String groupId, String topic, String memberId, int sessionTimeoutMs,
+                                 AssignmentStrategy strategy) {
+        if (sessionTimeoutMs <= 0) {
+            throw new GroupException("Geçersiz oturum süresi: " + sessionTimeoutMs);
+        }
+        String id = memberId == null || memberId.isEmpty() ? groupId + "-" + UUID.randomUUID() : memberId;
+        ConsumerGroup group = groups.computeIfAbsent(groupId, g -> new ConsumerGroup(g, topic, strategy));
+        synchronized (group) {
+            if (group.members.isEmpty() && groups.get(groupId) != group) {
+                // Grup boşaldığı için kaldırıldıysa yeniden oluşturulur
+                return join(groupId, topic, memberId, sessionTimeoutMs, strategy);
+            }
+            if (!group.topic.equals(topic)) {
+                throw new GroupException("Grup '" + groupId + "' başka bir topic'e abone: " + group.topic);
+            }
+            if (group.strategy != strategy) {
+                throw new GroupException("Grup '" + groupId + "' farklı bir atama stratejisi kullanıyor: " + group.strategy);
+            }
+            
+            long now = System.currentTimeMillis();
+            boolean joined = group.members.put(id, new Member(sessionTimeoutMs, now)) == null;
+            group.expireMembers(now);
+            if (joined || group.partitionsChanged()) {
+                logger.info("Üye gruba katıldı: group={}, member={}", groupId, id);
+                group.rebalance();
+            }
+            return group.assignmentOf(id);
+        }
+    }
+    
+    /**
+     * Üyenin canlı olduğunu bildirir ve güncel atamasını döndürür. Üyenin artık okumadığını
+     * bildirdiği partition'lar serbest bırakılır ve yeni sahiplerine verilebilir.
+     * @param groupId Grup kimliği
+     * @param memberId Üye kimliği
+     * @param ownedPartitions Üyenin o an okuduğu partition'lar
+     * @return Grubun nesli ve üyeye atanan partition'lar
+     * @throws GroupException Üye grupta değilse (ör. oturumu zaman aşımına uğradıysa)
+     */
+    public MemberAssignment heartbeat(String groupId, String memberId, Set<Integer> ownedPartitions) {
+        ConsumerGroup group = requireGroup(groupId);
+        synchronized (group) {
+            Member member = group.members.get(memberId);
+            if (member == null) {
+                throw new GroupException("Bilinmeyen üye: " + memberId);
+            }
+            long now = System.currentTimeMillis();
+            member.lastHeartbeat = now;
+            group.owners.entrySet().removeIf(entry ->
+                entry.getValue().equals(memberId) && !ownedPartitions.contains(entry.getKey()));
+            if (group.expireMembers(now) || group.partitionsChanged()) {
+                group.rebalance();
+            }
+            return group.assignmentOf(memberId);
+        }
+    }
+    
+    /**
+     * Üyeyi gruptan çıkarır ve kalan üyeler için grubu yeniden dengeler.
+     * @param groupId Grup kimliği
+     * @param memberId Üye kimliği
+     */
+    public void leave(String groupId, String memberId) {
+        ConsumerGroup group = groups.get(groupId);
+        if (group == null) {
+            return;
+        }
+        synchronized (group) {
+            if (group.members.remove(memberId) != null) {
+                group.owners.values().removeIf(memberId::equals);
+                logger.info("Üye gruptan ayrıldı: group={}, member={}", groupId, memberId);
+                group.expireMembers(System.currentTimeMillis());
+                group.rebalance();
+            }
+        }
+    }
+    
+    /**
+     * Grubun partition offset'lerini kaydeder. Üye kimliği boşsa commit grup üyeliği olmadan kabul edilir.
+     * @param groupId Grup kimliği
+     * @param memberId Commit eden üye, grup dışı commit'ler için boş
+     * @param generation Üyenin bildiği nesil; grup dışı commit'lerde dikkate alınmaz
+     * @param topic Topic adı
+     * @param partitionOffsets Partition ID'den okunacak sonraki offset'e eşleme
+     * @throws GroupException Üye grupta değilse, nesil eskiyse veya partition üyeye ait değilse
+     */
+    public void commitOffsets(String groupId, String memberId, int generation, String topic,
+                              Map<Integer, Long> partitionOffsets) {
+        if (memberId != null && !memberId.isEmpty()) {
+            ConsumerGroup group = requireGroup(groupId);
+            synchronized (group) {
+                if (!group.members.containsKey(memberId)) {
+                    throw new GroupException("Bilinmeyen üye: " + memberId);
+                }
+                if (generation != group.generation) {
+                    throw new GroupException("Eski nesil: " + generation + " (güncel: " + group.generation + ")");
+                }
+                for (Integer partition : partitionOffsets.keySet()) {
+                    if (!memberId.equals(group.owners.get(partition))) {
+                        throw new GroupException("Partition " + partition + " üyeye ait değil: " + memberId);
+                    }
+                }
+                // Offset'ler grup kilidi altında yazılır; sahiplik commit sırasında değişemez
+                offsetStore.commit(groupId, topic, partitionOffsets);
+            }
+        } else {
+            offsetStore.commit(groupId, topic, partitionOffsets);
+        }
+        
+        registry.counter("quafka_group_commits_total", "Grubun yaptığı offset commit sayısı",
+            Tags.of("group", groupId, "topic", topic)).increment();
+        for (Integer partition : partitionOffsets.keySet()) {
+            Tags tags = Tags.of("group", groupId, "topic", topic, "partition", partition.toString());
+            if (lagSeries.add(tags)) {
+                registry.gauge(LAG_METRIC, "Grubun commit ettiği offset ile log sonu arasındaki mesaj sayısı",
+                    tags, () -> lag(groupId, topic, partition));
+            }
+        }
+    }
+    
+    /**
+     * Grubun partition için commit ettiği offset'i döndürür.
+     * @param groupId Grup kimliği
+     * @param topic Topic adı
+     * @param partition Partition ID
+     * @return Okunacak sonraki offset, commit yoksa -1
+     */
+    public long fetchOffset(String groupId, String topic, int partition) {
+        return offsetStore.get(groupId, topic, partition);
+    }
+    
+    /**
+     * Offset deposunu kapatır.
+     */
+    @Override
+    public void close() {
+        for (Tags tags : lagSeries) {
+            registry.remove(LAG_METRIC, tags);
+        }
+        lagSeries.clear();
+        groups.clear();
+        offsetStore.close();
+    }
+    
+    private double lag(String groupId, String topic, int partitionId) {
+        TopicPartition partition = topicManager.getPartition(topic, partitionId);
+        long committed = offsetStore.get(groupId, topic, partitionId);
+        if (partition == null || committed < 0) {
+            return Double.NaN;
+        }
+        return Math.max(partition.getLastOffset() + 1 - committed, 0);
+    }
+    
+    private ConsumerGroup requireGroup(String groupId) {
+        ConsumerGroup group = groups.get(groupId);
+        if (group == null) {
+            throw new GroupException("Bilinmeyen grup: " + groupId);
+        }
+        return group;
+    }
+    
+    /**
+     * Bir üyenin gruptaki nesli ve atanan partition'ları.
+     */
+    public static class MemberAssignment {
+        private final String memberId;
+        private final int generation;
+        private final List<Integer> partitions;
+        
+        public MemberAssignment(String memberId, int generation, List<Integer> partitions) {
+            this.memberId = memberId;
+            this.generation = generation;
+            this.partitions = partitions;
+        }
+        
+        public String getMemberId() {
+            return memberId;
+        }
+        
+        public int getGeneration() {
+            return generation;
+        }
+        
+        public List<Integer> getPartitions() {
+            return partitions;
+        }
+    }
+    
+    private static final class Member {
+        private final int sessionTimeoutMs;
+        private long lastHeartbeat;
+        
+        private Member(int sessionTimeoutMs, long lastHeartbeat) {
+            this.sessionTimeoutMs = sessionTimeoutMs;
+            this.lastHeartbeat = lastHeartbeat;
+        }
+    }
+    
+    /**
+     * Grubun üyelik ve atama durumu. Tüm erişimler grup nesnesi üzerinde senkronize edilir.
+     */
+    private final class ConsumerGroup {
+        private final String groupId;
+        private final String topic;
+        private final AssignmentStrategy strategy;
+        private final PartitionAssignor assignor;
+        private final Map<String, Member> members;
+        /** Partition'ı o an okuyan üye; önceki sahip bırakana kadar partition yeni sahibine verilmez */
+        private final Map<Integer, String> owners;
+        private Map<String, List<Integer>> assignment;
+        private int generation;
+        private int partitionCount;
+        
+        private ConsumerGroup(String groupId, String topic, AssignmentStrategy strategy) {
+            this.groupId = groupId;
+            this.topic = topic;
+            this.strategy = strategy;
+            this.assignor = AssignorFactory.create(strategy);
+            this.members = new HashMap<>();
+            this.owners = new HashMap<>();
+            this.assignment = Map.of();
+        }
+        
+        /**
+         * Oturum süresi dolan üyeleri çıkarır.
+         * @return En az bir üye çıkarıldıysa true
+         */
+        private boolean expireMembers(long now) {
+            boolean expired = members.entrySet().removeIf(entry -> {
+                Member member = entry.getValue();
+                if (now - member.lastHeartbeat > member.sessionTimeoutMs) {
+                    owners.values().removeIf(entry.getKey()::equals);
+                    logger.info("Üyenin oturumu zaman aşımına uğradı: group={}, member={}", groupId, entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+            if (members.isEmpty()) {
+                groups.remove(groupId, this);
+            }
+            return expired;
+        }
+        
+        private boolean partitionsChanged() {
+            return topicManager.getPartitionCount(topic) != partitionCount;
+        }
+        
+        private void rebalance() {
+            partitionCount = topicManager.getPartitionCount(topic);
+            List<String> memberIds = new ArrayList<>(members.keySet());
+            memberIds.sort(null);
+            assignment = assignor.assign(memberIds, partitionCount, assignment);
+            generation++;
+            registry.counter("quafka_group_rebalances_total", "Grubun yeniden dengelenme sayısı",
+                Tags.of("group", groupId)).increment();
+            logger.info("Grup yeniden dengelendi: group={}, generation={}, üye={}, partition={}, atama={}",
+                groupId, generation, memberIds.size(), partitionCount, assignment);
+        }
+        
+        /**
+         * Üyeye atanan partition'lardan, başka bir üye tarafından hâlâ okunmayanları üyeye verir.
+         */
+        private MemberAssignment assignmentOf(String memberId) {
+            List<Integer> assigned = assignment.getOrDefault(memberId, List.of());
+            List<Integer> granted = new ArrayList<>(assigned.size());
+            for (Integer partition : assigned) {
+                String owner = owners.get(partition);
+                if (owner == null || owner.equals(memberId) || !members.containsKey(owner)) {
+                    owners.put(partition, memberId);
+                    granted.add(partition);
+                }
+            }
+            return new MemberAssignment(memberId, generation, granted);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.quafka.group;
+
+/**
+ * Tüketici grubu işlemleri sırasında oluşabilecek hataları temsil eden istisna sınıfı.
+ */
+public class GroupException extends RuntimeException {
+    public GroupException(String message) {
+        super(message);
+    }
+    
+    public GroupException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,235 @@
+package com.quafka.group;
+
+import com.quafka.protocol.WireFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Tüketici gruplarının commit edilen offset'lerini diskte tutan depo.
+ * Her commit, dosyanın sonuna tek bir kayıt olarak eklenir:
+ * {@code size (int32) | crc (int32) | group | topic | count (int32) | [partition (int32), offset (int64)]*}.
+ * Güncel değerler bellekte tutulur; dosya canlı verinin birkaç katına ulaştığında yalnızca son
+ * değerlerden oluşan yeni bir dosyayla değiştirilir (compaction). Açılışta yarım kalmış son kayıt atlanır.
+ */
+public class OffsetStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(OffsetStore.class);
+    
+    public static final String FILE_NAME = "__consumer_offsets";
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int ENTRY_SIZE = 12;
+    private static final long MIN_COMPACT_BYTES = 1024 * 1024;
+    
+    private final Path file;
+    private final Map<OffsetKey, Long> offsets;
+    private FileChannel channel;
+    private long fileSize;
+    
+    /**
+     * @param dir Dosyanın bulunduğu dizin
+     */
+    public OffsetStore(Path dir) {
+        this.file = dir.resolve(FILE_NAME);
+        this.offsets = new ConcurrentHashMap<>();
+        try {
+            Files.createDirectories(dir);
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            load();
+        } catch (IOException e) {
+            throw new GroupException("Offset dosyası açılamadı: " + file, e);
+        }
+    }
+    
+    /**
+     * Grubun topic partition'ları için offset'leri kaydeder.
+     * @param group Grup kimliği
+     * @param topic Topic adı
+     * @param partitionOffsets Partition ID'den okunacak sonraki offset'e eşleme
+     */
+    public synchronized void commit(String group, String topic, Map<Integer, Long> partitionOffsets) {
+        if (partitionOffsets.isEmpty()) {
+            return;
+        }
+        ByteBuffer record = encode(group, topic, partitionOffsets);
+        try {
+            while (record.hasRemaining()) {
+                fileSize += channel.write(record, fileSize);
+            }
+        } catch (IOException e) {
+            throw new GroupException("Offset yazılamadı: " + group + "/" + topic, e);
+        }
+        partitionOffsets.forEach((partition, offset) -> offsets.put(new OffsetKey(group, topic, partition), offset));
+        
+        if (fileSize > Math.max(MIN_COMPACT_BYTES, liveBytes() * 4)) {
+            compact();
+        }
+    }
+    
+    /**
+     * Commit edilmiş offset'i döndürür.
+     * @param group Grup kimliği
+     * @param topic Topic adı
+     * @param partition Partition ID
+     * @return Okunacak sonraki offset, commit yoksa -1
+     */
+    public long get(String group, String topic, int partition) {
+        Long offset = offsets.get(new OffsetKey(group, topic, partition));
+        return offset != null ? offset : -1;
+    }
+    
+    /**
+     * Dosyayı diske yazar ve kapatır.
+     */
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Offset dosyası kapatılırken hata oluştu: {}", file, e);
+        }
+        channel = null;
+    }
+    
+    private void load() throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        
+        int records = 0;
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining() || checksum != crc(buffer, buffer.position(), length)) {
+                buffer.position(start);
+                break;
+            }
+            ByteBuffer body = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            
+            String group = WireFormat.getString(body);
+            String topic = WireFormat.getString(body);
+            int count = body.getInt();
+            for (int i = 0; i < count; i++) {
+                offsets.put(new OffsetKey(group, topic, body.getInt()), body.getLong());
+            }
+            records++;
+        }
+        
+        fileSize = buffer.position();
+        if (fileSize < size) {
+            logger.warn("Offset dosyasının sonundaki {} byte'lık yarım kayıt atıldı: {}", size - fileSize, file);
+            channel.truncate(fileSize);
+        }
+        logger.info("{} offset kaydı yüklendi ({} partition): {}", records, offsets.size(), file);
+    }
+    
+    /**
+     * Dosyayı her grup ve topic için tek kayıt içeren yeni bir dosyayla değiştirir.
+     */
+    private void compact() {
+        Map<String, Map<String, Map<Integer, Long>>> snapshot = new LinkedHashMap<>();
+        offsets.forEach((key, offset) -> snapshot
+            .computeIfAbsent(key.group, g -> new LinkedHashMap<>())
+            .computeIfAbsent(key.topic, t -> new LinkedHashMap<>())
+            .put(key.partition, offset));
+        
+        List<ByteBuffer> records = new ArrayList<>();
+        snapshot.forEach((group, topics) ->
+            topics.forEach((topic, partitionOffsets) -> records.add(encode(group, topic, partitionOffsets))));
+        
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long written = 0;
+            for (ByteBuffer record : records) {
+                while (record.hasRemaining()) {
+                    written += out.write(record);
+                }
+            }
+            out.force(true);
+            channel.close();
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            logger.debug("Offset dosyası sıkıştırıldı: {} -> {} byte", fileSize, written);
+            fileSize = written;
+        } catch (IOException e) {
+            throw new GroupException("Offset dosyası sıkıştırılamadı: " + file, e);
+        }
+    }
+    
+    private long liveBytes() {
+        return (long) offsets.size() * ENTRY_SIZE;
+    }
+    
+    private static ByteBuffer encode(String group, String topic, Map<Integer, Long> partitionOffsets) {
+        int bodySize = WireFormat.sizeOf(group) + WireFormat.sizeOf(topic) + 4 + partitionOffsets.size() * ENTRY_SIZE;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + bodySize);
+        record.putInt(bodySize).putInt(0);
+        WireFormat.putString(record, group);
+        WireFormat.putString(record, topic);
+        record.putInt(partitionOffsets.size());
+        partitionOffsets.forEach((partition, offset) -> record.putInt(partition).putLong(offset));
+        record.putInt(4, crc(record, RECORD_HEADER_SIZE, bodySize));
+        return record.flip();
+    }
+    
+    private static int crc(ByteBuffer buffer, int position, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position, length));
+        return (int) crc.getValue();
+    }
+    
+    /**
+     * Grup, topic ve partition üçlüsü.
+     */
+    private static final class OffsetKey {
+        private final String group;
+        private final String topic;
+        private final int partition;
+        
+        private OffsetKey(String group, String topic, int partition) {
+            this.group = group;
+            this.topic = topic;
+            this.partition = partition;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            OffsetKey that = (OffsetKey) o;
+            return partition == that.partition &&
+                Objects.equals(group, that.group) &&
+                Objects.equals(topic, that.topic);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(group, topic, partition);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.quafka.group;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tüketici grubu üyelerine topic partition'larını atayan arayüz.
+ */
+public interface PartitionAssignor {
+    
+    /**
+     * Partition'ları üyelere atar. Her partition tam olarak bir üyeye atanır.
+     * @param members Üye kimlikleri, artan sırada
+     * @param numPartitions Topic'in partition sayısı
+     * @param currentAssignment Önceki atama; ilk atamada boş
+     * @return Her üye için atanan partition'lar, artan sırada
+     */
+    Map<String, List<Integer>> assign(List<String> members, int numPartitions,
+                                      Map<String, List<Integer>> currentAssignment);
+    
+    /**
+     * Atama stratejisini döndürür.
+     * @return Atama stratejisi
+     */
+    AssignmentStrategy getStrategy();
+}
@@ -0,0 +1,27 @@
+package com.quafka.group.impl;
+
+import com.quafka.group.AssignmentStrategy;
+import com.quafka.group.PartitionAssignor;
+
+/**
+ * Stratejiye göre partition atayıcı oluşturan yardımcı sınıf.
+ */
+public final class AssignorFactory {
+    
+    private AssignorFactory() {
+    }
+    
+    /**
+     * @param strategy Atama stratejisi
+     * @return Yeni atayıcı
+     */
+    public static PartitionAssignor create(AssignmentStrategy strategy) {
+        switch (strategy) {
+            case STICKY:
+                return new StickyAssignor();
+            case RANGE:
+            default:
+                return new RangeAssignor();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.quafka.group.impl;
+
+import com.quafka.group.AssignmentStrategy;
+import com.quafka.group.PartitionAssignor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partition'ları üye sırasına göre ardışık aralıklara bölen atayıcı. Partition sayısı üye
+ * sayısına tam bölünmüyorsa ilk üyeler birer fazla partition alır.
+ */
+public class RangeAssignor implements PartitionAssignor {
+    
+    @Override
+    public Map<String, List<Integer>> assign(List<String> members, int numPartitions,
+                                             Map<String, List<Integer>> currentAssignment) {
+        Map<String, List<Integer>> assignment = new HashMap<>();
+        int base = members.isEmpty() ? 0 : numPartitions / members.size();
+        int extra = members.isEmpty() ? 0 : numPartitions % members.size();
+        int next = 0;
+        for (int i = 0; i < members.size(); i++) {
+            int count = base + (i < extra ? 1 : 0);
+            List<Integer> partitions = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                partitions.add(next++);
+            }
+            assignment.put(members.get(i), partitions);
+        }
+        return assignment;
+    }
+    
+    @Override
+    public AssignmentStrategy getStrategy() {
+        return AssignmentStrategy.RANGE;
+    }
+}
@@ -0,0 +1,78 @@
+package com.quafka.group.impl;
+
+import com.quafka.group.AssignmentStrategy;
+import com.quafka.group.PartitionAssignor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Üyelerin önceki partition'larını koruyan atayıcı. Her üye en fazla dengeli payı kadar
+ * partition'ını tutar; yalnızca fazlalar ve sahipsiz partition'lar en az partition'a sahip
+ * üyelere dağıtılır. Böylece bir üye katılıp ayrıldığında taşınan partition sayısı en azda kalır.
+ */
+public class StickyAssignor implements PartitionAssignor {
+    
+    @Override
+    public Map<String, List<Integer>> assign(List<String> members, int numPartitions,
+                                             Map<String, List<Integer>> currentAssignment) {
+        Map<String, List<Integer>> assignment = new HashMap<>();
+        if (members.isEmpty()) {
+            return assignment;
+        }
+        
+        int base = numPartitions / members.size();
+        int extra = numPartitions % members.size();
+        boolean[] owned = new boolean[numPartitions];
+        
+        // Önce en çok partition'a sahip üyeler paylarını tutar, böylece fazladan paylar onlarda kalır
+        List<String> byPreviousSize = new ArrayList<>(members);
+        byPreviousSize.sort(Comparator.comparingInt((String member) -> previous(currentAssignment, member).size())
+            .reversed()
+            .thenComparing(Comparator.naturalOrder()));
+        for (String member : byPreviousSize) {
+            List<Integer> kept = new ArrayList<>();
+            List<Integer> previous = previous(currentAssignment, member);
+            int limit = base;
+            if (extra > 0 && previous.size() > base) {
+                limit++;
+                extra--;
+            }
+            for (int partition : previous) {
+                if (kept.size() < limit && partition < numPartitions && !owned[partition]) {
+                    owned[partition] = true;
+                    kept.add(partition);
+                }
+            }
+            assignment.put(member, kept);
+        }
+        
+        for (int partition = 0; partition < numPartitions; partition++) {
+            if (owned[partition]) {
+                continue;
+            }
+            String target = members.get(0);
+            for (String member : members) {
+                if (assignment.get(member).size() < assignment.get(target).size()) {
+                    target = member;
+                }
+            }
+            assignment.get(target).add(partition);
+        }
+        assignment.values().forEach(Collections::sort);
+        return assignment;
+    }
+    
+    @Override
+    public AssignmentStrategy getStrategy() {
+        return AssignmentStrategy.STICKY;
+    }
+    
+    private static List<Integer> previous(Map<String, List<Integer>> currentAssignment, String member) {
+        return currentAssignment.getOrDefault(member, List.of());
+    }
+}
@@ -0,0 +1,38 @@
+package com.quafka.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Yalnızca artan, kilitsiz sayaç. Sıcak yollarda iş parçacıkları aynı önbellek satırında yarışmaz.
+ */
+public class Counter implements Metric {
+    private final LongAdder count = new LongAdder();
+    
+    /**
+     * Sayacı bir artırır.
+     */
+    public void increment() {
+        count.increment();
+    }
+    
+    /**
+     * Sayacı verilen miktar kadar artırır.
+     * @param amount Artış miktarı; negatif olmamalıdır
+     */
+    public void increment(long amount) {
+        count.add(amount);
+    }
+    
+    /**
+     * Sayacın değerini döndürür.
+     * @return Toplam
+     */
+    public long getCount() {
+        return count.sum();
+    }
+    
+    @Override
+    public MetricType getType() {
+        return MetricType.COUNTER;
+    }
+}
@@ -0,0 +1,32 @@
+package com.quafka.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Değeri okunduğu anda kaynağından hesaplanan metrik. Kaynak kayıt sırasında değil yalnızca
+ * dışa aktarım sırasında çağrılır.
+ */
+public class Gauge implements Metric {
+    private volatile DoubleSupplier supplier;
+    
+    Gauge(DoubleSupplier supplier) {
+        this.supplier = supplier;
+    }
+    
+    void setSupplier(DoubleSupplier supplier) {
+        this.supplier = supplier;
+    }
+    
+    /**
+     * Anlık değeri döndürür.
+     * @return Kaynağın o anki değeri
+     */
+    public double getValue() {
+        return supplier.getAsDouble();
+    }
+    
+    @Override
+    public MetricType getType() {
+        return MetricType.GAUGE;
+    }
+}
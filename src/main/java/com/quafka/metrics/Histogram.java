@@ -0,0 +1,69 @@
+package com.quafka.metrics;
+
+import com.quafka.monitoring.LatencyHistogram;
+import com.quafka.monitoring.WindowedHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Süre dağılımını tutan metrik. Yüzdelikler son {@link #WINDOW_MS} milisaniyelik kayan pencereden,
+ * toplam ve kayıt sayısı ise başlangıçtan bu yana hesaplanır; böylece oranlar toplayıcı tarafında
+ * türetilebilir.
+ */
+public class Histogram implements Metric {
+    /** Yüzdeliklerin hesaplandığı kayan pencere */
+    public static final long WINDOW_MS = 60000;
+    private static final int WINDOW_SLICES = 6;
+    private static final long HIGHEST_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int PRECISION_BITS = 4;
+    
+    private final WindowedHistogram window;
+    private final LongAdder count;
+    private final LongAdder sum;
+    
+    Histogram() {
+        this.window = new WindowedHistogram(WINDOW_MS, WINDOW_SLICES, HIGHEST_NANOS, PRECISION_BITS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+    }
+    
+    /**
+     * Bir süre kaydeder.
+     * @param nanos Süre (nanosaniye)
+     */
+    public void record(long nanos) {
+        window.record(nanos);
+        count.increment();
+        sum.add(Math.max(nanos, 0));
+    }
+    
+    /**
+     * Başlangıçtan bu yana kaydedilen süre sayısını döndürür.
+     * @return Kayıt sayısı
+     */
+    public long getCount() {
+        return count.sum();
+    }
+    
+    /**
+     * Başlangıçtan bu yana kaydedilen sürelerin toplamını döndürür.
+     * @return Toplam süre (nanosaniye)
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+    
+    /**
+     * Kayan penceredeki dağılımın anlık görüntüsünü döndürür.
+     * @return Penceredeki kayıtların histogramı
+     */
+    public LatencyHistogram snapshot() {
+        return window.snapshot();
+    }
+    
+    @Override
+    public MetricType getType() {
+        return MetricType.SUMMARY;
+    }
+}
@@ -0,0 +1,13 @@
+package com.quafka.metrics;
+
+/**
+ * Kayıt defterinde etiketlerle tutulan tek bir metrik serisi.
+ */
+public interface Metric {
+    
+    /**
+     * Metriğin türünü döndürür.
+     * @return Metrik türü
+     */
+    MetricType getType();
+}
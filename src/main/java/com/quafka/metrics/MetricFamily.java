@@ -0,0 +1,46 @@
+package com.quafka.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aynı ad, açıklama ve türü paylaşan, etiketleriyle ayrışan metrik serileri.
+ */
+public class MetricFamily {
+    private final String name;
+    private final String help;
+    private final MetricType type;
+    private final Map<Tags, Metric> series;
+    
+    MetricFamily(String name, String help, MetricType type) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.series = new ConcurrentHashMap<>();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getHelp() {
+        return help;
+    }
+    
+    public MetricType getType() {
+        return type;
+    }
+    
+    /**
+     * Ailedeki serileri döndürür. Eşzamanlı kayıt ve silmelerle birlikte okunabilir.
+     * @return Etiketlerden metriğe değiştirilemez görünüm
+     */
+    public Map<Tags, Metric> getSeries() {
+        return Collections.unmodifiableMap(series);
+    }
+    
+    Map<Tags, Metric> series() {
+        return series;
+    }
+}
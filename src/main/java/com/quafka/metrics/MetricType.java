@@ -0,0 +1,35 @@
+package com.quafka.metrics;
+
+/**
+ * Kayıt defterindeki metrik türleri.
+ */
+public enum MetricType {
+    /**
+     * Yalnızca artan sayaç
+     */
+    COUNTER("counter"),
+    
+    /**
+     * Okunduğu anda hesaplanan anlık değer
+     */
+    GAUGE("gauge"),
+    
+    /**
+     * Süre dağılımı; yüzdelikler, toplam ve kayıt sayısı olarak dışa aktarılır
+     */
+    SUMMARY("summary");
+    
+    private final String exposition;
+    
+    MetricType(String exposition) {
+        this.exposition = exposition;
+    }
+    
+    /**
+     * Prometheus metin biçimindeki tür adını döndürür.
+     * @return Tür adı
+     */
+    public String getExposition() {
+        return exposition;
+    }
+}
@@ -0,0 +1,14 @@
+package com.quafka.metrics;
+
+/**
+ * Metrik kaydı sırasında oluşabilecek hataları temsil eden istisna sınıfı.
+ */
+public class MetricsException extends RuntimeException {
+    public MetricsException(String message) {
+        super(message);
+    }
+    
+    public MetricsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,139 @@
+package com.quafka.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Sayaç, anlık değer ve süre dağılımı metriklerinin tutulduğu kayıt defteri.
+ * Metrikler ad ve etiketlerle bir kez alınıp saklanmalıdır; kayıt işlemleri kilitsizdir ve
+ * nesne ayırmaz. Aynı ad ve etiketlerle yapılan sonraki çağrılar aynı metriği döndürür.
+ * Sunucu, bağlantılar ve depolama katmanı {@link #getDefault()} ile paylaşılan kayıt defterini kullanır.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+    
+    private final Map<String, MetricFamily> families;
+    
+    public MetricsRegistry() {
+        this.families = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Süreç genelinde paylaşılan kayıt defterini döndürür.
+     * @return Paylaşılan kayıt defteri
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+    
+    /**
+     * Sayacı döndürür, yoksa oluşturur.
+     * @param name Metrik adı, ör. {@code quafka_messages_in_total}
+     * @param help Metriğin açıklaması
+     * @param tags Serinin etiketleri
+     * @return Sayaç
+     * @throws MetricsException Ad geçersizse veya başka türde bir metriğe aitse
+     */
+    public Counter counter(String name, String help, Tags tags) {
+        return (Counter) getOrCreate(name, help, MetricType.COUNTER, tags, Counter::new);
+    }
+    
+    /**
+     * Anlık değer metriğini kaydeder. Seri zaten varsa kaynağı verilenle değiştirilir; böylece
+     * yeniden oluşturulan bir bileşen eski nesneyi tutmaya devam etmez.
+     * @param name Metrik adı
+     * @param help Metriğin açıklaması
+     * @param tags Serinin etiketleri
+     * @param supplier Değerin kaynağı; dışa aktarım sırasında çağrılır
+     * @return Anlık değer metriği
+     * @throws MetricsException Ad geçersizse veya başka türde bir metriğe aitse
+     */
+    public Gauge gauge(String name, String help, Tags tags, DoubleSupplier supplier) {
+        Gauge gauge = (Gauge) getOrCreate(name, help, MetricType.GAUGE, tags, () -> new Gauge(supplier));
+        gauge.setSupplier(supplier);
+        return gauge;
+    }
+    
+    /**
+     * Süre dağılımı metriğini döndürür, yoksa oluşturur.
+     * @param name Metrik adı; saniye cinsinden dışa aktarılır, ör. {@code quafka_request_latency_seconds}
+     * @param help Metriğin açıklaması
+     * @param tags Serinin etiketleri
+     * @return Süre dağılımı metriği
+     * @throws MetricsException Ad geçersizse veya başka türde bir metriğe aitse
+     */
+    public Histogram histogram(String name, String help, Tags tags) {
+        return (Histogram) getOrCreate(name, help, MetricType.SUMMARY, tags, Histogram::new);
+    }
+    
+    /**
+     * Seriyi siler.
+     * @param name Metrik adı
+     * @param tags Serinin etiketleri
+     */
+    public void remove(String name, Tags tags) {
+        MetricFamily family = families.get(name);
+        if (family != null) {
+            family.series().remove(tags);
+        }
+    }
+    
+    /**
+     * Verilen etiketlerle kaydedilmiş tüm serileri siler (ör. silinen bir partition'ın metrikleri).
+     * @param tags Serilerin etiketleri
+     */
+    public void removeAll(Tags tags) {
+        for (MetricFamily family : families.values()) {
+            family.series().remove(tags);
+        }
+    }
+    
+    /**
+     * Metrik ailelerini ada göre sıralı döndürür.
+     * @return Metrik aileleri
+     */
+    public List<MetricFamily> getFamilies() {
+        List<MetricFamily> result = new ArrayList<>(families.values());
+        result.sort(Comparator.comparing(MetricFamily::getName));
+        return result;
+    }
+    
+    /**
+     * Adın Prometheus metrik adı kurallarına uyup uymadığını kontrol eder.
+     * @param name Ad
+     * @return Ad geçerliyse true
+     */
+    public static boolean isValidName(String name) {
+        if (name == null || name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':';
+            if (!letter && !(i > 0 && c >= '0' && c <= '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private Metric getOrCreate(String name, String help, MetricType type, Tags tags, Supplier<Metric> factory) {
+        MetricFamily family = families.get(name);
+        if (family == null) {
+            if (!isValidName(name)) {
+                throw new MetricsException("Geçersiz metrik adı: " + name);
+            }
+            family = families.computeIfAbsent(name, n -> new MetricFamily(n, help, type));
+        }
+        if (family.getType() != type) {
+            throw new MetricsException("Metrik '" + name + "' zaten " + family.getType() + " olarak kayıtlı");
+        }
+        Metric metric = family.series().get(tags);
+        return metric != null ? metric : family.series().computeIfAbsent(tags, t -> factory.get());
+    }
+}
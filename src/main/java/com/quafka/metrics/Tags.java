@@ -0,0 +1,130 @@
+package com.quafka.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Bir metrik serisini tanımlayan, anahtara göre sıralı ve değiştirilemez etiket kümesi
+ * (ör. topic, partition, bağlantı, grup). Aynı etiketler hangi sırayla verilirse verilsin
+ * eşit kabul edilir.
+ */
+public final class Tags {
+    /** Etiketsiz küme */
+    public static final Tags EMPTY = new Tags(new String[0], new String[0]);
+    
+    private final String[] keys;
+    private final String[] values;
+    private final int hash;
+    
+    private Tags(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+        this.hash = 31 * Arrays.hashCode(keys) + Arrays.hashCode(values);
+    }
+    
+    /**
+     * Anahtar-değer çiftlerinden etiket kümesi oluşturur.
+     * @param keyValues Sırasıyla anahtar ve değerler, ör. {@code "topic", "orders", "partition", "0"}
+     * @return Etiket kümesi
+     * @throws MetricsException Çift sayısı eksikse, anahtar geçersizse veya tekrarlanıyorsa
+     */
+    public static Tags of(String... keyValues) {
+        if (keyValues.length % 2 != 0) {
+            throw new MetricsException("Etiketler anahtar-değer çiftleri olarak verilmelidir");
+        }
+        Tags tags = EMPTY;
+        for (int i = 0; i < keyValues.length; i += 2) {
+            tags = tags.and(keyValues[i], keyValues[i + 1]);
+        }
+        return tags;
+    }
+    
+    /**
+     * Bu kümeye bir etiket eklenmiş yeni bir küme döndürür.
+     * @param key Etiket anahtarı
+     * @param value Etiket değeri; null boş metin olarak saklanır
+     * @return Yeni etiket kümesi
+     * @throws MetricsException Anahtar geçersizse veya kümede zaten varsa
+     */
+    public Tags and(String key, String value) {
+        if (!MetricsRegistry.isValidName(key) || key.contains(":") || key.startsWith("__")) {
+            throw new MetricsException("Geçersiz etiket anahtarı: " + key);
+        }
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            throw new MetricsException("Etiket tekrarlanıyor: " + key);
+        }
+        int insert = -index - 1;
+        String[] newKeys = new String[keys.length + 1];
+        String[] newValues = new String[values.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insert);
+        System.arraycopy(values, 0, newValues, 0, insert);
+        newKeys[insert] = key;
+        newValues[insert] = value == null ? "" : value;
+        System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+        System.arraycopy(values, insert, newValues, insert + 1, values.length - insert);
+        return new Tags(newKeys, newValues);
+    }
+    
+    /**
+     * Etiket sayısını döndürür.
+     * @return Etiket sayısı
+     */
+    public int size() {
+        return keys.length;
+    }
+    
+    /**
+     * Sıradaki etiketin anahtarını döndürür; etiketler anahtara göre sıralıdır.
+     * @param index Sıra (0'dan başlar)
+     * @return Etiket anahtarı
+     */
+    public String getKey(int index) {
+        return keys[index];
+    }
+    
+    /**
+     * Sıradaki etiketin değerini döndürür.
+     * @param index Sıra (0'dan başlar)
+     * @return Etiket değeri
+     */
+    public String getValue(int index) {
+        return values[index];
+    }
+    
+    /**
+     * Verilen anahtarın değerini döndürür.
+     * @param key Etiket anahtarı
+     * @return Etiket değeri, anahtar yoksa null
+     */
+    public String get(String key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? values[index] : null;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Tags that = (Tags) o;
+        return hash == that.hash &&
+            Arrays.equals(keys, that.keys) &&
+            Arrays.equals(values, that.values);
+    }
+    
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(keys[i]).append('=').append(values[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
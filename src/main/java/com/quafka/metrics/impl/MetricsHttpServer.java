@@ -0,0 +1,123 @@
+package com.quafka.metrics.impl;
+
+import com.quafka.metrics.MetricsException;
+import com.quafka.metrics.MetricsRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Kayıt defterini {@code GET /metrics} üzerinden Prometheus metin biçiminde sunan küçük HTTP dinleyicisi.
+ * İstekler tek bir arka plan thread'inde işlenir; toplayıcılar genellikle birkaç saniyede bir
+ * çektiğinden bu yeterlidir ve broker'ın istek thread'lerini meşgul etmez.
+ */
+public class MetricsHttpServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpServer.class);
+    
+    /** Metriklerin sunulduğu yol */
+    public static final String PATH = "/metrics";
+    
+    private final MetricsRegistry registry;
+    private final int port;
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * @param registry Sunulacak kayıt defteri
+     * @param port Dinlenecek port; 0 ise boş bir port seçilir
+     */
+    public MetricsHttpServer(MetricsRegistry registry, int port) {
+        this.registry = registry;
+        this.port = port;
+    }
+    
+    /**
+     * Dinleyiciyi başlatır.
+     * @throws MetricsException Port açılamazsa
+     */
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException e) {
+            throw new MetricsException("Metrik portu açılamadı: " + port, e);
+        }
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "quafka-metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Metrik dinleyicisi başlatıldı: port={}", getPort());
+    }
+    
+    /**
+     * Dinleyicinin bağlandığı portu döndürür.
+     * @return Port, başlatılmadıysa yapılandırılan port
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+    
+    /**
+     * Dinleyiciyi durdurur.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+            logger.info("Metrik dinleyicisi durduruldu");
+        }
+    }
+    
+    @Override
+    public void close() {
+        stop();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!PATH.equals(exchange.getRequestURI().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            try {
+                body = PrometheusExporter.export(registry).getBytes(StandardCharsets.UTF_8);
+            } catch (RuntimeException e) {
+                logger.error("Metrikler dışa aktarılırken hata oluştu", e);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", PrometheusExporter.CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.quafka.metrics.impl;
+
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.Gauge;
+import com.quafka.metrics.Histogram;
+import com.quafka.metrics.Metric;
+import com.quafka.metrics.MetricFamily;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
+import com.quafka.monitoring.LatencyHistogram;
+
+import java.util.Map;
+
+/**
+ * Kayıt defterini Prometheus metin biçiminde (0.0.4) dışa aktaran yardımcı sınıf.
+ * Süre dağılımları saniye cinsinden {@code summary} olarak yazılır: kayan penceredeki
+ * yüzdelikler {@code quantile} etiketiyle, başlangıçtan bu yana toplam ve kayıt sayısı
+ * {@code _sum} ve {@code _count} son ekleriyle.
+ */
+public final class PrometheusExporter {
+    /** Yanıtın içerik türü */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    
+    private PrometheusExporter() {
+    }
+    
+    /**
+     * Kayıt defterindeki tüm metrikleri metin biçiminde yazar.
+     * @param registry Kayıt defteri
+     * @return Prometheus metin biçimi
+     */
+    public static String export(MetricsRegistry registry) {
+        StringBuilder out = new StringBuilder(4096);
+        for (MetricFamily family : registry.getFamilies()) {
+            Map<Tags, Metric> series = family.getSeries();
+            if (series.isEmpty()) {
+                continue;
+            }
+            out.append("# HELP ").append(family.getName()).append(' ');
+            appendHelp(out, family.getHelp());
+            out.append('\n');
+            out.append("# TYPE ").append(family.getName()).append(' ')
+                .append(family.getType().getExposition()).append('\n');
+            for (Map.Entry<Tags, Metric> entry : series.entrySet()) {
+                appendSeries(out, family.getName(), entry.getKey(), entry.getValue());
+            }
+        }
+        return out.toString();
+    }
+    
+    private static void appendSeries(StringBuilder out, String name, Tags tags, Metric metric) {
+        switch (metric.getType()) {
+            case COUNTER:
+                appendSample(out, name, tags, null, null);
+                out.append(((Counter) metric).getCount()).append('\n');
+                break;
+            case GAUGE:
+                appendSample(out, name, tags, null, null);
+                appendDouble(out, ((Gauge) metric).getValue());
+                out.append('\n');
+                break;
+            case SUMMARY:
+                Histogram histogram = (Histogram) metric;
+                LatencyHistogram window = histogram.snapshot();
+                for (double quantile : QUANTILES) {
+                    appendSample(out, name, tags, "quantile", Double.toString(quantile));
+                    appendDouble(out, window.getValueAtPercentile(quantile * 100) / NANOS_PER_SECOND);
+                    out.append('\n');
+                }
+                appendSample(out, name + "_sum", tags, null, null);
+                appendDouble(out, histogram.getSum() / NANOS_PER_SECOND);
+                out.append('\n');
+                appendSample(out, name + "_count", tags, null, null);
+                out.append(histogram.getCount()).append('\n');
+                break;
+            default:
+                throw new IllegalStateException("Bilinmeyen metrik türü: " + metric.getType());
+        }
+    }
+    
+    private static void appendSample(StringBuilder out, String name, Tags tags, String extraKey, String extraValue) {
+        out.append(name);
+        if (tags.size() > 0 || extraKey != null) {
+            out.append('{');
+            for (int i = 0; i < tags.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendLabel(out, tags.getKey(i), tags.getValue(i));
+            }
+            if (extraKey != null) {
+                if (tags.size() > 0) {
+                    out.append(',');
+                }
+                appendLabel(out, extraKey, extraValue);
+            }
+            out.append('}');
+        }
+        out.append(' ');
+    }
+    
+    private static void appendLabel(StringBuilder out, String key, String value) {
+        out.append(key).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+        out.append('"');
+    }
+    
+    private static void appendHelp(StringBuilder out, String help) {
+        for (int i = 0; i < help.length(); i++) {
+            char c = help.charAt(i);
+            if (c == '\\') {
+                out.append("\\\\");
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+    
+    private static void appendDouble(StringBuilder out, double value) {
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            out.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+    }
+}
@@ -15,10 +15,11 @@ public interface ConnectionMetrics {
     void recordDisconnection();
     
     /**
-     * İşlem süresini kaydeder.
+     * İşlem süresini türünün gecikme histogramına kaydeder.
+     * @param type İşlem türü
      * @param duration İşlem süresi (nanosaniye)
      */
-    void recordOperation(long duration);
+    void recordOperation(OperationType type, long duration);
     
     /**
      * Hata durumunda metrikleri günceller.
@@ -38,8 +39,11 @@ public interface ConnectionMetrics {
     long getTotalErrors();
     
     /**
-     * Ortalama işlem süresini döndürür.
-     * @return Ortalama işlem süresi (nanosaniye)
+     * İşlem türünün son zaman penceresindeki gecikme dağılımını döndürür. Ortalamanın gizlediği
+     * kuyruk gecikmeleri için yüzdelikler ({@code getValueAtPercentile(99.9)}) ve en büyük değer
+     * kullanılmalıdır.
+     * @param type İşlem türü
+     * @return Pencerenin bağımsız bir kopyası (nanosaniye)
      */
-    double getAverageOperationTime();
+    LatencyHistogram getLatency(OperationType type);
 } 
\ No newline at end of file
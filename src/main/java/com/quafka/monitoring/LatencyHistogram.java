@@ -0,0 +1,179 @@
+package com.quafka.monitoring;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gecikme dağılımını HDR histogramına benzer log-doğrusal kovalarda tutan, kilitsiz histogram.
+ * Her ikinin kuvveti aralığı {@code 2^precisionBits} eşit alt kovaya bölünür; dolayısıyla küçük
+ * değerler tam, büyük değerler en fazla {@code 1 / 2^precisionBits} bağıl hatayla saklanır ve
+ * kova sayısı izlenen aralığın logaritmasıyla büyür. Kayıt birden fazla iş parçacığından
+ * eşzamanlı yapılabilir; okumalar o anki değerlerin tutarlı olmayabilecek bir görüntüsünü verir.
+ * <p>
+ * Kova sayaçları {@link LongAdder} olduğundan aynı kovaya yazan iş parçacıkları aynı önbellek
+ * satırında yarışmaz. Sayaçlar kovaya ilk kayıt yapıldığında oluşturulur; gecikmeler genellikle
+ * dar bir aralıkta toplandığından bellek kullanımı kullanılan kova sayısıyla sınırlı kalır.
+ */
+public class LatencyHistogram {
+    private final long highestTrackableValue;
+    private final int precisionBits;
+    private final int subBucketCount;
+    private final AtomicReferenceArray<LongAdder> counts;
+    private final LongAdder totalCount;
+    private final LongAdder totalSum;
+    private final LongAccumulator maxValue;
+    
+    /**
+     * @param highestTrackableValue İzlenecek en büyük değer; daha büyük değerler son kovaya yazılır
+     *                              ancak en büyük değer olarak tam haliyle saklanır
+     * @param precisionBits Her ikinin kuvveti aralığındaki alt kova sayısının 2 tabanlı logaritması (1-16)
+     */
+    public LatencyHistogram(long highestTrackableValue, int precisionBits) {
+        if (precisionBits < 1 || precisionBits > 16) {
+            throw new IllegalArgumentException("Geçersiz hassasiyet: " + precisionBits);
+        }
+        if (highestTrackableValue < 2L << precisionBits) {
+            throw new IllegalArgumentException("İzlenecek en büyük değer çok küçük: " + highestTrackableValue);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.precisionBits = precisionBits;
+        this.subBucketCount = 1 << precisionBits;
+        this.counts = new AtomicReferenceArray<>(indexOf(highestTrackableValue) + 1);
+        this.totalCount = new LongAdder();
+        this.totalSum = new LongAdder();
+        this.maxValue = new LongAccumulator(Math::max, 0);
+    }
+    
+    /**
+     * Bir değeri kaydeder. Negatif değerler sıfır olarak kaydedilir.
+     * @param value Değer (genellikle nanosaniye)
+     */
+    public void record(long value) {
+        long clamped = Math.max(value, 0);
+        bucket(indexOf(Math.min(clamped, highestTrackableValue))).increment();
+        totalCount.increment();
+        totalSum.add(clamped);
+        maxValue.accumulate(clamped);
+    }
+    
+    /**
+     * Diğer histogramın kayıtlarını bu histograma ekler. İki histogram aynı aralık ve
+     * hassasiyetle oluşturulmuş olmalıdır.
+     * @param other Eklenecek histogram
+     */
+    public void add(LatencyHistogram other) {
+        if (other.highestTrackableValue != highestTrackableValue || other.precisionBits != precisionBits) {
+            throw new IllegalArgumentException("Histogram aralıkları veya hassasiyetleri farklı");
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            long count = countAt(other.counts, i);
+            if (count != 0) {
+                bucket(i).add(count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalSum.add(other.totalSum.sum());
+        maxValue.accumulate(other.maxValue.get());
+    }
+    
+    /**
+     * Tüm kayıtları siler. Eşzamanlı kayıtlarla birlikte çağrılırsa bazı kayıtlar kısmen silinebilir.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            LongAdder bucket = counts.get(i);
+            if (bucket != null) {
+                bucket.reset();
+            }
+        }
+        totalCount.reset();
+        totalSum.reset();
+        maxValue.reset();
+    }
+    
+    /**
+     * Kaydedilen değer sayısını döndürür.
+     * @return Kayıt sayısı
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+    
+    /**
+     * Kaydedilen en büyük değeri döndürür.
+     * @return En büyük değer, kayıt yoksa 0
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+    
+    /**
+     * Kaydedilen değerlerin ortalamasını döndürür.
+     * @return Ortalama, kayıt yoksa 0
+     */
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0.0 : (double) totalSum.sum() / count;
+    }
+    
+    /**
+     * Kayıtların verilen yüzdesinin altında kaldığı değeri döndürür. Değer, kovanın hassasiyeti
+     * içinde yukarı yuvarlanır ve en büyük değeri aşmaz.
+     * @param percentile Yüzdelik (0-100), örneğin 99.9
+     * @return Yüzdelik değeri, kayıt yoksa 0
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += countAt(counts, i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        double clamped = Math.min(Math.max(percentile, 0.0), 100.0);
+        long target = Math.max((long) Math.ceil(clamped / 100.0 * total), 1);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            cumulative += countAt(counts, i);
+            if (cumulative >= target) {
+                return Math.min(highestValueIn(i), getMax());
+            }
+        }
+        return getMax();
+    }
+    
+    private LongAdder bucket(int index) {
+        LongAdder bucket = counts.get(index);
+        if (bucket == null) {
+            LongAdder created = new LongAdder();
+            bucket = counts.compareAndExchange(index, null, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        return bucket;
+    }
+    
+    private static long countAt(AtomicReferenceArray<LongAdder> counts, int index) {
+        LongAdder bucket = counts.get(index);
+        return bucket == null ? 0 : bucket.sum();
+    }
+    
+    private int indexOf(long value) {
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - precisionBits;
+        return (shift + 1) * subBucketCount + (int) ((value >>> shift) - subBucketCount);
+    }
+    
+    private long highestValueIn(int index) {
+        if (index < 2 * subBucketCount) {
+            return index;
+        }
+        int shift = index / subBucketCount - 1;
+        long subBucket = index % subBucketCount + subBucketCount;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.quafka.monitoring;
+
+import com.quafka.config.TraceConfig;
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mesaj başına yapılandırılmış, örneklenen ve hız sınırlı iz kaydı.
+ * Kayıtlar {@code com.quafka.trace} logger'ına {@code anahtar=değer} biçiminde tek satır olarak yazılır.
+ * Sıcak yollarda çağrılar {@link #sample()} ile korunur:
+ * <pre>
+ * if (tracer.sample()) {
+ *     tracer.trace(TraceEvent.PUBLISH, topic, partitionId, offset, 1, value.length);
+ * }
+ * </pre>
+ * İz kaydı kapalıyken {@link #sample()} tek bir volatile okuma yapar; argüman dizisi, metin veya
+ * kutulanmış sayı oluşturulmaz. Mesaj hacmi log satırları yerine {@link MetricsRegistry}'deki
+ * topic ve partition sayaçlarıyla izlenir.
+ */
+public class MessageTracer {
+    private static final Logger logger = LoggerFactory.getLogger("com.quafka.trace");
+    private static final MessageTracer SHARED = new MessageTracer(TraceConfig.defaults());
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    private final AtomicLong windowSecond;
+    private final AtomicInteger windowCount;
+    private final MetricsRegistry registry;
+    private final Counter[] traced;
+    private Counter dropped;
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+    private volatile int maxEventsPerSecond;
+    
+    /**
+     * @param config İz kaydı yapılandırması
+     */
+    public MessageTracer(TraceConfig config) {
+        this.windowSecond = new AtomicLong();
+        this.windowCount = new AtomicInteger();
+        // Sayaçlar iz kaydı kullanıldığında oluşturulur; kapalıyken dışa aktarılmaz
+        this.registry = MetricsRegistry.getDefault();
+        this.traced = new Counter[TraceEvent.values().length];
+        configure(config);
+    }
+    
+    /**
+     * Broker, üretici ve tüketici tarafından paylaşılan iz kaydediciyi döndürür.
+     * @return Paylaşılan iz kaydedici
+     */
+    public static MessageTracer shared() {
+        return SHARED;
+    }
+    
+    /**
+     * Yapılandırmayı çalışırken değiştirir. {@code com.quafka.trace} logger'ı INFO seviyesinde
+     * kapalıysa iz kaydı açılmaz.
+     * @param config Yeni yapılandırma
+     */
+    public void configure(TraceConfig config) {
+        this.sampleRate = Math.min(Math.max(config.getSampleRate(), 0.0), 1.0);
+        this.maxEventsPerSecond = config.getMaxEventsPerSecond();
+        this.enabled = config.isEnabled() && sampleRate > 0 && logger.isInfoEnabled();
+    }
+    
+    /**
+     * İz kaydının açık olup olmadığını döndürür.
+     * @return Açıksa true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Sıradaki mesajın iz kaydına yazılıp yazılmayacağına karar verir. Mesaj örneklenir, ardından
+     * saniyedeki sınır uygulanır; sınırı aşan kayıtlar atılır ve sayılır.
+     * @return Mesaj için {@link #trace} çağrılmalıysa true
+     */
+    public boolean sample() {
+        if (!enabled) {
+            return false;
+        }
+        double rate = sampleRate;
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return false;
+        }
+        int limit = maxEventsPerSecond;
+        if (limit <= 0) {
+            return true;
+        }
+        long second = System.nanoTime() / NANOS_PER_SECOND;
+        long current = windowSecond.get();
+        if (current != second && windowSecond.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        if (windowCount.incrementAndGet() > limit) {
+            if (dropped == null) {
+                dropped = registry.counter("quafka_trace_dropped_total",
+                    "Saniyedeki sınır aşıldığı için atılan iz kaydı sayısı", Tags.EMPTY);
+            }
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Bir iz kaydı yazar. Yalnızca {@link #sample()} true döndüğünde çağrılmalıdır.
+     * @param event Olay türü
+     * @param topic Topic adı, bilinmiyorsa null
+     * @param partition Partition ID, bilinmiyorsa negatif
+     * @param offset İlk kaydın offset'i, bilinmiyorsa negatif
+     * @param records Kayıt sayısı
+     * @param bytes Byte sayısı
+     */
+    public void trace(TraceEvent event, String topic, int partition, long offset, int records, long bytes) {
+        StringBuilder line = new StringBuilder(96)
+            .append("event=").append(event.name().toLowerCase(Locale.ROOT));
+        if (topic != null) {
+            line.append(" topic=").append(topic);
+        }
+        if (partition >= 0) {
+            line.append(" partition=").append(partition);
+        }
+        if (offset >= 0) {
+            line.append(" offset=").append(offset);
+        }
+        line.append(" records=").append(records)
+            .append(" bytes=").append(bytes)
+            .append(" thread=").append(Thread.currentThread().getName());
+        logger.info(line.toString());
+        
+        Counter counter = traced[event.ordinal()];
+        if (counter == null) {
+            counter = registry.counter("quafka_trace_events_total", "Yazılan iz kaydı sayısı",
+                Tags.of("event", event.name().toLowerCase(Locale.ROOT)));
+            traced[event.ordinal()] = counter;
+        }
+        counter.increment();
+    }
+}
@@ -0,0 +1,67 @@
+package com.quafka.monitoring;
+
+import com.quafka.protocol.OpCode;
+
+/**
+ * Gecikmeleri ayrı histogramlarda tutulan bağlantı işlemi türleri.
+ */
+public enum OperationType {
+    /**
+     * Bağlantının kurulması ve el sıkışma
+     */
+    CONNECT,
+    
+    /**
+     * Yayınlama, metadata ve grup istekleri; okuma ve commit dışındaki tüm istekler
+     */
+    SEND,
+    
+    /**
+     * Partition'lardan kayıt okuma istekleri
+     */
+    POLL,
+    
+    /**
+     * Tüketici offset'lerinin kaydedilmesi ve okunması
+     */
+    COMMIT,
+    
+    /**
+     * {@code execute} ile çalıştırılan genel işlemler
+     */
+    EXECUTE;
+    
+    /**
+     * İkili protokol isteğinin işlem türünü döndürür.
+     * @param opCode İstek türü
+     * @return İşlem türü
+     */
+    public static OperationType forOpCode(OpCode opCode) {
+        switch (opCode) {
+            case FETCH:
+            case MULTI_FETCH:
+            case FETCH_BATCHES:
+                return POLL;
+            case COMMIT:
+            case OFFSET_FETCH:
+                return COMMIT;
+            default:
+                return SEND;
+        }
+    }
+    
+    /**
+     * Metin protokolü komutunun işlem türünü döndürür.
+     * @param command "KOMUT:içerik" biçiminde komut
+     * @return İşlem türü
+     */
+    public static OperationType forCommand(String command) {
+        if (command.startsWith("POLL:")) {
+            return POLL;
+        }
+        if (command.startsWith("COMMIT:")) {
+            return COMMIT;
+        }
+        return SEND;
+    }
+}
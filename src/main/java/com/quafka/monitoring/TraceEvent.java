@@ -0,0 +1,36 @@
+package com.quafka.monitoring;
+
+/**
+ * Mesaj iz kaydındaki olay türleri.
+ */
+public enum TraceEvent {
+    /**
+     * Broker'da partition'a kayıt eklenmesi
+     */
+    PUBLISH,
+    
+    /**
+     * Broker'da partition'dan sıradaki kaydın okunması
+     */
+    FETCH,
+    
+    /**
+     * Broker'a satır tabanlı metin komutu gelmesi
+     */
+    COMMAND,
+    
+    /**
+     * Üreticinin gönderdiği batch'in onaylanması
+     */
+    PRODUCE,
+    
+    /**
+     * Tüketicinin partition'lardan kayıt alması
+     */
+    RECEIVE,
+    
+    /**
+     * Tüketicinin kaydı işlemesi
+     */
+    PROCESS
+}
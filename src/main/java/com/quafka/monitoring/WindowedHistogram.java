@@ -0,0 +1,71 @@
+package com.quafka.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Son zaman penceresindeki kayıtların dağılımını veren kayan pencereli histogram.
+ * Pencere eşit uzunlukta dilimlere bölünür ve her dilim ayrı bir {@link LatencyHistogram}'da tutulur.
+ * Kayıt o anki dilime yapılır; dilim sırası geri döndüğünde içindeki eski kayıtlar silinir. Pencere
+ * dilim sınırlarında kaydığından anlık görüntü son {@code sliceCount - 1} tam dilimi ve o anki
+ * kısmi dilimi kapsar. Dilim değişirken yapılan az sayıda kayıt silinen dilimle birlikte kaybolabilir.
+ */
+public class WindowedHistogram {
+    private final long highestTrackableValue;
+    private final int precisionBits;
+    private final long sliceNanos;
+    private final LatencyHistogram[] slices;
+    private final AtomicLongArray sliceEpochs;
+    
+    /**
+     * @param windowMs Pencere uzunluğu (milisaniye)
+     * @param sliceCount Penceredeki dilim sayısı; arttıkça pencere daha düzgün kayar
+     * @param highestTrackableValue İzlenecek en büyük değer
+     * @param precisionBits Her ikinin kuvveti aralığındaki alt kova sayısının 2 tabanlı logaritması
+     */
+    public WindowedHistogram(long windowMs, int sliceCount, long highestTrackableValue, int precisionBits) {
+        if (windowMs <= 0 || sliceCount < 1) {
+            throw new IllegalArgumentException("Geçersiz pencere: " + windowMs + " ms, " + sliceCount + " dilim");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.precisionBits = precisionBits;
+        this.sliceNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(windowMs) / sliceCount, 1);
+        this.slices = new LatencyHistogram[sliceCount];
+        this.sliceEpochs = new AtomicLongArray(sliceCount);
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new LatencyHistogram(highestTrackableValue, precisionBits);
+            sliceEpochs.set(i, Long.MIN_VALUE);
+        }
+    }
+    
+    /**
+     * Değeri o anki dilime kaydeder.
+     * @param value Değer (genellikle nanosaniye)
+     */
+    public void record(long value) {
+        long epoch = Math.floorDiv(System.nanoTime(), sliceNanos);
+        int index = (int) Math.floorMod(epoch, (long) slices.length);
+        long current = sliceEpochs.get(index);
+        // Dilimi yeni döneme yalnızca bir iş parçacığı geçirip temizler
+        if (current < epoch && sliceEpochs.compareAndSet(index, current, epoch)) {
+            slices[index].reset();
+        }
+        slices[index].record(value);
+    }
+    
+    /**
+     * Penceredeki dilimleri birleştirerek bağımsız bir histogram oluşturur.
+     * @return Pencerenin anlık görüntüsü
+     */
+    public LatencyHistogram snapshot() {
+        long epoch = Math.floorDiv(System.nanoTime(), sliceNanos);
+        LatencyHistogram merged = new LatencyHistogram(highestTrackableValue, precisionBits);
+        for (int i = 0; i < slices.length; i++) {
+            long sliceEpoch = sliceEpochs.get(i);
+            if (sliceEpoch > epoch - slices.length && sliceEpoch <= epoch) {
+                merged.add(slices[i]);
+            }
+        }
+        return merged;
+    }
+}
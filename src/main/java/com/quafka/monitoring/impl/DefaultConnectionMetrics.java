@@ -1,18 +1,45 @@
 package com.quafka.monitoring.impl;
 
 import com.quafka.monitoring.ConnectionMetrics;
+import com.quafka.monitoring.LatencyHistogram;
+import com.quafka.monitoring.OperationType;
+import com.quafka.monitoring.WindowedHistogram;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.DoubleAdder;
 
 /**
  * Varsayılan bağlantı metrikleri implementasyonu.
+ * İşlem süreleri her işlem türü için ayrı, kayan pencereli bir gecikme histogramında tutulur.
  */
 public class DefaultConnectionMetrics implements ConnectionMetrics {
+    /** Varsayılan gecikme penceresi */
+    public static final long DEFAULT_WINDOW_MS = 60000;
+    private static final int WINDOW_SLICES = 6;
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+    /** 16 alt kova; yüzdelikler en fazla %6,25 yukarı yuvarlanır */
+    private static final int PRECISION_BITS = 4;
+    
     private final AtomicLong totalConnections = new AtomicLong(0);
     private final AtomicLong totalErrors = new AtomicLong(0);
-    private final DoubleAdder totalOperationTime = new DoubleAdder();
-    private final AtomicLong operationCount = new AtomicLong(0);
     private final AtomicLong messageProcessedCount = new AtomicLong(0);
+    private final Map<OperationType, WindowedHistogram> latencies;
+    
+    public DefaultConnectionMetrics() {
+        this(DEFAULT_WINDOW_MS);
+    }
+    
+    /**
+     * @param windowMs Gecikme yüzdeliklerinin hesaplandığı kayan pencerenin uzunluğu (milisaniye)
+     */
+    public DefaultConnectionMetrics(long windowMs) {
+        // Kurucudan sonra yalnızca okunduğundan eşzamanlı kayıtlar için kilit gerekmez
+        this.latencies = new EnumMap<>(OperationType.class);
+        for (OperationType type : OperationType.values()) {
+            latencies.put(type, new WindowedHistogram(windowMs, WINDOW_SLICES, HIGHEST_LATENCY_NANOS, PRECISION_BITS));
+        }
+    }
     
     @Override
     public void recordConnection() {
@@ -25,9 +52,8 @@ public class DefaultConnectionMetrics implements ConnectionMetrics {
     }
     
     @Override
-    public void recordOperation(long duration) {
-        totalOperationTime.add(duration);
-        operationCount.incrementAndGet();
+    public void recordOperation(OperationType type, long duration) {
+        latencies.get(type).record(duration);
     }
     
     @Override
@@ -46,15 +72,11 @@ public class DefaultConnectionMetrics implements ConnectionMetrics {
     }
     
     @Override
-    public double getAverageOperationTime() {
-        long count = operationCount.get();
-        if (count == 0) {
-            return 0.0;
-        }
-        return totalOperationTime.sum() / count;
+    public LatencyHistogram getLatency(OperationType type) {
+        return latencies.get(type).snapshot();
     }
-
+    
     public void recordMessageProcessed() {
         messageProcessedCount.incrementAndGet();
     }
-} 
\ No newline at end of file
+}
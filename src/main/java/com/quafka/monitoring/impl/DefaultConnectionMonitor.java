@@ -23,6 +23,9 @@ public class DefaultConnectionMonitor implements ConnectionMonitor {
     
     @Override
     public void monitorPerformance(long operationTime) {
-        logger.debug("İşlem süresi: {} ns", operationTime);
+        // Her işlemde çağrıldığından kapalıyken argüman kutulanmaz
+        if (logger.isDebugEnabled()) {
+            logger.debug("İşlem süresi: {} ns", operationTime);
+        }
     }
 } 
\ No newline at end of file
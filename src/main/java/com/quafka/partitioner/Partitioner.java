@@ -0,0 +1,32 @@
+package com.quafka.partitioner;
+
+/**
+ * Mesajın yazılacağı partition'ı seçen arayüz.
+ */
+public interface Partitioner {
+    
+    /**
+     * Mesaj için partition seçer.
+     * @param topic Topic adı
+     * @param key Mesaj anahtarı, anahtarsız mesajlar için null
+     * @param numPartitions Topic'in partition sayısı
+     * @return Seçilen partition ID (0 ile numPartitions - 1 arasında)
+     */
+    int partition(String topic, byte[] key, int numPartitions);
+    
+    /**
+     * Seçilen partition'a kayıt eklendiğinde çağrılır. Batch dolduğunda partition
+     * değiştiren stratejiler eklenen boyutu burada takip eder.
+     * @param topic Topic adı
+     * @param partition Kaydın eklendiği partition
+     * @param sizeInBytes Eklenen kaydın boyutu
+     */
+    default void onAppend(String topic, int partition, int sizeInBytes) {
+    }
+    
+    /**
+     * Partition seçme stratejisini döndürür.
+     * @return Partition seçme stratejisi
+     */
+    PartitioningStrategy getStrategy();
+}
@@ -0,0 +1,22 @@
+package com.quafka.partitioner;
+
+/**
+ * Mesajların partition'lara dağıtılma stratejilerini temsil eden enum.
+ */
+public enum PartitioningStrategy {
+    /**
+     * Anahtarın murmur2 özetine göre partition seçer; anahtarsız mesajlar rastgele dağıtılır
+     */
+    HASH,
+    
+    /**
+     * Anahtardan bağımsız olarak partition'ları sırayla kullanır
+     */
+    ROUND_ROBIN,
+    
+    /**
+     * Anahtarlı mesajlarda HASH gibi davranır; anahtarsız mesajlarla bir partition'ın batch'ini
+     * doldurduktan sonra başka bir partition'a geçer
+     */
+    STICKY
+}
@@ -0,0 +1,79 @@
+package com.quafka.partitioner.impl;
+
+import com.quafka.partitioner.Partitioner;
+import com.quafka.partitioner.PartitioningStrategy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Anahtarın murmur2 özetine göre partition seçen uygulama.
+ * Aynı anahtarlı mesajlar aynı partition'a düşer ve sıraları korunur.
+ */
+public class HashPartitioner implements Partitioner {
+    
+    @Override
+    public int partition(String topic, byte[] key, int numPartitions) {
+        if (key == null) {
+            return ThreadLocalRandom.current().nextInt(numPartitions);
+        }
+        return partitionForKey(key, numPartitions);
+    }
+    
+    @Override
+    public PartitioningStrategy getStrategy() {
+        return PartitioningStrategy.HASH;
+    }
+    
+    /**
+     * Anahtarın düşeceği partition'ı hesaplar.
+     * @param key Mesaj anahtarı
+     * @param numPartitions Partition sayısı
+     * @return Partition ID
+     */
+    public static int partitionForKey(byte[] key, int numPartitions) {
+        return (murmur2(key) & 0x7fffffff) % numPartitions;
+    }
+    
+    /**
+     * 32 bit murmur2 özeti (seed 0x9747b28c).
+     * @param data Özetlenecek veri
+     * @return Özet değeri
+     */
+    public static int murmur2(byte[] data) {
+        final int length = data.length;
+        final int seed = 0x9747b28c;
+        final int m = 0x5bd1e995;
+        final int r = 24;
+        
+        int h = seed ^ length;
+        int length4 = length / 4;
+        
+        for (int i = 0; i < length4; i++) {
+            final int i4 = i * 4;
+            int k = (data[i4] & 0xff)
+                + ((data[i4 + 1] & 0xff) << 8)
+                + ((data[i4 + 2] & 0xff) << 16)
+                + ((data[i4 + 3] & 0xff) << 24);
+            k *= m;
+            k ^= k >>> r;
+            k *= m;
+            h *= m;
+            h ^= k;
+        }
+        
+        switch (length % 4) {
+            case 3:
+                h ^= (data[(length & ~3) + 2] & 0xff) << 16;
+            case 2:
+                h ^= (data[(length & ~3) + 1] & 0xff) << 8;
+            case 1:
+                h ^= data[length & ~3] & 0xff;
+                h *= m;
+        }
+        
+        h ^= h >>> 13;
+        h *= m;
+        h ^= h >>> 15;
+        return h;
+    }
+}
@@ -0,0 +1,41 @@
+package com.quafka.partitioner.impl;
+
+import com.quafka.partitioner.Partitioner;
+import com.quafka.partitioner.PartitioningStrategy;
+
+/**
+ * Stratejiye göre partitioner oluşturan yardımcı sınıf.
+ */
+public final class PartitionerFactory {
+    /** STICKY stratejisinde sunucu tarafında partition değiştirilmeden önce eklenecek byte sayısı */
+    public static final int DEFAULT_STICKY_BATCH_BYTES = 16 * 1024;
+    
+    private PartitionerFactory() {
+    }
+    
+    /**
+     * Varsayılan sticky batch boyutuyla partitioner oluşturur.
+     * @param strategy Partition seçme stratejisi
+     * @return Yeni partitioner
+     */
+    public static Partitioner create(PartitioningStrategy strategy) {
+        return create(strategy, DEFAULT_STICKY_BATCH_BYTES);
+    }
+    
+    /**
+     * @param strategy Partition seçme stratejisi
+     * @param batchSize STICKY stratejisinde partition değiştirilmeden önce eklenecek byte sayısı
+     * @return Yeni partitioner
+     */
+    public static Partitioner create(PartitioningStrategy strategy, int batchSize) {
+        switch (strategy) {
+            case ROUND_ROBIN:
+                return new RoundRobinPartitioner();
+            case STICKY:
+                return new StickyPartitioner(batchSize);
+            case HASH:
+            default:
+                return new HashPartitioner();
+        }
+    }
+}
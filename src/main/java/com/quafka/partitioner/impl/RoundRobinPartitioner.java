@@ -0,0 +1,31 @@
+package com.quafka.partitioner.impl;
+
+import com.quafka.partitioner.Partitioner;
+import com.quafka.partitioner.PartitioningStrategy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Her topic'in partition'larını sırayla kullanan uygulama. Anahtar dikkate alınmaz.
+ */
+public class RoundRobinPartitioner implements Partitioner {
+    
+    private final Map<String, AtomicInteger> counters;
+    
+    public RoundRobinPartitioner() {
+        this.counters = new ConcurrentHashMap<>();
+    }
+    
+    @Override
+    public int partition(String topic, byte[] key, int numPartitions) {
+        AtomicInteger counter = counters.computeIfAbsent(topic, t -> new AtomicInteger());
+        return Math.floorMod(counter.getAndIncrement(), numPartitions);
+    }
+    
+    @Override
+    public PartitioningStrategy getStrategy() {
+        return PartitioningStrategy.ROUND_ROBIN;
+    }
+}
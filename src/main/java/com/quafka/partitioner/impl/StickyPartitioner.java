@@ -0,0 +1,82 @@
+package com.quafka.partitioner.impl;
+
+import com.quafka.partitioner.Partitioner;
+import com.quafka.partitioner.PartitioningStrategy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Anahtarsız mesajları, bir partition'a batch boyutu kadar veri eklenene dek aynı
+ * partition'a gönderen uygulama. Böylece kayıtlar küçük batch'lere dağılmak yerine
+ * dolu batch'ler halinde eklenir. Anahtarlı mesajlar {@link HashPartitioner} ile dağıtılır.
+ */
+public class StickyPartitioner implements Partitioner {
+    
+    private final int batchSize;
+    private final Map<String, StickyState> states;
+    
+    /**
+     * @param batchSize Partition değiştirilmeden önce eklenecek byte sayısı
+     */
+    public StickyPartitioner(int batchSize) {
+        this.batchSize = batchSize;
+        this.states = new ConcurrentHashMap<>();
+    }
+    
+    @Override
+    public int partition(String topic, byte[] key, int numPartitions) {
+        if (key != null) {
+            return HashPartitioner.partitionForKey(key, numPartitions);
+        }
+        StickyState state = states.computeIfAbsent(topic, t -> new StickyState());
+        synchronized (state) {
+            if (state.partition < 0 || state.partition >= numPartitions) {
+                state.rotate(numPartitions);
+            }
+            state.numPartitions = numPartitions;
+            return state.partition;
+        }
+    }
+    
+    @Override
+    public void onAppend(String topic, int partition, int sizeInBytes) {
+        StickyState state = states.get(topic);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            if (state.partition != partition) {
+                return;
+            }
+            state.bytes += sizeInBytes;
+            if (state.bytes >= batchSize) {
+                state.rotate(state.numPartitions);
+            }
+        }
+    }
+    
+    @Override
+    public PartitioningStrategy getStrategy() {
+        return PartitioningStrategy.STICKY;
+    }
+    
+    /**
+     * Topic için o an kullanılan partition ve eklenen byte sayısı.
+     */
+    private static final class StickyState {
+        private int partition = -1;
+        private int numPartitions;
+        private int bytes;
+        
+        private void rotate(int numPartitions) {
+            int next = ThreadLocalRandom.current().nextInt(numPartitions);
+            if (numPartitions > 1 && next == partition) {
+                next = (next + 1) % numPartitions;
+            }
+            partition = next;
+            bytes = 0;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.quafka.perf;
+
+import com.quafka.config.ConnectionConfig;
+import com.quafka.config.ConsumerConfig;
+import com.quafka.config.LogConfig;
+import com.quafka.config.PerfConfig;
+import com.quafka.config.ServerConfig;
+import com.quafka.connection.impl.DefaultConnection;
+import com.quafka.consumer.ConsumerRecord;
+import com.quafka.consumer.impl.DefaultMessageConsumer;
+import com.quafka.monitoring.LatencyHistogram;
+import com.quafka.producer.impl.DefaultMessageProducer;
+import com.quafka.protocol.ProtocolType;
+import com.quafka.server.impl.DefaultServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Yerel bir {@link DefaultServer}'a karşı üretici ve tüketicilerle yük uygulayıp gecikme dağılımını
+ * ölçen yük üreticisi.
+ * <p>
+ * Gönderimler açık döngü (open-loop) takvimle yapılır: her mesajın planlanan gönderim zamanı
+ * önceden bellidir ve gecikme bu zamandan ölçülür. Sunucu yavaşladığında üretici geride kalsa bile
+ * bekleyen mesajların gecikmesi ölçüme girer; kapalı döngü ölçümlerdeki koordineli ihmal
+ * (coordinated omission) yaşanmaz. Planlanan zaman mesajın ilk 8 byte'ına yazılır ve tüketiciler
+ * uçtan uca gecikmeyi buradan hesaplar.
+ */
+public class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.HOURS.toNanos(1);
+    private static final int PRECISION_BITS = 7;
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final long DRAIN_TIMEOUT_MS = 30000;
+    private static final String GROUP_ID = "quafka-perf";
+    
+    private final PerfConfig config;
+    private final LatencyHistogram produceLatency;
+    private final LatencyHistogram endToEndLatency;
+    private final LongAdder sent;
+    private final LongAdder acked;
+    private final LongAdder failed;
+    private final LongAdder consumed;
+    private final LongAdder ackedInWindow;
+    private final LongAdder consumedInWindow;
+    private final AtomicBoolean consuming;
+    private long measureStart;
+    private long measureEnd;
+    
+    public LoadGenerator(PerfConfig config) {
+        if (config.getMessageSize() < Long.BYTES) {
+            throw new IllegalArgumentException("Mesaj boyutu en az " + Long.BYTES + " byte olmalıdır: "
+                + config.getMessageSize());
+        }
+        if (config.getProducers() < 1 || config.getMessagesPerSecond() < 1) {
+            throw new IllegalArgumentException("En az bir üretici ve pozitif bir mesaj hızı gereklidir");
+        }
+        this.config = config;
+        this.produceLatency = new LatencyHistogram(HIGHEST_LATENCY_NANOS, PRECISION_BITS);
+        this.endToEndLatency = new LatencyHistogram(HIGHEST_LATENCY_NANOS, PRECISION_BITS);
+        this.sent = new LongAdder();
+        this.acked = new LongAdder();
+        this.failed = new LongAdder();
+        this.consumed = new LongAdder();
+        this.ackedInWindow = new LongAdder();
+        this.consumedInWindow = new LongAdder();
+        this.consuming = new AtomicBoolean();
+    }
+    
+    /**
+     * Sunucuyu başlatır, ısınma ve ölçüm süresi boyunca yük uygular, tüketicilerin kalan mesajları
+     * almasını bekler ve sunucuyu durdurur.
+     * @return Ölçüm sonuçları
+     * @throws Exception Sunucu başlatılamazsa veya log dizini oluşturulamazsa
+     */
+    public PerfResult run() throws Exception {
+        Path logDir = config.getLogDir() != null ? config.getLogDir() : Files.createTempDirectory("quafka-perf");
+        DefaultServer server = new DefaultServer(new ServerConfig.Builder()
+            .withPort(config.getPort())
+            .withVirtualThreads(true)
+            .withMaxConnections(config.getProducers() + config.getConsumers() + 16)
+            .withLogConfig(new LogConfig.Builder().withLogDir(logDir).build())
+            .withDefaultPartitionCount(config.getPartitions())
+            .build());
+        server.start();
+        try {
+            server.getTopicManager().createTopic(config.getTopic(), config.getPartitions());
+            return applyLoad();
+        } finally {
+            server.stop();
+            if (config.getLogDir() == null) {
+                deleteDirectory(logDir);
+            }
+        }
+    }
+    
+    private PerfResult applyLoad() throws InterruptedException {
+        long start = System.nanoTime();
+        measureStart = start + TimeUnit.MILLISECONDS.toNanos(config.getWarmupMs());
+        measureEnd = measureStart + TimeUnit.MILLISECONDS.toNanos(config.getDurationMs());
+        
+        consuming.set(true);
+        List<Thread> consumers = new ArrayList<>();
+        for (int i = 0; i < config.getConsumers(); i++) {
+            consumers.add(startThread("quafka-perf-consumer-" + i, this::consume));
+        }
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < config.getProducers(); i++) {
+            int index = i;
+            producers.add(startThread("quafka-perf-producer-" + i, () -> produce(index, start)));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        
+        // Onaylanan tüm mesajlar tüketilene kadar, en fazla DRAIN_TIMEOUT_MS beklenir
+        long drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MS);
+        while (config.getConsumers() > 0 && consumed.sum() < acked.sum() && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        consuming.set(false);
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+        
+        return new PerfResult(produceLatency, endToEndLatency, sent.sum(), acked.sum(), failed.sum(),
+            consumed.sum(), ackedInWindow.sum(), consumedInWindow.sum(), measureEnd - measureStart,
+            config.getMessageSize());
+    }
+    
+    private static Thread startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+    
+    /**
+     * Üreticinin payına düşen hızla, takvimdeki her mesajı zamanı geldiğinde gönderir. Geride
+     * kalındığında bekleme yapılmaz; kaçırılan gönderimler hemen ardından yapılır.
+     */
+    private void produce(int index, long start) {
+        double intervalNanos = 1e9 * config.getProducers() / config.getMessagesPerSecond();
+        // Üreticiler aynı anlara yığılmasın diye takvimleri aralık içinde kaydırılır
+        long first = start + (long) (intervalNanos * index / config.getProducers());
+        
+        ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+            .withPort(config.getPort())
+            .withProtocol(ProtocolType.BINARY)
+            .build();
+        try (DefaultConnection connection = new DefaultConnection(connectionConfig)) {
+            connection.connect();
+            DefaultMessageProducer producer = new DefaultMessageProducer(connection, config.getProducerConfig());
+            try {
+                for (long i = 0; ; i++) {
+                    long intended = first + (long) (i * intervalNanos);
+                    if (intended >= measureEnd) {
+                        break;
+                    }
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    send(producer, intended);
+                }
+            } finally {
+                // Kalan batch'ler gönderilir ve onayları beklenir
+                producer.close();
+            }
+        } catch (Exception e) {
+            logger.error("Üretici çalışırken hata oluştu", e);
+        }
+    }
+    
+    private void send(DefaultMessageProducer producer, long intended) {
+        byte[] value = new byte[config.getMessageSize()];
+        ByteBuffer.wrap(value).putLong(intended);
+        sent.increment();
+        producer.send(config.getTopic(), value).whenComplete((offset, error) -> {
+            if (error != null) {
+                failed.increment();
+                return;
+            }
+            long now = System.nanoTime();
+            acked.increment();
+            if (intended >= measureStart) {
+                produceLatency.record(now - intended);
+            }
+            if (now >= measureStart && now < measureEnd) {
+                ackedInWindow.increment();
+            }
+        });
+    }
+    
+    private void consume() {
+        ConsumerConfig consumerConfig = new ConsumerConfig.Builder()
+            .withPort(config.getPort())
+            .withGroupId(GROUP_ID)
+            .withTopic(config.getTopic())
+            .withPollTimeout(POLL_TIMEOUT_MS)
+            .withPollInterval(POLL_TIMEOUT_MS)
+            .withHeartbeatInterval(1000)
+            .build();
+        try (DefaultMessageConsumer consumer = new DefaultMessageConsumer(consumerConfig)) {
+            Duration timeout = Duration.ofMillis(POLL_TIMEOUT_MS);
+            while (consuming.get()) {
+                for (ConsumerRecord record : consumer.poll(timeout)) {
+                    long now = System.nanoTime();
+                    ByteBuffer value = record.getValue();
+                    long intended = value.getLong(value.position());
+                    consumed.increment();
+                    if (intended >= measureStart) {
+                        endToEndLatency.record(now - intended);
+                    }
+                    if (now >= measureStart && now < measureEnd) {
+                        consumedInWindow.increment();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Tüketici çalışırken hata oluştu", e);
+        }
+    }
+    
+    private static void deleteDirectory(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Geçici log dizini silinemedi: {}", dir, e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.quafka.perf;
+
+import com.quafka.monitoring.LatencyHistogram;
+
+/**
+ * Bir yük testi çalıştırmasının sonuçları. Gecikmeler planlanan gönderim zamanından ölçülür ve
+ * yalnızca ölçüm penceresinde planlanan mesajları kapsar; verim, pencere içinde tamamlanan
+ * onay ve tüketimlerden hesaplanır.
+ */
+public class PerfResult {
+    private final LatencyHistogram produceLatency;
+    private final LatencyHistogram endToEndLatency;
+    private final long sent;
+    private final long acked;
+    private final long failed;
+    private final long consumed;
+    private final long ackedInWindow;
+    private final long consumedInWindow;
+    private final long windowNanos;
+    private final int messageSize;
+    
+    PerfResult(LatencyHistogram produceLatency, LatencyHistogram endToEndLatency, long sent, long acked,
+               long failed, long consumed, long ackedInWindow, long consumedInWindow, long windowNanos,
+               int messageSize) {
+        this.produceLatency = produceLatency;
+        this.endToEndLatency = endToEndLatency;
+        this.sent = sent;
+        this.acked = acked;
+        this.failed = failed;
+        this.consumed = consumed;
+        this.ackedInWindow = ackedInWindow;
+        this.consumedInWindow = consumedInWindow;
+        this.windowNanos = windowNanos;
+        this.messageSize = messageSize;
+    }
+    
+    /**
+     * Gönderimden onaya kadar geçen sürelerin dağılımı.
+     * @return Gecikme histogramı (nanosaniye)
+     */
+    public LatencyHistogram getProduceLatency() {
+        return produceLatency;
+    }
+    
+    /**
+     * Gönderimden tüketicide alınmaya kadar geçen sürelerin dağılımı.
+     * @return Gecikme histogramı (nanosaniye)
+     */
+    public LatencyHistogram getEndToEndLatency() {
+        return endToEndLatency;
+    }
+    
+    /**
+     * Isınma dahil gönderilen toplam mesaj sayısı.
+     * @return Gönderilen mesaj sayısı
+     */
+    public long getSent() {
+        return sent;
+    }
+    
+    public long getAcked() {
+        return acked;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public long getConsumed() {
+        return consumed;
+    }
+    
+    /**
+     * Ölçüm penceresinde onaylanan mesajların saniyedeki sayısı.
+     * @return Üretim verimi (mesaj/saniye)
+     */
+    public double getProduceThroughput() {
+        return ackedInWindow * 1e9 / windowNanos;
+    }
+    
+    /**
+     * Ölçüm penceresinde tüketilen mesajların saniyedeki sayısı.
+     * @return Tüketim verimi (mesaj/saniye)
+     */
+    public double getConsumeThroughput() {
+        return consumedInWindow * 1e9 / windowNanos;
+    }
+    
+    /**
+     * Ölçüm penceresinde onaylanan verinin saniyedeki miktarı.
+     * @return Üretim verimi (MB/saniye)
+     */
+    public double getProduceMegabytesPerSecond() {
+        return getProduceThroughput() * messageSize / (1024 * 1024);
+    }
+}
@@ -0,0 +1,48 @@
+package com.quafka.producer;
+
+/**
+ * Üreticinin bir batch'i başarılı saymadan önce sunucudan beklediği onay düzeyini temsil eden enum.
+ * Kimlik değeri PRODUCE isteğinde gönderilir ve değiştirilmemelidir.
+ */
+public enum AckMode {
+    /**
+     * Onay beklenmez; batch sokete yazıldığında başarılı sayılır ve sunucu yanıt göndermez.
+     * Offset bilinmediğinden sonuçtaki offset -1'dir
+     */
+    NONE(0),
+    
+    /**
+     * Batch partition log'una eklendiğinde onaylanır; diske yazılması beklenmez
+     */
+    LEADER(1),
+    
+    /**
+     * Batch eklenip log dosyası diske zorlandığında (fsync) onaylanır
+     */
+    FLUSH(2);
+    
+    private final int id;
+    
+    AckMode(int id) {
+        this.id = id;
+    }
+    
+    public int id() {
+        return id;
+    }
+    
+    /**
+     * Kimlik değerine karşılık gelen onay düzeyini döndürür.
+     * @param id Kimlik değeri
+     * @return Onay düzeyi
+     * @throws IllegalArgumentException Bilinmeyen kimlik değeri için
+     */
+    public static AckMode fromId(int id) {
+        for (AckMode mode : values()) {
+            if (mode.id == id) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Bilinmeyen onay düzeyi: " + id);
+    }
+}
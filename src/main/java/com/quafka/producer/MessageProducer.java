@@ -0,0 +1,50 @@
+package com.quafka.producer;
+
+import com.quafka.config.ProducerConfig;
+import com.quafka.topic.TopicManager;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mesaj üretici arayüzü.
+ * Gönderilen kayıtlar partition bazında biriktirilir ve toplu olarak iletilir.
+ */
+public interface MessageProducer extends AutoCloseable {
+    /**
+     * Anahtarsız kaydı gönderilmek üzere biriktirir.
+     * @param topic Topic adı
+     * @param value Mesaj içeriği
+     * @return Kaydın yazıldığı partition ve offset için CompletableFuture
+     */
+    CompletableFuture<TopicManager.PartitionOffset> send(String topic, byte[] value);
+    
+    /**
+     * Anahtarlı kaydı gönderilmek üzere biriktirir. Partition, yapılandırılan stratejiyle
+     * üretici tarafında seçilir; aynı anahtarlı kayıtlar anahtar tabanlı stratejilerde aynı partition'a yazılır.
+     * @param topic Topic adı
+     * @param key Mesaj anahtarı, anahtarsız kayıtlar için null
+     * @param value Mesaj içeriği
+     * @return Kaydın yazıldığı partition ve offset için CompletableFuture
+     */
+    CompletableFuture<TopicManager.PartitionOffset> send(String topic, byte[] key, byte[] value);
+    
+    /**
+     * Kaydı belirli bir partition'a gönderilmek üzere biriktirir.
+     * @param topic Topic adı
+     * @param partition Partition ID
+     * @param value Mesaj içeriği
+     * @return Kaydın yazıldığı partition ve offset için CompletableFuture
+     */
+    CompletableFuture<TopicManager.PartitionOffset> send(String topic, int partition, byte[] value);
+    
+    /**
+     * Biriken tüm kayıtları gönderir ve yanıtlarını bekler.
+     */
+    void flush();
+    
+    /**
+     * Üretici yapılandırmasını döndürür.
+     * @return Üretici yapılandırması
+     */
+    ProducerConfig getConfig();
+}
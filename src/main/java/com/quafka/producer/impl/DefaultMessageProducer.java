@@ -0,0 +1,340 @@
+package com.quafka.producer.impl;
+
+import com.quafka.compression.CompressionType;
+import com.quafka.config.ProducerConfig;
+import com.quafka.connection.Connection;
+import com.quafka.connection.ConnectionException;
+import com.quafka.monitoring.MessageTracer;
+import com.quafka.monitoring.TraceEvent;
+import com.quafka.partitioner.Partitioner;
+import com.quafka.partitioner.impl.PartitionerFactory;
+import com.quafka.producer.AckMode;
+import com.quafka.producer.MessageProducer;
+import com.quafka.protocol.Frame;
+import com.quafka.protocol.OpCode;
+import com.quafka.protocol.WireFormat;
+import com.quafka.storage.LogRecord;
+import com.quafka.storage.RecordBatch;
+import com.quafka.topic.TopicManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Varsayılan mesaj üretici implementasyonu.
+ * Kayıtlar topic ve partition bazında biriktirilir; batch boyutu sınırına ulaşıldığında
+ * veya linger süresi dolduğunda diskteki batch formatında kodlanıp tek bir {@link OpCode#PRODUCE}
+ * isteğiyle gönderilir. Sıkıştırma yapılandırılmışsa batch gönderici thread'de sıkıştırılır;
+ * sunucu batch'i açmadan saklar. Kayıtların sonucu yapılandırılan {@link AckMode}'a göre batch
+ * sokete yazıldığında, log'a eklendiğinde ya da diske zorlandığında tamamlanır.
+ * Partition belirtilmeyen kayıtların partition'ı {@link Partitioner} ile burada seçilir;
+ * bunun için topic'lerin partition sayısı {@link OpCode#METADATA} ile alınıp önbelleğe konur.
+ * Bağlantı ikili protokolle yapılandırılmış olmalıdır.
+ */
+public class DefaultMessageProducer implements MessageProducer {
+    private static final Logger logger = LoggerFactory.getLogger(DefaultMessageProducer.class);
+    private static final MessageTracer tracer = MessageTracer.shared();
+    
+    private final Connection connection;
+    private final ProducerConfig config;
+    private final Partitioner partitioner;
+    private final Map<String, TopicMetadata> metadata;
+    private final Map<BatchKey, ProducerBatch> batches;
+    private final Set<CompletableFuture<Void>> inFlight;
+    private final ScheduledExecutorService sender;
+    private final AtomicBoolean closed;
+    
+    public DefaultMessageProducer(Connection connection, ProducerConfig config) {
+        this.connection = connection;
+        this.config = config;
+        this.partitioner = PartitionerFactory.create(config.getPartitioningStrategy(), config.getBatchSize());
+        this.metadata = new ConcurrentHashMap<>();
+        this.batches = new ConcurrentHashMap<>();
+        this.inFlight = ConcurrentHashMap.newKeySet();
+        // Batch'ler tek gönderici thread'den sırayla yazılır; yanıtlar bağlantının okuyucu thread'inde işlenir
+        this.sender = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "quafka-producer-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.closed = new AtomicBoolean(false);
+    }
+    
+    @Override
+    public CompletableFuture<TopicManager.PartitionOffset> send(String topic, byte[] value) {
+        return send(topic, null, value);
+    }
+    
+    @Override
+    public CompletableFuture<TopicManager.PartitionOffset> send(String topic, byte[] key, byte[] value) {
+        if (closed.get()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Üretici kapatıldı"));
+        }
+        
+        int numPartitions;
+        try {
+            numPartitions = partitionCount(topic);
+        } catch (ConnectionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (numPartitions <= 0) {
+            // Topic henüz yok; kayıt tek başına gönderilir, partition'ı sunucu anahtara göre seçer ve topic oluşturulur
+            ProducerBatch batch = new ProducerBatch(new BatchKey(topic, -1));
+            CompletableFuture<TopicManager.PartitionOffset> future = new CompletableFuture<>();
+            batch.add(key, value, future);
+            dispatch(batch);
+            return future;
+        }
+        
+        int partition = partitioner.partition(topic, key, numPartitions);
+        CompletableFuture<TopicManager.PartitionOffset> future = append(topic, partition, key, value);
+        partitioner.onAppend(topic, partition, value != null ? value.length : 0);
+        return future;
+    }
+    
+    @Override
+    public CompletableFuture<TopicManager.PartitionOffset> send(String topic, int partition, byte[] value) {
+        if (closed.get()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Üretici kapatıldı"));
+        }
+        return append(topic, partition, null, value);
+    }
+    
+    private CompletableFuture<TopicManager.PartitionOffset> append(String topic, int partition, byte[] recordKey, byte[] value) {
+        BatchKey key = new BatchKey(topic, partition);
+        CompletableFuture<TopicManager.PartitionOffset> future = new CompletableFuture<>();
+        ProducerBatch[] ready = new ProducerBatch[1];
+        
+        batches.compute(key, (k, batch) -> {
+            if (batch == null) {
+                batch = new ProducerBatch(k);
+                scheduleLinger(batch);
+            }
+            batch.add(recordKey, value, future);
+            if (batch.sizeInBytes() >= config.getBatchSize()) {
+                ready[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+        
+        if (ready[0] != null) {
+            dispatch(ready[0]);
+        }
+        return future;
+    }
+    
+    @Override
+    public void flush() {
+        for (BatchKey key : batches.keySet()) {
+            ProducerBatch batch = batches.remove(key);
+            if (batch != null) {
+                dispatch(batch);
+            }
+        }
+        // Gönderici thread'inde o an çalışan linger görevinin de bitmesi beklenir
+        CompletableFuture.runAsync(() -> { }, sender).join();
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).join();
+    }
+    
+    @Override
+    public ProducerConfig getConfig() {
+        return config;
+    }
+    
+    /**
+     * Biriken kayıtları gönderir ve üreticiyi kapatır. Bağlantı çağırana ait olduğundan kapatılmaz.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            flush();
+            sender.shutdown();
+        }
+    }
+    
+    /**
+     * Topic'in partition sayısını önbellekten, yoksa veya süresi dolduysa sunucudan alır.
+     * Henüz oluşturulmamış topic'ler için 0 döner ve sonuç önbelleğe konmaz.
+     */
+    private int partitionCount(String topic) throws ConnectionException {
+        TopicMetadata cached = metadata.get(topic);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.fetchedAt < config.getMetadataMaxAgeMs()) {
+            return cached.partitionCount;
+        }
+        
+        ByteBuffer request = ByteBuffer.allocate(WireFormat.sizeOf(topic));
+        WireFormat.putString(request, topic);
+        int count = connection.send(OpCode.METADATA, request.flip()).getPayload().getInt();
+        if (count > 0) {
+            metadata.put(topic, new TopicMetadata(count, now));
+        }
+        return count;
+    }
+    
+    private void scheduleLinger(ProducerBatch batch) {
+        sender.schedule(() -> {
+            if (batches.remove(batch.key, batch)) {
+                send(batch);
+            }
+        }, config.getLingerMs(), TimeUnit.MILLISECONDS);
+    }
+    
+    private void dispatch(ProducerBatch batch) {
+        inFlight.add(batch.done);
+        sender.execute(() -> send(batch));
+    }
+    
+    private void send(ProducerBatch batch) {
+        inFlight.add(batch.done);
+        // Yanıt beklenmeden sonraki batch yazılabilir; bağlantının uçuştaki istek sınırı geri basınç sağlar
+        CompletableFuture<Frame> request;
+        try {
+            ByteBuffer payload = batch.encode(config.getCompression(), config.getAcks());
+            request = config.getAcks() == AckMode.NONE
+                ? connection.sendOneWay(OpCode.PRODUCE, payload).thenApply(written -> null)
+                : connection.sendAsync(OpCode.PRODUCE, payload);
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        request.whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+                logger.error("Batch gönderilemedi: topic={}, kayıt={}", batch.key.topic, batch.futures.size(), cause);
+                batch.futures.forEach(future -> future.completeExceptionally(cause));
+            } else {
+                complete(batch, response);
+            }
+            inFlight.remove(batch.done);
+            batch.done.complete(null);
+        });
+    }
+    
+    private void complete(ProducerBatch batch, Frame response) {
+        if (response == null) {
+            // Onaysız gönderimde sunucu yanıt vermez; offset bilinmez
+            for (CompletableFuture<TopicManager.PartitionOffset> future : batch.futures) {
+                future.complete(new TopicManager.PartitionOffset(batch.key.partition, -1));
+            }
+            return;
+        }
+        ByteBuffer payload = response.getPayload();
+        int partition = payload.getInt();
+        long baseOffset = payload.getLong();
+        
+        for (int i = 0; i < batch.futures.size(); i++) {
+            batch.futures.get(i).complete(new TopicManager.PartitionOffset(partition, baseOffset + i));
+        }
+        if (tracer.sample()) {
+            tracer.trace(TraceEvent.PRODUCE, batch.key.topic, partition, baseOffset, batch.futures.size(),
+                batch.sizeInBytes());
+        }
+    }
+    
+    /**
+     * Önbelleğe alınan topic partition sayısı.
+     */
+    private static final class TopicMetadata {
+        private final int partitionCount;
+        private final long fetchedAt;
+        
+        private TopicMetadata(int partitionCount, long fetchedAt) {
+            this.partitionCount = partitionCount;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+    
+    /**
+     * Batch'lerin gruplandığı topic ve partition çifti.
+     */
+    private static final class BatchKey {
+        private final String topic;
+        private final int partition;
+        
+        private BatchKey(String topic, int partition) {
+            this.topic = topic;
+            this.partition = partition;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            BatchKey that = (BatchKey) o;
+            return partition == that.partition &&
+                Objects.equals(topic, that.topic);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(topic, partition);
+        }
+    }
+    
+    /**
+     * Aynı topic ve partition'a gidecek, henüz gönderilmemiş kayıtlar.
+     */
+    private static final class ProducerBatch {
+        private final BatchKey key;
+        private final List<byte[]> keys;
+        private final List<byte[]> values;
+        private final List<CompletableFuture<TopicManager.PartitionOffset>> futures;
+        private final CompletableFuture<Void> done;
+        private int sizeInBytes;
+        
+        private ProducerBatch(BatchKey key) {
+            this.key = key;
+            this.keys = new ArrayList<>();
+            this.values = new ArrayList<>();
+            this.futures = new ArrayList<>();
+            this.done = new CompletableFuture<>();
+        }
+        
+        private void add(byte[] recordKey, byte[] value, CompletableFuture<TopicManager.PartitionOffset> future) {
+            keys.add(recordKey);
+            values.add(value);
+            futures.add(future);
+            sizeInBytes += WireFormat.sizeOf(recordKey) + WireFormat.sizeOf(value);
+        }
+        
+        private int sizeInBytes() {
+            return sizeInBytes;
+        }
+        
+        /**
+         * PRODUCE içeriği: topic, partition (int32, -1 sunucu seçer), onay düzeyi (int8), kayıtların
+         * diskteki formatta kodlanmış ve isteğe bağlı sıkıştırılmış batch'i (bytes).
+         */
+        private ByteBuffer encode(CompressionType compression, AckMode acks) {
+            List<LogRecord> records = new ArrayList<>(values.size());
+            for (int i = 0; i < values.size(); i++) {
+                records.add(LogRecord.of(keys.get(i), values.get(i)));
+            }
+            ByteBuffer batch = RecordBatch.compress(RecordBatch.encode(records), compression);
+            
+            ByteBuffer buffer = ByteBuffer.allocate(WireFormat.sizeOf(key.topic) + 4 + 1 + 4 + batch.remaining());
+            WireFormat.putString(buffer, key.topic);
+            buffer.putInt(key.partition);
+            buffer.put((byte) acks.id());
+            buffer.putInt(batch.remaining());
+            buffer.put(batch);
+            return buffer.flip();
+        }
+    }
+}
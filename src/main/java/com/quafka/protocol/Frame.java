@@ -0,0 +1,141 @@
+package com.quafka.protocol;
+
+import com.quafka.storage.FileRegion;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * İkili protokolde tek bir istek veya yanıt çerçevesini temsil eden sınıf.
+ * Yanıtlar isteğin korelasyon ID'sini taşır; böylece istemci yanıtları isteklerle eşleştirir.
+ *
+ * <p>Sunucu yanıtları içeriğin ardından diskteki dosya bölümlerini taşıyabilir; bu bölümler
+ * tel üzerinde içeriğin devamıdır ve soket kanalına sıfır kopya ile aktarılır.</p>
+ */
+public class Frame {
+    private final byte version;
+    private final OpCode opCode;
+    private final int correlationId;
+    private final ByteBuffer payload;
+    private final List<FileRegion> regions;
+    
+    public Frame(byte version, OpCode opCode, int correlationId, ByteBuffer payload) {
+        this(version, opCode, correlationId, payload, List.of());
+    }
+    
+    private Frame(byte version, OpCode opCode, int correlationId, ByteBuffer payload, List<FileRegion> regions) {
+        this.version = version;
+        this.opCode = opCode;
+        this.correlationId = correlationId;
+        this.payload = payload;
+        this.regions = regions;
+    }
+    
+    /**
+     * Güncel protokol sürümüyle çerçeve oluşturur.
+     * @param opCode İşlem türü
+     * @param correlationId Korelasyon ID'si
+     * @param payload Çerçeve içeriği
+     * @return Yeni çerçeve
+     */
+    public static Frame of(OpCode opCode, int correlationId, ByteBuffer payload) {
+        return new Frame(FrameCodec.VERSION, opCode, correlationId, payload);
+    }
+    
+    /**
+     * Bu isteğe aynı işlem türü ve korelasyon ID'siyle yanıt oluşturur.
+     * @param payload Yanıt içeriği
+     * @return Yanıt çerçevesi
+     */
+    public Frame reply(ByteBuffer payload) {
+        return new Frame(version, opCode, correlationId, payload);
+    }
+    
+    /**
+     * Bu isteğe, içeriğin ardından verilen dosya bölümlerini taşıyan bir yanıt oluşturur.
+     * @param payload Yanıt içeriği
+     * @param regions İçerikten sonra sırayla gönderilecek dosya bölümleri
+     * @return Yanıt çerçevesi
+     */
+    public Frame reply(ByteBuffer payload, List<FileRegion> regions) {
+        return new Frame(version, opCode, correlationId, payload, List.copyOf(regions));
+    }
+    
+    /**
+     * Bu isteğe hata yanıtı oluşturur.
+     * @param message Hata mesajı
+     * @return Hata çerçevesi
+     */
+    public Frame error(String message) {
+        return new Frame(version, OpCode.ERROR, correlationId, WireFormat.encodeString(message));
+    }
+    
+    /**
+     * İçeriği yeni bir heap buffer'a kopyalanmış çerçeve döndürür. Paylaşılan veya havuza
+     * dönecek bir buffer'ın görünümü olan çerçeveyi çağırana teslim etmeden önce kullanılır.
+     * @return Bağımsız kopya
+     */
+    public Frame copy() {
+        ByteBuffer copied = ByteBuffer.allocate(payload.remaining()).put(payload.duplicate()).flip();
+        return new Frame(version, opCode, correlationId, copied, regions);
+    }
+    
+    public boolean isError() {
+        return opCode == OpCode.ERROR;
+    }
+    
+    public byte getVersion() {
+        return version;
+    }
+    
+    public OpCode getOpCode() {
+        return opCode;
+    }
+    
+    public int getCorrelationId() {
+        return correlationId;
+    }
+    
+    /**
+     * Çerçeve içeriğini döndürür. Dönen buffer paylaşılmaz; okuma konumu çağırana aittir.
+     * @return Çerçeve içeriği
+     */
+    public ByteBuffer getPayload() {
+        return payload.duplicate();
+    }
+    
+    public int payloadSize() {
+        return payload.remaining();
+    }
+    
+    /**
+     * İçerikten sonra gönderilecek dosya bölümlerini döndürür.
+     * @return Dosya bölümleri, yoksa boş liste
+     */
+    public List<FileRegion> getRegions() {
+        return regions;
+    }
+    
+    /**
+     * Dosya bölümlerinin toplam boyutunu döndürür.
+     * @return Toplam boyut (byte)
+     */
+    public int regionsSize() {
+        int size = 0;
+        for (FileRegion region : regions) {
+            size += region.size();
+        }
+        return size;
+    }
+    
+    @Override
+    public String toString() {
+        return "Frame{" +
+            "version=" + version +
+            ", opCode=" + opCode +
+            ", correlationId=" + correlationId +
+            ", payloadSize=" + payload.remaining() +
+            ", regionsSize=" + regionsSize() +
+            '}';
+    }
+}
@@ -0,0 +1,224 @@
+package com.quafka.protocol;
+
+import com.quafka.storage.FileRegion;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * İkili protokol çerçevelerini kodlayan ve çözen yardımcı sınıf.
+ *
+ * <p>Bağlantı kurulduğunda istemci {@code 0x00 'Q' 'F' 'K' version} şeklinde 5 byte'lık
+ * el sıkışma gönderir; sunucu desteklediği sürümle aynı formatta yanıt verir. Metin
+ * protokolünde hiçbir satır 0x00 ile başlamadığından sunucu ilk byte'a bakarak iki
+ * protokolü ayırt eder. El sıkışmadan sonraki her çerçeve:</p>
+ *
+ * <pre>
+ * length        int32   (bu alandan sonraki byte sayısı)
+ * version       int8
+ * opCode        int8
+ * correlationId int32
+ * payload       byte[length - 6]
+ * </pre>
+ */
+public final class FrameCodec {
+    public static final byte VERSION = 1;
+    public static final int HANDSHAKE_SIZE = 5;
+    public static final int LENGTH_SIZE = 4;
+    public static final int HEADER_SIZE = 1 + 1 + 4;
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    
+    private static final byte[] MAGIC = {0x00, 'Q', 'F', 'K'};
+    
+    private FrameCodec() {
+    }
+    
+    /**
+     * İlk byte'ın ikili protokol el sıkışmasını başlatıp başlatmadığını kontrol eder.
+     * @param firstByte Bağlantıdan okunan ilk byte
+     * @return İkili protokol ise true
+     */
+    public static boolean isHandshakeStart(int firstByte) {
+        return firstByte == MAGIC[0];
+    }
+    
+    /**
+     * El sıkışma mesajını oluşturur.
+     * @param version Önerilen veya kabul edilen protokol sürümü
+     * @return 5 byte'lık el sıkışma buffer'ı
+     */
+    public static ByteBuffer handshake(byte version) {
+        ByteBuffer buffer = ByteBuffer.allocate(HANDSHAKE_SIZE);
+        buffer.put(MAGIC).put(version);
+        return buffer.flip();
+    }
+    
+    public static byte[] handshakeBytes(byte version) {
+        return handshake(version).array();
+    }
+    
+    /**
+     * El sıkışma mesajını doğrular ve içindeki sürümü döndürür.
+     * @param buffer En az 5 byte içeren buffer (konum ilerletilir)
+     * @return Karşı tarafın protokol sürümü
+     * @throws ProtocolException Sihirli byte'lar eşleşmezse
+     */
+    public static byte readHandshake(ByteBuffer buffer) throws ProtocolException {
+        for (byte expected : MAGIC) {
+            if (buffer.get() != expected) {
+                throw new ProtocolException("Geçersiz el sıkışma mesajı");
+            }
+        }
+        byte version = buffer.get();
+        if (version < 1) {
+            throw new ProtocolException("Geçersiz protokol sürümü: " + version);
+        }
+        return version;
+    }
+    
+    /**
+     * İki tarafın da desteklediği protokol sürümünü belirler.
+     * @param requested İstemcinin önerdiği sürüm
+     * @return Kullanılacak sürüm
+     */
+    public static byte negotiate(byte requested) {
+        return (byte) Math.min(requested, VERSION);
+    }
+    
+    /**
+     * Çerçeveyi uzunluk önekiyle birlikte kodlar. Çerçeve dosya bölümleri taşıyorsa uzunluk
+     * bunları kapsar, ancak bölümler buffer'a kopyalanmaz; çağıran bunları buffer'dan sonra
+     * sırayla yazmalıdır.
+     * @param frame Kodlanacak çerçeve
+     * @return Yazmaya hazır buffer
+     */
+    public static ByteBuffer encode(Frame frame) {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(frame));
+        encode(frame, buffer);
+        return buffer.flip();
+    }
+    
+    /**
+     * Çerçeveyi uzunluk önekiyle birlikte verilen buffer'a, buffer'ın konumundan itibaren yazar.
+     * Dosya bölümleri {@link #encode(Frame)} ile aynı şekilde buffer'a kopyalanmaz.
+     * @param frame Kodlanacak çerçeve
+     * @param target En az {@link #encodedSize(Frame)} byte boş alanı olan buffer
+     */
+    public static void encode(Frame frame, ByteBuffer target) {
+        ByteBuffer payload = frame.getPayload();
+        target.putInt(HEADER_SIZE + payload.remaining() + frame.regionsSize());
+        target.put(frame.getVersion());
+        target.put(frame.getOpCode().code());
+        target.putInt(frame.getCorrelationId());
+        target.put(payload);
+    }
+    
+    /**
+     * Çerçevenin dosya bölümleri hariç kodlanmış boyutunu döndürür.
+     * @param frame Çerçeve
+     * @return Uzunluk öneki dahil boyut (byte)
+     */
+    public static int encodedSize(Frame frame) {
+        return LENGTH_SIZE + HEADER_SIZE + frame.payloadSize();
+    }
+    
+    /**
+     * Buffer'daki ilk tam çerçeveyi çözer. Çerçeve henüz tamamlanmadıysa buffer'a dokunmadan null döner.
+     * Dönen çerçevenin içeriği buffer'ın bir görünümüdür; buffer yeniden kullanılmadan önce işlenmelidir.
+     * @param buffer Okuma modundaki buffer
+     * @return Çözülen çerçeve veya null
+     * @throws ProtocolException Çerçeve boyutu geçersizse
+     */
+    public static Frame decode(ByteBuffer buffer) throws ProtocolException {
+        int needed = requiredBytes(buffer);
+        if (needed < 0 || buffer.remaining() < needed) {
+            return null;
+        }
+        
+        int length = buffer.getInt();
+        byte version = buffer.get();
+        OpCode opCode = OpCode.fromCode(buffer.get());
+        int correlationId = buffer.getInt();
+        int payloadSize = length - HEADER_SIZE;
+        ByteBuffer payload = buffer.slice(buffer.position(), payloadSize);
+        buffer.position(buffer.position() + payloadSize);
+        return new Frame(version, opCode, correlationId, payload);
+    }
+    
+    /**
+     * Buffer başındaki çerçevenin tamamı için gereken byte sayısını döndürür.
+     * @param buffer Okuma modundaki buffer
+     * @return Gereken byte sayısı, uzunluk alanı henüz okunamıyorsa -1
+     * @throws ProtocolException Çerçeve boyutu geçersizse
+     */
+    public static int requiredBytes(ByteBuffer buffer) throws ProtocolException {
+        if (buffer.remaining() < LENGTH_SIZE) {
+            return -1;
+        }
+        return LENGTH_SIZE + checkLength(buffer.getInt(buffer.position()));
+    }
+    
+    /**
+     * Akıştan tek bir çerçeve okur (bloklayan).
+     * @param in Giriş akışı
+     * @return Okunan çerçeve, akış çerçeve sınırında kapandıysa null
+     * @throws IOException Okuma hatası veya protokol ihlali durumunda
+     */
+    public static Frame read(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = checkLength(in.readInt());
+        } catch (EOFException e) {
+            return null;
+        }
+        byte version = in.readByte();
+        OpCode opCode = OpCode.fromCode(in.readByte());
+        int correlationId = in.readInt();
+        byte[] payload = new byte[length - HEADER_SIZE];
+        in.readFully(payload);
+        return new Frame(version, opCode, correlationId, ByteBuffer.wrap(payload));
+    }
+    
+    /**
+     * Çerçeveyi dosya bölümleriyle birlikte akışa yazar. Akış çağıran tarafından flush edilmelidir.
+     * @param out Çıkış akışı
+     * @param frame Yazılacak çerçeve
+     * @throws IOException Yazma hatası durumunda
+     */
+    public static void write(DataOutputStream out, Frame frame) throws IOException {
+        ByteBuffer payload = frame.getPayload();
+        out.writeInt(HEADER_SIZE + payload.remaining() + frame.regionsSize());
+        out.writeByte(frame.getVersion());
+        out.writeByte(frame.getOpCode().code());
+        out.writeInt(frame.getCorrelationId());
+        if (payload.hasArray()) {
+            out.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+        } else {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            out.write(bytes);
+        }
+        if (!frame.getRegions().isEmpty()) {
+            // Akış tabanlı bağlantılarda sıfır kopya mümkün değildir; bölümler akışa kopyalanır
+            WritableByteChannel target = Channels.newChannel(out);
+            for (FileRegion region : frame.getRegions()) {
+                long written = 0;
+                while (written < region.size()) {
+                    written += region.transferTo(target, written);
+                }
+            }
+        }
+    }
+    
+    private static int checkLength(int length) throws ProtocolException {
+        if (length < HEADER_SIZE || length > MAX_FRAME_SIZE) {
+            throw new ProtocolException("Geçersiz çerçeve boyutu: " + length);
+        }
+        return length;
+    }
+}
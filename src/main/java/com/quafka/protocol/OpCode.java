@@ -0,0 +1,126 @@
+package com.quafka.protocol;
+
+/**
+ * İkili protokoldeki istek türlerini temsil eden enum.
+ * Başarılı yanıtlar isteğin kodunu taşır; hatalar {@link #ERROR} ile döner.
+ */
+public enum OpCode {
+    /**
+     * Metin protokolü komutunu ikili çerçeve içinde taşır
+     */
+    TEXT_COMMAND((byte) 1),
+    
+    /**
+     * Topic'e tek bir mesaj ekler
+     */
+    PUBLISH((byte) 2),
+    
+    /**
+     * Partition'dan offset ile mesaj okur
+     */
+    FETCH((byte) 3),
+    
+    /**
+     * Tüketici grubunun partition offset'lerini kaydeder
+     */
+    COMMIT((byte) 4),
+    
+    /**
+     * Topic'in partition sayısını sorgular
+     */
+    METADATA((byte) 5),
+    
+    /**
+     * Aynı partition'a giden birden fazla mesajı tek istekte ekler
+     */
+    PUBLISH_BATCH((byte) 6),
+    
+    /**
+     * Belirtilen partition sayısıyla topic oluşturur
+     */
+    CREATE_TOPIC((byte) 7),
+    
+    /**
+     * Var olan topic'in partition sayısını artırır
+     */
+    CREATE_PARTITIONS((byte) 8),
+    
+    /**
+     * Tüketiciyi gruba ekler ve partition atamasını döndürür
+     */
+    JOIN_GROUP((byte) 9),
+    
+    /**
+     * Grup üyeliğini canlı tutar ve güncel atamayı döndürür
+     */
+    HEARTBEAT((byte) 10),
+    
+    /**
+     * Tüketiciyi gruptan çıkarır
+     */
+    LEAVE_GROUP((byte) 11),
+    
+    /**
+     * Grubun commit ettiği partition offset'lerini sorgular
+     */
+    OFFSET_FETCH((byte) 12),
+    
+    /**
+     * Bir topic'in birden fazla partition'ından tek istekte mesaj okur
+     */
+    MULTI_FETCH((byte) 13),
+    
+    /**
+     * Bir topic'in birden fazla partition'ından diskteki ham batch'leri okur; yanıt segment
+     * dosyasından sokete sıfır kopya ile aktarılır
+     */
+    FETCH_BATCHES((byte) 14),
+    
+    /**
+     * Üreticinin diskteki formatta kodladığı, isteğe bağlı sıkıştırılmış bir batch'i ekler;
+     * batch sunucuda açılmadan saklanır
+     */
+    PRODUCE((byte) 15),
+    
+    /**
+     * Topic'in her partition'ı için okunabilecek en eski offset'i ve log sonunu sorgular
+     */
+    LIST_OFFSETS((byte) 16),
+    
+    /**
+     * Hata yanıtı
+     */
+    ERROR((byte) 127);
+    
+    private static final OpCode[] BY_CODE = new OpCode[128];
+    
+    static {
+        for (OpCode opCode : values()) {
+            BY_CODE[opCode.code] = opCode;
+        }
+    }
+    
+    private final byte code;
+    
+    OpCode(byte code) {
+        this.code = code;
+    }
+    
+    public byte code() {
+        return code;
+    }
+    
+    /**
+     * Koda karşılık gelen işlem türünü döndürür.
+     * @param code İşlem kodu
+     * @return İşlem türü
+     * @throws ProtocolException Kod tanınmıyorsa
+     */
+    public static OpCode fromCode(byte code) throws ProtocolException {
+        OpCode opCode = code >= 0 ? BY_CODE[code] : null;
+        if (opCode == null) {
+            throw new ProtocolException("Bilinmeyen işlem kodu: " + code);
+        }
+        return opCode;
+    }
+}
@@ -0,0 +1,12 @@
+package com.quafka.protocol;
+
+import java.io.IOException;
+
+/**
+ * İkili protokol ihlallerini (geçersiz çerçeve, sürüm uyuşmazlığı vb.) temsil eden istisna sınıfı.
+ */
+public class ProtocolException extends IOException {
+    public ProtocolException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.quafka.protocol;
+
+/**
+ * İstemci ile sunucu arasındaki tel (wire) protokolünü temsil eden enum.
+ */
+public enum ProtocolType {
+    /**
+     * Satır tabanlı UTF-8 metin protokolü (TEXT:/POLL:/COMMIT:)
+     */
+    TEXT,
+    
+    /**
+     * Uzunluk önekli, sürümlü ikili (binary) çerçeve protokolü
+     */
+    BINARY
+}
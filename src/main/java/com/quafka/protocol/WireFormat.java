@@ -0,0 +1,132 @@
+package com.quafka.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Çerçeve içeriklerindeki alanları yazıp okuyan yardımcı sınıf.
+ * String'ler int16 uzunluk önekli UTF-8, byte dizileri int32 uzunluk önekli
+ * olarak kodlanır; -1 uzunluk null değeri ifade eder.
+ */
+public final class WireFormat {
+    private WireFormat() {
+    }
+    
+    public static int sizeOf(String value) {
+        return 2 + (value == null ? 0 : utf8Length(value));
+    }
+    
+    public static int sizeOf(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+    
+    public static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+    
+    /**
+     * Uzunluk önekli bir String okur.
+     * @param buffer Kaynak tampon
+     * @return Okunan değer, uzunluk -1 ise null
+     * @throws ProtocolException Uzunluk tamponda kalan byte sayısını aşıyorsa
+     */
+    public static String getString(ByteBuffer buffer) throws ProtocolException {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        checkLength(buffer, length);
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(buffer.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+    
+    public static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+    
+    /**
+     * Uzunluk önekli bir byte dizisi okur. Uzunluk, dizi ayrılmadan önce tamponda kalan byte
+     * sayısıyla karşılaştırılır; böylece sahte bir uzunluk büyük bir bellek ayırtamaz.
+     * @param buffer Kaynak tampon
+     * @return Okunan değer, uzunluk -1 ise null
+     * @throws ProtocolException Uzunluk tamponda kalan byte sayısını aşıyorsa
+     */
+    public static byte[] getBytes(ByteBuffer buffer) throws ProtocolException {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        checkLength(buffer, length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+    
+    /**
+     * Metni uzunluk öneki olmadan, çerçeve içeriğinin tamamı olarak kodlar.
+     * @param value Metin
+     * @return UTF-8 içerik
+     */
+    public static ByteBuffer encodeString(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Çerçeve içeriğinin tamamını UTF-8 metin olarak çözer.
+     * @param payload Çerçeve içeriği
+     * @return Metin
+     */
+    public static String decodeString(ByteBuffer payload) {
+        if (payload.hasArray()) {
+            return new String(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining(),
+                StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static void checkLength(ByteBuffer buffer, int length) throws ProtocolException {
+        if (length > buffer.remaining()) {
+            throw new ProtocolException("Alan uzunluğu kalan içeriği aşıyor: " + length + " > " + buffer.remaining());
+        }
+    }
+    
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -1,20 +1,38 @@
 package com.quafka.server.impl;
 
 import com.quafka.config.ServerConfig;
+import com.quafka.group.GroupCoordinator;
+import com.quafka.group.OffsetStore;
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
+import com.quafka.metrics.impl.MetricsHttpServer;
+import com.quafka.monitoring.MessageTracer;
+import com.quafka.partitioner.impl.PartitionerFactory;
+import com.quafka.protocol.Frame;
+import com.quafka.protocol.FrameCodec;
 import com.quafka.server.Server;
 import com.quafka.topic.TopicManager;
-import com.quafka.topic.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -27,37 +45,57 @@ public class DefaultServer implements Server {
     
     private final ServerConfig config;
     private final AtomicBoolean running;
+    private final Set<Socket> clientSockets;
+    private final Tags metricTags;
+    private final Counter acceptedConnections;
+    private final Counter rejectedConnections;
     private ServerSocket serverSocket;
     private ExecutorService executorService;
+    private Thread acceptorThread;
+    private TopicManager topicManager;
+    private GroupCoordinator groupCoordinator;
+    private MessageProcessor messageProcessor;
+    private MetricsHttpServer metricsServer;
     
     public DefaultServer(ServerConfig config) {
         this.config = config;
         this.running = new AtomicBoolean(false);
+        this.clientSockets = ConcurrentHashMap.newKeySet();
+        
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        this.metricTags = Tags.of("port", Integer.toString(config.getPort()));
+        this.acceptedConnections = registry.counter("quafka_server_connections_accepted_total",
+            "Kabul edilen istemci bağlantısı sayısı", metricTags);
+        this.rejectedConnections = registry.counter("quafka_server_connections_rejected_total",
+            "Bağlantı sınırı nedeniyle reddedilen istemci bağlantısı sayısı", metricTags);
     }
     
     @Override
     public void start() throws Exception {
         if (running.compareAndSet(false, true)) {
-            logger.info("Sunucu başlatılıyor: port={}", config.getPort());
+            logger.info("Sunucu başlatılıyor: port={}, virtualThreads={}",
+                config.getPort(), config.isVirtualThreads());
             
+            topicManager = new TopicManager(config.getLogConfig(),
+                PartitionerFactory.create(config.getPartitioningStrategy()), config.getDefaultPartitionCount());
+            groupCoordinator = new GroupCoordinator(topicManager, new OffsetStore(config.getLogConfig().getLogDir()));
+            messageProcessor = new MessageProcessor(topicManager, groupCoordinator);
             serverSocket = new ServerSocket(config.getPort(), config.getBacklog());
-            executorService = Executors.newFixedThreadPool(config.getWorkerThreads());
+            executorService = config.isVirtualThreads()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(config.getWorkerThreads());
             
-            // Bağlantı kabul etme döngüsü
-            executorService.submit(() -> {
-                while (running.get()) {
-                    try {
-                        Socket clientSocket = serverSocket.accept();
-                        logger.info("Yeni bağlantı kabul edildi: {}", clientSocket.getRemoteSocketAddress());
-                        
-                        executorService.submit(() -> handleClient(clientSocket));
-                    } catch (IOException e) {
-                        if (running.get()) {
-                            logger.error("Bağlantı kabul edilirken hata oluştu", e);
-                        }
-                    }
-                }
-            });
+            MessageTracer.shared().configure(config.getTraceConfig());
+            MetricsRegistry.getDefault().gauge("quafka_server_active_connections", "Açık istemci bağlantısı sayısı",
+                metricTags, clientSockets::size);
+            if (config.getMetricsPort() >= 0) {
+                metricsServer = new MetricsHttpServer(MetricsRegistry.getDefault(), config.getMetricsPort());
+                metricsServer.start();
+            }
+            
+            // Bağlantı kabul etme döngüsü, istemci thread'lerinden ayrı çalışır
+            acceptorThread = new Thread(this::acceptLoop, "quafka-acceptor");
+            acceptorThread.start();
             
             logger.info("Sunucu başlatıldı: port={}", config.getPort());
         }
@@ -68,14 +106,40 @@ public class DefaultServer implements Server {
         if (running.compareAndSet(true, false)) {
             logger.info("Sunucu durduruluyor");
             
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
+            MetricsRegistry.getDefault().remove("quafka_server_active_connections", metricTags);
+            
             if (serverSocket != null) {
                 serverSocket.close();
             }
             
+            if (acceptorThread != null) {
+                acceptorThread.join();
+            }
+            
+            // Sanal thread'ler okuma sırasında kesilemediği için soketler kapatılır
+            for (Socket socket : clientSockets) {
+                socket.close();
+            }
+            
             if (executorService != null) {
                 executorService.shutdown();
             }
             
+            if (messageProcessor != null) {
+                messageProcessor.close();
+            }
+            
+            if (groupCoordinator != null) {
+                groupCoordinator.close();
+            }
+            
+            if (topicManager != null) {
+                topicManager.close();
+            }
+            
             logger.info("Sunucu durduruldu");
         }
     }
@@ -85,6 +149,14 @@ public class DefaultServer implements Server {
         return config;
     }
     
+    /**
+     * Sunucunun kullandığı topic yöneticisini döndürür.
+     * @return Topic yöneticisi, sunucu başlatılmadıysa null
+     */
+    public TopicManager getTopicManager() {
+        return topicManager;
+    }
+    
     @Override
     public boolean isRunning() {
         return running.get();
@@ -95,77 +167,100 @@ public class DefaultServer implements Server {
         stop();
     }
     
+    private void acceptLoop() {
+        while (running.get()) {
+            try {
+                Socket clientSocket = serverSocket.accept();
+                if (clientSockets.size() >= config.getMaxConnections()) {
+                    logger.warn("Maksimum bağlantı sayısına ulaşıldı ({}), bağlantı reddedildi: {}",
+                        config.getMaxConnections(), clientSocket.getRemoteSocketAddress());
+                    rejectedConnections.increment();
+                    clientSocket.close();
+                    continue;
+                }
+                acceptedConnections.increment();
+                logger.info("Yeni bağlantı kabul edildi: {}", clientSocket.getRemoteSocketAddress());
+                
+                clientSocket.setTcpNoDelay(true);
+                clientSockets.add(clientSocket);
+                executorService.submit(() -> handleClient(clientSocket));
+            } catch (IOException e) {
+                if (running.get()) {
+                    logger.error("Bağlantı kabul edilirken hata oluştu", e);
+                }
+            }
+        }
+    }
+    
     private void handleClient(Socket clientSocket) {
         try (Socket socket = clientSocket) {
-            var reader = new BufferedReader(
-                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
-            );
-            var writer = new BufferedWriter(
-                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)
-            );
+            var input = new BufferedInputStream(socket.getInputStream());
+            var output = new BufferedOutputStream(socket.getOutputStream());
             
-            String message;
-            while ((message = reader.readLine()) != null) {
-                logger.info("Gelen mesaj: {}", message);
-                
-                String response = processMessage(message);
-                writer.write(response);
-                writer.newLine();
-                writer.flush();
+            // İlk byte protokolü belirler: 0x00 ikili el sıkışma, diğerleri metin satırı
+            input.mark(1);
+            int first = input.read();
+            if (first < 0) {
+                return;
+            }
+            if (FrameCodec.isHandshakeStart(first)) {
+                handleBinaryClient(input, output);
+            } else {
+                input.reset();
+                handleTextClient(input, output);
             }
         } catch (IOException e) {
-            logger.error("İstemci işlenirken hata oluştu", e);
+            if (running.get()) {
+                logger.error("İstemci işlenirken hata oluştu", e);
+            }
+        } finally {
+            clientSockets.remove(clientSocket);
         }
     }
     
-    private String processMessage(String message) {
-        try {
-            if (message == null || message.trim().isEmpty()) {
-                return "HATA: Boş mesaj";
-            }
-
-            // Mesaj formatını kontrol et
-            String[] parts = message.split(":", 2);
-            if (parts.length != 2) {
-                return "HATA: Geçersiz mesaj formatı";
-            }
-
-            String command = parts[0];
-            String content = parts[1];
-
-            // Komuta göre işlem yap
-            switch (command) {
-                case "TEXT":
-                    // Mesajı topic'e ekle
-                    TopicManager.PartitionOffset offset = TopicManager.getInstance()
-                        .publish("default-topic", content);
-                    return String.format("OK: Mesaj topic'e eklendi (partition: %d, offset: %d)", 
-                        offset.getPartitionId(), offset.getOffset());
-                case "POLL":
-                    // Topic'ten mesaj al
-                    String[] pollParts = content.split(":");
-                    if (pollParts.length != 2) {
-                        return "HATA: Geçersiz POLL formatı (topic:partition)";
-                    }
-                    
-                    String topic = pollParts[0];
-                    int partitionId = Integer.parseInt(pollParts[1]);
-                    
-                    TopicPartition.MessageWithOffset polledMessage = TopicManager.getInstance()
-                        .poll(topic, partitionId, -1);
-                    
-                    return polledMessage != null ? 
-                        String.format("OK: %s (offset: %d)", 
-                            polledMessage.getMessage(), polledMessage.getOffset()) : 
-                        "OK: Mesaj bulunamadı";
-                case "COMMIT":
-                    return "OK: " + content + " için commit başarılı";
-                default:
-                    return "HATA: Bilinmeyen komut: " + command;
+    private void handleTextClient(InputStream input, OutputStream output) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        
+        String message;
+        while ((message = reader.readLine()) != null) {
+            String response = messageProcessor.process(message);
+            writer.write(response);
+            writer.newLine();
+            writer.flush();
+        }
+    }
+    
+    private void handleBinaryClient(InputStream input, OutputStream output) throws IOException {
+        var in = new DataInputStream(input);
+        var out = new DataOutputStream(output);
+        
+        // Sihirli byte'ın ilki okundu; kalan el sıkışma byte'ları doğrulanır
+        byte[] handshake = FrameCodec.handshakeBytes(FrameCodec.VERSION);
+        in.readFully(handshake, 1, handshake.length - 1);
+        byte version = FrameCodec.negotiate(FrameCodec.readHandshake(ByteBuffer.wrap(handshake)));
+        out.write(FrameCodec.handshakeBytes(version));
+        out.flush();
+        
+        // Bekletilen FETCH yanıtları başka thread'lerden yazılabildiği için yazma işlemi kilitlenir;
+        // böylece bekleyen bir istek aynı bağlantıdaki sonraki istekleri geciktirmez
+        Frame request;
+        while ((request = FrameCodec.read(in)) != null) {
+            messageProcessor.process(request).thenAccept(response -> writeFrame(out, response));
+        }
+    }
+    
+    private void writeFrame(DataOutputStream out, Frame response) {
+        if (response == null) {
+            return;
+        }
+        synchronized (out) {
+            try {
+                FrameCodec.write(out, response);
+                out.flush();
+            } catch (IOException e) {
+                logger.debug("Yanıt yazılamadı, bağlantı kapanmış: {}", e.getMessage());
             }
-        } catch (Exception e) {
-            logger.error("Mesaj işlenirken hata oluştu", e);
-            return "HATA: " + e.getMessage();
         }
     }
-} 
\ No newline at end of file
+}
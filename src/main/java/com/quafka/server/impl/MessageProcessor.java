@@ -0,0 +1,829 @@
+package com.quafka.server.impl;
+
+import com.quafka.compression.CompressionException;
+import com.quafka.group.AssignmentStrategy;
+import com.quafka.group.GroupCoordinator;
+import com.quafka.group.GroupException;
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.Histogram;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
+import com.quafka.monitoring.MessageTracer;
+import com.quafka.monitoring.TraceEvent;
+import com.quafka.producer.AckMode;
+import com.quafka.protocol.Frame;
+import com.quafka.protocol.FrameCodec;
+import com.quafka.protocol.OpCode;
+import com.quafka.protocol.ProtocolException;
+import com.quafka.protocol.WireFormat;
+import com.quafka.storage.FileRegion;
+import com.quafka.storage.LogRecord;
+import com.quafka.storage.RecordBatch;
+import com.quafka.topic.TopicManager;
+import com.quafka.topic.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Sunucu implementasyonları tarafından paylaşılan komut işleyici.
+ * Bağlantı modelinden (thread-per-client veya NIO) bağımsız olarak metin komutlarını
+ * ve ikili protokol çerçevelerini yanıtlar.
+ *
+ * <p>FETCH istekleri istenen veri henüz yoksa bir thread bloklanmadan bekletilir
+ * (long-poll); partition'a veri eklendiğinde veya bekleme süresi dolduğunda yanıtlanır.
+ * FETCH_BATCHES yanıtları kayıtları çözmez; segment dosyasındaki ham batch'ler yanıta
+ * dosya bölümü olarak eklenir ve sunucu bunları sokete sıfır kopya ile aktarır.</p>
+ *
+ * <p>Grup üyeliği ve offset commit istekleri {@link GroupCoordinator}'a iletilir.</p>
+ *
+ * <p>Her istek türü için istek ve hata sayısı ile yanıt süresi paylaşılan {@link MetricsRegistry}'ye
+ * kaydedilir. Bekletilen isteklerin süresi bekleme süresini de içerir.</p>
+ */
+public class MessageProcessor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MessageProcessor.class);
+    private static final MessageTracer tracer = MessageTracer.shared();
+    
+    private static final String DEFAULT_TOPIC = "default-topic";
+    private static final int MAX_FETCH_RECORDS = 10_000;
+    private static final int MAX_FETCH_WAIT_MS = 60_000;
+    private static final int MAX_FETCH_BYTES = FrameCodec.MAX_FRAME_SIZE / 2;
+    
+    private final TopicManager topicManager;
+    private final GroupCoordinator groupCoordinator;
+    private final ScheduledThreadPoolExecutor fetchTimer;
+    private final MetricsRegistry registry;
+    private final RequestMetrics[] requestMetrics;
+    private RequestMetrics textMetrics;
+    
+    public MessageProcessor(TopicManager topicManager, GroupCoordinator groupCoordinator) {
+        this.topicManager = topicManager;
+        this.groupCoordinator = groupCoordinator;
+        this.fetchTimer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "quafka-fetch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Veri gelince iptal edilen zaman aşımı görevleri kuyrukta birikmesin
+        this.fetchTimer.setRemoveOnCancelPolicy(true);
+        
+        this.registry = MetricsRegistry.getDefault();
+        this.requestMetrics = new RequestMetrics[OpCode.values().length];
+    }
+    
+    /**
+     * Satır tabanlı metin protokolündeki bir komutu işler.
+     * @param message Gelen komut (ör. {@code TEXT:merhaba}, {@code POLL:topic:0}, {@code COMMIT:group:topic:0:42})
+     * @return İstemciye gönderilecek yanıt
+     */
+    public String process(String message) {
+        if (tracer.sample()) {
+            tracer.trace(TraceEvent.COMMAND, null, -1, -1, 1, message != null ? message.length() : 0);
+        }
+        long start = System.nanoTime();
+        String response = processText(message);
+        if (textMetrics == null) {
+            textMetrics = new RequestMetrics(registry, "text_line");
+        }
+        textMetrics.record(start, response.startsWith("HATA:"));
+        return response;
+    }
+    
+    private String processText(String message) {
+        try {
+            if (message == null || message.trim().isEmpty()) {
+                return "HATA: Boş mesaj";
+            }
+            
+            // Mesaj formatını kontrol et
+            String[] parts = message.split(":", 2);
+            if (parts.length != 2) {
+                return "HATA: Geçersiz mesaj formatı";
+            }
+            
+            String command = parts[0];
+            String content = parts[1];
+            
+            // Komuta göre işlem yap
+            switch (command) {
+                case "TEXT":
+                    // Mesajı topic'e ekle
+                    TopicManager.PartitionOffset offset = topicManager.publish(DEFAULT_TOPIC, content);
+                    return String.format("OK: Mesaj topic'e eklendi (partition: %d, offset: %d)",
+                        offset.getPartitionId(), offset.getOffset());
+                case "POLL":
+                    // Topic'ten mesaj al
+                    String[] pollParts = content.split(":");
+                    if (pollParts.length != 2 && pollParts.length != 3) {
+                        return "HATA: Geçersiz POLL formatı (topic:partition[:offset])";
+                    }
+                    
+                    String topic = pollParts[0];
+                    int partitionId = Integer.parseInt(pollParts[1]);
+                    long fromOffset = pollParts.length == 3 ? Long.parseLong(pollParts[2]) : -1;
+                    
+                    TopicPartition.MessageWithOffset polledMessage = topicManager.poll(topic, partitionId, fromOffset);
+                    if (polledMessage != null) {
+                        topicManager.getPartition(topic, partitionId).recordFetched(1, sizeInBytes(polledMessage));
+                    }
+                    
+                    return polledMessage != null ?
+                        String.format("OK: %s (offset: %d)",
+                            polledMessage.getMessage(), polledMessage.getOffset()) :
+                        "OK: Mesaj bulunamadı";
+                case "COMMIT":
+                    // Grup offset'ini kaydet
+                    String[] commitParts = content.split(":");
+                    if (commitParts.length != 4) {
+                        return "HATA: Geçersiz COMMIT formatı (group:topic:partition:offset)";
+                    }
+                    
+                    groupCoordinator.commitOffsets(commitParts[0], "", -1, commitParts[1],
+                        Map.of(Integer.parseInt(commitParts[2]), Long.parseLong(commitParts[3])));
+                    return "OK: " + commitParts[0] + " için commit başarılı";
+                default:
+                    return "HATA: Bilinmeyen komut: " + command;
+            }
+        } catch (Exception e) {
+            logger.error("Mesaj işlenirken hata oluştu", e);
+            return "HATA: " + e.getMessage();
+        }
+    }
+    
+    /**
+     * İkili protokoldeki bir isteği işler. Yanıt, bekletilen FETCH ve diske zorlanmayı bekleyen
+     * PRODUCE istekleri dışında hemen hazırdır. Dönen future hata ile tamamlanmaz; hatalar
+     * {@code ERROR} çerçevesi olarak döner.
+     * @param request Gelen istek çerçevesi
+     * @return İstemciye gönderilecek yanıt çerçevesi için CompletableFuture; yanıt gönderilmeyecekse null ile tamamlanır
+     */
+    public CompletableFuture<Frame> process(Frame request) {
+        long start = System.nanoTime();
+        RequestMetrics metrics = requestMetrics(request.getOpCode());
+        CompletableFuture<Frame> response = dispatch(request);
+        if (response.isDone()) {
+            // Hemen yanıtlanan isteklerde ek bir bağımlı future oluşturulmaz
+            metrics.record(start, response.join());
+        } else {
+            response.thenAccept(frame -> metrics.record(start, frame));
+        }
+        return response;
+    }
+    
+    private CompletableFuture<Frame> dispatch(Frame request) {
+        try {
+            ByteBuffer payload = request.getPayload();
+            switch (request.getOpCode()) {
+                case TEXT_COMMAND:
+                    return completed(request.reply(WireFormat.encodeString(processText(WireFormat.decodeString(payload)))));
+                case PUBLISH:
+                    return completed(publish(request, payload));
+                case PUBLISH_BATCH:
+                    return completed(publishBatch(request, payload));
+                case PRODUCE:
+                    return produce(request, payload);
+                case FETCH:
+                    return fetch(request, payload);
+                case MULTI_FETCH:
+                    return multiFetch(request, payload, false);
+                case FETCH_BATCHES:
+                    return multiFetch(request, payload, true);
+                case METADATA:
+                    return completed(request.reply(ByteBuffer.allocate(4)
+                        .putInt(0, topicManager.getPartitionCount(WireFormat.getString(payload)))));
+                case CREATE_TOPIC:
+                    return completed(createTopic(request, payload));
+                case CREATE_PARTITIONS:
+                    return completed(createPartitions(request, payload));
+                case JOIN_GROUP:
+                    return completed(joinGroup(request, payload));
+                case HEARTBEAT:
+                    return completed(heartbeat(request, payload));
+                case LEAVE_GROUP:
+                    groupCoordinator.leave(WireFormat.getString(payload), WireFormat.getString(payload));
+                    return completed(request.reply(ByteBuffer.allocate(0)));
+                case COMMIT:
+                    return completed(commit(request, payload));
+                case OFFSET_FETCH:
+                    return completed(offsetFetch(request, payload));
+                case LIST_OFFSETS:
+                    return completed(listOffsets(request, payload));
+                default:
+                    throw new ProtocolException("Desteklenmeyen istek türü: " + request.getOpCode());
+            }
+        } catch (Exception e) {
+            return completed(error(request, e));
+        }
+    }
+    
+    private RequestMetrics requestMetrics(OpCode opCode) {
+        // Yalnızca kullanılan istek türleri dışa aktarılsın diye metrikler ilk istekte oluşturulur;
+        // yarışan iş parçacıkları kayıt defterinden aynı metrikleri alır
+        RequestMetrics metrics = requestMetrics[opCode.ordinal()];
+        if (metrics == null) {
+            metrics = new RequestMetrics(registry, opCode.name().toLowerCase(Locale.ROOT));
+            requestMetrics[opCode.ordinal()] = metrics;
+        }
+        return metrics;
+    }
+    
+    /**
+     * Bekleyen FETCH zamanlayıcısını durdurur.
+     */
+    @Override
+    public void close() {
+        fetchTimer.shutdownNow();
+    }
+    
+    private static CompletableFuture<Frame> completed(Frame response) {
+        return CompletableFuture.completedFuture(response);
+    }
+    
+    private static Frame error(Frame request, Throwable e) {
+        if (e instanceof BufferUnderflowException) {
+            logger.warn("Eksik istek içeriği: {}", request);
+            return request.error("Eksik istek içeriği");
+        }
+        if (e instanceof GroupException) {
+            // Reddedilen commit ve heartbeat'ler grup değişikliklerinde olağandır
+            logger.warn("Grup isteği reddedildi: {}: {}", request, e.getMessage());
+            return request.error(e.getMessage());
+        }
+        logger.error("İstek işlenirken hata oluştu: {}", request, e);
+        return request.error(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+    }
+    
+    /**
+     * JOIN_GROUP içeriği: group, topic, üye kimliği (yeni üyeler için boş), oturum süresi (int32),
+     * atama stratejisi adı. Yanıt {@link #assignment(Frame, GroupCoordinator.MemberAssignment)} ile aynıdır.
+     */
+    private Frame joinGroup(Frame request, ByteBuffer payload) throws ProtocolException {
+        String group = WireFormat.getString(payload);
+        String topic = WireFormat.getString(payload);
+        String memberId = WireFormat.getString(payload);
+        int sessionTimeoutMs = payload.getInt();
+        AssignmentStrategy strategy = AssignmentStrategy.valueOf(WireFormat.getString(payload));
+        return assignment(request, groupCoordinator.join(group, topic, memberId, sessionTimeoutMs, strategy));
+    }
+    
+    /**
+     * HEARTBEAT içeriği: group, üye kimliği, üyenin okuduğu partition sayısı (int32), partition ID'leri (int32).
+     * Yanıt {@link #assignment(Frame, GroupCoordinator.MemberAssignment)} ile aynıdır.
+     */
+    private Frame heartbeat(Frame request, ByteBuffer payload) throws ProtocolException {
+        String group = WireFormat.getString(payload);
+        String memberId = WireFormat.getString(payload);
+        int count = payload.getInt();
+        if (count < 0 || count > payload.remaining() / 4) {
+            throw new ProtocolException("Geçersiz partition sayısı: " + count);
+        }
+        
+        Set<Integer> owned = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            owned.add(payload.getInt());
+        }
+        return assignment(request, groupCoordinator.heartbeat(group, memberId, owned));
+    }
+    
+    /**
+     * Atama yanıtı: üye kimliği, nesil (int32), partition sayısı (int32), partition ID'leri (int32).
+     */
+    private static Frame assignment(Frame request, GroupCoordinator.MemberAssignment assignment) {
+        List<Integer> partitions = assignment.getPartitions();
+        ByteBuffer response = ByteBuffer.allocate(WireFormat.sizeOf(assignment.getMemberId()) + 4 + 4 + partitions.size() * 4);
+        WireFormat.putString(response, assignment.getMemberId());
+        response.putInt(assignment.getGeneration()).putInt(partitions.size());
+        partitions.forEach(response::putInt);
+        return request.reply(response.flip());
+    }
+    
+    /**
+     * COMMIT içeriği: group, üye kimliği (grup dışı commit için boş), üyenin nesli (int32), topic,
+     * kayıt sayısı (int32), her kayıt için partition (int32) ve okunacak sonraki offset (int64).
+     */
+    private Frame commit(Frame request, ByteBuffer payload) throws ProtocolException {
+        String group = WireFormat.getString(payload);
+        String memberId = WireFormat.getString(payload);
+        int generation = payload.getInt();
+        String topic = WireFormat.getString(payload);
+        int count = payload.getInt();
+        if (count < 0 || count > payload.remaining() / 12) {
+            throw new ProtocolException("Geçersiz commit kayıt sayısı: " + count);
+        }
+        
+        Map<Integer, Long> offsets = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            offsets.put(payload.getInt(), payload.getLong());
+        }
+        groupCoordinator.commitOffsets(group, memberId, generation, topic, offsets);
+        return request.reply(ByteBuffer.allocate(0));
+    }
+    
+    /**
+     * OFFSET_FETCH içeriği: group, topic, partition sayısı (int32), partition ID'leri (int32).
+     * Yanıt: kayıt sayısı (int32), her kayıt için partition (int32) ve offset (int64, commit yoksa -1).
+     */
+    private Frame offsetFetch(Frame request, ByteBuffer payload) throws ProtocolException {
+        String group = WireFormat.getString(payload);
+        String topic = WireFormat.getString(payload);
+        int count = payload.getInt();
+        if (count < 0 || count > payload.remaining() / 4) {
+            throw new ProtocolException("Geçersiz partition sayısı: " + count);
+        }
+        
+        ByteBuffer response = ByteBuffer.allocate(4 + count * 12);
+        response.putInt(count);
+        for (int i = 0; i < count; i++) {
+            int partition = payload.getInt();
+            response.putInt(partition).putLong(groupCoordinator.fetchOffset(group, topic, partition));
+        }
+        return request.reply(response.flip());
+    }
+    
+    /**
+     * LIST_OFFSETS içeriği: topic. Yanıt: partition sayısı (int32), her partition için partition (int32),
+     * okunabilecek en eski offset (int64) ve log sonu (int64). Topic yoksa partition sayısı 0'dır.
+     */
+    private Frame listOffsets(Frame request, ByteBuffer payload) throws ProtocolException {
+        String topic = WireFormat.getString(payload);
+        int count = topicManager.getPartitionCount(topic);
+        
+        ByteBuffer response = ByteBuffer.allocate(4 + count * 20);
+        response.putInt(count);
+        for (int i = 0; i < count; i++) {
+            TopicPartition partition = topicManager.getPartition(topic, i);
+            response.putInt(i)
+                .putLong(partition.getLogStartOffset())
+                .putLong(partition.getLastOffset() + 1);
+        }
+        return request.reply(response.flip());
+    }
+    
+    /**
+     * CREATE_TOPIC içeriği: topic, partition sayısı (int32). Yanıt: topic'in partition sayısı (int32);
+     * topic zaten varsa mevcut sayı döner.
+     */
+    private Frame createTopic(Frame request, ByteBuffer payload) throws ProtocolException {
+        String topic = topicName(payload);
+        topicManager.createTopic(topic, payload.getInt());
+        return request.reply(ByteBuffer.allocate(4).putInt(0, topicManager.getPartitionCount(topic)));
+    }
+    
+    /**
+     * CREATE_PARTITIONS içeriği: topic, yeni toplam partition sayısı (int32). Yanıt: güncel partition sayısı (int32).
+     */
+    private Frame createPartitions(Frame request, ByteBuffer payload) throws ProtocolException {
+        String topic = topicName(payload);
+        int partitionCount = topicManager.addPartitions(topic, payload.getInt());
+        return request.reply(ByteBuffer.allocate(4).putInt(0, partitionCount));
+    }
+    
+    /**
+     * PUBLISH içeriği: topic, key (bytes, null olabilir), value (bytes).
+     */
+    private Frame publish(Frame request, ByteBuffer payload) throws ProtocolException {
+        String topic = topicName(payload);
+        byte[] key = WireFormat.getBytes(payload);
+        byte[] value = WireFormat.getBytes(payload);
+        TopicManager.PartitionOffset offset = topicManager.publish(topic, key, value);
+        
+        ByteBuffer response = ByteBuffer.allocate(4 + 8);
+        response.putInt(offset.getPartitionId()).putLong(offset.getOffset());
+        return request.reply(response.flip());
+    }
+    
+    /**
+     * PUBLISH_BATCH içeriği: topic, partition (int32, -1 sunucu seçer), kayıt sayısı (int32),
+     * her kayıt için key ve value (bytes).
+     */
+    private Frame publishBatch(Frame request, ByteBuffer payload) throws ProtocolException {
+        String topic = topicName(payload);
+        int partitionId = payload.getInt();
+        int count = payload.getInt();
+        if (count <= 0 || count > payload.remaining() / 8) {
+            throw new ProtocolException("Geçersiz batch kayıt sayısı: " + count);
+        }
+        
+        List<LogRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] key = WireFormat.getBytes(payload);
+            records.add(LogRecord.of(key, WireFormat.getBytes(payload)));
+        }
+        TopicManager.PartitionOffset offset = topicManager.publishBatch(topic, partitionId, records);
+        
+        ByteBuffer response = ByteBuffer.allocate(4 + 8);
+        response.putInt(offset.getPartitionId()).putLong(offset.getOffset());
+        return request.reply(response.flip());
+    }
+    
+    /**
+     * PRODUCE içeriği: topic, partition (int32, -1 sunucu seçer), onay düzeyi (int8), batch (bytes).
+     * Batch diskteki formatta kodlanmış olmalıdır; base offset sunucuda atanır, sıkıştırılmışsa açılmaz.
+     * Yanıt: partition (int32), ilk kaydın offset'i (int64). {@link AckMode#NONE} isteklerine yanıt
+     * gönderilmez; {@link AckMode#FLUSH} istekleri batch diske zorlandığında yanıtlanır.
+     */
+    private CompletableFuture<Frame> produce(Frame request, ByteBuffer payload) throws ProtocolException {
+        String topic = topicName(payload);
+        int partitionId = payload.getInt();
+        AckMode acks;
+        try {
+            acks = AckMode.fromId(payload.get());
+        } catch (IllegalArgumentException e) {
+            throw new ProtocolException(e.getMessage());
+        }
+        int length = payload.getInt();
+        if (length < RecordBatch.HEADER_SIZE || length > payload.remaining()) {
+            throw new ProtocolException("Geçersiz batch boyutu: " + length);
+        }
+        
+        ByteBuffer batch = payload.slice(payload.position(), length);
+        RecordBatch view = new RecordBatch(batch);
+        int count = view.recordCount();
+        if (view.sizeInBytes() != length || count <= 0 || view.lastOffset() - view.baseOffset() != count - 1) {
+            throw new ProtocolException("Geçersiz batch başlığı: " + length + " byte, " + count + " kayıt");
+        }
+        if (!view.isValid()) {
+            throw new ProtocolException("Batch CRC doğrulaması başarısız");
+        }
+        // CRC yalnızca aktarım hatalarını yakalar; hatalı kodlanmış bir batch log'a yazılırsa o partition'daki
+        // sonraki okumalar, sıkıştırma ve kurtarma taraması bozulur
+        try {
+            if (!view.hasValidRecords()) {
+                throw new ProtocolException("Batch kayıtları batch boyutuyla tutarsız: " + length + " byte, "
+                    + count + " kayıt");
+            }
+        } catch (CompressionException e) {
+            throw new ProtocolException(e.getMessage());
+        }
+        TopicManager.PartitionOffset offset = topicManager.publishBatch(topic, partitionId, batch);
+        
+        if (acks == AckMode.NONE) {
+            return completed(null);
+        }
+        ByteBuffer response = ByteBuffer.allocate(4 + 8);
+        response.putInt(offset.getPartitionId()).putLong(offset.getOffset());
+        Frame reply = request.reply(response.flip());
+        if (acks == AckMode.LEADER) {
+            return completed(reply);
+        }
+        return topicManager.awaitFlush(topic, offset.getPartitionId(), offset.getOffset() + count - 1)
+            .handle((flushed, error) -> error == null ? reply : error(request, error));
+    }
+    
+    /**
+     * FETCH içeriği: topic, partition (int32), offset (int64), maxRecords (int32) ve isteğe bağlı
+     * olarak maxWaitMs (int32) ile minBytes (int32). Veri minBytes'a ulaşmadıysa istek en fazla
+     * maxWaitMs kadar bekletilir. Yanıt: kayıt sayısı (int32), her kayıt için offset (int64), key ve value.
+     */
+    private CompletableFuture<Frame> fetch(Frame request, ByteBuffer payload) throws ProtocolException {
+        String topic = WireFormat.getString(payload);
+        int partitionId = payload.getInt();
+        long fromOffset = payload.getLong();
+        int maxRecords = Math.max(Math.min(payload.getInt(), MAX_FETCH_RECORDS), 1);
+        int maxWaitMs = 0;
+        int minBytes = 0;
+        if (payload.remaining() >= 8) {
+            maxWaitMs = Math.min(payload.getInt(), MAX_FETCH_WAIT_MS);
+            minBytes = payload.getInt();
+        }
+        
+        TopicPartition partition = topicManager.getPartition(topic, partitionId);
+        if (partition == null) {
+            logger.debug("Topic '{}' partition {} bulunamadı", topic, partitionId);
+            return completed(fetchResponse(request, List.of()));
+        }
+        
+        List<PartitionFetch> fetches = List.of(new PartitionFetch(partitionId, partition, fromOffset));
+        DelayedFetch fetch = new DelayedFetch(request, fetches, maxRecords, MAX_FETCH_BYTES, minBytes, false,
+            read -> fetchResponse(request, read.get(0).messages));
+        return fetch.start(maxWaitMs);
+    }
+    
+    /**
+     * MULTI_FETCH içeriği: topic, maxRecords (int32), maxBytes (int32), maxWaitMs (int32), minBytes (int32),
+     * partition sayısı (int32), her partition için partition (int32) ve offset (int64). Kayıt ve byte sınırları
+     * tüm partition'lar için toplamdır; ilerleme için sınırı aşsa da en az bir kayıt döner. Partition'lar
+     * istekteki sırayla okunur. Yanıt: partition sayısı (int32), her partition için partition (int32),
+     * kayıt sayısı (int32) ve her kayıt için offset (int64), key ve value.
+     *
+     * <p>FETCH_BATCHES aynı isteği kullanır; kayıt sınırı batch sınırına yuvarlanır. Yanıt: partition sayısı
+     * (int32), her partition için partition (int32) ve batch byte sayısı (int32), ardından aynı sırayla
+     * partition'ların diskteki ham batch'leri. İlk batch istenen offset'ten küçük kayıtlar içerebilir.</p>
+     * @param batches Ham batch'ler döndürülecekse true
+     */
+    private CompletableFuture<Frame> multiFetch(Frame request, ByteBuffer payload, boolean batches)
+            throws ProtocolException {
+        String topic = WireFormat.getString(payload);
+        int maxRecords = Math.max(Math.min(payload.getInt(), MAX_FETCH_RECORDS), 1);
+        int maxBytes = Math.max(Math.min(payload.getInt(), MAX_FETCH_BYTES), 1);
+        int maxWaitMs = Math.min(payload.getInt(), MAX_FETCH_WAIT_MS);
+        int minBytes = payload.getInt();
+        int count = payload.getInt();
+        if (count < 0 || count > payload.remaining() / 12) {
+            throw new ProtocolException("Geçersiz partition sayısı: " + count);
+        }
+        
+        List<PartitionFetch> fetches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int partitionId = payload.getInt();
+            long fromOffset = payload.getLong();
+            TopicPartition partition = topicManager.getPartition(topic, partitionId);
+            if (partition == null) {
+                logger.debug("Topic '{}' partition {} bulunamadı", topic, partitionId);
+            }
+            fetches.add(new PartitionFetch(partitionId, partition, fromOffset));
+        }
+        
+        DelayedFetch fetch = new DelayedFetch(request, fetches, maxRecords, maxBytes, minBytes, batches,
+            read -> batches ? batchesResponse(request, read) : multiFetchResponse(request, read));
+        return fetch.start(maxWaitMs);
+    }
+    
+    /**
+     * Topic oluşturabilen isteklerdeki topic adını okur ve doğrular.
+     */
+    private static String topicName(ByteBuffer payload) throws ProtocolException {
+        String topic = WireFormat.getString(payload);
+        if (!TopicManager.isValidTopicName(topic)) {
+            throw new ProtocolException("Geçersiz topic adı: " + topic);
+        }
+        return topic;
+    }
+    
+    private static Frame fetchResponse(Frame request, List<TopicPartition.MessageWithOffset> messages) {
+        ByteBuffer response = ByteBuffer.allocate(recordsSize(messages));
+        putRecords(response, messages);
+        return request.reply(response.flip());
+    }
+    
+    private static Frame multiFetchResponse(Frame request, List<PartitionFetch> fetches) {
+        int size = 4;
+        for (PartitionFetch fetch : fetches) {
+            size += 4 + recordsSize(fetch.messages);
+        }
+        ByteBuffer response = ByteBuffer.allocate(size);
+        response.putInt(fetches.size());
+        for (PartitionFetch fetch : fetches) {
+            response.putInt(fetch.partitionId);
+            putRecords(response, fetch.messages);
+        }
+        return request.reply(response.flip());
+    }
+    
+    private static Frame batchesResponse(Frame request, List<PartitionFetch> fetches) {
+        ByteBuffer response = ByteBuffer.allocate(4 + fetches.size() * 8);
+        List<FileRegion> regions = new ArrayList<>(fetches.size());
+        response.putInt(fetches.size());
+        for (PartitionFetch fetch : fetches) {
+            FileRegion region = fetch.region;
+            response.putInt(fetch.partitionId).putInt(region != null ? region.size() : 0);
+            if (region != null) {
+                regions.add(region);
+            }
+        }
+        return request.reply(response.flip(), regions);
+    }
+    
+    private static int recordsSize(List<TopicPartition.MessageWithOffset> messages) {
+        int size = 4;
+        for (TopicPartition.MessageWithOffset message : messages) {
+            size += 8 + WireFormat.sizeOf(message.getKey()) + WireFormat.sizeOf(message.getValue());
+        }
+        return size;
+    }
+    
+    private static void putRecords(ByteBuffer response, List<TopicPartition.MessageWithOffset> messages) {
+        response.putInt(messages.size());
+        for (TopicPartition.MessageWithOffset message : messages) {
+            response.putLong(message.getOffset());
+            WireFormat.putBytes(response, message.getKey());
+            WireFormat.putBytes(response, message.getValue());
+        }
+    }
+    
+    private static int sizeInBytes(TopicPartition.MessageWithOffset message) {
+        byte[] key = message.getKey();
+        byte[] value = message.getValue();
+        return (key != null ? key.length : 0) + (value != null ? value.length : 0);
+    }
+    
+    /**
+     * Bir FETCH isteğinde okunan partition ve o partition için okunan son mesajlar.
+     */
+    private static final class PartitionFetch {
+        private final int partitionId;
+        private final TopicPartition partition;
+        private final long fromOffset;
+        private volatile List<TopicPartition.MessageWithOffset> messages = List.of();
+        private volatile FileRegion region;
+        private volatile CompletableFuture<Void> waiter;
+        
+        private PartitionFetch(int partitionId, TopicPartition partition, long fromOffset) {
+            this.partitionId = partitionId;
+            this.partition = partition;
+            this.fromOffset = fromOffset;
+        }
+    }
+    
+    /**
+     * Yeterli veri gelene veya süre dolana kadar bekletilen FETCH isteği. İstekteki partition'lardan
+     * herhangi birine veri eklendiğinde tüm partition'lar yeniden okunur. Ham batch isteklerinde
+     * partition'lar kayıtlar çözülmeden dosya bölümü olarak okunur.
+     */
+    private final class DelayedFetch {
+        private final Frame request;
+        private final List<PartitionFetch> fetches;
+        private final int maxRecords;
+        private final int maxBytes;
+        private final int minBytes;
+        private final boolean batches;
+        private final Function<List<PartitionFetch>, Frame> encoder;
+        private final CompletableFuture<Frame> result;
+        private volatile ScheduledFuture<?> timeout;
+        
+        private DelayedFetch(Frame request, List<PartitionFetch> fetches, int maxRecords, int maxBytes, int minBytes,
+                             boolean batches, Function<List<PartitionFetch>, Frame> encoder) {
+            this.request = request;
+            this.fetches = fetches;
+            this.maxRecords = maxRecords;
+            this.maxBytes = maxBytes;
+            this.minBytes = minBytes;
+            this.batches = batches;
+            this.encoder = encoder;
+            this.result = new CompletableFuture<>();
+        }
+        
+        /**
+         * İsteği hemen yanıtlar veya veri gelene kadar en fazla maxWaitMs bekletir.
+         */
+        private CompletableFuture<Frame> start(int maxWaitMs) {
+            if (tryComplete() || maxWaitMs <= 0) {
+                forceComplete();
+                return result;
+            }
+            timeout = fetchTimer.schedule(this::forceComplete, maxWaitMs, TimeUnit.MILLISECONDS);
+            for (PartitionFetch fetch : fetches) {
+                if (fetch.partition != null) {
+                    awaitData(fetch);
+                }
+            }
+            return result;
+        }
+        
+        /**
+         * Partition'ları kayıt ve byte sınırları içinde okur ve isteğin karşılanıp karşılanmadığını kontrol eder.
+         * @return Yeterli veri varsa true
+         */
+        private synchronized boolean tryComplete() {
+            int records = 0;
+            long bytes = 0;
+            for (PartitionFetch fetch : fetches) {
+                if (fetch.partition == null || records >= maxRecords || bytes >= maxBytes) {
+                    fetch.messages = List.of();
+                    fetch.region = null;
+                    continue;
+                }
+                if (batches) {
+                    // Sınırlar aşılsa da ilk partition'dan en az bir batch alınır
+                    int remainingBytes = records == 0 ? maxBytes : (int) (maxBytes - bytes);
+                    FileRegion region = fetch.partition.slice(fetch.fromOffset, maxRecords - records, remainingBytes);
+                    if (region != null && records > 0 && bytes + region.size() > maxBytes) {
+                        region = null;
+                    }
+                    if (region != null) {
+                        records += region.getRecordCount();
+                        bytes += region.size();
+                    }
+                    fetch.region = region;
+                    continue;
+                }
+                List<TopicPartition.MessageWithOffset> read = fetch.partition.poll(fetch.fromOffset, maxRecords - records);
+                int limit = 0;
+                while (limit < read.size() && (bytes < maxBytes || records == 0)) {
+                    bytes += sizeInBytes(read.get(limit++));
+                    records++;
+                }
+                fetch.messages = limit < read.size() ? read.subList(0, limit) : read;
+            }
+            return records > 0 && (records >= maxRecords || bytes >= maxBytes || bytes >= minBytes);
+        }
+        
+        private void awaitData(PartitionFetch fetch) {
+            List<TopicPartition.MessageWithOffset> read = fetch.messages;
+            FileRegion region = fetch.region;
+            long nextOffset;
+            if (region != null) {
+                nextOffset = region.getNextOffset();
+            } else {
+                nextOffset = read.isEmpty() ? fetch.fromOffset : read.get(read.size() - 1).getOffset() + 1;
+            }
+            CompletableFuture<Void> current = fetch.partition.awaitData(nextOffset);
+            fetch.waiter = current;
+            current.thenRun(() -> onData(fetch));
+        }
+        
+        private void onData(PartitionFetch fetch) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                if (tryComplete()) {
+                    forceComplete();
+                } else {
+                    awaitData(fetch);
+                }
+            } catch (Exception e) {
+                complete(error(request, e));
+            }
+        }
+        
+        private void recordFetched() {
+            for (PartitionFetch fetch : fetches) {
+                if (fetch.region != null) {
+                    fetch.partition.recordFetched(fetch.region.getRecordCount(), fetch.region.size());
+                } else if (!fetch.messages.isEmpty()) {
+                    long bytes = 0;
+                    for (TopicPartition.MessageWithOffset message : fetch.messages) {
+                        bytes += sizeInBytes(message);
+                    }
+                    fetch.partition.recordFetched(fetch.messages.size(), bytes);
+                }
+            }
+        }
+        
+        /**
+         * Eldeki veriyle (boş olabilir) isteği yanıtlar.
+         */
+        private void forceComplete() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                // Zaman aşımında son okumadan sonra gelen veri de yanıta eklenir
+                tryComplete();
+                recordFetched();
+                complete(encoder.apply(fetches));
+            } catch (Exception e) {
+                complete(error(request, e));
+            }
+        }
+        
+        private void complete(Frame response) {
+            if (result.complete(response)) {
+                ScheduledFuture<?> scheduled = timeout;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                for (PartitionFetch fetch : fetches) {
+                    CompletableFuture<Void> current = fetch.waiter;
+                    if (current != null) {
+                        fetch.partition.removeWaiter(current);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Bir istek türünün sayaçları ve yanıt süresi dağılımı.
+     */
+    private static final class RequestMetrics {
+        private final Counter requests;
+        private final Counter errors;
+        private final Histogram latency;
+        
+        private RequestMetrics(MetricsRegistry registry, String op) {
+            Tags tags = Tags.of("op", op);
+            this.requests = registry.counter("quafka_requests_total", "İşlenen istek sayısı", tags);
+            this.errors = registry.counter("quafka_request_errors_total", "Hata ile yanıtlanan istek sayısı", tags);
+            this.latency = registry.histogram("quafka_request_latency_seconds",
+                "İsteğin alınmasından yanıtın hazır olmasına kadar geçen süre", tags);
+        }
+        
+        private void record(long startNanos, Frame response) {
+            record(startNanos, response != null && response.isError());
+        }
+        
+        private void record(long startNanos, boolean error) {
+            latency.record(System.nanoTime() - startNanos);
+            requests.increment();
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+}
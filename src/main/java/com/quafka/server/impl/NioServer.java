@@ -0,0 +1,670 @@
+package com.quafka.server.impl;
+
+import com.quafka.buffer.BufferPool;
+import com.quafka.buffer.PooledBuffer;
+import com.quafka.config.ServerConfig;
+import com.quafka.group.GroupCoordinator;
+import com.quafka.group.OffsetStore;
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
+import com.quafka.metrics.impl.MetricsHttpServer;
+import com.quafka.monitoring.MessageTracer;
+import com.quafka.partitioner.impl.PartitionerFactory;
+import com.quafka.protocol.Frame;
+import com.quafka.protocol.FrameCodec;
+import com.quafka.server.Server;
+import com.quafka.storage.FileRegion;
+import com.quafka.topic.TopicManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selector tabanlı, bloklamayan sunucu implementasyonu.
+ * Bağlantılar tek bir kabul (accept) thread'i tarafından kabul edilip az sayıda
+ * olay döngüsüne (event loop) dağıtılır; boşta bekleyen bağlantılar thread tutmaz.
+ */
+public class NioServer implements Server {
+    private static final Logger logger = LoggerFactory.getLogger(NioServer.class);
+    
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+    /** Bağlantıda yazılmayı bekleyen yanıt byte'ları bu sınırı aşınca istemciden okuma durdurulur */
+    private static final long MAX_PENDING_WRITE_BYTES = 4 * 1024 * 1024;
+    
+    private final ServerConfig config;
+    private final AtomicBoolean running;
+    private final AtomicInteger activeConnections;
+    private final AtomicInteger nextEventLoop;
+    private final BufferPool bufferPool;
+    private final Tags metricTags;
+    private final Counter acceptedConnections;
+    private final Counter rejectedConnections;
+    private ServerSocketChannel serverChannel;
+    private Selector acceptSelector;
+    private Thread acceptorThread;
+    private EventLoop[] eventLoops;
+    private TopicManager topicManager;
+    private GroupCoordinator groupCoordinator;
+    private MessageProcessor messageProcessor;
+    private MetricsHttpServer metricsServer;
+    
+    public NioServer(ServerConfig config) {
+        this.config = config;
+        this.running = new AtomicBoolean(false);
+        this.activeConnections = new AtomicInteger(0);
+        this.nextEventLoop = new AtomicInteger(0);
+        this.bufferPool = BufferPool.shared();
+        
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        this.metricTags = Tags.of("port", Integer.toString(config.getPort()));
+        this.acceptedConnections = registry.counter("quafka_server_connections_accepted_total",
+            "Kabul edilen istemci bağlantısı sayısı", metricTags);
+        this.rejectedConnections = registry.counter("quafka_server_connections_rejected_total",
+            "Bağlantı sınırı nedeniyle reddedilen istemci bağlantısı sayısı", metricTags);
+    }
+    
+    @Override
+    public void start() throws Exception {
+        if (running.compareAndSet(false, true)) {
+            logger.info("NIO sunucu başlatılıyor: port={}, eventLoops={}",
+                config.getPort(), config.getEventLoopThreads());
+            
+            topicManager = new TopicManager(config.getLogConfig(),
+                PartitionerFactory.create(config.getPartitioningStrategy()), config.getDefaultPartitionCount());
+            groupCoordinator = new GroupCoordinator(topicManager, new OffsetStore(config.getLogConfig().getLogDir()));
+            messageProcessor = new MessageProcessor(topicManager, groupCoordinator);
+            
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.configureBlocking(false);
+            serverChannel.bind(new InetSocketAddress(config.getPort()), config.getBacklog());
+            acceptSelector = Selector.open();
+            serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+            
+            eventLoops = new EventLoop[Math.max(1, config.getEventLoopThreads())];
+            for (int i = 0; i < eventLoops.length; i++) {
+                eventLoops[i] = new EventLoop(i);
+                eventLoops[i].start();
+            }
+            
+            MessageTracer.shared().configure(config.getTraceConfig());
+            MetricsRegistry.getDefault().gauge("quafka_server_active_connections", "Açık istemci bağlantısı sayısı",
+                metricTags, activeConnections::get);
+            if (config.getMetricsPort() >= 0) {
+                metricsServer = new MetricsHttpServer(MetricsRegistry.getDefault(), config.getMetricsPort());
+                metricsServer.start();
+            }
+            
+            acceptorThread = new Thread(this::acceptLoop, "quafka-acceptor");
+            acceptorThread.start();
+            
+            logger.info("NIO sunucu başlatıldı: port={}", config.getPort());
+        }
+    }
+    
+    @Override
+    public void stop() throws Exception {
+        if (running.compareAndSet(true, false)) {
+            logger.info("NIO sunucu durduruluyor");
+            
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
+            MetricsRegistry.getDefault().remove("quafka_server_active_connections", metricTags);
+            
+            acceptSelector.wakeup();
+            acceptorThread.join();
+            serverChannel.close();
+            acceptSelector.close();
+            
+            for (EventLoop eventLoop : eventLoops) {
+                eventLoop.shutdown();
+            }
+            
+            messageProcessor.close();
+            groupCoordinator.close();
+            topicManager.close();
+            logger.info("NIO sunucu durduruldu");
+        }
+    }
+    
+    @Override
+    public ServerConfig getConfig() {
+        return config;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    /**
+     * Sunucunun kullandığı topic yöneticisini döndürür.
+     * @return Topic yöneticisi, sunucu başlatılmadıysa null
+     */
+    public TopicManager getTopicManager() {
+        return topicManager;
+    }
+    
+    /**
+     * Açık istemci bağlantısı sayısını döndürür.
+     * @return Aktif bağlantı sayısı
+     */
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+    
+    @Override
+    public void close() throws Exception {
+        stop();
+    }
+    
+    private void acceptLoop() {
+        while (running.get()) {
+            try {
+                acceptSelector.select();
+                Iterator<SelectionKey> keys = acceptSelector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                    acceptPending();
+                }
+            } catch (IOException e) {
+                if (running.get()) {
+                    logger.error("Bağlantı kabul edilirken hata oluştu", e);
+                }
+            }
+        }
+    }
+    
+    private void acceptPending() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            if (activeConnections.incrementAndGet() > config.getMaxConnections()) {
+                activeConnections.decrementAndGet();
+                logger.warn("Maksimum bağlantı sayısına ulaşıldı ({}), bağlantı reddedildi: {}",
+                    config.getMaxConnections(), channel.getRemoteAddress());
+                rejectedConnections.increment();
+                channel.close();
+                continue;
+            }
+            acceptedConnections.increment();
+            
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            logger.debug("Yeni bağlantı kabul edildi: {}", channel.getRemoteAddress());
+            
+            int index = Math.floorMod(nextEventLoop.getAndIncrement(), eventLoops.length);
+            eventLoops[index].register(channel);
+        }
+    }
+    
+    /**
+     * Kendisine atanan bağlantıların okuma/yazma olaylarını tek bir thread'de işleyen döngü.
+     */
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> pendingChannels;
+        private final Queue<Runnable> tasks;
+        private final Thread thread;
+        
+        private EventLoop(int id) throws IOException {
+            this.selector = Selector.open();
+            this.pendingChannels = new ConcurrentLinkedQueue<>();
+            this.tasks = new ConcurrentLinkedQueue<>();
+            this.thread = new Thread(this, "quafka-event-loop-" + id);
+        }
+        
+        private void start() {
+            thread.start();
+        }
+        
+        private void register(SocketChannel channel) {
+            pendingChannels.add(channel);
+            selector.wakeup();
+        }
+        
+        /**
+         * Görevi olay döngüsü thread'inde çalıştırılmak üzere kuyruğa ekler.
+         */
+        private void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+        
+        private void shutdown() throws InterruptedException {
+            selector.wakeup();
+            thread.join();
+        }
+        
+        @Override
+        public void run() {
+            while (running.get()) {
+                try {
+                    selector.select();
+                    registerPending();
+                    runTasks();
+                    
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handle(key);
+                    }
+                } catch (IOException e) {
+                    if (running.get()) {
+                        logger.error("Olay döngüsünde hata oluştu", e);
+                    }
+                } catch (Throwable e) {
+                    // Döngü thread'i ölürse bu döngüdeki tüm bağlantılar sahipsiz kalır
+                    logger.error("Olay döngüsünde beklenmeyen hata oluştu, döngü devam ediyor", e);
+                }
+            }
+            closeAll();
+        }
+        
+        private void registerPending() {
+            SocketChannel channel;
+            while ((channel = pendingChannels.poll()) != null) {
+                try {
+                    SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                    key.attach(new ClientSession(channel, this, key));
+                } catch (IOException e) {
+                    logger.warn("Bağlantı kaydedilemedi", e);
+                    closeChannel(channel);
+                }
+            }
+        }
+        
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Olay döngüsü görevi başarısız oldu", e);
+                }
+            }
+        }
+        
+        private void handle(SelectionKey key) {
+            ClientSession session = (ClientSession) key.attachment();
+            try {
+                if (key.isValid() && key.isReadable()) {
+                    session.read(key);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    session.flush(key);
+                }
+            } catch (IOException e) {
+                logger.debug("İstemci bağlantısı kapandı: {}", e.getMessage());
+                close(key);
+            } catch (RuntimeException e) {
+                logger.error("İstemci isteği işlenirken beklenmeyen hata oluştu, bağlantı kapatılıyor", e);
+                close(key);
+            }
+        }
+        
+        private void close(SelectionKey key) {
+            key.cancel();
+            closeChannel((SocketChannel) key.channel());
+            ClientSession session = (ClientSession) key.attachment();
+            if (session != null) {
+                session.release();
+            }
+        }
+        
+        private void closeAll() {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            SocketChannel channel;
+            while ((channel = pendingChannels.poll()) != null) {
+                closeChannel(channel);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.warn("Selector kapatılırken hata oluştu", e);
+            }
+        }
+    }
+    
+    private void closeChannel(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Bağlantı kapatılırken hata oluştu", e);
+        } finally {
+            activeConnections.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Bağlantının el sıkışmadan sonra kullandığı protokol.
+     */
+    private enum SessionMode {
+        UNKNOWN,
+        TEXT,
+        BINARY
+    }
+    
+    /**
+     * Tek bir istemci bağlantısının okuma ve yazma buffer'larını tutan sınıf.
+     * Buffer'lar paylaşılan {@link BufferPool}'dan alınan direct buffer'lardır ve bağlantı
+     * kapandığında havuza döner; yanıtlar ara bir buffer'a değil doğrudan yazma buffer'ına kodlanır.
+     * Yanıtlardaki dosya bölümleri buffer'a kopyalanmaz; buffer'daki sıralarına göre
+     * {@link FileRegion#transferTo} ile doğrudan sokete aktarılır.
+     * Yazılmayı bekleyen yanıtlar {@link #MAX_PENDING_WRITE_BYTES} sınırını aşarsa yanıtlarını okumayan
+     * istemcinin yeni istekleri işlenmez ve okuma, birikim eriyene kadar durdurulur (geri basınç).
+     */
+    private final class ClientSession {
+        private final SocketChannel channel;
+        private final EventLoop eventLoop;
+        private final SelectionKey key;
+        private final Queue<PendingTransfer> transfers;
+        private PooledBuffer readPooled;
+        private PooledBuffer writePooled;
+        private ByteBuffer readBuffer;
+        private ByteBuffer writeBuffer;
+        private SessionMode mode;
+        private boolean readPaused;
+        /** Yazma buffer'ına bugüne kadar eklenen ve buffer'dan sokete yazılan toplam byte sayıları */
+        private long bytesEnqueued;
+        private long bytesWritten;
+        /** Kuyruktaki dosya bölümlerinin henüz aktarılmamış toplam byte sayısı */
+        private long transferBytes;
+        
+        private ClientSession(SocketChannel channel, EventLoop eventLoop, SelectionKey key) {
+            this.channel = channel;
+            this.eventLoop = eventLoop;
+            this.key = key;
+            this.readPooled = bufferPool.acquire(INITIAL_BUFFER_SIZE);
+            this.writePooled = bufferPool.acquire(INITIAL_BUFFER_SIZE);
+            this.readBuffer = readPooled.buffer().clear();
+            this.writeBuffer = writePooled.buffer().clear();
+            this.mode = SessionMode.UNKNOWN;
+            this.transfers = new ArrayDeque<>();
+        }
+        
+        private void read(SelectionKey key) throws IOException {
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                throw new IOException("İstemci bağlantıyı kapattı");
+            }
+            processInput();
+            flush(key);
+        }
+        
+        /**
+         * Okuma buffer'ındaki tam istekleri, yazma birikimi sınırı aşılana kadar işler.
+         * Sınır aşıldıysa okuma, birikim eriyene kadar durdurulur.
+         */
+        private void processInput() throws IOException {
+            readBuffer.flip();
+            if (mode == SessionMode.UNKNOWN) {
+                detectMode();
+            }
+            int required = 0;
+            if (mode == SessionMode.TEXT) {
+                readLines();
+            } else if (mode == SessionMode.BINARY) {
+                required = readFrames();
+            }
+            readBuffer.compact();
+            
+            if (!isBackedUp() && (!readBuffer.hasRemaining() || readBuffer.capacity() < required)) {
+                int limit = mode == SessionMode.BINARY
+                    ? FrameCodec.LENGTH_SIZE + FrameCodec.MAX_FRAME_SIZE
+                    : MAX_LINE_LENGTH;
+                if (readBuffer.capacity() >= limit) {
+                    throw new IOException("Mesaj çok uzun");
+                }
+                PooledBuffer grown = grow(readBuffer, Math.min(limit, Math.max(readBuffer.capacity() * 2, required)));
+                readPooled.release();
+                readPooled = grown;
+                readBuffer = grown.buffer();
+            }
+            readPaused = isBackedUp();
+        }
+        
+        private void detectMode() throws IOException {
+            if (!readBuffer.hasRemaining()) {
+                return;
+            }
+            if (!FrameCodec.isHandshakeStart(readBuffer.get(readBuffer.position()))) {
+                mode = SessionMode.TEXT;
+                return;
+            }
+            if (readBuffer.remaining() >= FrameCodec.HANDSHAKE_SIZE) {
+                byte version = FrameCodec.negotiate(FrameCodec.readHandshake(readBuffer));
+                enqueue(FrameCodec.handshake(version));
+                mode = SessionMode.BINARY;
+            }
+        }
+        
+        private void readLines() {
+            int lineStart = readBuffer.position();
+            for (int i = lineStart; i < readBuffer.limit() && !isBackedUp(); i++) {
+                if (readBuffer.get(i) == '\n') {
+                    int lineEnd = i > lineStart && readBuffer.get(i - 1) == '\r' ? i - 1 : i;
+                    byte[] line = new byte[lineEnd - lineStart];
+                    readBuffer.get(lineStart, line);
+                    String message = new String(line, StandardCharsets.UTF_8);
+                    enqueue(messageProcessor.process(message));
+                    lineStart = i + 1;
+                }
+            }
+            readBuffer.position(lineStart);
+        }
+        
+        /**
+         * Buffer'daki tüm tam çerçeveleri işler.
+         * @return Yarım kalan çerçeve için gereken toplam byte sayısı
+         */
+        private int readFrames() throws IOException {
+            Frame request;
+            while (!isBackedUp() && (request = FrameCodec.decode(readBuffer)) != null) {
+                // Çerçeve içeriği okuma buffer'ının görünümüdür; istek compact'tan önce çözülür
+                CompletableFuture<Frame> response = messageProcessor.process(request);
+                if (response.isDone()) {
+                    Frame frame = response.join();
+                    if (frame != null) {
+                        enqueue(frame);
+                    }
+                } else {
+                    response.thenAccept(frame -> eventLoop.execute(() -> sendLater(frame)));
+                }
+            }
+            return Math.max(FrameCodec.requiredBytes(readBuffer), 0);
+        }
+        
+        /**
+         * Bekletilmiş bir isteğin yanıtını olay döngüsü thread'inde yazar.
+         */
+        private void sendLater(Frame response) {
+            if (response == null || !key.isValid()) {
+                return;
+            }
+            try {
+                enqueue(response);
+                flush(key);
+            } catch (IOException e) {
+                logger.debug("İstemci bağlantısı kapandı: {}", e.getMessage());
+                eventLoop.close(key);
+            } catch (RuntimeException e) {
+                logger.error("Bekletilmiş yanıt yazılırken beklenmeyen hata oluştu, bağlantı kapatılıyor", e);
+                eventLoop.close(key);
+            }
+        }
+        
+        private void enqueue(String response) {
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            ensureWritable(bytes.length + 1);
+            writeBuffer.put(bytes).put((byte) '\n');
+            bytesEnqueued += bytes.length + 1;
+        }
+        
+        private void enqueue(ByteBuffer response) {
+            int size = response.remaining();
+            ensureWritable(size);
+            writeBuffer.put(response);
+            bytesEnqueued += size;
+        }
+        
+        private void enqueue(Frame response) {
+            int size = FrameCodec.encodedSize(response);
+            ensureWritable(size);
+            FrameCodec.encode(response, writeBuffer);
+            bytesEnqueued += size;
+            for (FileRegion region : response.getRegions()) {
+                transfers.add(new PendingTransfer(region, bytesEnqueued));
+                transferBytes += region.size();
+            }
+        }
+        
+        private void ensureWritable(int bytes) {
+            if (writeBuffer.remaining() < bytes) {
+                PooledBuffer grown = grow(writeBuffer, Math.max(writeBuffer.capacity() * 2,
+                    writeBuffer.position() + bytes));
+                writePooled.release();
+                writePooled = grown;
+                writeBuffer = grown.buffer();
+            }
+        }
+        
+        private void flush(SelectionKey key) throws IOException {
+            boolean pending = writePending();
+            while (readPaused && !isBackedUp()) {
+                // Birikim eridi; okuma buffer'ında bekleyen istekler işlenir ve okumaya devam edilir
+                processInput();
+                pending = writePending();
+            }
+            // Bekletilmiş isteklerin yanıtları da birikimi sınırın üstüne çıkarabilir
+            readPaused |= isBackedUp();
+            int ops = readPaused ? 0 : SelectionKey.OP_READ;
+            key.interestOps(pending ? ops | SelectionKey.OP_WRITE : ops);
+        }
+        
+        /**
+         * Buffer'daki byte'ları ve dosya bölümlerini soket doluncaya kadar yazar.
+         * @return Yazılmayı bekleyen veri kaldıysa true
+         */
+        private boolean writePending() throws IOException {
+            boolean pending = false;
+            while (true) {
+                // Bir dosya bölümünden önce, ondan önce buffer'a eklenen byte'lar yazılmalıdır
+                PendingTransfer transfer = transfers.peek();
+                long boundary = transfer != null ? transfer.bufferPosition : bytesEnqueued;
+                if (bytesWritten < boundary && !writeBuffered(boundary)) {
+                    pending = true;
+                    break;
+                }
+                if (transfer == null) {
+                    break;
+                }
+                long transferred = transfer.transferred;
+                boolean complete = transfer.writeTo(channel);
+                transferBytes -= transfer.transferred - transferred;
+                if (!complete) {
+                    pending = true;
+                    break;
+                }
+                transfers.poll();
+            }
+            return pending;
+        }
+        
+        /**
+         * Yazılmayı bekleyen buffer byte'ları ve dosya bölümleri sınırı aşıyorsa true döner.
+         */
+        private boolean isBackedUp() {
+            return bytesEnqueued - bytesWritten + transferBytes > MAX_PENDING_WRITE_BYTES;
+        }
+        
+        /**
+         * Buffer'daki byte'ları verilen akış konumuna kadar yazar.
+         * @return Konuma ulaşıldıysa true, soket doluysa false
+         */
+        private boolean writeBuffered(long boundary) throws IOException {
+            writeBuffer.flip();
+            int limit = writeBuffer.limit();
+            writeBuffer.limit(writeBuffer.position() + (int) (boundary - bytesWritten));
+            bytesWritten += channel.write(writeBuffer);
+            writeBuffer.limit(limit);
+            writeBuffer.compact();
+            return bytesWritten == boundary;
+        }
+        
+        private PooledBuffer grow(ByteBuffer buffer, int capacity) {
+            PooledBuffer grown = bufferPool.acquire(capacity);
+            buffer.flip();
+            grown.buffer().clear().put(buffer);
+            return grown;
+        }
+        
+        /**
+         * Buffer'ları havuza geri verir. Bağlantı kapandıktan sonra olay döngüsü thread'inde çağrılır;
+         * birden fazla çağrı güvenlidir.
+         */
+        private void release() {
+            if (readPooled != null) {
+                readPooled.release();
+                writePooled.release();
+                readPooled = null;
+                writePooled = null;
+                readBuffer = null;
+                writeBuffer = null;
+                transfers.clear();
+                transferBytes = 0;
+            }
+        }
+    }
+    
+    /**
+     * Sokete aktarılmayı bekleyen dosya bölümü ve aktarımın ilerlemesi.
+     */
+    private static final class PendingTransfer {
+        private final FileRegion region;
+        /** Bölümden önce yazılması gereken buffer byte'larının akıştaki bitiş konumu */
+        private final long bufferPosition;
+        private long transferred;
+        
+        private PendingTransfer(FileRegion region, long bufferPosition) {
+            this.region = region;
+            this.bufferPosition = bufferPosition;
+        }
+        
+        /**
+         * Bölümün kalanını soket doluncaya kadar aktarır.
+         * @return Bölüm tamamen aktarıldıysa true
+         */
+        private boolean writeTo(SocketChannel channel) throws IOException {
+            while (transferred < region.size()) {
+                long written = region.transferTo(channel, transferred);
+                if (written <= 0) {
+                    return false;
+                }
+                transferred += written;
+            }
+            return true;
+        }
+    }
+}
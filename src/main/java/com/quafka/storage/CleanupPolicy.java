@@ -0,0 +1,18 @@
+package com.quafka.storage;
+
+/**
+ * Bir topic'in eski kayıtlarının nasıl temizleneceğini belirleyen enum.
+ */
+public enum CleanupPolicy {
+    /**
+     * Saklama süresini veya boyut sınırını aşan en eski segment'ler bütün olarak silinir
+     */
+    DELETE,
+    
+    /**
+     * Her anahtar için yalnızca en yeni kayıt tutulur; eski segment'ler yeniden yazılarak
+     * üzerine yazılmış kayıtlar ve süresi dolan silme işaretleri (tombstone) atılır.
+     * Saklama süresi ve boyut sınırı uygulanmaz, anahtarsız kayıtlar hiç atılmaz
+     */
+    COMPACT
+}
@@ -0,0 +1,75 @@
+package com.quafka.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Segment dosyasında ardışık, tam batch'lerden oluşan bir bölüm.
+ * İçerik kullanıcı alanına kopyalanmadan {@link FileChannel#transferTo} ile
+ * doğrudan soket kanalına aktarılabilir. Bölüm, segment silinene kadar geçerlidir.
+ */
+public class FileRegion {
+    private final FileChannel channel;
+    private final long position;
+    private final int size;
+    private final int recordCount;
+    private final long nextOffset;
+    
+    /**
+     * @param channel Segment dosyasının kanalı
+     * @param position Bölümün dosyadaki başlangıç konumu
+     * @param size Bölümün boyutu (byte)
+     * @param recordCount Bölümde istenen offset'ten itibaren bulunan kayıt sayısı
+     * @param nextOffset Bölümdeki son kaydın bir sonraki offset'i
+     */
+    public FileRegion(FileChannel channel, long position, int size, int recordCount, long nextOffset) {
+        this.channel = channel;
+        this.position = position;
+        this.size = size;
+        this.recordCount = recordCount;
+        this.nextOffset = nextOffset;
+    }
+    
+    /**
+     * Bölümün verilen konumdan itibaren olan kısmını hedef kanala aktarır. Hedef bir soket
+     * kanalıysa veri çekirdek içinde kopyalanır (sendfile).
+     * @param target Hedef kanal
+     * @param offset Bölüm içindeki başlangıç konumu
+     * @return Aktarılan byte sayısı; bloklamayan hedef doluysa 0 olabilir
+     * @throws IOException Aktarım hatası durumunda
+     */
+    public long transferTo(WritableByteChannel target, long offset) throws IOException {
+        return channel.transferTo(position + offset, size - offset, target);
+    }
+    
+    /**
+     * Bölümün tamamını buffer'a kopyalar. Sıfır kopya aktarımın mümkün olmadığı durumlar içindir.
+     * @param buffer En az {@link #size()} byte boş alanı olan buffer
+     * @throws IOException Okuma hatası durumunda
+     */
+    public void readInto(ByteBuffer buffer) throws IOException {
+        int end = buffer.position() + size;
+        ByteBuffer target = buffer.duplicate().limit(end);
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position + target.position() - buffer.position());
+            if (read < 0) {
+                throw new IOException("Beklenmeyen dosya sonu");
+            }
+        }
+        buffer.position(end);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int getRecordCount() {
+        return recordCount;
+    }
+    
+    public long getNextOffset() {
+        return nextOffset;
+    }
+}
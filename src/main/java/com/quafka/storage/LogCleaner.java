@@ -0,0 +1,181 @@
+package com.quafka.storage;
+
+import com.quafka.config.LogConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kayıtlı partition log'larına temizleme politikalarını arka planda uygulayan temizleyici.
+ * {@link CleanupPolicy#DELETE} log'larında süresi dolan veya boyut sınırını aşan eski segment'ler
+ * log'dan çıkarılır; {@link CleanupPolicy#COMPACT} log'larında eski segment'ler anahtar başına en yeni
+ * kayıt kalacak şekilde yeniden yazılır. Çıkarılan segment'lerin dosyaları, o sırada segment'i okuyan
+ * istekler tamamlanabilsin diye belirli bir gecikmeyle silinir.
+ * Temizlik ekleme kilidini almaz, dolayısıyla yayınlamayı bloklamaz.
+ */
+public class LogCleaner implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LogCleaner.class);
+    
+    private final long fileDeleteDelayMs;
+    private final long deleteRetentionMs;
+    private final double minCleanableDirtyRatio;
+    private final Map<PartitionLog, Retention> logs;
+    private final Queue<LogSegment> pendingDeletes;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicLong deletedSegments;
+    private final AtomicLong compactions;
+    
+    public LogCleaner(LogConfig config) {
+        this.fileDeleteDelayMs = config.getFileDeleteDelayMs();
+        this.deleteRetentionMs = config.getDeleteRetentionMs();
+        this.minCleanableDirtyRatio = config.getMinCleanableDirtyRatio();
+        this.logs = new ConcurrentHashMap<>();
+        this.pendingDeletes = new ConcurrentLinkedQueue<>();
+        this.deletedSegments = new AtomicLong();
+        this.compactions = new AtomicLong();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "quafka-log-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Kapatırken bekleyen gecikmeli silmeler çalıştırılmaz, close() onları hemen siler
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        long interval = Math.max(config.getRetentionCheckIntervalMs(), 1);
+        scheduler.scheduleWithFixedDelay(this::runCleanup, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Log'u verilen politika ve saklama kurallarıyla temizlenmek üzere kaydeder.
+     * @param log Partition log'u
+     * @param policy Temizleme politikası
+     * @param retentionMs Saklama süresi (milisaniye), -1 ise sınırsız; sıkıştırılan log'larda kullanılmaz
+     * @param retentionBytes Log boyut sınırı (byte), -1 ise sınırsız; sıkıştırılan log'larda kullanılmaz
+     */
+    public void register(PartitionLog log, CleanupPolicy policy, long retentionMs, long retentionBytes) {
+        logs.put(log, new Retention(policy, retentionMs, retentionBytes));
+    }
+    
+    /**
+     * Log'un kaydını siler. Log kapatılmadan veya silinmeden önce çağrılmalıdır; sürmekte olan
+     * bir temizlik varsa bitmesi beklenir.
+     * @param log Partition log'u
+     */
+    public synchronized void unregister(PartitionLog log) {
+        logs.remove(log);
+    }
+    
+    /**
+     * Tüm kayıtlı log'lara temizleme politikalarını hemen uygular.
+     * @return Log'lardan çıkarılan veya sıkıştırılmış kopyasıyla değiştirilen segment sayısı
+     */
+    public synchronized int cleanup() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Map.Entry<PartitionLog, Retention> entry : logs.entrySet()) {
+            PartitionLog log = entry.getKey();
+            Retention retention = entry.getValue();
+            List<LogSegment> segments;
+            try {
+                if (retention.policy == CleanupPolicy.COMPACT) {
+                    segments = log.compact(deleteRetentionMs, minCleanableDirtyRatio, now);
+                    if (!segments.isEmpty()) {
+                        compactions.incrementAndGet();
+                    }
+                } else {
+                    segments = log.removeExpiredSegments(retention.retentionMs, retention.retentionBytes, now);
+                }
+            } catch (StorageException e) {
+                // Bir log'daki hata diğer log'ların temizliğini engellemesin
+                logger.error("Log temizlenemedi: {}", log.getDir(), e);
+                continue;
+            }
+            for (LogSegment segment : segments) {
+                pendingDeletes.add(segment);
+                scheduler.schedule(() -> delete(segment), fileDeleteDelayMs, TimeUnit.MILLISECONDS);
+            }
+            removed += segments.size();
+        }
+        return removed;
+    }
+    
+    /**
+     * Saklama nedeniyle diskten silinen toplam segment sayısını döndürür.
+     * @return Silinen segment sayısı
+     */
+    public long getDeletedSegmentCount() {
+        return deletedSegments.get();
+    }
+    
+    /**
+     * En az bir segment'i yeniden yazan sıkıştırma turu sayısını döndürür.
+     * @return Sıkıştırma sayısı
+     */
+    public long getCompactionCount() {
+        return compactions.get();
+    }
+    
+    private void runCleanup() {
+        try {
+            cleanup();
+        } catch (RuntimeException e) {
+            // Hata zamanlanmış görevi durdurmasın; sonraki kontrolde yeniden denenir
+            logger.error("Log temizliği sırasında hata oluştu", e);
+        }
+    }
+    
+    private void delete(LogSegment segment) {
+        if (!pendingDeletes.remove(segment)) {
+            return;
+        }
+        try {
+            segment.delete();
+            deletedSegments.incrementAndGet();
+            logger.debug("Segment silindi: {}", segment.getLogFile());
+        } catch (IOException e) {
+            logger.warn("Segment silinemedi: {}", segment.getLogFile(), e);
+        }
+    }
+    
+    /**
+     * Temizleyiciyi durdurur ve silinmeyi bekleyen segment'leri beklemeden siler. Sürmekte olan
+     * temizlik kesilmez, bitmesi beklenir; iş parçacığını kesmek okunan segment'lerin
+     * {@code FileChannel}'larını kapatırdı.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LogSegment segment;
+        while ((segment = pendingDeletes.peek()) != null) {
+            delete(segment);
+        }
+    }
+    
+    /**
+     * Bir log'un temizleme politikası ve saklama kuralları.
+     */
+    private static final class Retention {
+        private final CleanupPolicy policy;
+        private final long retentionMs;
+        private final long retentionBytes;
+        
+        private Retention(CleanupPolicy policy, long retentionMs, long retentionBytes) {
+            this.policy = policy;
+            this.retentionMs = retentionMs;
+            this.retentionBytes = retentionBytes;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.quafka.storage;
+
+import com.quafka.config.LogConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kalıcılık onayı bekleyen eklemeleri gruplayarak diske zorlayan (group commit) arka plan işçisi.
+ * Bekleyen istekler partition log'u bazında toplanır. İlk istekten sonra {@code flushIntervalMs}
+ * dolduğunda ya da bir log'da {@code flushIntervalBytes} kadar zorlanmamış veri biriktiğinde her log
+ * için tek bir {@code FileChannel.force} çağrısı yapılır ve o ana kadar eklenmiş tüm batch'ler
+ * birlikte onaylanır. Zorlama sürerken gelen istekler bir sonraki gruba kalır.
+ */
+public class LogFlusher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LogFlusher.class);
+    
+    private final long flushIntervalNanos;
+    private final long flushIntervalBytes;
+    private final Object lock = new Object();
+    private final Thread thread;
+    private final AtomicLong flushes;
+    private final AtomicLong flushedWaiters;
+    
+    private Map<PartitionLog, List<FlushWaiter>> pending;
+    private long firstPendingAt;
+    private boolean flushRequested;
+    private boolean closed;
+    
+    public LogFlusher(LogConfig config) {
+        this(config.getFlushIntervalMs(), config.getFlushIntervalBytes());
+    }
+    
+    /**
+     * @param flushIntervalMs İlk bekleyen istekten sonra zorlamanın en fazla ertelenebileceği süre
+     * @param flushIntervalBytes Bir log'da bu kadar zorlanmamış byte biriktiğinde beklemeden zorlanır
+     */
+    public LogFlusher(long flushIntervalMs, long flushIntervalBytes) {
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(flushIntervalMs, 0));
+        this.flushIntervalBytes = flushIntervalBytes;
+        this.flushes = new AtomicLong();
+        this.flushedWaiters = new AtomicLong();
+        this.pending = new HashMap<>();
+        this.thread = new Thread(this::run, "quafka-log-flusher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    /**
+     * Verilen offset'e kadar olan kayıtlar diske zorlandığında tamamlanan bir future döndürür.
+     * Offset çağrıdan önce log'a eklenmiş olmalıdır.
+     * @param log Partition log'u
+     * @param offset Kalıcı olması beklenen son offset
+     * @return Kayıtlar kalıcı olduğunda tamamlanan, zorlama başarısız olursa hata ile tamamlanan future
+     */
+    public CompletableFuture<Void> awaitFlush(PartitionLog log, long offset) {
+        if (offset < log.getFlushedOffset()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (lock) {
+            if (closed) {
+                future.completeExceptionally(new StorageException("Log flusher kapatıldı"));
+                return future;
+            }
+            if (pending.isEmpty()) {
+                firstPendingAt = System.nanoTime();
+            }
+            pending.computeIfAbsent(log, key -> new ArrayList<>()).add(new FlushWaiter(offset, future));
+            if (log.getUnflushedBytes() >= flushIntervalBytes) {
+                flushRequested = true;
+            }
+            lock.notifyAll();
+        }
+        return future;
+    }
+    
+    /**
+     * O ana kadar yapılan zorlama turu sayısını döndürür.
+     * @return Zorlama turu sayısı
+     */
+    public long getFlushCount() {
+        return flushes.get();
+    }
+    
+    /**
+     * Zorlama turlarıyla onaylanan toplam istek sayısını döndürür. {@link #getFlushCount()} ile
+     * oranı, bir fsync'in ortalama kaç eklemeyi kapsadığını gösterir.
+     * @return Onaylanan istek sayısı
+     */
+    public long getFlushedWaiterCount() {
+        return flushedWaiters.get();
+    }
+    
+    private void run() {
+        while (true) {
+            Map<PartitionLog, List<FlushWaiter>> group;
+            synchronized (lock) {
+                try {
+                    while (!closed && !isDue()) {
+                        if (pending.isEmpty()) {
+                            lock.wait();
+                        } else {
+                            long remaining = flushIntervalNanos - (System.nanoTime() - firstPendingAt);
+                            TimeUnit.NANOSECONDS.timedWait(lock, Math.max(remaining, 1));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (closed && pending.isEmpty()) {
+                    return;
+                }
+                group = pending;
+                pending = new HashMap<>();
+                flushRequested = false;
+            }
+            flush(group);
+        }
+    }
+    
+    private boolean isDue() {
+        return !pending.isEmpty()
+            && (flushRequested || System.nanoTime() - firstPendingAt >= flushIntervalNanos);
+    }
+    
+    private void flush(Map<PartitionLog, List<FlushWaiter>> group) {
+        for (Map.Entry<PartitionLog, List<FlushWaiter>> entry : group.entrySet()) {
+            PartitionLog log = entry.getKey();
+            List<FlushWaiter> waiters = entry.getValue();
+            try {
+                // İstekler eklemeden sonra kaydedildiğinden tek zorlama normalde hepsini kapsar
+                log.flush();
+                long flushedOffset = log.getFlushedOffset();
+                for (FlushWaiter waiter : waiters) {
+                    if (waiter.offset < flushedOffset) {
+                        waiter.future.complete(null);
+                    } else {
+                        awaitFlush(log, waiter.offset).whenComplete((result, error) -> {
+                            if (error != null) {
+                                waiter.future.completeExceptionally(error);
+                            } else {
+                                waiter.future.complete(null);
+                            }
+                        });
+                    }
+                }
+                flushedWaiters.addAndGet(waiters.size());
+            } catch (RuntimeException e) {
+                logger.error("Log diske zorlanamadı: {}", log.getDir(), e);
+                for (FlushWaiter waiter : waiters) {
+                    waiter.future.completeExceptionally(e);
+                }
+            }
+        }
+        flushes.incrementAndGet();
+    }
+    
+    /**
+     * Bekleyen istekleri son bir kez zorlayıp işçiyi durdurur.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Diske zorlanmayı bekleyen bir offset.
+     */
+    private static final class FlushWaiter {
+        private final long offset;
+        private final CompletableFuture<Void> future;
+        
+        private FlushWaiter(long offset, CompletableFuture<Void> future) {
+            this.offset = offset;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.quafka.storage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Partition log'unda saklanan tek bir kaydı temsil eden sınıf.
+ */
+public class LogRecord {
+    private final long offset;
+    private final long timestamp;
+    private final byte[] key;
+    private final byte[] value;
+    
+    public LogRecord(long offset, long timestamp, byte[] key, byte[] value) {
+        this.offset = offset;
+        this.timestamp = timestamp;
+        this.key = key;
+        this.value = value;
+    }
+    
+    /**
+     * Henüz offset atanmamış, log'a eklenecek bir kayıt oluşturur.
+     * @param key Kayıt anahtarı (null olabilir)
+     * @param value Kayıt değeri
+     * @return Eklenecek kayıt
+     */
+    public static LogRecord of(byte[] key, byte[] value) {
+        return new LogRecord(-1, System.currentTimeMillis(), key, value);
+    }
+    
+    public long getOffset() {
+        return offset;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public byte[] getKey() {
+        return key;
+    }
+    
+    public byte[] getValue() {
+        return value;
+    }
+    
+    /**
+     * Kayıt değerini UTF-8 metin olarak döndürür.
+     * @return Kayıt değeri
+     */
+    public String valueAsString() {
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+    
+    /**
+     * Kaydın diskte kapladığı alanı döndürür.
+     * @return Kayıt boyutu (byte)
+     */
+    public int sizeInBytes() {
+        return RecordBatch.RECORD_OVERHEAD
+            + (key != null ? key.length : 0)
+            + (value != null ? value.length : 0);
+    }
+}
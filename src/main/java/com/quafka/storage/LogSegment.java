@@ -0,0 +1,553 @@
+package com.quafka.storage;
+
+import com.quafka.buffer.BufferPool;
+import com.quafka.buffer.PooledBuffer;
+import com.quafka.config.LogConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Partition log'unun sabit boyutlu, yalnızca sona eklenen (append-only) bir parçası.
+ * Her segment bir veri dosyası (.log) ve seyrek bir offset indeksinden (.index) oluşur.
+ * Diskten yüklenen eski segment'lerin dosyaları ilk kullanımda açılır; böylece açılışta
+ * yalnızca aktif segment'in indeksi belleğe eşlenir.
+ */
+public class LogSegment implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(LogSegment.class);
+    
+    public static final String LOG_SUFFIX = ".log";
+    public static final String INDEX_SUFFIX = ".index";
+    /** Log'dan çıkarılmış, silinmeyi bekleyen segment dosyalarına eklenen sonek */
+    public static final String DELETED_SUFFIX = ".deleted";
+    /** Sıkıştırma (compaction) sırasında yazılmakta olan segment dosyalarına eklenen sonek */
+    public static final String CLEANED_SUFFIX = ".cleaned";
+    /** Yazımı tamamlanmış, eski segment'in yerine geçmeyi bekleyen segment dosyalarına eklenen sonek */
+    public static final String SWAP_SUFFIX = ".swap";
+    
+    private volatile Path logFile;
+    private volatile Path indexFile;
+    private final long baseOffset;
+    private final int indexIntervalBytes;
+    private final int maxIndexBytes;
+    private volatile FileChannel channel;
+    private volatile OffsetIndex index;
+    private boolean closed;
+    
+    private volatile int size;
+    private volatile long nextOffset;
+    private volatile long largestTimestamp = -1;
+    private volatile boolean timestampKnown;
+    private int bytesSinceLastIndexEntry;
+    
+    private LogSegment(Path dir, long baseOffset, LogConfig config, String suffix, boolean lazy) throws IOException {
+        this.logFile = dir.resolve(fileName(baseOffset, LOG_SUFFIX) + suffix);
+        this.indexFile = dir.resolve(fileName(baseOffset, INDEX_SUFFIX) + suffix);
+        this.baseOffset = baseOffset;
+        this.indexIntervalBytes = config.getIndexIntervalBytes();
+        this.maxIndexBytes = config.getMaxIndexBytes();
+        if (lazy) {
+            this.size = (int) Files.size(logFile);
+        } else {
+            openFiles();
+            this.size = (int) channel.size();
+        }
+        this.nextOffset = baseOffset;
+        this.timestampKnown = size == 0;
+    }
+    
+    /**
+     * Segment'i açar, yoksa oluşturur.
+     * @param dir Partition dizini
+     * @param baseOffset Segment'in ilk offset'i
+     * @param config Log yapılandırması
+     * @return Açılan segment
+     */
+    public static LogSegment open(Path dir, long baseOffset, LogConfig config) {
+        return open(dir, baseOffset, config, "", false);
+    }
+    
+    /**
+     * Diskteki bir segment'i dosyalarını açmadan yükler. Veri dosyası ve indeks, segment ilk kez
+     * okunduğunda açılır. Yalnızca değişmeyecek, aktif olmayan segment'ler için kullanılmalıdır.
+     * @param dir Partition dizini
+     * @param baseOffset Segment'in ilk offset'i
+     * @param config Log yapılandırması
+     * @return Yüklenen segment
+     */
+    public static LogSegment openLazy(Path dir, long baseOffset, LogConfig config) {
+        return open(dir, baseOffset, config, "", true);
+    }
+    
+    /**
+     * Sıkıştırılmış kopyası yazılacak boş bir segment oluşturur. Dosyalar {@link #CLEANED_SUFFIX}
+     * sonekiyle açılır; yeniden başlatmada yüklenmez, silinir.
+     * @param dir Partition dizini
+     * @param baseOffset Yerine geçeceği segment'in base offset'i
+     * @param config Log yapılandırması
+     * @return Açılan segment
+     */
+    public static LogSegment openCleaned(Path dir, long baseOffset, LogConfig config) {
+        try {
+            // Yarım kalmış önceki bir sıkıştırmadan kalan dosyalar kullanılmaz
+            Files.deleteIfExists(dir.resolve(fileName(baseOffset, LOG_SUFFIX) + CLEANED_SUFFIX));
+            Files.deleteIfExists(dir.resolve(fileName(baseOffset, INDEX_SUFFIX) + CLEANED_SUFFIX));
+        } catch (IOException e) {
+            throw new StorageException("Segment açılamadı: " + dir + "/" + baseOffset, e);
+        }
+        return open(dir, baseOffset, config, CLEANED_SUFFIX, false);
+    }
+    
+    private static LogSegment open(Path dir, long baseOffset, LogConfig config, String suffix, boolean lazy) {
+        try {
+            return new LogSegment(dir, baseOffset, config, suffix, lazy);
+        } catch (IOException e) {
+            throw new StorageException("Segment açılamadı: " + dir + "/" + baseOffset, e);
+        }
+    }
+    
+    /**
+     * Segment'in sonundaki yarım kalmış (eksik yazılmış) batch'leri keser ve sonraki offset'i bulur.
+     * Düzgün kapanıştan sonra dosya ve indeks diske zorlanmış olduğundan yalnızca son indeks
+     * girişinden sonraki batch başlıkları taranır. Aksi halde diske yazılmamış sayfalar bozuk
+     * olabileceğinden tüm batch'lerin CRC'si doğrulanır, indeks baştan oluşturulur ve ilk geçersiz
+     * batch'ten sonrası kesilir.
+     * @param cleanShutdown Log düzgün kapatıldıysa true
+     */
+    public void recover(boolean cleanShutdown) {
+        try {
+            int fileSize = (int) channel().size();
+            int position = cleanShutdown ? scanTail(fileSize) : validate(fileSize);
+            if (position < fileSize) {
+                logger.warn("Segment {} pozisyon {} sonrası kesiliyor ({} byte)",
+                    logFile, position, fileSize - position);
+                channel().truncate(position);
+                index().truncateToPosition(position);
+            }
+            this.size = position;
+        } catch (IOException e) {
+            throw new StorageException("Segment kurtarılamadı: " + logFile, e);
+        }
+    }
+    
+    /**
+     * Son indeks girişinden itibaren batch başlıklarını tarar.
+     * @return Son tam batch'in bittiği pozisyon
+     */
+    private int scanTail(int fileSize) throws IOException {
+        int position = index().lastPosition();
+        ByteBuffer header = ByteBuffer.allocate(RecordBatch.HEADER_SIZE);
+        long next = baseOffset;
+        bytesSinceLastIndexEntry = 0;
+        
+        while (position + RecordBatch.HEADER_SIZE <= fileSize) {
+            header.clear();
+            readFully(header, position);
+            int batchSize = RecordBatch.LOG_OVERHEAD + header.getInt(RecordBatch.LENGTH_OFFSET);
+            if (batchSize < RecordBatch.HEADER_SIZE || position + batchSize > fileSize) {
+                break;
+            }
+            next = header.getLong(RecordBatch.BASE_OFFSET_OFFSET)
+                + header.getInt(RecordBatch.LAST_OFFSET_DELTA_OFFSET) + 1;
+            position += batchSize;
+            bytesSinceLastIndexEntry += batchSize;
+        }
+        this.nextOffset = next;
+        return position;
+    }
+    
+    /**
+     * Tüm batch'leri baştan okuyup CRC'lerini doğrular ve indeksi yeniden oluşturur.
+     * @return Son geçerli batch'in bittiği pozisyon
+     */
+    private int validate(int fileSize) throws IOException {
+        OffsetIndex offsetIndex = index();
+        offsetIndex.truncateToPosition(0);
+        int position = 0;
+        ByteBuffer header = ByteBuffer.allocate(RecordBatch.HEADER_SIZE);
+        long next = baseOffset;
+        long largest = -1;
+        bytesSinceLastIndexEntry = 0;
+        
+        while (position + RecordBatch.HEADER_SIZE <= fileSize) {
+            header.clear();
+            readFully(header, position);
+            int batchSize = RecordBatch.LOG_OVERHEAD + header.getInt(RecordBatch.LENGTH_OFFSET);
+            long batchBase = header.getLong(RecordBatch.BASE_OFFSET_OFFSET);
+            if (batchSize < RecordBatch.HEADER_SIZE || position + batchSize > fileSize || batchBase < next) {
+                break;
+            }
+            boolean valid;
+            PooledBuffer pooled = BufferPool.shared().acquire(batchSize);
+            try {
+                ByteBuffer buffer = pooled.buffer();
+                readFully(buffer, position);
+                valid = new RecordBatch(buffer).isValid();
+            } finally {
+                pooled.release();
+            }
+            if (!valid) {
+                logger.warn("Segment {} pozisyon {}'da CRC doğrulanamadı", logFile, position);
+                break;
+            }
+            
+            if (bytesSinceLastIndexEntry >= indexIntervalBytes && position > 0) {
+                offsetIndex.append(batchBase, position);
+                bytesSinceLastIndexEntry = 0;
+            }
+            bytesSinceLastIndexEntry += batchSize;
+            next = batchBase + header.getInt(RecordBatch.LAST_OFFSET_DELTA_OFFSET) + 1;
+            largest = Math.max(largest, header.getLong(RecordBatch.MAX_TIMESTAMP_OFFSET));
+            position += batchSize;
+        }
+        this.nextOffset = next;
+        this.largestTimestamp = largest;
+        this.timestampKnown = true;
+        return position;
+    }
+    
+    /**
+     * Batch'i segment'in sonuna ekler.
+     * @param batch Base offset'i atanmış batch
+     * @param batchBaseOffset Batch'in base offset'i
+     * @param lastOffset Batch'teki son offset
+     */
+    public void append(ByteBuffer batch, long batchBaseOffset, long lastOffset) {
+        int batchSize = batch.remaining();
+        long batchTimestamp = batch.getLong(batch.position() + RecordBatch.MAX_TIMESTAMP_OFFSET);
+        int position = size;
+        try {
+            if (bytesSinceLastIndexEntry >= indexIntervalBytes && position > 0) {
+                index().append(batchBaseOffset, position);
+                bytesSinceLastIndexEntry = 0;
+            }
+            long writePosition = position;
+            while (batch.hasRemaining()) {
+                writePosition += channel().write(batch, writePosition);
+            }
+            bytesSinceLastIndexEntry += batchSize;
+            if (batchTimestamp > largestTimestamp) {
+                largestTimestamp = batchTimestamp;
+            }
+            this.nextOffset = lastOffset + 1;
+            this.size = position + batchSize;
+        } catch (IOException e) {
+            throw new StorageException("Segment'e yazılamadı: " + logFile, e);
+        }
+    }
+    
+    /**
+     * Verilen offset'ten itibaren kayıtları okur.
+     * @param fromOffset Başlangıç offset'i
+     * @param maxRecords En fazla okunacak kayıt sayısı
+     * @param maxOffset Bu offset ve sonrasındaki kayıtlar okunmaz
+     * @param out Okunan kayıtların ekleneceği liste
+     */
+    public void read(long fromOffset, int maxRecords, long maxOffset, List<LogRecord> out) {
+        int limit = size;
+        int position = index().lookup(fromOffset);
+        ByteBuffer header = ByteBuffer.allocate(RecordBatch.HEADER_SIZE);
+        
+        try {
+            while (out.size() < maxRecords && position + RecordBatch.HEADER_SIZE <= limit) {
+                header.clear();
+                readFully(header, position);
+                long batchBase = header.getLong(RecordBatch.BASE_OFFSET_OFFSET);
+                long batchLast = batchBase + header.getInt(RecordBatch.LAST_OFFSET_DELTA_OFFSET);
+                int batchSize = RecordBatch.LOG_OVERHEAD + header.getInt(RecordBatch.LENGTH_OFFSET);
+                
+                if (batchBase >= maxOffset) {
+                    break;
+                }
+                if (batchLast >= fromOffset) {
+                    // Kayıtlar batch'ten kopyalanarak çözüldüğünden buffer hemen havuza döner
+                    PooledBuffer pooled = BufferPool.shared().acquire(batchSize);
+                    try {
+                        ByteBuffer buffer = pooled.buffer();
+                        readFully(buffer, position);
+                        new RecordBatch(buffer).readRecords(fromOffset, maxRecords - out.size(), out);
+                    } finally {
+                        pooled.release();
+                    }
+                }
+                position += batchSize;
+            }
+        } catch (IOException e) {
+            throw new StorageException("Segment okunamadı: " + logFile, e);
+        }
+    }
+    
+    /**
+     * Segment'teki batch'leri sırayla ziyaret eder. Her batch havuzdan alınan bir buffer'a okunur
+     * ve ziyaretçi döndükten sonra havuza geri verilir; batch ziyaret dışında tutulmamalıdır.
+     * @param visitor Her batch için çağrılacak ziyaretçi
+     */
+    public void forEachBatch(Consumer<RecordBatch> visitor) {
+        int limit = size;
+        int position = 0;
+        ByteBuffer header = ByteBuffer.allocate(RecordBatch.HEADER_SIZE);
+        
+        try {
+            while (position + RecordBatch.HEADER_SIZE <= limit) {
+                header.clear();
+                readFully(header, position);
+                int batchSize = RecordBatch.LOG_OVERHEAD + header.getInt(RecordBatch.LENGTH_OFFSET);
+                PooledBuffer pooled = BufferPool.shared().acquire(batchSize);
+                try {
+                    ByteBuffer buffer = pooled.buffer();
+                    readFully(buffer, position);
+                    visitor.accept(new RecordBatch(buffer));
+                } finally {
+                    pooled.release();
+                }
+                position += batchSize;
+            }
+        } catch (IOException e) {
+            throw new StorageException("Segment okunamadı: " + logFile, e);
+        }
+    }
+    
+    /**
+     * Verilen offset'i içeren batch'ten başlayarak ardışık tam batch'leri kapsayan dosya bölümünü
+     * döndürür. Batch'ler çözülmez; ilk batch istenen offset'ten küçük kayıtlar içerebilir.
+     * Sınırlar aşılsa da en az bir batch döner.
+     * @param fromOffset Başlangıç offset'i
+     * @param maxRecords En fazla kayıt sayısı (yaklaşık, batch sınırına yuvarlanır)
+     * @param maxBytes En fazla byte sayısı
+     * @param maxOffset Bu offset ve sonrasında başlayan batch'ler dahil edilmez
+     * @return Dosya bölümü, segment'te uygun batch yoksa null
+     */
+    public FileRegion slice(long fromOffset, int maxRecords, int maxBytes, long maxOffset) {
+        int limit = size;
+        int position = index().lookup(fromOffset);
+        int start = -1;
+        int records = 0;
+        long next = fromOffset;
+        ByteBuffer header = ByteBuffer.allocate(RecordBatch.HEADER_SIZE);
+        
+        try {
+            while (position + RecordBatch.HEADER_SIZE <= limit) {
+                header.clear();
+                readFully(header, position);
+                long batchBase = header.getLong(RecordBatch.BASE_OFFSET_OFFSET);
+                long batchLast = batchBase + header.getInt(RecordBatch.LAST_OFFSET_DELTA_OFFSET);
+                int batchSize = RecordBatch.LOG_OVERHEAD + header.getInt(RecordBatch.LENGTH_OFFSET);
+                
+                if (batchBase >= maxOffset) {
+                    break;
+                }
+                if (batchLast >= fromOffset) {
+                    if (start >= 0 && (records >= maxRecords || position - start + batchSize > maxBytes)) {
+                        break;
+                    }
+                    if (start < 0) {
+                        start = position;
+                    }
+                    records += (int) (batchLast - Math.max(batchBase, fromOffset) + 1);
+                    next = batchLast + 1;
+                }
+                position += batchSize;
+            }
+        } catch (IOException e) {
+            throw new StorageException("Segment okunamadı: " + logFile, e);
+        }
+        return start < 0 ? null : new FileRegion(channel(), start, position - start, records, next);
+    }
+    
+    /**
+     * Segment'teki en yeni kaydın zaman damgasını döndürür. Diskten açılan segment'lerde değer
+     * ilk çağrıda batch başlıkları taranarak bulunur.
+     * @return Zaman damgası (milisaniye), segment boşsa -1
+     */
+    public long largestTimestamp() {
+        if (!timestampKnown) {
+            int limit = size;
+            int position = 0;
+            long largest = largestTimestamp;
+            ByteBuffer header = ByteBuffer.allocate(RecordBatch.HEADER_SIZE);
+            try {
+                while (position + RecordBatch.HEADER_SIZE <= limit) {
+                    header.clear();
+                    readFully(header, position);
+                    largest = Math.max(largest, header.getLong(RecordBatch.MAX_TIMESTAMP_OFFSET));
+                    position += RecordBatch.LOG_OVERHEAD + header.getInt(RecordBatch.LENGTH_OFFSET);
+                }
+            } catch (IOException e) {
+                throw new StorageException("Segment okunamadı: " + logFile, e);
+            }
+            if (largest > largestTimestamp) {
+                largestTimestamp = largest;
+            }
+            timestampKnown = true;
+        }
+        return largestTimestamp;
+    }
+    
+    /**
+     * Verilen boyuttaki batch'in bu segment'e sığıp sığmayacağını kontrol eder.
+     * @param batchSize Batch boyutu
+     * @param segmentBytes Maksimum segment boyutu
+     * @return Sığıyorsa true
+     */
+    public boolean canFit(int batchSize, int segmentBytes) {
+        return size == 0 || ((long) size + batchSize <= segmentBytes && !index().isFull());
+    }
+    
+    public void flush() {
+        try {
+            channel().force(false);
+            index().flush();
+        } catch (IOException e) {
+            throw new StorageException("Segment diske yazılamadı: " + logFile, e);
+        }
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (index != null) {
+            index.close();
+            channel.close();
+        }
+    }
+    
+    /**
+     * Segment dosyalarını {@link #DELETED_SUFFIX} sonekiyle yeniden adlandırır. Açık kanal ve
+     * indeks geçerli kalır; segment'i okumakta olanlar {@link #delete()} çağrılana kadar okuyabilir.
+     * Yeniden başlatmada bu dosyalar yüklenmez, silinir.
+     */
+    public void markDeleted() {
+        changeFileSuffix(DELETED_SUFFIX);
+    }
+    
+    /**
+     * Segment dosyalarını verilen sonekle yeniden adlandırır; boş sonek asıl dosya adlarını verir.
+     * Önce indeks, sonra veri dosyası taşınır. Böylece veri dosyasının yeni adla bulunması indeksin
+     * de taşındığını gösterir. Var olan hedef dosyaların yerine geçilir; açık kanal ve indeks geçerli kalır.
+     * @param suffix Yeni sonek
+     */
+    public synchronized void changeFileSuffix(String suffix) {
+        try {
+            Path newIndex = indexFile.resolveSibling(fileName(baseOffset, INDEX_SUFFIX) + suffix);
+            Path newLog = logFile.resolveSibling(fileName(baseOffset, LOG_SUFFIX) + suffix);
+            if (index != null) {
+                index.renameTo(newIndex);
+            } else if (Files.exists(indexFile)) {
+                Files.move(indexFile, newIndex, StandardCopyOption.REPLACE_EXISTING);
+            }
+            indexFile = newIndex;
+            Files.move(logFile, newLog, StandardCopyOption.REPLACE_EXISTING);
+            logFile = newLog;
+        } catch (IOException e) {
+            throw new StorageException("Segment dosyaları yeniden adlandırılamadı: " + logFile, e);
+        }
+    }
+    
+    /**
+     * Segment'i kapatır ve dosyalarını siler.
+     */
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(indexFile);
+    }
+    
+    public long getBaseOffset() {
+        return baseOffset;
+    }
+    
+    public long getNextOffset() {
+        return nextOffset;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public Path getLogFile() {
+        return logFile;
+    }
+    
+    /**
+     * Dosya adından base offset'i çözer.
+     * @param fileName Segment dosya adı
+     * @return Base offset
+     */
+    public static long parseBaseOffset(String fileName) {
+        return Long.parseLong(fileName.substring(0, fileName.indexOf('.')));
+    }
+    
+    private static String fileName(long baseOffset, String suffix) {
+        return String.format("%020d%s", baseOffset, suffix);
+    }
+    
+    private FileChannel channel() {
+        if (index == null) {
+            ensureOpen();
+        }
+        return channel;
+    }
+    
+    private OffsetIndex index() {
+        OffsetIndex current = index;
+        if (current == null) {
+            ensureOpen();
+            current = index;
+        }
+        return current;
+    }
+    
+    /**
+     * Tembel yüklenen segment'in dosyalarını açar. Kapatılmış segment yeniden açılmaz; dosyası
+     * silinmiş olabileceğinden yeniden oluşturulmamalıdır.
+     */
+    private synchronized void ensureOpen() {
+        if (index != null) {
+            return;
+        }
+        if (closed) {
+            throw new StorageException("Segment kapatıldı: " + logFile);
+        }
+        try {
+            openFiles();
+            logger.debug("Segment açıldı: {}", logFile);
+        } catch (IOException e) {
+            throw new StorageException("Segment açılamadı: " + logFile, e);
+        }
+    }
+    
+    /**
+     * Veri dosyasını ve indeksi açar. İndeks en son atanır; null olmaması iki dosyanın da açık olduğunu gösterir.
+     */
+    private void openFiles() throws IOException {
+        FileChannel opened = FileChannel.open(logFile,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            channel = opened;
+            index = new OffsetIndex(indexFile, baseOffset, maxIndexBytes);
+        } catch (RuntimeException e) {
+            opened.close();
+            throw e;
+        }
+    }
+    
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel().read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Beklenmeyen dosya sonu: " + logFile);
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,158 @@
+package com.quafka.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Segment için seyrek (sparse) offset indeksi.
+ * Her giriş, segment base offset'ine göre göreli offset ve dosya pozisyonundan oluşur.
+ * İndeks bellek eşlemeli (memory-mapped) bir dosyada tutulur; heap'te yalnızca meta veri kalır.
+ */
+public class OffsetIndex implements Closeable {
+    public static final int ENTRY_SIZE = 8;
+    
+    private volatile Path file;
+    private final long baseOffset;
+    private final int maxEntries;
+    private MappedByteBuffer mmap;
+    private volatile int entries;
+    
+    public OffsetIndex(Path file, long baseOffset, int maxIndexBytes) {
+        this.file = file;
+        this.baseOffset = baseOffset;
+        this.maxEntries = maxIndexBytes / ENTRY_SIZE;
+        
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long existingLength = raf.length();
+            int mappedLength = (int) Math.max(existingLength, (long) maxEntries * ENTRY_SIZE);
+            raf.setLength(mappedLength);
+            this.mmap = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, mappedLength);
+            this.entries = countValidEntries((int) (existingLength / ENTRY_SIZE));
+        } catch (IOException e) {
+            throw new StorageException("İndeks dosyası açılamadı: " + file, e);
+        }
+    }
+    
+    /**
+     * İndekse yeni bir giriş ekler. Offset'ler artan sırada eklenmelidir.
+     * @param offset Batch'in base offset'i
+     * @param position Batch'in segment içindeki pozisyonu
+     */
+    public void append(long offset, int position) {
+        int n = entries;
+        if (n >= maxEntries) {
+            throw new StorageException("İndeks dolu: " + file);
+        }
+        mmap.putInt(n * ENTRY_SIZE, (int) (offset - baseOffset));
+        mmap.putInt(n * ENTRY_SIZE + 4, position);
+        entries = n + 1;
+    }
+    
+    /**
+     * Verilen offset'ten küçük veya eşit en büyük girişin pozisyonunu döndürür.
+     * @param targetOffset Aranan offset
+     * @return Taramaya başlanacak dosya pozisyonu, uygun giriş yoksa 0
+     */
+    public int lookup(long targetOffset) {
+        int relative = (int) (targetOffset - baseOffset);
+        int low = 0;
+        int high = entries - 1;
+        int found = -1;
+        
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (relativeOffset(mid) <= relative) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 ? 0 : position(found);
+    }
+    
+    /**
+     * Son indeks girişinin pozisyonunu döndürür.
+     * @return Son giriş pozisyonu, giriş yoksa 0
+     */
+    public int lastPosition() {
+        int n = entries;
+        return n == 0 ? 0 : position(n - 1);
+    }
+    
+    /**
+     * Verilen pozisyon ve sonrasını gösteren girişleri siler.
+     * @param position Segment'in kesildiği pozisyon
+     */
+    public void truncateToPosition(int position) {
+        int n = entries;
+        while (n > 0 && position(n - 1) >= position) {
+            n--;
+        }
+        entries = n;
+    }
+    
+    public boolean isFull() {
+        return entries >= maxEntries;
+    }
+    
+    public int entries() {
+        return entries;
+    }
+    
+    public void flush() {
+        mmap.force();
+    }
+    
+    /**
+     * İndeks dosyasını yeniden adlandırır. Bellek eşlemesi geçerli kalır; kapatma yeni dosyaya uygulanır.
+     * @param target Yeni dosya yolu
+     */
+    public void renameTo(Path target) throws IOException {
+        Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        file = target;
+    }
+    
+    /**
+     * İndeks dosyasını geçerli giriş sayısına göre kısaltır ve kapatır.
+     */
+    @Override
+    public void close() throws IOException {
+        mmap.force();
+        mmap = null;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength((long) entries * ENTRY_SIZE);
+        }
+    }
+    
+    private int countValidEntries(int candidates) {
+        int n = 0;
+        int previousOffset = -1;
+        int previousPosition = 0;
+        while (n < candidates && n < maxEntries) {
+            int relative = relativeOffset(n);
+            int position = position(n);
+            if (position <= previousPosition || relative <= previousOffset) {
+                break;
+            }
+            previousOffset = relative;
+            previousPosition = position;
+            n++;
+        }
+        return n;
+    }
+    
+    private int relativeOffset(int entry) {
+        return mmap.getInt(entry * ENTRY_SIZE);
+    }
+    
+    private int position(int entry) {
+        return mmap.getInt(entry * ENTRY_SIZE + 4);
+    }
+}
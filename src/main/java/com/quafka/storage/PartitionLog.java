@@ -0,0 +1,622 @@
+package com.quafka.storage;
+
+import com.quafka.buffer.BufferPool;
+import com.quafka.buffer.PooledBuffer;
+import com.quafka.compression.CompressionType;
+import com.quafka.config.LogConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Bir partition'ın diskteki segment'lere bölünmüş, yalnızca sona eklenen log'u.
+ * Yazma işlemleri tek bir kilit altında sıralanır; okumalar kilitsiz olarak
+ * {@code FileChannel} üzerinden pozisyonel okuma ile yapılır.
+ */
+public class PartitionLog implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionLog.class);
+    
+    /** Log düzgün kapatıldığında partition dizinine yazılan işaret dosyası */
+    public static final String CLEAN_SHUTDOWN_FILE = ".clean-shutdown";
+    
+    private final Path dir;
+    private final LogConfig config;
+    private final ConcurrentNavigableMap<Long, LogSegment> segments;
+    private final Object appendLock = new Object();
+    
+    private volatile LogSegment activeSegment;
+    private volatile long logEndOffset;
+    private volatile long flushedOffset;
+    private volatile long unflushedBytes;
+    private volatile long cleanedOffset;
+    private volatile long compactedOffset;
+    
+    private PartitionLog(Path dir, LogConfig config) {
+        this.dir = dir;
+        this.config = config;
+        this.segments = new ConcurrentSkipListMap<>();
+    }
+    
+    /**
+     * Partition log'unu açar. Dizinde mevcut segment'ler varsa yüklenir ve son segment kurtarılır;
+     * yoksa boş bir log oluşturulur. Eski segment'lerin dosyaları ilk okunduklarında açılır.
+     * Log düzgün kapatılmadıysa son segment'in tüm batch'leri CRC ile doğrulanır.
+     * @param dir Partition dizini
+     * @param config Log yapılandırması
+     * @return Açılan log
+     */
+    public static PartitionLog open(Path dir, LogConfig config) {
+        PartitionLog log = new PartitionLog(dir, config);
+        log.load();
+        return log;
+    }
+    
+    private void load() {
+        try {
+            Files.createDirectories(dir);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(dir)) {
+                files = list.toList();
+            }
+            if (completeSwaps(files)) {
+                try (Stream<Path> list = Files.list(dir)) {
+                    files = list.toList();
+                }
+            }
+            List<Long> baseOffsets = files.stream()
+                .map(p -> p.getFileName().toString())
+                .filter(name -> name.endsWith(LogSegment.LOG_SUFFIX))
+                .map(LogSegment::parseBaseOffset)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+            
+            // İşaret hemen silinir; bundan sonraki bir çökme yeniden açılışta doğrulama gerektirir
+            boolean cleanShutdown = Files.deleteIfExists(dir.resolve(CLEAN_SHUTDOWN_FILE));
+            
+            for (int i = 0; i < baseOffsets.size() - 1; i++) {
+                long baseOffset = baseOffsets.get(i);
+                segments.put(baseOffset, LogSegment.openLazy(dir, baseOffset, config));
+            }
+            long activeBaseOffset = baseOffsets.isEmpty() ? 0L : baseOffsets.get(baseOffsets.size() - 1);
+            segments.put(activeBaseOffset, LogSegment.open(dir, activeBaseOffset, config));
+            
+            activeSegment = segments.lastEntry().getValue();
+            activeSegment.recover(cleanShutdown);
+            logEndOffset = activeSegment.getNextOffset();
+            flushedOffset = logEndOffset;
+            cleanedOffset = getLogStartOffset();
+            
+            logger.info("Log yüklendi: {} ({} segment, sonraki offset: {}{})",
+                dir, segments.size(), logEndOffset, cleanShutdown ? "" : ", düzgün kapatılmamış");
+        } catch (IOException e) {
+            throw new StorageException("Log yüklenemedi: " + dir, e);
+        }
+    }
+    
+    /**
+     * Kapanmadan önce tamamlanamayan segment işlemlerinin dosyalarını toparlar. Silinmek üzere
+     * işaretlenmiş ve yazımı yarım kalmış sıkıştırılmış segment dosyaları silinir. Yazımı tamamlanmış
+     * ({@code .log.swap} dosyası olan) sıkıştırılmış segment'ler eski segment'in yerine taşınır.
+     * @return Dosya taşındıysa true
+     */
+    private boolean completeSwaps(List<Path> files) throws IOException {
+        boolean swapped = false;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(LogSegment.DELETED_SUFFIX) || name.endsWith(LogSegment.CLEANED_SUFFIX)) {
+                Files.deleteIfExists(file);
+            } else if (name.endsWith(LogSegment.LOG_SUFFIX + LogSegment.SWAP_SUFFIX)) {
+                String logName = name.substring(0, name.length() - LogSegment.SWAP_SUFFIX.length());
+                String indexName = logName.substring(0, logName.length() - LogSegment.LOG_SUFFIX.length())
+                    + LogSegment.INDEX_SUFFIX;
+                Path indexSwap = dir.resolve(indexName + LogSegment.SWAP_SUFFIX);
+                if (Files.exists(indexSwap)) {
+                    Files.move(indexSwap, dir.resolve(indexName), StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.move(file, dir.resolve(logName), StandardCopyOption.REPLACE_EXISTING);
+                logger.info("Yarım kalan segment değişimi tamamlandı: {}", dir.resolve(logName));
+                swapped = true;
+            }
+        }
+        // Veri dosyası yer değiştirmeye hazır olmadan kalan indeks dosyaları kullanılmaz
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(LogSegment.INDEX_SUFFIX + LogSegment.SWAP_SUFFIX)) {
+                Files.deleteIfExists(file);
+            }
+        }
+        return swapped;
+    }
+    
+    /**
+     * Tek bir kaydı log'a ekler.
+     * @param record Eklenecek kayıt
+     * @return Kayda atanan offset
+     */
+    public long append(LogRecord record) {
+        return append(List.of(record));
+    }
+    
+    /**
+     * Kayıtları tek bir batch olarak log'a ekler.
+     * @param records Eklenecek kayıtlar
+     * @return Batch'teki ilk kayda atanan offset
+     */
+    public long append(List<LogRecord> records) {
+        return append(records, CompressionType.NONE);
+    }
+    
+    /**
+     * Kayıtları tek bir batch olarak, verilen türde sıkıştırarak log'a ekler.
+     * @param records Eklenecek kayıtlar
+     * @param compression Sıkıştırma türü; batch küçülmüyorsa sıkıştırılmadan yazılır
+     * @return Batch'teki ilk kayda atanan offset
+     */
+    public long append(List<LogRecord> records, CompressionType compression) {
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("Boş batch eklenemez");
+        }
+        // Batch havuzdan alınan direct buffer'a kodlanır; dosyaya ara kopya olmadan yazılır
+        PooledBuffer pooled = BufferPool.shared().acquire(RecordBatch.sizeInBytes(records));
+        try {
+            ByteBuffer batch = pooled.buffer();
+            RecordBatch.encode(records, batch);
+            batch.flip();
+            return append(RecordBatch.compress(batch, compression), records.size());
+        } finally {
+            pooled.release();
+        }
+    }
+    
+    /**
+     * Önceden kodlanmış bir batch'i olduğu gibi log'a ekler; sıkıştırılmış batch açılmaz.
+     * Batch'e base offset atanır, diğer alanlar ve CRC çağıran tarafından doğrulanmış olmalıdır.
+     * @param batch Konumundan sınırına kadar tek bir batch
+     * @return Batch'teki ilk kayda atanan offset
+     */
+    public long appendBatch(ByteBuffer batch) {
+        return append(batch, batch.getInt(batch.position() + RecordBatch.RECORD_COUNT_OFFSET));
+    }
+    
+    private long append(ByteBuffer batch, int recordCount) {
+        synchronized (appendLock) {
+            long baseOffset = logEndOffset;
+            long lastOffset = baseOffset + recordCount - 1;
+            RecordBatch.setBaseOffset(batch, baseOffset);
+            
+            int batchSize = batch.remaining();
+            LogSegment segment = activeSegment;
+            if (!segment.canFit(batchSize, config.getSegmentBytes())) {
+                segment = roll(baseOffset);
+            }
+            segment.append(batch, baseOffset, lastOffset);
+            unflushedBytes += batchSize;
+            logEndOffset = lastOffset + 1;
+            return baseOffset;
+        }
+    }
+    
+    /**
+     * Verilen offset'ten itibaren kayıtları okur. Log'un başlangıcından küçük
+     * offset'ler için ilk mevcut kayıttan okunur.
+     * @param fromOffset Başlangıç offset'i
+     * @param maxRecords En fazla okunacak kayıt sayısı
+     * @return Okunan kayıtlar, veri yoksa boş liste
+     */
+    public List<LogRecord> read(long fromOffset, int maxRecords) {
+        long endOffset = logEndOffset;
+        if (fromOffset >= endOffset || maxRecords <= 0) {
+            return List.of();
+        }
+        
+        Map.Entry<Long, LogSegment> floor = segments.floorEntry(fromOffset);
+        Long startKey = floor != null ? floor.getKey() : segments.firstKey();
+        List<LogRecord> records = new ArrayList<>(Math.min(maxRecords, 64));
+        
+        for (LogSegment segment : segments.tailMap(startKey, true).values()) {
+            segment.read(fromOffset, maxRecords, endOffset, records);
+            if (records.size() >= maxRecords) {
+                break;
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * Verilen offset'ten itibaren okunacak ham batch'leri tek bir segment içinden, dosya bölümü
+     * olarak döndürür. Kayıtlar belleğe okunmaz; bölüm doğrudan sokete aktarılabilir.
+     * @param fromOffset Başlangıç offset'i
+     * @param maxRecords En fazla kayıt sayısı (batch sınırına yuvarlanır)
+     * @param maxBytes En fazla byte sayısı
+     * @return Dosya bölümü, veri yoksa null
+     */
+    public FileRegion slice(long fromOffset, int maxRecords, int maxBytes) {
+        long endOffset = logEndOffset;
+        if (fromOffset >= endOffset || maxRecords <= 0) {
+            return null;
+        }
+        
+        Map.Entry<Long, LogSegment> floor = segments.floorEntry(fromOffset);
+        Long startKey = floor != null ? floor.getKey() : segments.firstKey();
+        for (LogSegment segment : segments.tailMap(startKey, true).values()) {
+            FileRegion region = segment.slice(fromOffset, maxRecords, maxBytes, endOffset);
+            if (region != null) {
+                return region;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Saklama süresini veya boyut sınırını aşan en eski segment'leri log'dan çıkarır. Aktif segment
+     * hiçbir zaman çıkarılmaz ve eklemeler beklemez. Çıkarılan segment'ler okunmakta olabileceğinden
+     * hemen kapatılmaz; dosyaları {@link LogSegment#markDeleted()} ile işaretlenir ve çağıran
+     * tarafından daha sonra silinir.
+     * @param retentionMs En yeni kaydı bu süreden eski segment'ler çıkarılır, -1 ise süre sınırı yok
+     * @param retentionBytes Log bu boyutun altına inene kadar en eski segment'ler çıkarılır, -1 ise sınır yok
+     * @param now Şimdiki zaman (milisaniye)
+     * @return Log'dan çıkarılan segment'ler
+     */
+    public List<LogSegment> removeExpiredSegments(long retentionMs, long retentionBytes, long now) {
+        List<LogSegment> removed = new ArrayList<>();
+        if (retentionMs < 0 && retentionBytes < 0) {
+            return removed;
+        }
+        long size = sizeInBytes();
+        for (LogSegment segment : segments.values()) {
+            // Yeni segment'ler yalnızca sona eklendiğinden aktif olmayan segment sonradan aktifleşmez
+            if (segment == activeSegment) {
+                break;
+            }
+            boolean expired = retentionMs >= 0 && now - segment.largestTimestamp() > retentionMs;
+            boolean oversized = retentionBytes >= 0 && size - segment.size() >= retentionBytes;
+            if (!expired && !oversized) {
+                break;
+            }
+            segments.remove(segment.getBaseOffset());
+            segment.markDeleted();
+            size -= segment.size();
+            removed.add(segment);
+        }
+        if (!removed.isEmpty()) {
+            logger.info("Saklama sınırı nedeniyle {} segment log'dan çıkarıldı: {} (başlangıç offset'i: {})",
+                removed.size(), dir, getLogStartOffset());
+        }
+        return removed;
+    }
+    
+    /**
+     * Aktif olmayan segment'leri, her anahtar için yalnızca en yeni kayıt kalacak şekilde yeniden yazar.
+     * Anahtarların en yeni offset'leri son sıkıştırmadan bu yana eklenen kayıtlardan (aktif segment
+     * dahil) çıkarılır; daha önce sıkıştırılmış kısım anahtar başına zaten tek kayıt içerdiğinden
+     * yeniden taranmaz. Her segment ayrı dosyalara yazılır ve tamamlandığında eskisinin yerine tek
+     * adımda geçer; okumalar ve eklemeler beklemez. Atılacak kaydı olmayan segment'ler yeniden yazılmaz.
+     * @param deleteRetentionMs Silme işaretlerinin (değeri null kayıtlar) tutulacağı süre (milisaniye)
+     * @param minCleanableDirtyRatio Sıkıştırmak için son sıkıştırmadan bu yana eklenen verinin
+     *                               aktif olmayan segment'lere oranının ulaşması gereken alt sınır
+     * @param now Şimdiki zaman (milisaniye)
+     * @return Yerine yenisi konan veya tamamen boşalıp log'dan çıkarılan, silinmek üzere işaretlenmiş segment'ler
+     */
+    public List<LogSegment> compact(long deleteRetentionMs, double minCleanableDirtyRatio, long now) {
+        List<LogSegment> replaced = new ArrayList<>();
+        LogSegment active = activeSegment;
+        List<LogSegment> cleanable = new ArrayList<>(segments.headMap(active.getBaseOffset()).values());
+        long dirtyFrom = cleanedOffset;
+        long totalBytes = 0;
+        long dirtyBytes = 0;
+        for (LogSegment segment : cleanable) {
+            totalBytes += segment.size();
+            if (segment.getBaseOffset() >= dirtyFrom) {
+                dirtyBytes += segment.size();
+            }
+        }
+        if (dirtyBytes == 0 || dirtyBytes < totalBytes * minCleanableDirtyRatio) {
+            return replaced;
+        }
+        
+        Map<ByteBuffer, Long> latestOffsets = buildOffsetMap(dirtyFrom);
+        long tombstoneDeadline = now - deleteRetentionMs;
+        // Segment'ler değiştirilmeye başlamadan önce ilan edilir; böylece bellekteki kopyalardan okuyanlar
+        // bu aralığı log'dan okumaya geçer ve atılan kayıtları görmez
+        compactedOffset = active.getBaseOffset();
+        long cleanedBytes = 0;
+        for (LogSegment segment : cleanable) {
+            LogSegment cleaned = clean(segment, latestOffsets, tombstoneDeadline);
+            if (cleaned != segment) {
+                replaced.add(segment);
+            }
+            if (cleaned != null) {
+                cleanedBytes += cleaned.size();
+            }
+        }
+        cleanedOffset = active.getBaseOffset();
+        
+        logger.info("Log sıkıştırıldı: {} ({} segment yeniden yazıldı, {} -> {} byte, {} anahtar)",
+            dir, replaced.size(), totalBytes, cleanedBytes, latestOffsets.size());
+        return replaced;
+    }
+    
+    /**
+     * Verilen offset'ten log sonuna kadar her anahtarın en yeni offset'ini bulur.
+     */
+    private Map<ByteBuffer, Long> buildOffsetMap(long fromOffset) {
+        Map<ByteBuffer, Long> latestOffsets = new HashMap<>();
+        Long startKey = segments.floorKey(fromOffset);
+        for (LogSegment segment : segments.tailMap(startKey != null ? startKey : segments.firstKey()).values()) {
+            segment.forEachBatch(batch -> batch.forEachRecord(fromOffset, (offset, timestamp, key, value) -> {
+                if (key != null) {
+                    latestOffsets.put(copyOf(key), offset);
+                }
+            }));
+        }
+        return latestOffsets;
+    }
+    
+    /**
+     * Segment'i atılmayan kayıtlarıyla yeniden yazar ve log'da eskisinin yerine koyar.
+     * @return Yeni segment; atılacak kayıt yoksa verilen segment, hiç kayıt kalmadıysa null
+     */
+    private LogSegment clean(LogSegment segment, Map<ByteBuffer, Long> latestOffsets, long tombstoneDeadline) {
+        int[] counts = new int[2];
+        segment.forEachBatch(batch -> batch.forEachRecord(Long.MIN_VALUE, (offset, timestamp, key, value) -> {
+            counts[retain(offset, timestamp, key, value, latestOffsets, tombstoneDeadline) ? 0 : 1]++;
+        }));
+        int retained = counts[0];
+        int obsolete = counts[1];
+        if (obsolete == 0) {
+            return segment;
+        }
+        
+        long baseOffset = segment.getBaseOffset();
+        if (retained == 0) {
+            segments.remove(baseOffset);
+            segment.markDeleted();
+            return null;
+        }
+        
+        LogSegment cleaned = LogSegment.openCleaned(dir, baseOffset, config);
+        try {
+            segment.forEachBatch(batch -> copyRetained(batch, cleaned, latestOffsets, tombstoneDeadline));
+            cleaned.flush();
+        } catch (RuntimeException e) {
+            try {
+                cleaned.delete();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        // Yarıda kesilirse yeniden başlatmada .swap dosyaları eski segment'in yerine taşınır
+        cleaned.changeFileSuffix(LogSegment.SWAP_SUFFIX);
+        segment.markDeleted();
+        cleaned.changeFileSuffix("");
+        segments.put(baseOffset, cleaned);
+        return cleaned;
+    }
+    
+    /**
+     * Batch'in atılmayan kayıtlarını hedef segment'e ekler. Hiç kayıt atılmıyorsa batch olduğu gibi,
+     * aksi halde kalan kayıtlar offset'leri ve sıkıştırma türü korunarak yeni bir batch olarak yazılır.
+     */
+    private static void copyRetained(RecordBatch batch, LogSegment target,
+                                     Map<ByteBuffer, Long> latestOffsets, long tombstoneDeadline) {
+        int[] retainedCount = new int[1];
+        batch.forEachRecord(Long.MIN_VALUE, (offset, timestamp, key, value) -> {
+            if (retain(offset, timestamp, key, value, latestOffsets, tombstoneDeadline)) {
+                retainedCount[0]++;
+            }
+        });
+        if (retainedCount[0] == 0) {
+            return;
+        }
+        if (retainedCount[0] == batch.recordCount()) {
+            target.append(batch.buffer(), batch.baseOffset(), batch.lastOffset());
+            return;
+        }
+        
+        List<LogRecord> retained = new ArrayList<>(retainedCount[0]);
+        batch.forEachRecord(Long.MIN_VALUE, (offset, timestamp, key, value) -> {
+            if (retain(offset, timestamp, key, value, latestOffsets, tombstoneDeadline)) {
+                retained.add(new LogRecord(offset, timestamp, toBytes(key), toBytes(value)));
+            }
+        });
+        PooledBuffer pooled = BufferPool.shared().acquire(RecordBatch.sizeInBytes(retained));
+        try {
+            ByteBuffer encoded = pooled.buffer();
+            RecordBatch.encodeWithOffsets(retained, encoded);
+            encoded.flip();
+            target.append(RecordBatch.compress(encoded, batch.compressionType()),
+                retained.get(0).getOffset(), retained.get(retained.size() - 1).getOffset());
+        } finally {
+            pooled.release();
+        }
+    }
+    
+    /**
+     * Kaydın sıkıştırmadan sonra kalıp kalmayacağını belirler. Anahtarsız kayıtlar her zaman kalır;
+     * aynı anahtarla daha yeni bir kayıt varsa kayıt atılır. Anahtarın en yeni kaydı bir silme
+     * işaretiyse, işaret yalnızca tutulma süresi dolana kadar kalır.
+     */
+    private static boolean retain(long offset, long timestamp, ByteBuffer key, ByteBuffer value,
+                                  Map<ByteBuffer, Long> latestOffsets, long tombstoneDeadline) {
+        if (key == null) {
+            return true;
+        }
+        Long latest = latestOffsets.get(key);
+        if (latest != null && latest > offset) {
+            return false;
+        }
+        return value != null || timestamp >= tombstoneDeadline;
+    }
+    
+    private static ByteBuffer copyOf(ByteBuffer buffer) {
+        return ByteBuffer.wrap(toBytes(buffer));
+    }
+    
+    private static byte[] toBytes(ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+    
+    /**
+     * Aktif segment'i kapatıp verilen offset'ten başlayan yeni bir segment oluşturur.
+     */
+    private LogSegment roll(long baseOffset) {
+        LogSegment previous = activeSegment;
+        previous.flush();
+        LogSegment segment = LogSegment.open(dir, baseOffset, config);
+        segments.put(baseOffset, segment);
+        activeSegment = segment;
+        logger.debug("Yeni segment oluşturuldu: {} (base offset: {})", dir, baseOffset);
+        return segment;
+    }
+    
+    /**
+     * Log'daki ilk mevcut offset'i döndürür.
+     * @return Başlangıç offset'i
+     */
+    public long getLogStartOffset() {
+        return segments.firstKey();
+    }
+    
+    /**
+     * Sıkıştırma ile yeniden yazılmış (veya yazılmakta olan) aralığın sonunu döndürür. Bu offset'ten küçük
+     * kayıtlar log'dan atılmış olabileceğinden log dışındaki kopyalardan sunulmamalıdır.
+     * @return Sıkıştırılan aralığın bitiş offset'i, log hiç sıkıştırılmadıysa 0
+     */
+    public long getCompactedOffset() {
+        return compactedOffset;
+    }
+    
+    /**
+     * Bir sonraki kayda atanacak offset'i döndürür.
+     * @return Log sonu offset'i
+     */
+    public long getLogEndOffset() {
+        return logEndOffset;
+    }
+    
+    /**
+     * Log'un diskte kapladığı toplam alanı döndürür.
+     * @return Toplam boyut (byte)
+     */
+    public long sizeInBytes() {
+        long total = 0;
+        for (LogSegment segment : segments.values()) {
+            total += segment.size();
+        }
+        return total;
+    }
+    
+    public int getSegmentCount() {
+        return segments.size();
+    }
+    
+    public Path getDir() {
+        return dir;
+    }
+    
+    /**
+     * Henüz diske zorlanmamış ilk offset'i döndürür; bundan küçük offset'ler kalıcıdır.
+     * @return Diske yazılmış log sonu
+     */
+    public long getFlushedOffset() {
+        return flushedOffset;
+    }
+    
+    /**
+     * Son diske zorlamadan bu yana eklenen byte sayısını döndürür.
+     * @return Byte sayısı
+     */
+    public long getUnflushedBytes() {
+        return unflushedBytes;
+    }
+    
+    /**
+     * Aktif segment'i diske zorlar. Önceki segment'ler kapatılırken zorlandığından çağrı
+     * anındaki log sonuna kadar tüm kayıtlar kalıcı hale gelir.
+     */
+    public void flush() {
+        long endOffset = logEndOffset;
+        long bytes = unflushedBytes;
+        activeSegment.flush();
+        synchronized (appendLock) {
+            unflushedBytes -= bytes;
+            if (endOffset > flushedOffset) {
+                flushedOffset = endOffset;
+            }
+        }
+    }
+    
+    /**
+     * Aktif segment'i diske zorlayıp tüm segment'leri kapatır ve düzgün kapanış işaretini yazar.
+     * İşaret sonraki açılışta son segment'in yeniden doğrulanmasını gereksiz kılar.
+     */
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            boolean clean = true;
+            try {
+                activeSegment.flush();
+            } catch (StorageException e) {
+                clean = false;
+                logger.warn("Segment kapatılırken diske zorlanamadı: {}", activeSegment.getLogFile(), e);
+            }
+            for (LogSegment segment : segments.values()) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    clean = false;
+                    logger.warn("Segment kapatılırken hata oluştu: {}", segment.getLogFile(), e);
+                }
+            }
+            if (clean) {
+                try {
+                    Files.createFile(dir.resolve(CLEAN_SHUTDOWN_FILE));
+                } catch (IOException e) {
+                    logger.warn("Düzgün kapanış işareti yazılamadı: {}", dir, e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Log'u kapatır ve tüm dosyalarını siler.
+     */
+    public void delete() {
+        synchronized (appendLock) {
+            try {
+                for (LogSegment segment : segments.values()) {
+                    segment.delete();
+                }
+                segments.clear();
+                // Saklama nedeniyle çıkarılıp henüz silinmemiş segment dosyaları da silinir
+                try (Stream<Path> files = Files.list(dir)) {
+                    for (Path file : files.toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                Files.deleteIfExists(dir);
+            } catch (IOException e) {
+                throw new StorageException("Log silinemedi: " + dir, e);
+            }
+        }
+    }
+}
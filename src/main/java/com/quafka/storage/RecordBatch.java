@@ -0,0 +1,403 @@
+package com.quafka.storage;
+
+import com.quafka.compression.CompressionCodec;
+import com.quafka.compression.CompressionType;
+import com.quafka.compression.impl.CodecFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Diskteki kayıt grubu (batch) formatını temsil eden sınıf.
+ *
+ * <pre>
+ * baseOffset      int64
+ * length          int32   (bu alandan sonraki byte sayısı)
+ * crc             int32   (attributes alanından sona kadar CRC32C)
+ * attributes      int8
+ * lastOffsetDelta int32
+ * maxTimestamp    int64
+ * recordCount     int32
+ * records         [offsetDelta int32, timestamp int64, keyLength int32, key, valueLength int32, value]
+ * </pre>
+ *
+ * <p>attributes alanının alt üç biti sıkıştırma türünü tutar. Sıkıştırılmış batch'te başlık
+ * aynı kalır, records bölümü {@code uncompressedLength int32} ve codec çıktısıyla değiştirilir.
+ * Batch sıkıştırılmış olarak saklanır ve iletilir; kayıtlar yalnızca okunurken açılır.</p>
+ */
+public class RecordBatch {
+    public static final int BASE_OFFSET_OFFSET = 0;
+    public static final int LENGTH_OFFSET = 8;
+    public static final int CRC_OFFSET = 12;
+    public static final int ATTRIBUTES_OFFSET = 16;
+    public static final int LAST_OFFSET_DELTA_OFFSET = 17;
+    public static final int MAX_TIMESTAMP_OFFSET = 21;
+    public static final int RECORD_COUNT_OFFSET = 29;
+    public static final int RECORDS_OFFSET = 33;
+    
+    /** baseOffset ve length alanlarının toplam boyutu */
+    public static final int LOG_OVERHEAD = 12;
+    public static final int HEADER_SIZE = RECORDS_OFFSET;
+    public static final int RECORD_OVERHEAD = 4 + 8 + 4 + 4;
+    /** attributes alanında sıkıştırma türünü tutan bitler */
+    public static final int COMPRESSION_MASK = 0x07;
+    
+    private final ByteBuffer buffer;
+    
+    /**
+     * @param buffer Batch'in başından sonuna kadar olan içerik (position 0)
+     */
+    public RecordBatch(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+    
+    /**
+     * Verilen kayıtları tek bir batch olarak kodlar. Base offset daha sonra
+     * {@link #setBaseOffset(ByteBuffer, long)} ile atanır.
+     * @param records Kodlanacak kayıtlar
+     * @return Yazmaya hazır buffer
+     */
+    public static ByteBuffer encode(List<LogRecord> records) {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeInBytes(records));
+        encode(records, buffer);
+        return buffer.flip();
+    }
+    
+    /**
+     * Verilen kayıtları tek bir batch olarak buffer'ın konumundan itibaren kodlar ve konumu
+     * batch'in sonuna ilerletir.
+     * @param records Kodlanacak kayıtlar
+     * @param target En az {@link #sizeInBytes(List)} byte boş alanı olan buffer
+     */
+    public static void encode(List<LogRecord> records, ByteBuffer target) {
+        encode(records, target, false);
+    }
+    
+    /**
+     * Offset'leri atanmış kayıtları, offset'lerini koruyarak tek bir batch olarak kodlar. Kayıtlar
+     * arasında boşluk olabilir; base offset ilk kaydın, son offset son kaydın offset'idir.
+     * Sıkıştırma (compaction) sonrası kalan kayıtları yeniden yazmak için kullanılır.
+     * @param records Artan offset sıralı, boş olmayan kayıtlar
+     * @param target En az {@link #sizeInBytes(List)} byte boş alanı olan buffer
+     */
+    public static void encodeWithOffsets(List<LogRecord> records, ByteBuffer target) {
+        encode(records, target, true);
+    }
+    
+    private static void encode(List<LogRecord> records, ByteBuffer target, boolean keepOffsets) {
+        int size = sizeInBytes(records);
+        long baseOffset = keepOffsets ? records.get(0).getOffset() : 0L;
+        int lastOffsetDelta = keepOffsets
+            ? (int) (records.get(records.size() - 1).getOffset() - baseOffset)
+            : records.size() - 1;
+        long maxTimestamp = -1;
+        for (LogRecord record : records) {
+            maxTimestamp = Math.max(maxTimestamp, record.getTimestamp());
+        }
+        
+        // Alan konumları batch başına göre olduğundan batch kendi görünümüne kodlanır
+        ByteBuffer buffer = target.slice(target.position(), size);
+        buffer.putLong(baseOffset);
+        buffer.putInt(size - LOG_OVERHEAD);
+        buffer.putInt(0);
+        buffer.put((byte) 0);
+        buffer.putInt(lastOffsetDelta);
+        buffer.putLong(maxTimestamp);
+        buffer.putInt(records.size());
+        
+        int delta = 0;
+        for (LogRecord record : records) {
+            buffer.putInt(keepOffsets ? (int) (record.getOffset() - baseOffset) : delta++);
+            buffer.putLong(record.getTimestamp());
+            writeBytes(buffer, record.getKey());
+            writeBytes(buffer, record.getValue());
+        }
+        
+        buffer.putInt(CRC_OFFSET, (int) computeCrc(buffer));
+        target.position(target.position() + size);
+    }
+    
+    /**
+     * Kayıtların tek bir batch olarak kodlanmış boyutunu döndürür.
+     * @param records Kayıtlar
+     * @return Batch boyutu (byte)
+     */
+    public static int sizeInBytes(List<LogRecord> records) {
+        int size = HEADER_SIZE;
+        for (LogRecord record : records) {
+            size += record.sizeInBytes();
+        }
+        return size;
+    }
+    
+    /**
+     * Sıkıştırılmamış batch'in kayıtlar bölümünü verilen codec ile sıkıştırır. Sıkıştırma batch'i
+     * küçültmüyorsa batch olduğu gibi döner.
+     * @param batch Konumundan itibaren kodlanmış, sıkıştırılmamış batch
+     * @param type Sıkıştırma türü
+     * @return Sıkıştırılmış batch ya da verilen batch
+     */
+    public static ByteBuffer compress(ByteBuffer batch, CompressionType type) {
+        ByteBuffer source = batch.slice();
+        int size = LOG_OVERHEAD + source.getInt(LENGTH_OFFSET);
+        if (type == CompressionType.NONE || (source.get(ATTRIBUTES_OFFSET) & COMPRESSION_MASK) != 0) {
+            return batch;
+        }
+        
+        CompressionCodec codec = CodecFactory.codecFor(type);
+        int recordsLength = size - RECORDS_OFFSET;
+        ByteBuffer compressed = ByteBuffer.allocate(RECORDS_OFFSET + 4 + codec.maxCompressedLength(recordsLength));
+        compressed.put(source.slice(0, RECORDS_OFFSET));
+        compressed.putInt(recordsLength);
+        codec.compress(source.slice(RECORDS_OFFSET, recordsLength), compressed);
+        
+        int compressedSize = compressed.position();
+        if (compressedSize >= size) {
+            return batch;
+        }
+        compressed.flip();
+        compressed.putInt(LENGTH_OFFSET, compressedSize - LOG_OVERHEAD);
+        byte attributes = compressed.get(ATTRIBUTES_OFFSET);
+        compressed.put(ATTRIBUTES_OFFSET, (byte) ((attributes & ~COMPRESSION_MASK) | type.id()));
+        compressed.putInt(CRC_OFFSET, (int) computeCrc(compressed));
+        return compressed;
+    }
+    
+    /**
+     * Kodlanmış batch'e base offset yazar. CRC bu alanı kapsamadığı için yeniden hesaplanmaz.
+     */
+    public static void setBaseOffset(ByteBuffer batch, long baseOffset) {
+        batch.putLong(batch.position() + BASE_OFFSET_OFFSET, baseOffset);
+    }
+    
+    public long baseOffset() {
+        return buffer.getLong(BASE_OFFSET_OFFSET);
+    }
+    
+    public long lastOffset() {
+        return baseOffset() + buffer.getInt(LAST_OFFSET_DELTA_OFFSET);
+    }
+    
+    public long maxTimestamp() {
+        return buffer.getLong(MAX_TIMESTAMP_OFFSET);
+    }
+    
+    public int recordCount() {
+        return buffer.getInt(RECORD_COUNT_OFFSET);
+    }
+    
+    public int sizeInBytes() {
+        return LOG_OVERHEAD + buffer.getInt(LENGTH_OFFSET);
+    }
+    
+    public CompressionType compressionType() {
+        return CompressionType.fromId(buffer.get(ATTRIBUTES_OFFSET) & COMPRESSION_MASK);
+    }
+    
+    /**
+     * Batch içeriğinin CRC değerinin doğru olup olmadığını kontrol eder.
+     * @return CRC eşleşiyorsa true
+     */
+    public boolean isValid() {
+        return sizeInBytes() >= HEADER_SIZE
+            && buffer.limit() >= sizeInBytes()
+            && buffer.getInt(CRC_OFFSET) == (int) computeCrc(buffer);
+    }
+    
+    /**
+     * Kayıtların başlıktaki kayıt sayısı ve batch boyutuyla tutarlı olduğunu, kayıtları kopyalamadan
+     * kontrol eder. Sıkıştırılmamış batch'te offset farklarının 0'dan başlayıp birer arttığı ve kayıtların
+     * records bölümünü tam olarak doldurduğu doğrulanır. Sıkıştırılmış batch'ler sunucuda açılmadığından
+     * yalnızca açılmış boyut alanı kontrol edilir.
+     * @return Kayıt düzeni geçerliyse true
+     * @throws com.quafka.compression.CompressionException Sıkıştırma türü tanınmıyorsa
+     */
+    public boolean hasValidRecords() {
+        int count = recordCount();
+        int end = sizeInBytes() - RECORDS_OFFSET;
+        if (compressionType() != CompressionType.NONE) {
+            return end >= 4 && buffer.getInt(RECORDS_OFFSET) >= (long) count * RECORD_OVERHEAD;
+        }
+        
+        ByteBuffer records = buffer.slice(RECORDS_OFFSET, end);
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            if (end - position < RECORD_OVERHEAD || records.getInt(position) != i) {
+                return false;
+            }
+            int keyLength = records.getInt(position + 12);
+            if (keyLength < -1 || keyLength > end - position - RECORD_OVERHEAD) {
+                return false;
+            }
+            position += 16 + Math.max(keyLength, 0);
+            
+            int valueLength = records.getInt(position);
+            if (valueLength < -1 || valueLength > end - position - 4) {
+                return false;
+            }
+            position += 4 + Math.max(valueLength, 0);
+        }
+        return position == end;
+    }
+    
+    /**
+     * Batch içindeki kayıtları çözer.
+     * @param fromOffset Bu offset'ten küçük kayıtlar atlanır
+     * @param maxRecords En fazla döndürülecek kayıt sayısı
+     * @param out Çözülen kayıtların ekleneceği liste
+     */
+    public void readRecords(long fromOffset, int maxRecords, List<LogRecord> out) {
+        long baseOffset = baseOffset();
+        int count = recordCount();
+        ByteBuffer records = recordsBuffer();
+        int position = 0;
+        
+        for (int i = 0; i < count && maxRecords > 0; i++) {
+            long offset = baseOffset + records.getInt(position);
+            long timestamp = records.getLong(position + 4);
+            position += 12;
+            
+            int keyLength = records.getInt(position);
+            position += 4;
+            byte[] key = readBytes(records, position, keyLength);
+            position += Math.max(keyLength, 0);
+            
+            int valueLength = records.getInt(position);
+            position += 4;
+            if (offset < fromOffset) {
+                position += Math.max(valueLength, 0);
+                continue;
+            }
+            byte[] value = readBytes(records, position, valueLength);
+            position += Math.max(valueLength, 0);
+            
+            out.add(new LogRecord(offset, timestamp, key, value));
+            maxRecords--;
+        }
+    }
+    
+    /**
+     * Batch içindeki kayıtları kopyalamadan ziyaret eder. Anahtar ve değer batch buffer'ının
+     * salt okunur görünümleridir; ziyaretçi bunları batch buffer'ı yaşadığı sürece tutabilir.
+     * Sıkıştırılmış batch'ler önce bir kez açılır ve görünümler açılan buffer'a ait olur.
+     * @param fromOffset Bu offset'ten küçük kayıtlar atlanır
+     * @param visitor Her kayıt için çağrılacak ziyaretçi
+     */
+    public void forEachRecord(long fromOffset, RecordVisitor visitor) {
+        long baseOffset = baseOffset();
+        int count = recordCount();
+        ByteBuffer records = recordsBuffer();
+        int position = 0;
+        
+        for (int i = 0; i < count; i++) {
+            long offset = baseOffset + records.getInt(position);
+            long timestamp = records.getLong(position + 4);
+            position += 12;
+            
+            int keyLength = records.getInt(position);
+            position += 4;
+            int keyPosition = position;
+            position += Math.max(keyLength, 0);
+            
+            int valueLength = records.getInt(position);
+            position += 4;
+            int valuePosition = position;
+            position += Math.max(valueLength, 0);
+            
+            if (offset >= fromOffset) {
+                visitor.accept(offset, timestamp,
+                    view(records, keyPosition, keyLength), view(records, valuePosition, valueLength));
+            }
+        }
+    }
+    
+    /**
+     * İlk kaydın anahtarını, diğer kayıtları çözmeden döndürür.
+     * @return İlk kaydın anahtarı; batch boşsa veya kayıt anahtarsızsa null
+     */
+    public byte[] firstKey() {
+        if (recordCount() <= 0) {
+            return null;
+        }
+        ByteBuffer records = recordsBuffer();
+        return readBytes(records, 16, records.getInt(12));
+    }
+    
+    /**
+     * Batch içindeki tüm kayıtları döndürür.
+     * @return Kayıt listesi
+     */
+    public List<LogRecord> records() {
+        List<LogRecord> records = new ArrayList<>(recordCount());
+        readRecords(Long.MIN_VALUE, Integer.MAX_VALUE, records);
+        return records;
+    }
+    
+    public ByteBuffer buffer() {
+        return buffer.duplicate();
+    }
+    
+    /**
+     * Kayıtlar bölümünü, ilk kayıt 0 konumunda olacak şekilde döndürür.
+     * Sıkıştırılmış batch'ler heap'te yeni bir buffer'a açılır.
+     */
+    private ByteBuffer recordsBuffer() {
+        int size = sizeInBytes();
+        CompressionType type = compressionType();
+        if (type == CompressionType.NONE) {
+            return buffer.slice(RECORDS_OFFSET, size - RECORDS_OFFSET);
+        }
+        int uncompressedLength = buffer.getInt(RECORDS_OFFSET);
+        if (uncompressedLength < 0) {
+            throw new StorageException("Geçersiz sıkıştırılmamış batch boyutu: " + uncompressedLength);
+        }
+        ByteBuffer records = ByteBuffer.allocate(uncompressedLength);
+        CodecFactory.codecFor(type).decompress(buffer.slice(RECORDS_OFFSET + 4, size - RECORDS_OFFSET - 4), records);
+        return records.flip();
+    }
+    
+    private static ByteBuffer view(ByteBuffer records, int position, int length) {
+        return length < 0 ? null : records.slice(position, length).asReadOnlyBuffer();
+    }
+    
+    private static byte[] readBytes(ByteBuffer records, int position, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        records.get(position, bytes);
+        return bytes;
+    }
+    
+    private static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+    
+    private static long computeCrc(ByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        int end = LOG_OVERHEAD + buffer.getInt(LENGTH_OFFSET);
+        crc.update(buffer.duplicate().position(ATTRIBUTES_OFFSET).limit(end));
+        return crc.getValue();
+    }
+    
+    /**
+     * {@link #forEachRecord(long, RecordVisitor)} ile kayıtları ziyaret eden arayüz.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        /**
+         * @param offset Kaydın offset'i
+         * @param timestamp Kaydın zaman damgası
+         * @param key Anahtar görünümü, anahtarsız kayıtlar için null
+         * @param value Değer görünümü, boş kayıtlar için null
+         */
+        void accept(long offset, long timestamp, ByteBuffer key, ByteBuffer value);
+    }
+}
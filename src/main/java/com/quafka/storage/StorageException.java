@@ -0,0 +1,14 @@
+package com.quafka.storage;
+
+/**
+ * Partition log okuma/yazma işlemleri sırasında oluşabilecek hataları temsil eden istisna sınıfı.
+ */
+public class StorageException extends RuntimeException {
+    public StorageException(String message) {
+        super(message);
+    }
+    
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
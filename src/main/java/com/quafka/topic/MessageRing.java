@@ -0,0 +1,130 @@
+package com.quafka.topic;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Partition'ın son mesajlarını offset ile adreslenebilir şekilde tutan halka (ring) yapısı.
+ * Mesajlar sabit boyutlu parçalarda (chunk) saklanır; bir offset'e erişim O(1)'dir.
+ * Tek bir yazar ve kilitsiz çok sayıda okuyucu için tasarlanmıştır; okumalar veriyi
+ * tüketmez, böylece farklı tüketiciler aynı partition'ı bağımsız olarak okuyabilir.
+ */
+public class MessageRing {
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    
+    private final AtomicReferenceArray<Chunk> chunks;
+    private final int chunkCount;
+    private volatile long startOffset;
+    private volatile long endOffset;
+    
+    /**
+     * @param capacity Bellekte tutulacak yaklaşık mesaj sayısı
+     * @param nextOffset Halkaya eklenecek ilk mesajın offset'i
+     */
+    public MessageRing(int capacity, long nextOffset) {
+        this.chunkCount = Math.max(1, (capacity + CHUNK_SIZE - 1) >> CHUNK_SHIFT);
+        this.chunks = new AtomicReferenceArray<>(chunkCount);
+        this.startOffset = nextOffset;
+        this.endOffset = nextOffset;
+    }
+    
+    /**
+     * Halkaya yeni bir mesaj ekler. Offset'ler ardışık olmalı ve tek bir yazar tarafından eklenmelidir.
+     * @param message Eklenecek mesaj
+     */
+    public void append(TopicPartition.MessageWithOffset message) {
+        long offset = message.getOffset();
+        if (offset != endOffset) {
+            // Ardışıklık bozulduysa halka yeni offset'ten başlatılır
+            reset(offset);
+        }
+        
+        long chunkBase = offset & ~CHUNK_MASK;
+        int slot = (int) ((offset >>> CHUNK_SHIFT) % chunkCount);
+        Chunk chunk = chunks.get(slot);
+        if (chunk == null || chunk.baseOffset != chunkBase) {
+            long oldestRetained = chunkBase - (long) (chunkCount - 1) * CHUNK_SIZE;
+            if (startOffset < oldestRetained) {
+                startOffset = oldestRetained;
+            }
+            chunk = new Chunk(chunkBase);
+            chunks.set(slot, chunk);
+        }
+        chunk.messages[(int) (offset & CHUNK_MASK)] = message;
+        endOffset = offset + 1;
+    }
+    
+    /**
+     * Verilen offset'teki mesajı döndürür.
+     * @param offset Mesaj offset'i
+     * @return Mesaj, halkada yoksa null
+     */
+    public TopicPartition.MessageWithOffset get(long offset) {
+        if (offset < startOffset || offset >= endOffset) {
+            return null;
+        }
+        Chunk chunk = chunks.get((int) ((offset >>> CHUNK_SHIFT) % chunkCount));
+        if (chunk == null || chunk.baseOffset != (offset & ~CHUNK_MASK)) {
+            return null;
+        }
+        return chunk.messages[(int) (offset & CHUNK_MASK)];
+    }
+    
+    /**
+     * Verilen offset'ten başlayan ardışık mesajları listeye ekler.
+     * @param fromOffset Başlangıç offset'i
+     * @param maxMessages En fazla eklenecek mesaj sayısı
+     * @param out Mesajların ekleneceği liste
+     * @return Eklenen mesaj sayısı
+     */
+    public int read(long fromOffset, int maxMessages, List<TopicPartition.MessageWithOffset> out) {
+        long end = endOffset;
+        int added = 0;
+        for (long offset = fromOffset; offset < end && added < maxMessages; offset++) {
+            TopicPartition.MessageWithOffset message = get(offset);
+            if (message == null) {
+                break;
+            }
+            out.add(message);
+            added++;
+        }
+        return added;
+    }
+    
+    /**
+     * Halkada tutulan en küçük offset'i döndürür.
+     * @return Başlangıç offset'i
+     */
+    public long getStartOffset() {
+        return startOffset;
+    }
+    
+    public long getEndOffset() {
+        return endOffset;
+    }
+    
+    /**
+     * Halkayı boşaltır ve verilen offset'ten başlatır. Halkaya alınmayan offset'ler
+     * atlandığında çağrılır; atlanan offset'ler log'dan okunur.
+     * @param nextOffset Halkaya eklenecek sonraki mesajın offset'i
+     */
+    public void reset(long nextOffset) {
+        for (int i = 0; i < chunkCount; i++) {
+            chunks.set(i, null);
+        }
+        startOffset = nextOffset;
+        endOffset = nextOffset;
+    }
+    
+    private static final class Chunk {
+        private final long baseOffset;
+        private final TopicPartition.MessageWithOffset[] messages;
+        
+        private Chunk(long baseOffset) {
+            this.baseOffset = baseOffset;
+            this.messages = new TopicPartition.MessageWithOffset[CHUNK_SIZE];
+        }
+    }
+}
@@ -1,31 +1,137 @@
 package com.quafka.topic;
 
+import com.quafka.config.LogConfig;
+import com.quafka.partitioner.Partitioner;
+import com.quafka.partitioner.PartitioningStrategy;
+import com.quafka.partitioner.impl.PartitionerFactory;
+import com.quafka.storage.LogCleaner;
+import com.quafka.storage.LogFlusher;
+import com.quafka.storage.LogRecord;
+import com.quafka.storage.RecordBatch;
+import com.quafka.storage.StorageException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 /**
  * Topic yönetimi için merkezi sınıf.
+ * Her topic'in partition listesi değiştirilemez bir kopya olarak tutulur; partition eklendiğinde
+ * liste kopyalanıp yenisiyle değiştirilir. Böylece yayıncılar ve okuyucular kilit almadan
+ * güncel listeyi görür. Topic oluşturma ve partition ekleme, partition dosyalarını harita dışında
+ * tek bir kilitle sırayla açar; aynı dizin iki kez açılmaz ve disk işlemi diğer topic'lere
+ * erişimi bloklamaz.
  */
-public class TopicManager {
+public class TopicManager implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(TopicManager.class);
-    private static final TopicManager INSTANCE = new TopicManager();
+    private static final int DEFAULT_PARTITION_COUNT = 3;
+    private static final int MAX_TOPIC_NAME_LENGTH = 249;
     
     private final Map<String, List<TopicPartition>> topics;
     private final int defaultPartitionCount;
+    private final LogConfig logConfig;
+    private final Partitioner partitioner;
+    private final LogFlusher flusher;
+    private final LogCleaner cleaner;
+    private final Object createLock = new Object();
     
-    private TopicManager() {
+    public TopicManager(LogConfig logConfig) {
+        this(logConfig, PartitionerFactory.create(PartitioningStrategy.STICKY), DEFAULT_PARTITION_COUNT);
+    }
+    
+    public TopicManager(LogConfig logConfig, Partitioner partitioner) {
+        this(logConfig, partitioner, DEFAULT_PARTITION_COUNT);
+    }
+    
+    /**
+     * @param logConfig Partition log yapılandırması
+     * @param partitioner Partition seçici
+     * @param defaultPartitionCount Partition sayısı belirtilmeden oluşturulan topic'lerin partition sayısı
+     */
+    public TopicManager(LogConfig logConfig, Partitioner partitioner, int defaultPartitionCount) {
+        if (defaultPartitionCount <= 0) {
+            throw new IllegalArgumentException("Geçersiz varsayılan partition sayısı: " + defaultPartitionCount);
+        }
         this.topics = new ConcurrentHashMap<>();
-        this.defaultPartitionCount = 3; // Varsayılan partition sayısı
+        this.defaultPartitionCount = defaultPartitionCount;
+        this.logConfig = logConfig;
+        this.partitioner = partitioner;
+        this.flusher = new LogFlusher(logConfig);
+        this.cleaner = new LogCleaner(logConfig);
+        loadTopics();
+    }
+    
+    /**
+     * Belirtilen partition sayısıyla yeni bir topic oluşturur.
+     * @param topic Topic adı
+     * @param partitionCount Partition sayısı
+     * @return Topic oluşturulduysa true, zaten varsa false
+     */
+    public boolean createTopic(String topic, int partitionCount) {
+        validateTopicName(topic);
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Geçersiz partition sayısı: " + partitionCount);
+        }
+        if (topics.containsKey(topic)) {
+            return false;
+        }
+        synchronized (createLock) {
+            if (topics.containsKey(topic)) {
+                return false;
+            }
+            newTopic(topic, partitionCount);
+            return true;
+        }
     }
     
-    public static TopicManager getInstance() {
-        return INSTANCE;
+    /**
+     * Çalışan bir topic'in partition sayısını artırır. Yeni liste hazırlanana kadar yayıncılar
+     * mevcut partition'larla devam eder; mevcut partition'ların verisi taşınmaz. Anahtar tabanlı
+     * stratejilerde bazı anahtarlar bu noktadan sonra farklı bir partition'a yazılır.
+     * @param topic Topic adı
+     * @param partitionCount Yeni toplam partition sayısı
+     * @return Güncel partition sayısı
+     */
+    public int addPartitions(String topic, int partitionCount) {
+        synchronized (createLock) {
+            while (true) {
+                List<TopicPartition> current = topics.get(topic);
+                if (current == null) {
+                    throw new IllegalArgumentException("Topic bulunamadı: " + topic);
+                }
+                if (partitionCount <= current.size()) {
+                    throw new IllegalArgumentException("Topic '" + topic + "' zaten " + current.size()
+                        + " partition'a sahip; yeni sayı daha büyük olmalı: " + partitionCount);
+                }
+                
+                List<TopicPartition> added = openPartitions(topic, current.size(), partitionCount);
+                List<TopicPartition> updated = new ArrayList<>(partitionCount);
+                updated.addAll(current);
+                updated.addAll(added);
+                if (topics.replace(topic, current, List.copyOf(updated))) {
+                    logger.info("Topic '{}' partition sayısı {} olarak güncellendi", topic, updated.size());
+                    return updated.size();
+                }
+                // Liste yalnızca topic silinerek değişebilir; açılan partition'lar artık hiçbir topic'e ait değil
+                discard(added);
+            }
+        }
     }
     
     /**
@@ -37,13 +143,114 @@ public class TopicManager {
     public PartitionOffset publish(String topic, String message) {
         List<TopicPartition> partitions = getOrCreatePartitions(topic);
         
-        int partitionId = ThreadLocalRandom.current().nextInt(partitions.size());
+        int partitionId = partitioner.partition(topic, null, partitions.size());
         TopicPartition partition = partitions.get(partitionId);
         
         long offset = partition.publish(message);
+        partitioner.onAppend(topic, partitionId, message.length());
+        return new PartitionOffset(partitionId, offset);
+    }
+    
+    /**
+     * Topic'e ham byte içerikli mesaj ekler.
+     * @param topic Topic adı
+     * @param value Mesaj içeriği
+     * @return Mesajın eklendiği partition ve offset bilgisi
+     */
+    public PartitionOffset publish(String topic, byte[] value) {
+        return publish(topic, null, value);
+    }
+    
+    /**
+     * Topic'e anahtarlı mesaj ekler. Partition, yapılandırılan {@link Partitioner} ile seçilir;
+     * aynı anahtarlı mesajlar anahtar tabanlı stratejilerde aynı partition'a yazılır.
+     * @param topic Topic adı
+     * @param key Mesaj anahtarı, anahtarsız mesajlar için null
+     * @param value Mesaj içeriği
+     * @return Mesajın eklendiği partition ve offset bilgisi
+     */
+    public PartitionOffset publish(String topic, byte[] key, byte[] value) {
+        List<TopicPartition> partitions = getOrCreatePartitions(topic);
+        
+        int partitionId = partitioner.partition(topic, key, partitions.size());
+        long offset = partitions.get(partitionId).publish(key, value);
+        partitioner.onAppend(topic, partitionId, value != null ? value.length : 0);
         return new PartitionOffset(partitionId, offset);
     }
     
+    /**
+     * Kayıtları tek bir partition işlemiyle topic'e ekler.
+     * @param topic Topic adı
+     * @param partitionId Partition ID, -1 ise partition ilk kaydın anahtarına göre seçilir
+     * @param records Eklenecek kayıtlar
+     * @return Batch'in eklendiği partition ve ilk kaydın offset'i
+     */
+    public PartitionOffset publishBatch(String topic, int partitionId, List<LogRecord> records) {
+        List<TopicPartition> partitions = getOrCreatePartitions(topic);
+        
+        if (partitionId < 0) {
+            partitionId = partitioner.partition(topic, records.get(0).getKey(), partitions.size());
+        } else if (partitionId >= partitions.size()) {
+            throw new IllegalArgumentException("Topic '" + topic + "' için geçersiz partition: " + partitionId);
+        }
+        
+        long baseOffset = partitions.get(partitionId).publish(records);
+        int bytes = 0;
+        for (LogRecord record : records) {
+            bytes += record.getValue() != null ? record.getValue().length : 0;
+        }
+        partitioner.onAppend(topic, partitionId, bytes);
+        return new PartitionOffset(partitionId, baseOffset);
+    }
+    
+    /**
+     * Üreticinin kodladığı (isteğe bağlı sıkıştırılmış) batch'i topic'e olduğu gibi ekler.
+     * @param topic Topic adı
+     * @param partitionId Partition ID, -1 ise partition batch'teki ilk kaydın anahtarına göre seçilir
+     * @param batch Konumundan sınırına kadar doğrulanmış tek bir batch
+     * @return Batch'in eklendiği partition ve ilk kaydın offset'i
+     */
+    public PartitionOffset publishBatch(String topic, int partitionId, ByteBuffer batch) {
+        List<TopicPartition> partitions = getOrCreatePartitions(topic);
+        
+        if (partitionId < 0) {
+            byte[] key = new RecordBatch(batch.slice()).firstKey();
+            partitionId = partitioner.partition(topic, key, partitions.size());
+        } else if (partitionId >= partitions.size()) {
+            throw new IllegalArgumentException("Topic '" + topic + "' için geçersiz partition: " + partitionId);
+        }
+        
+        int bytes = batch.remaining();
+        long baseOffset = partitions.get(partitionId).publish(batch);
+        partitioner.onAppend(topic, partitionId, bytes);
+        return new PartitionOffset(partitionId, baseOffset);
+    }
+    
+    /**
+     * Partition'da verilen offset'e kadar olan kayıtlar diske zorlandığında tamamlanan bir future
+     * döndürür. Eşzamanlı istekler grup halinde tek bir fsync ile karşılanır.
+     * @param topic Topic adı
+     * @param partitionId Partition ID
+     * @param offset Kalıcı olması beklenen son offset
+     * @return Kayıtlar kalıcı olduğunda tamamlanan future
+     */
+    public CompletableFuture<Void> awaitFlush(String topic, int partitionId, long offset) {
+        TopicPartition partition = getPartition(topic, partitionId);
+        if (partition == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                "Topic '" + topic + "' için geçersiz partition: " + partitionId));
+        }
+        return flusher.awaitFlush(partition.getLog(), offset);
+    }
+    
+    public LogFlusher getFlusher() {
+        return flusher;
+    }
+    
+    public LogCleaner getCleaner() {
+        return cleaner;
+    }
+    
     /**
      * Topic'ten mesaj alır.
      * @param topic Topic adı
@@ -59,11 +266,42 @@ public class TopicManager {
         }
         
         TopicPartition partition = partitions.get(partitionId);
-        return offset == -1 ? 
-            partition.poll() : 
+        return offset == -1 ?
+            partition.poll() :
             partition.poll(offset);
     }
     
+    /**
+     * Topic'ten verilen offset'ten başlayan ardışık mesajları alır. Mesajlar silinmez.
+     * @param topic Topic adı
+     * @param partitionId Partition ID
+     * @param offset Başlangıç offset'i
+     * @param maxMessages En fazla alınacak mesaj sayısı
+     * @return Alınan mesajlar, topic veya partition yoksa boş liste
+     */
+    public List<TopicPartition.MessageWithOffset> poll(String topic, int partitionId, long offset, int maxMessages) {
+        List<TopicPartition> partitions = topics.get(topic);
+        if (partitions == null || partitionId >= partitions.size()) {
+            logger.debug("Topic '{}' partition {} bulunamadı", topic, partitionId);
+            return List.of();
+        }
+        return partitions.get(partitionId).poll(offset, maxMessages);
+    }
+    
+    /**
+     * Topic partition'ını döndürür.
+     * @param topic Topic adı
+     * @param partitionId Partition ID
+     * @return Partition, topic veya partition yoksa null
+     */
+    public TopicPartition getPartition(String topic, int partitionId) {
+        List<TopicPartition> partitions = topics.get(topic);
+        if (partitions == null || partitionId < 0 || partitionId >= partitions.size()) {
+            return null;
+        }
+        return partitions.get(partitionId);
+    }
+    
     /**
      * Topic'in partition sayısını döndürür.
      * @param topic Topic adı
@@ -95,19 +333,225 @@ public class TopicManager {
      * @param topic Topic adı
      */
     public void deleteTopic(String topic) {
-        topics.remove(topic);
+        List<TopicPartition> partitions = topics.remove(topic);
+        if (partitions != null) {
+            for (TopicPartition partition : partitions) {
+                cleaner.unregister(partition.getLog());
+                partition.delete();
+            }
+        }
         logger.info("Topic '{}' silindi", topic);
     }
     
+    /**
+     * Tüm partition log'larını kapatır.
+     */
+    @Override
+    public void close() {
+        // Bekleyen kalıcılık istekleri log'lar kapanmadan önce zorlanır
+        flusher.close();
+        cleaner.close();
+        topics.values().forEach(partitions -> partitions.forEach(TopicPartition::close));
+        topics.clear();
+    }
+    
     private List<TopicPartition> getOrCreatePartitions(String topic) {
-        return topics.computeIfAbsent(topic, k -> {
-            List<TopicPartition> partitions = new ArrayList<>(defaultPartitionCount);
-            for (int i = 0; i < defaultPartitionCount; i++) {
-                partitions.add(new TopicPartition(topic, i));
-            }
-            logger.info("Topic '{}' için {} partition oluşturuldu", topic, defaultPartitionCount);
+        // Var olan topic'ler için kilit alınmaz; partition eklemesi sürerken de eski liste okunabilir
+        List<TopicPartition> partitions = topics.get(topic);
+        if (partitions != null) {
             return partitions;
+        }
+        validateTopicName(topic);
+        synchronized (createLock) {
+            partitions = topics.get(topic);
+            if (partitions != null) {
+                return partitions;
+            }
+            return newTopic(topic, defaultPartitionCount);
+        }
+    }
+    
+    /**
+     * Topic'in partition'larını açar ve topic'i yayınlar. Çağıran {@code createLock}'u tutmalıdır.
+     */
+    private List<TopicPartition> newTopic(String topic, int partitionCount) {
+        List<TopicPartition> partitions = List.copyOf(openPartitions(topic, 0, partitionCount));
+        topics.put(topic, partitions);
+        logger.info("Topic '{}' için {} partition oluşturuldu", topic, partitionCount);
+        return partitions;
+    }
+    
+    /**
+     * {@code from} ile {@code to} arasındaki partition'ları açar ve temizleyiciye kaydeder. Açılış yarıda
+     * kalırsa o ana kadar açılan partition'lar ve açılamayan partition'ın dizini silinir; diskte sahipsiz
+     * partition dizini kalmaz.
+     */
+    private List<TopicPartition> openPartitions(String topic, int from, int to) {
+        List<TopicPartition> opened = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Path directory = TopicPartition.directory(logConfig.getLogDir(), topic, i);
+            boolean existed = Files.exists(directory);
+            TopicPartition partition;
+            try {
+                partition = new TopicPartition(topic, i, logConfig);
+            } catch (RuntimeException e) {
+                if (!existed && Files.exists(directory)) {
+                    deleteDirectory(directory, e);
+                }
+                discard(opened);
+                throw e;
+            }
+            cleaner.register(partition.getLog(), logConfig.getCleanupPolicy(topic),
+                logConfig.getRetentionMs(topic), logConfig.getRetentionBytes(topic));
+            opened.add(partition);
+        }
+        return opened;
+    }
+    
+    /**
+     * Hiçbir topic listesine girmemiş partition'ları temizleyiciden çıkarır ve dosyalarıyla birlikte siler.
+     */
+    private void discard(List<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            cleaner.unregister(partition.getLog());
+            try {
+                partition.delete();
+            } catch (RuntimeException e) {
+                logger.warn("Kullanılmayan partition silinemedi: {}", partition.getLog().getDir(), e);
+            }
+        }
+    }
+    
+    private static void deleteDirectory(Path directory, Exception cause) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    cause.addSuppressed(e);
+                }
+            });
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+    
+    /**
+     * Log dizinindeki mevcut partition'ları yükler. Dizin adları {@code <topic>-<partition>} biçimindedir.
+     * Partition'lar {@code recoveryThreads} iş parçacığıyla paralel açılır.
+     */
+    private void loadTopics() {
+        Path logDir = logConfig.getLogDir();
+        Map<String, Integer> partitionCounts = new TreeMap<>();
+        try {
+            Files.createDirectories(logDir);
+            try (Stream<Path> dirs = Files.list(logDir)) {
+                dirs.filter(Files::isDirectory)
+                    .map(p -> p.getFileName().toString())
+                    .forEach(name -> {
+                        int separator = name.lastIndexOf('-');
+                        if (separator <= 0) {
+                            return;
+                        }
+                        if (!isValidTopicName(name.substring(0, separator))) {
+                            logger.warn("Log dizininde geçersiz topic adlı klasör atlandı: {}", name);
+                            return;
+                        }
+                        try {
+                            int partitionId = Integer.parseInt(name.substring(separator + 1));
+                            partitionCounts.merge(name.substring(0, separator), partitionId + 1, Math::max);
+                        } catch (NumberFormatException e) {
+                            logger.warn("Log dizininde tanınmayan klasör atlandı: {}", name);
+                        }
+                    });
+            }
+        } catch (IOException e) {
+            throw new StorageException("Log dizini okunamadı: " + logDir, e);
+        }
+        
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(logConfig.getRecoveryThreads(), 1), r -> {
+            Thread thread = new Thread(r, "quafka-log-recovery");
+            thread.setDaemon(true);
+            return thread;
         });
+        try {
+            Map<String, List<Future<TopicPartition>>> pending = new TreeMap<>();
+            partitionCounts.forEach((topic, count) -> {
+                List<Future<TopicPartition>> futures = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int partitionId = i;
+                    futures.add(executor.submit(() -> new TopicPartition(topic, partitionId, logConfig)));
+                }
+                pending.put(topic, futures);
+            });
+            
+            int partitionCount = 0;
+            for (Map.Entry<String, List<Future<TopicPartition>>> entry : pending.entrySet()) {
+                String topic = entry.getKey();
+                List<TopicPartition> partitions = new ArrayList<>(entry.getValue().size());
+                for (Future<TopicPartition> future : entry.getValue()) {
+                    TopicPartition partition = awaitPartition(future);
+                    cleaner.register(partition.getLog(), logConfig.getCleanupPolicy(topic),
+                        logConfig.getRetentionMs(topic), logConfig.getRetentionBytes(topic));
+                    partitions.add(partition);
+                }
+                topics.put(topic, List.copyOf(partitions));
+                partitionCount += partitions.size();
+                logger.debug("Topic '{}' diskten yüklendi ({} partition)", topic, partitions.size());
+            }
+            logger.info("{} topic ({} partition) diskten {} ms içinde yüklendi", pending.size(), partitionCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private static TopicPartition awaitPartition(Future<TopicPartition> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new StorageException("Partition yüklenemedi", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Partition yüklemesi kesildi", e);
+        }
+    }
+    
+    /**
+     * Topic adının partition dizin adı olarak güvenle kullanılıp kullanılamayacağını kontrol eder.
+     * Ad boş olmamalı, en fazla {@value #MAX_TOPIC_NAME_LENGTH} karakter olmalı, yalnızca harf, rakam,
+     * '.', '_' ve '-' içermeli ve "." ya da ".." olmamalıdır.
+     * @param topic Topic adı
+     * @return Ad geçerliyse true
+     */
+    public static boolean isValidTopicName(String topic) {
+        if (topic == null || topic.isEmpty() || topic.length() > MAX_TOPIC_NAME_LENGTH
+                || topic.equals(".") || topic.equals("..")) {
+            return false;
+        }
+        for (int i = 0; i < topic.length(); i++) {
+            char c = topic.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '_' || c == '-';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Yeni topic'lerin adını diske dokunulmadan önce doğrular; aksi halde istemciden gelen bir ad
+     * log dizininin dışına dosya yazdırabilir.
+     */
+    private static void validateTopicName(String topic) {
+        if (!isValidTopicName(topic)) {
+            throw new IllegalArgumentException("Geçersiz topic adı: " + topic);
+        }
     }
     
     /**
@@ -130,4 +574,4 @@ public class TopicManager {
             return offset;
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,28 +1,91 @@
 package com.quafka.topic;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.quafka.compression.CompressionType;
+import com.quafka.config.LogConfig;
+import com.quafka.metrics.Counter;
+import com.quafka.metrics.MetricsRegistry;
+import com.quafka.metrics.Tags;
+import com.quafka.monitoring.MessageTracer;
+import com.quafka.monitoring.TraceEvent;
+import com.quafka.storage.FileRegion;
+import com.quafka.storage.LogRecord;
+import com.quafka.storage.PartitionLog;
+import com.quafka.storage.RecordBatch;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Topic partition'ını temsil eden sınıf.
+ * Mesajlar diskteki segment'lere bölünmüş bir log'da saklanır; son mesajlar
+ * offset ile adreslenebilen bir bellek halkasında da tutulur. Saklama kurallarıyla silinen veya
+ * sıkıştırma ile atılan offset'ler halkada kalmış olsa da halkadan değil log'dan okunur.
  */
-public class TopicPartition {
-    private static final Logger logger = LoggerFactory.getLogger(TopicPartition.class);
+public class TopicPartition implements AutoCloseable {
+    private static final MessageTracer tracer = MessageTracer.shared();
     
     private final String topic;
     private final int partitionId;
-    private final BlockingQueue<String> messages;
-    private final AtomicLong offset;
+    private final PartitionLog log;
+    private final MessageRing ring;
+    private final CompressionType compression;
+    private final Object writeLock = new Object();
+    private final AtomicLong readOffset;
+    private final Queue<CompletableFuture<Void>> dataWaiters;
+    private final Tags tags;
+    private final Counter messagesIn;
+    private final Counter bytesIn;
+    private final Counter messagesOut;
+    private final Counter bytesOut;
     
     public TopicPartition(String topic, int partitionId) {
+        this(topic, partitionId, LogConfig.defaults());
+    }
+    
+    public TopicPartition(String topic, int partitionId, LogConfig logConfig) {
         this.topic = topic;
         this.partitionId = partitionId;
-        this.messages = new LinkedBlockingQueue<>();
-        this.offset = new AtomicLong(0);
+        this.log = PartitionLog.open(directory(logConfig.getLogDir(), topic, partitionId), logConfig);
+        this.ring = new MessageRing(logConfig.getCacheMessages(), log.getLogEndOffset());
+        this.compression = logConfig.getCompression(topic);
+        this.readOffset = new AtomicLong(log.getLogStartOffset());
+        this.dataWaiters = new ConcurrentLinkedQueue<>();
+        
+        // Sayaçlar bir kez alınır; yayınlama ve okuma yolunda yalnızca artırılır
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        this.tags = Tags.of("topic", topic, "partition", Integer.toString(partitionId));
+        this.messagesIn = registry.counter("quafka_partition_messages_in_total",
+            "Partition'a yazılan mesaj sayısı", tags);
+        this.bytesIn = registry.counter("quafka_partition_bytes_in_total",
+            "Partition'a yazılan byte sayısı", tags);
+        this.messagesOut = registry.counter("quafka_partition_messages_out_total",
+            "Partition'dan tüketicilere gönderilen mesaj sayısı", tags);
+        this.bytesOut = registry.counter("quafka_partition_bytes_out_total",
+            "Partition'dan tüketicilere gönderilen byte sayısı", tags);
+        registry.gauge("quafka_partition_log_end_offset", "Partition'a yazılacak sonraki offset",
+            tags, log::getLogEndOffset);
+        registry.gauge("quafka_partition_log_start_offset", "Partition'da okunabilecek en eski offset",
+            tags, log::getLogStartOffset);
+        registry.gauge("quafka_partition_size_bytes", "Partition log'unun diskteki boyutu",
+            tags, log::sizeInBytes);
+    }
+    
+    /**
+     * Partition dizininin yolunu döndürür.
+     * @param logDir Log kök dizini
+     * @param topic Topic adı
+     * @param partitionId Partition ID
+     * @return Partition dizini
+     */
+    public static Path directory(Path logDir, String topic, int partitionId) {
+        return logDir.resolve(topic + "-" + partitionId);
     }
     
     /**
@@ -31,39 +94,221 @@ public class TopicPartition {
      * @return Mesajın offset'i
      */
     public long publish(String message) {
-        messages.offer(message);
-        long currentOffset = offset.getAndIncrement();
-        logger.debug("Topic '{}' partition {} için yeni mesaj eklendi (offset: {}): {}", 
-            topic, partitionId, currentOffset, message);
+        return append(null, message.getBytes(StandardCharsets.UTF_8), message);
+    }
+    
+    /**
+     * Partition'a ham byte içerikli mesaj ekler; içerik metne dönüştürülmez.
+     * @param value Mesaj içeriği
+     * @return Mesajın offset'i
+     */
+    public long publish(byte[] value) {
+        return publish(null, value);
+    }
+    
+    /**
+     * Partition'a anahtarlı mesaj ekler.
+     * @param key Mesaj anahtarı, anahtarsız mesajlar için null
+     * @param value Mesaj içeriği
+     * @return Mesajın offset'i
+     */
+    public long publish(byte[] key, byte[] value) {
+        return append(key, value, null);
+    }
+    
+    /**
+     * Kayıtları tek bir log batch'i olarak, ardışık offset'lerle ekler.
+     * @param records Eklenecek kayıtlar
+     * @return İlk kaydın offset'i
+     */
+    public long publish(List<LogRecord> records) {
+        long baseOffset;
+        long bytes = 0;
+        synchronized (writeLock) {
+            baseOffset = log.append(records, compression);
+            for (int i = 0; i < records.size(); i++) {
+                LogRecord record = records.get(i);
+                ring.append(new MessageWithOffset(record.getKey(), record.getValue(), null, baseOffset + i));
+                bytes += record.getValue() != null ? record.getValue().length : 0;
+            }
+        }
+        messagesIn.increment(records.size());
+        bytesIn.increment(bytes);
+        notifyWaiters();
+        if (tracer.sample()) {
+            tracer.trace(TraceEvent.PUBLISH, topic, partitionId, baseOffset, records.size(), bytes);
+        }
+        return baseOffset;
+    }
+    
+    /**
+     * Üreticinin kodladığı batch'i ekler. Sıkıştırılmış batch açılmadan saklanır ve bellek
+     * halkasına alınmaz; halka log sonuna kaydırılır ve bu offset'ler log'dan okunur.
+     * Sıkıştırılmamış batch, topic için sıkıştırma tanımlıysa eklenmeden önce sıkıştırılır.
+     * @param batch Konumundan sınırına kadar doğrulanmış tek bir batch
+     * @return İlk kaydın offset'i
+     */
+    public long publish(ByteBuffer batch) {
+        RecordBatch view = new RecordBatch(batch.slice());
+        int batchBytes = batch.remaining();
+        List<LogRecord> records = null;
+        ByteBuffer stored = batch;
+        if (view.compressionType() == CompressionType.NONE) {
+            records = view.records();
+            stored = RecordBatch.compress(batch, compression);
+        }
+        
+        long baseOffset;
+        synchronized (writeLock) {
+            baseOffset = log.appendBatch(stored);
+            if (records != null) {
+                for (int i = 0; i < records.size(); i++) {
+                    LogRecord record = records.get(i);
+                    ring.append(new MessageWithOffset(record.getKey(), record.getValue(), null, baseOffset + i));
+                }
+            } else {
+                ring.reset(log.getLogEndOffset());
+            }
+        }
+        messagesIn.increment(view.recordCount());
+        bytesIn.increment(batchBytes);
+        notifyWaiters();
+        if (tracer.sample()) {
+            tracer.trace(TraceEvent.PUBLISH, topic, partitionId, baseOffset, view.recordCount(), batchBytes);
+        }
+        return baseOffset;
+    }
+    
+    private long append(byte[] key, byte[] value, String message) {
+        long currentOffset;
+        synchronized (writeLock) {
+            currentOffset = log.append(LogRecord.of(key, value));
+            ring.append(new MessageWithOffset(key, value, message, currentOffset));
+        }
+        messagesIn.increment();
+        bytesIn.increment(value.length);
+        notifyWaiters();
+        if (tracer.sample()) {
+            tracer.trace(TraceEvent.PUBLISH, topic, partitionId, currentOffset, 1, value.length);
+        }
         return currentOffset;
     }
     
     /**
-     * Partition'dan mesaj alır.
+     * Verilen offset'te veya sonrasında mesaj oluştuğunda tamamlanan bir future döndürür.
+     * Future her yeni eklemede tamamlanabilir; çağıran veriyi yeniden kontrol etmelidir.
+     * @param offset Beklenen offset
+     * @return Veri geldiğinde tamamlanan future
+     */
+    public CompletableFuture<Void> awaitData(long offset) {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        dataWaiters.add(waiter);
+        // Kayıttan önce gelen eklemenin bildirimi kaçırılmasın diye kayıttan sonra tekrar kontrol edilir
+        if (log.getLogEndOffset() > offset) {
+            dataWaiters.remove(waiter);
+            waiter.complete(null);
+        }
+        return waiter;
+    }
+    
+    /**
+     * Artık beklenmeyen (ör. zaman aşımına uğramış) bekleyiciyi kaldırır.
+     * @param waiter {@link #awaitData(long)} ile alınan future
+     */
+    public void removeWaiter(CompletableFuture<Void> waiter) {
+        dataWaiters.remove(waiter);
+    }
+    
+    private void notifyWaiters() {
+        CompletableFuture<Void> waiter;
+        while ((waiter = dataWaiters.poll()) != null) {
+            waiter.complete(null);
+        }
+    }
+    
+    /**
+     * Partition'dan sıradaki mesajı alır ve okuma konumunu ilerletir.
      * @return Alınan mesaj ve offset'i, mesaj yoksa null
      */
     public MessageWithOffset poll() {
-        String message = messages.poll();
-        if (message != null) {
-            logger.debug("Topic '{}' partition {} için mesaj alındı: {}", 
-                topic, partitionId, message);
-            return new MessageWithOffset(message, offset.get() - 1);
+        while (true) {
+            long current = readOffset.get();
+            MessageWithOffset message = poll(current);
+            if (message == null) {
+                return null;
+            }
+            if (readOffset.compareAndSet(current, message.getOffset() + 1)) {
+                if (tracer.sample()) {
+                    tracer.trace(TraceEvent.FETCH, topic, partitionId, message.getOffset(), 1,
+                        message.getValue() != null ? message.getValue().length : 0);
+                }
+                return message;
+            }
         }
-        return null;
     }
     
     /**
-     * Belirli bir offset'ten sonraki mesajı alır.
+     * Belirli bir offset'teki (veya sonraki ilk mevcut) mesajı alır.
      * @param fromOffset Başlangıç offset'i
      * @return Alınan mesaj ve offset'i, mesaj yoksa null
      */
     public MessageWithOffset poll(long fromOffset) {
-        // Basit implementasyon: Sadece son mesajı döndür
-        if (fromOffset < offset.get() - 1) {
-            String message = messages.peek();
-            return new MessageWithOffset(message, offset.get() - 1);
+        // Saklama nedeniyle silinmiş veya sıkıştırmada atılmış kayıtlar bellekte kalmış olsa da döndürülmez
+        long offset = Math.max(fromOffset, log.getLogStartOffset());
+        MessageWithOffset cached = offset >= log.getCompactedOffset() ? ring.get(offset) : null;
+        if (cached != null) {
+            return cached;
         }
-        return null;
+        List<MessageWithOffset> messages = poll(fromOffset, 1);
+        return messages.isEmpty() ? null : messages.get(0);
+    }
+    
+    /**
+     * Verilen offset'ten başlayan ardışık mesajları alır. Mesajlar partition'dan
+     * silinmez; son mesajlar bellekten, daha eskileri log'dan okunur.
+     * @param fromOffset Başlangıç offset'i
+     * @param maxMessages En fazla alınacak mesaj sayısı
+     * @return Alınan mesajlar, mesaj yoksa boş liste
+     */
+    public List<MessageWithOffset> poll(long fromOffset, int maxMessages) {
+        List<MessageWithOffset> messages = new ArrayList<>(Math.min(maxMessages, 64));
+        long offset = Math.max(fromOffset, log.getLogStartOffset());
+        long ringStart = Math.max(ring.getStartOffset(), log.getCompactedOffset());
+        
+        if (offset < ringStart) {
+            int limit = (int) Math.min(maxMessages, ringStart - offset);
+            for (LogRecord record : log.read(offset, Math.max(limit, 1))) {
+                messages.add(new MessageWithOffset(record.getKey(), record.getValue(), null, record.getOffset()));
+                offset = record.getOffset() + 1;
+            }
+        }
+        if (messages.size() < maxMessages && offset >= ringStart) {
+            ring.read(offset, maxMessages - messages.size(), messages);
+        }
+        return messages;
+    }
+    
+    /**
+     * Verilen offset'ten başlayan ham batch'leri diskteki segment'ten dosya bölümü olarak döndürür.
+     * Bellek halkası kullanılmaz; içerik sokete sıfır kopya ile aktarılmak içindir.
+     * @param fromOffset Başlangıç offset'i
+     * @param maxRecords En fazla kayıt sayısı (batch sınırına yuvarlanır)
+     * @param maxBytes En fazla byte sayısı
+     * @return Dosya bölümü, veri yoksa null
+     */
+    public FileRegion slice(long fromOffset, int maxRecords, int maxBytes) {
+        return log.slice(fromOffset, maxRecords, maxBytes);
+    }
+    
+    /**
+     * Tüketiciye gönderilen kayıtları partition metriklerine ekler. Bekletilen okumalar aynı kayıtları
+     * birden çok kez okuyabildiğinden sayım okuma sırasında değil, yanıt gönderilirken yapılır.
+     * @param messages Gönderilen kayıt sayısı
+     * @param bytes Gönderilen byte sayısı
+     */
+    public void recordFetched(int messages, long bytes) {
+        messagesOut.increment(messages);
+        bytesOut.increment(bytes);
     }
     
     /**
@@ -71,7 +316,16 @@ public class TopicPartition {
      * @return Mesaj sayısı
      */
     public int getMessageCount() {
-        return messages.size();
+        return (int) Math.min(Integer.MAX_VALUE, log.getLogEndOffset() - log.getLogStartOffset());
+    }
+    
+    /**
+     * Partition'da okunabilecek en eski offset'i döndürür. Saklama kuralları eski segment'leri
+     * sildikçe ilerler.
+     * @return Başlangıç offset'i
+     */
+    public long getLogStartOffset() {
+        return log.getLogStartOffset();
     }
     
     /**
@@ -79,7 +333,7 @@ public class TopicPartition {
      * @return Son offset
      */
     public long getLastOffset() {
-        return offset.get() - 1;
+        return log.getLogEndOffset() - 1;
     }
     
     public String getTopic() {
@@ -90,24 +344,76 @@ public class TopicPartition {
         return partitionId;
     }
     
+    public PartitionLog getLog() {
+        return log;
+    }
+    
+    @Override
+    public void close() {
+        MetricsRegistry.getDefault().removeAll(tags);
+        log.close();
+    }
+    
+    /**
+     * Partition'ı kapatır ve diskteki verisini siler.
+     */
+    public void delete() {
+        MetricsRegistry.getDefault().removeAll(tags);
+        log.delete();
+    }
+    
     /**
      * Mesaj ve offset bilgisini tutan iç sınıf.
+     * İçerik byte olarak saklanır; metin gösterimi yalnızca istendiğinde üretilir.
      */
     public static class MessageWithOffset {
-        private final String message;
+        private final byte[] key;
+        private final byte[] value;
+        private String message;
         private final long offset;
         
         public MessageWithOffset(String message, long offset) {
+            this(null, message.getBytes(StandardCharsets.UTF_8), message, offset);
+        }
+        
+        public MessageWithOffset(byte[] value, long offset) {
+            this(null, value, null, offset);
+        }
+        
+        private MessageWithOffset(byte[] key, byte[] value, String message, long offset) {
+            this.key = key;
+            this.value = value;
             this.message = message;
             this.offset = offset;
         }
         
         public String getMessage() {
-            return message;
+            String decoded = message;
+            if (decoded == null && value != null) {
+                decoded = new String(value, StandardCharsets.UTF_8);
+                message = decoded;
+            }
+            return decoded;
+        }
+        
+        /**
+         * Mesajın anahtarını döndürür.
+         * @return Mesaj anahtarı, anahtarsız mesajlar için null
+         */
+        public byte[] getKey() {
+            return key;
+        }
+        
+        /**
+         * Mesajın ham içeriğini döndürür. Dönen dizi paylaşılır ve değiştirilmemelidir.
+         * @return Mesaj içeriği
+         */
+        public byte[] getValue() {
+            return value;
         }
         
         public long getOffset() {
             return offset;
         }
     }
-} 
\ No newline at end of file
+}
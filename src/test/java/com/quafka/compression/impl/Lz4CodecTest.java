@@ -0,0 +1,227 @@
+package com.quafka.compression.impl;
+
+import com.quafka.compression.CompressionException;
+import com.quafka.compression.CompressionType;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link Lz4Codec} için gidiş-dönüş, uzunluk kodlaması sınırları ve kesik veya bozuk girdi testleri.
+ */
+public class Lz4CodecTest {
+    private final Lz4Codec codec = new Lz4Codec();
+    
+    @Test
+    public void typeIsLz4() {
+        assertEquals(CompressionType.LZ4, codec.type());
+        assertTrue(CodecFactory.codecFor(CompressionType.LZ4) instanceof Lz4Codec);
+    }
+    
+    @Test
+    public void roundTripsShortInputs() {
+        Random random = new Random(1);
+        // Eşleşme arama sınırının altındaki ve çevresindeki uzunluklar
+        for (int length = 0; length <= 64; length++) {
+            assertRoundTrip(randomBytes(random, length));
+            assertRoundTrip(repeated(length, 3));
+        }
+    }
+    
+    @Test
+    public void roundTripsIncompressibleData() {
+        Random random = new Random(2);
+        for (int length : new int[] {100, 4096, 70000, 300000}) {
+            byte[] data = randomBytes(random, length);
+            byte[] compressed = assertRoundTrip(data);
+            assertTrue(compressed.length <= codec.maxCompressedLength(length));
+        }
+    }
+    
+    @Test
+    public void roundTripsRepetitiveData() {
+        // Uzun eşleşmeler ve örtüşen kopyalar 255'ten büyük uzunluk kodlamasını kullanır
+        for (int period : new int[] {1, 2, 3, 7, 64}) {
+            byte[] data = repeated(100000, period);
+            byte[] compressed = assertRoundTrip(data);
+            assertTrue("period " + period, compressed.length < data.length / 50);
+        }
+    }
+    
+    @Test
+    public void roundTripsTextAndMixedData() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("{\"user\":").append(i).append(",\"event\":\"click\",\"page\":\"/home\"}\n");
+        }
+        byte[] json = text.toString().getBytes(StandardCharsets.UTF_8);
+        assertTrue(assertRoundTrip(json).length < json.length / 3);
+        
+        // Literal ve eşleşme uzunlukları 15 ve 15 + 255 sınırlarının çevresinde
+        Random random = new Random(3);
+        for (int literals : new int[] {14, 15, 16, 269, 270, 271, 1000}) {
+            for (int match : new int[] {4, 18, 19, 20, 273, 274, 275, 1000}) {
+                byte[] block = randomBytes(random, literals);
+                byte[] data = new byte[literals + match + literals];
+                System.arraycopy(block, 0, data, 0, literals);
+                for (int i = literals; i < literals + match; i++) {
+                    data[i] = data[i - literals];
+                }
+                System.arraycopy(randomBytes(random, literals), 0, data, literals + match, literals);
+                assertRoundTrip(data);
+            }
+        }
+    }
+    
+    @Test
+    public void roundTripsMatchesAtMaximumDistance() {
+        Random random = new Random(4);
+        byte[] head = randomBytes(random, 64);
+        for (int gap : new int[] {65535 - 64, 65535 - 63, 65535}) {
+            byte[] data = new byte[64 + gap + 64];
+            System.arraycopy(head, 0, data, 0, 64);
+            System.arraycopy(randomBytes(random, gap), 0, data, 64, gap);
+            System.arraycopy(head, 0, data, 64 + gap, 64);
+            assertRoundTrip(data);
+        }
+    }
+    
+    @Test
+    public void handlesBufferPositionsAndDirectBuffers() {
+        byte[] data = repeated(5000, 13);
+        for (boolean direct : new boolean[] {false, true}) {
+            ByteBuffer src = allocate(direct, data.length + 7);
+            src.position(7);
+            src.put(data).position(7);
+            // Dizi kaydırması olan bir dilim de desteklenir
+            ByteBuffer dst = allocate(direct, codec.maxCompressedLength(data.length) + 10).position(3).slice();
+            dst.position(2);
+            
+            int written = codec.compress(src, dst);
+            assertEquals(src.limit(), src.position());
+            assertEquals(2 + written, dst.position());
+            
+            dst.flip().position(2);
+            ByteBuffer out = allocate(direct, data.length + 5).position(5).slice();
+            codec.decompress(dst, out);
+            assertEquals(dst.limit(), dst.position());
+            assertEquals(out.limit(), out.position());
+            
+            byte[] result = new byte[data.length];
+            out.flip().get(result);
+            assertArrayEquals(data, result);
+        }
+    }
+    
+    @Test(expected = CompressionException.class)
+    public void compressRejectsSmallDestination() {
+        byte[] data = new byte[1000];
+        codec.compress(ByteBuffer.wrap(data), ByteBuffer.allocate(codec.maxCompressedLength(data.length) - 1));
+    }
+    
+    @Test
+    public void rejectsTruncatedInput() {
+        Random random = new Random(5);
+        byte[] data = new byte[3000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (random.nextInt(4) == 0 ? random.nextInt() : i % 11);
+        }
+        byte[] compressed = compress(data);
+        for (int length = 0; length < compressed.length; length++) {
+            assertCorrupt(Arrays.copyOf(compressed, length), data.length);
+        }
+    }
+    
+    @Test
+    public void rejectsWrongUncompressedLength() {
+        byte[] data = repeated(1000, 5);
+        byte[] compressed = compress(data);
+        assertCorrupt(compressed, data.length - 1);
+        assertCorrupt(compressed, data.length + 1);
+        assertCorrupt(compressed, 0);
+        assertCorrupt(new byte[0], 1);
+    }
+    
+    @Test
+    public void rejectsMalformedSequences() {
+        // Literal uzunluğu girdinin sonunu aşıyor
+        assertCorrupt(new byte[] {(byte) 0x50, 1, 2}, 5);
+        // Uzatılmış literal uzunluğu yarıda kesilmiş
+        assertCorrupt(new byte[] {(byte) 0xF0, (byte) 255}, 300);
+        // Eşleşme uzaklığı sıfır
+        assertCorrupt(new byte[] {(byte) 0x10, 'a', 0, 0, 0x00}, 5);
+        // Eşleşme çıktının başından öteye uzanıyor
+        assertCorrupt(new byte[] {(byte) 0x10, 'a', 2, 0, 0x00}, 5);
+        // Eşleşme uzaklığı yarıda kesilmiş
+        assertCorrupt(new byte[] {(byte) 0x10, 'a', 1}, 5);
+        // Eşleşme çıktı uzunluğunu aşıyor
+        assertCorrupt(new byte[] {(byte) 0x1F, 'a', 1, 0, (byte) 200, 0x00}, 10);
+    }
+    
+    @Test
+    public void corruptedInputFailsOnlyWithCompressionException() {
+        Random random = new Random(6);
+        byte[] data = repeated(2000, 9);
+        byte[] compressed = compress(data);
+        for (int i = 0; i < 5000; i++) {
+            byte[] damaged = compressed.clone();
+            for (int flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                damaged[random.nextInt(damaged.length)] = (byte) random.nextInt();
+            }
+            try {
+                codec.decompress(ByteBuffer.wrap(damaged), ByteBuffer.allocate(data.length));
+            } catch (CompressionException e) {
+                // Beklenen: bozuk veri algılandı
+            }
+        }
+    }
+    
+    private byte[] assertRoundTrip(byte[] data) {
+        byte[] compressed = compress(data);
+        ByteBuffer out = ByteBuffer.allocate(data.length);
+        codec.decompress(ByteBuffer.wrap(compressed), out);
+        assertArrayEquals("length " + data.length, data, out.array());
+        return compressed;
+    }
+    
+    private byte[] compress(byte[] data) {
+        ByteBuffer dst = ByteBuffer.allocate(codec.maxCompressedLength(data.length));
+        int written = codec.compress(ByteBuffer.wrap(data), dst);
+        return Arrays.copyOf(dst.array(), written);
+    }
+    
+    private void assertCorrupt(byte[] compressed, int uncompressedLength) {
+        try {
+            codec.decompress(ByteBuffer.wrap(compressed), ByteBuffer.allocate(uncompressedLength));
+            fail("Bozuk veri kabul edildi: " + Arrays.toString(compressed));
+        } catch (CompressionException e) {
+            // Beklenen
+        }
+    }
+    
+    private static ByteBuffer allocate(boolean direct, int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+    
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+    
+    private static byte[] repeated(int length, int period) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + i % period);
+        }
+        return bytes;
+    }
+}
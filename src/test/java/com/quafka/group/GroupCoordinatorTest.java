@@ -0,0 +1,163 @@
+package com.quafka.group;
+
+import com.quafka.config.LogConfig;
+import com.quafka.group.GroupCoordinator.MemberAssignment;
+import com.quafka.topic.TopicManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link GroupCoordinator} için nesil ve sahiplik denetimli offset commit'i ile
+ * yeniden dengelemede partition devri testleri.
+ */
+public class GroupCoordinatorTest {
+    private static final String GROUP = "faturalama";
+    private static final String TOPIC = "siparisler";
+    private static final int SESSION_TIMEOUT_MS = 60_000;
+    
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    
+    private TopicManager topicManager;
+    private GroupCoordinator coordinator;
+    
+    @Before
+    public void setUp() {
+        LogConfig config = new LogConfig.Builder()
+            .withLogDir(folder.getRoot().toPath().resolve("logs"))
+            .build();
+        topicManager = new TopicManager(config);
+        topicManager.createTopic(TOPIC, 4);
+        coordinator = new GroupCoordinator(topicManager, new OffsetStore(folder.getRoot().toPath().resolve("offsets")));
+    }
+    
+    @After
+    public void tearDown() {
+        coordinator.close();
+        topicManager.close();
+    }
+    
+    @Test
+    public void ownerCommitsWithCurrentGeneration() {
+        MemberAssignment member = join("");
+        assertEquals(List.of(0, 1, 2, 3), member.getPartitions());
+        
+        coordinator.commitOffsets(GROUP, member.getMemberId(), member.getGeneration(), TOPIC, Map.of(0, 10L, 3, 7L));
+        assertEquals(10, coordinator.fetchOffset(GROUP, TOPIC, 0));
+        assertEquals(7, coordinator.fetchOffset(GROUP, TOPIC, 3));
+        assertEquals(-1, coordinator.fetchOffset(GROUP, TOPIC, 1));
+    }
+    
+    @Test
+    public void rejectsCommitFromStaleGeneration() {
+        MemberAssignment first = join("");
+        MemberAssignment second = join("");
+        assertTrue(second.getGeneration() > first.getGeneration());
+        
+        // İlk üye yeniden dengelemeden habersiz eski nesille commit ediyor
+        assertRejected(first.getMemberId(), first.getGeneration(), Map.of(0, 5L));
+        assertEquals(-1, coordinator.fetchOffset(GROUP, TOPIC, 0));
+    }
+    
+    @Test
+    public void rejectsCommitForPartitionOwnedByAnotherMember() {
+        MemberAssignment first = join("");
+        MemberAssignment second = join("");
+        first = heartbeat(first, first.getPartitions());
+        int generation = second.getGeneration();
+        
+        int foreign = first.getPartitions().get(0);
+        assertRejected(second.getMemberId(), generation, Map.of(foreign, 5L));
+        assertEquals(-1, coordinator.fetchOffset(GROUP, TOPIC, foreign));
+    }
+    
+    @Test
+    public void rejectsCommitFromUnknownMember() {
+        MemberAssignment member = join("");
+        assertRejected("tanimsiz-uye", member.getGeneration(), Map.of(0, 5L));
+        
+        coordinator.leave(GROUP, member.getMemberId());
+        try {
+            coordinator.commitOffsets(GROUP, member.getMemberId(), member.getGeneration(), TOPIC, Map.of(0, 5L));
+            fail("Gruptan ayrılan üyenin commit'i kabul edildi");
+        } catch (GroupException e) {
+            // Beklenen
+        }
+        assertEquals(-1, coordinator.fetchOffset(GROUP, TOPIC, 0));
+    }
+    
+    @Test
+    public void acceptsCommitWithoutMembership() {
+        coordinator.commitOffsets(GROUP, "", 0, TOPIC, Map.of(2, 42L));
+        assertEquals(42, coordinator.fetchOffset(GROUP, TOPIC, 2));
+    }
+    
+    @Test
+    public void revokedPartitionsMoveOnlyAfterPreviousOwnerReleasesThem() {
+        MemberAssignment first = join("");
+        assertEquals(4, first.getPartitions().size());
+        
+        // İkinci üyeye atanan partition'lar ilk üye bırakana kadar verilmez
+        MemberAssignment second = join("");
+        assertTrue(second.getPartitions().isEmpty());
+        MemberAssignment stillOwned = heartbeat(first, first.getPartitions());
+        assertEquals(2, stillOwned.getPartitions().size());
+        assertTrue(heartbeat(second, Set.of()).getPartitions().isEmpty());
+        
+        // İlk üye yalnızca kendisine kalanları okuduğunu bildirince devir tamamlanır
+        heartbeat(first, stillOwned.getPartitions());
+        second = heartbeat(second, Set.of());
+        assertEquals(2, second.getPartitions().size());
+        Set<Integer> all = new HashSet<>(stillOwned.getPartitions());
+        all.addAll(second.getPartitions());
+        assertEquals(Set.of(0, 1, 2, 3), all);
+        
+        coordinator.commitOffsets(GROUP, second.getMemberId(), second.getGeneration(), TOPIC,
+            Map.of(second.getPartitions().get(0), 3L));
+        assertRejected(first.getMemberId(), second.getGeneration(), Map.of(second.getPartitions().get(0), 4L));
+    }
+    
+    @Test
+    public void partitionsOfLeavingMemberMoveImmediately() {
+        MemberAssignment first = join("");
+        MemberAssignment second = join("");
+        assertTrue(second.getPartitions().isEmpty());
+        
+        coordinator.leave(GROUP, first.getMemberId());
+        second = heartbeat(second, Set.of());
+        assertEquals(List.of(0, 1, 2, 3), second.getPartitions());
+    }
+    
+    private MemberAssignment join(String memberId) {
+        return coordinator.join(GROUP, TOPIC, memberId, SESSION_TIMEOUT_MS, AssignmentStrategy.RANGE);
+    }
+    
+    private MemberAssignment heartbeat(MemberAssignment member, List<Integer> owned) {
+        return heartbeat(member, new HashSet<>(owned));
+    }
+    
+    private MemberAssignment heartbeat(MemberAssignment member, Set<Integer> owned) {
+        return coordinator.heartbeat(GROUP, member.getMemberId(), owned);
+    }
+    
+    private void assertRejected(String memberId, int generation, Map<Integer, Long> offsets) {
+        try {
+            coordinator.commitOffsets(GROUP, memberId, generation, TOPIC, offsets);
+            fail("Commit kabul edildi: member=" + memberId + ", generation=" + generation);
+        } catch (GroupException e) {
+            // Beklenen
+        }
+    }
+}
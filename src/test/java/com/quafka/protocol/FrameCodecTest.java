@@ -0,0 +1,62 @@
+package com.quafka.protocol;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link FrameCodec} için gidiş-dönüş, eksik çerçeve ve geçersiz çerçeve uzunluğu testleri.
+ */
+public class FrameCodecTest {
+    
+    @Test
+    public void roundTripsFrames() throws ProtocolException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        FrameCodec.encode(Frame.of(OpCode.PUBLISH, 7, WireFormat.encodeString("merhaba")), buffer);
+        FrameCodec.encode(Frame.of(OpCode.FETCH, 8, ByteBuffer.allocate(0)), buffer);
+        buffer.flip();
+        
+        Frame first = FrameCodec.decode(buffer);
+        assertEquals(OpCode.PUBLISH, first.getOpCode());
+        assertEquals(7, first.getCorrelationId());
+        assertEquals(FrameCodec.VERSION, first.getVersion());
+        assertEquals("merhaba", WireFormat.decodeString(first.getPayload()));
+        
+        Frame second = FrameCodec.decode(buffer);
+        assertEquals(OpCode.FETCH, second.getOpCode());
+        assertEquals(8, second.getCorrelationId());
+        assertEquals(0, second.payloadSize());
+        assertEquals(0, buffer.remaining());
+    }
+    
+    @Test
+    public void partialFrameIsLeftInBuffer() throws ProtocolException {
+        ByteBuffer encoded = FrameCodec.encode(Frame.of(OpCode.PUBLISH, 1, WireFormat.encodeString("parça")));
+        int size = encoded.remaining();
+        for (int available = 0; available < size; available++) {
+            ByteBuffer partial = encoded.duplicate().limit(available);
+            assertNull("available " + available, FrameCodec.decode(partial));
+            // Eksik çerçeve buffer'ı ilerletmemeli
+            assertEquals(0, partial.position());
+        }
+        assertEquals(size, FrameCodec.requiredBytes(encoded));
+    }
+    
+    @Test
+    public void rejectsInvalidFrameLengths() {
+        for (int length : new int[] {-1, 0, FrameCodec.HEADER_SIZE - 1, FrameCodec.MAX_FRAME_SIZE + 1, Integer.MAX_VALUE}) {
+            ByteBuffer buffer = ByteBuffer.allocate(FrameCodec.LENGTH_SIZE + FrameCodec.HEADER_SIZE);
+            buffer.putInt(length).put(FrameCodec.VERSION).put(OpCode.PUBLISH.code()).putInt(1).flip();
+            try {
+                FrameCodec.decode(buffer);
+                fail("Geçersiz çerçeve uzunluğu kabul edildi: " + length);
+            } catch (ProtocolException e) {
+                // Beklenen
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.quafka.protocol;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link WireFormat} için gidiş-dönüş ve kalan içeriği aşan uzunluk alanlarının reddi testleri.
+ */
+public class WireFormatTest {
+    
+    @Test
+    public void roundTripsStringsAndBytes() throws ProtocolException {
+        for (boolean direct : new boolean[] {false, true}) {
+            ByteBuffer buffer = allocate(direct, 256);
+            WireFormat.putString(buffer, "sipariş-olayları");
+            WireFormat.putString(buffer, "");
+            WireFormat.putString(buffer, null);
+            WireFormat.putBytes(buffer, new byte[] {1, 2, 3});
+            WireFormat.putBytes(buffer, new byte[0]);
+            WireFormat.putBytes(buffer, null);
+            assertEquals(WireFormat.sizeOf("sipariş-olayları") + WireFormat.sizeOf("") + WireFormat.sizeOf((String) null)
+                + WireFormat.sizeOf(new byte[3]) + WireFormat.sizeOf(new byte[0]) + WireFormat.sizeOf((byte[]) null),
+                buffer.position());
+            buffer.flip();
+            
+            assertEquals("sipariş-olayları", WireFormat.getString(buffer));
+            assertEquals("", WireFormat.getString(buffer));
+            assertNull(WireFormat.getString(buffer));
+            assertArrayEquals(new byte[] {1, 2, 3}, WireFormat.getBytes(buffer));
+            assertArrayEquals(new byte[0], WireFormat.getBytes(buffer));
+            assertNull(WireFormat.getBytes(buffer));
+            assertEquals(0, buffer.remaining());
+        }
+    }
+    
+    @Test
+    public void rejectsBytesLengthBeyondRemaining() {
+        for (boolean direct : new boolean[] {false, true}) {
+            // Sahte bir uzunluk dizi ayrılmadan reddedilmeli
+            assertRejectsBytes(direct, Integer.MAX_VALUE, 0);
+            assertRejectsBytes(direct, 10, 9);
+            assertRejectsBytes(direct, 1, 0);
+        }
+    }
+    
+    @Test
+    public void rejectsStringLengthBeyondRemaining() {
+        for (boolean direct : new boolean[] {false, true}) {
+            assertRejectsString(direct, Short.MAX_VALUE, 0);
+            assertRejectsString(direct, 30000, 100);
+            assertRejectsString(direct, 5, 4);
+        }
+    }
+    
+    @Test
+    public void readsFieldsFillingTheBufferExactly() throws ProtocolException {
+        byte[] value = "tam sığan".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + value.length);
+        buffer.putInt(value.length).put(value).flip();
+        assertArrayEquals(value, WireFormat.getBytes(buffer));
+        
+        buffer = ByteBuffer.allocate(2 + value.length);
+        buffer.putShort((short) value.length).put(value).flip();
+        assertEquals("tam sığan", WireFormat.getString(buffer));
+    }
+    
+    private static void assertRejectsBytes(boolean direct, int length, int available) {
+        ByteBuffer buffer = allocate(direct, 4 + available);
+        buffer.putInt(length).position(buffer.limit()).flip();
+        try {
+            WireFormat.getBytes(buffer);
+            fail("Kalan içeriği aşan uzunluk kabul edildi: " + length + " > " + available);
+        } catch (ProtocolException e) {
+            // Beklenen
+        }
+    }
+    
+    private static void assertRejectsString(boolean direct, int length, int available) {
+        ByteBuffer buffer = allocate(direct, 2 + available);
+        buffer.putShort((short) length).position(buffer.limit()).flip();
+        try {
+            WireFormat.getString(buffer);
+            fail("Kalan içeriği aşan uzunluk kabul edildi: " + length + " > " + available);
+        } catch (ProtocolException e) {
+            // Beklenen
+        }
+    }
+    
+    private static ByteBuffer allocate(boolean direct, int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+}
@@ -0,0 +1,131 @@
+package com.quafka.storage;
+
+import com.quafka.config.LogConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link LogCleaner} için saklama sınırıyla segment silme, gecikmeli dosya silme ve
+ * sıkıştırma politikası testleri.
+ */
+public class LogCleanerTest {
+    private static final int SEGMENT_BYTES = 1024;
+    
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    
+    private LogConfig config;
+    private LogCleaner cleaner;
+    
+    @Before
+    public void setUp() {
+        config = new LogConfig.Builder()
+            .withLogDir(folder.getRoot().toPath())
+            .withSegmentBytes(SEGMENT_BYTES)
+            .withRetentionCheckIntervalMs(Long.MAX_VALUE)
+            .withFileDeleteDelayMs(60_000)
+            .withMinCleanableDirtyRatio(0.0)
+            .build();
+        cleaner = new LogCleaner(config);
+    }
+    
+    @After
+    public void tearDown() {
+        cleaner.close();
+    }
+    
+    @Test
+    public void removesSegmentsBeyondRetentionAndDeletesFilesLater() throws IOException {
+        try (PartitionLog log = open("silinen-0")) {
+            appendUnkeyed(log, 200);
+            int segments = log.getSegmentCount();
+            cleaner.register(log, CleanupPolicy.DELETE, -1, SEGMENT_BYTES * 2L);
+            
+            int removed = cleaner.cleanup();
+            assertTrue(removed > 0);
+            assertEquals(segments - removed, log.getSegmentCount());
+            assertTrue(log.getLogStartOffset() > 0);
+            // Dosyalar silinme gecikmesi boyunca işaretli olarak kalır
+            assertEquals(removed, count(log.getDir(), LogSegment.LOG_SUFFIX + LogSegment.DELETED_SUFFIX));
+            assertEquals(0, cleaner.getDeletedSegmentCount());
+            
+            // Sınır sağlandığından ikinci tur bir şey çıkarmaz
+            assertEquals(0, cleaner.cleanup());
+            
+            cleaner.close();
+            assertEquals(removed, cleaner.getDeletedSegmentCount());
+            assertEquals(0, count(log.getDir(), LogSegment.DELETED_SUFFIX));
+            assertEquals(log.getSegmentCount(), count(log.getDir(), LogSegment.LOG_SUFFIX));
+            cleaner.unregister(log);
+        }
+    }
+    
+    @Test
+    public void leavesLogsWithoutLimitsOrRegistrationUntouched() throws IOException {
+        try (PartitionLog unlimited = open("sinirsiz-0"); PartitionLog unregistered = open("kayitsiz-0")) {
+            appendUnkeyed(unlimited, 100);
+            appendUnkeyed(unregistered, 100);
+            int segments = unlimited.getSegmentCount();
+            cleaner.register(unlimited, CleanupPolicy.DELETE, -1, -1);
+            
+            assertEquals(0, cleaner.cleanup());
+            assertEquals(segments, unlimited.getSegmentCount());
+            assertEquals(segments, unregistered.getSegmentCount());
+            assertEquals(0, unregistered.getLogStartOffset());
+            cleaner.unregister(unlimited);
+        }
+    }
+    
+    @Test
+    public void compactsLogsWithCompactPolicy() throws IOException {
+        try (PartitionLog log = open("sikistirilan-0")) {
+            for (int round = 0; round < 30; round++) {
+                for (int key = 0; key < 4; key++) {
+                    log.append(LogRecord.of(bytes("key-" + key), bytes("value-" + round)));
+                }
+            }
+            long end = log.getLogEndOffset();
+            long size = log.sizeInBytes();
+            // Sıkıştırılan log'larda saklama sınırları uygulanmaz
+            cleaner.register(log, CleanupPolicy.COMPACT, 0, 0);
+            
+            assertTrue(cleaner.cleanup() > 0);
+            assertEquals(1, cleaner.getCompactionCount());
+            assertTrue(log.sizeInBytes() < size);
+            assertEquals(end, log.getLogEndOffset());
+            cleaner.unregister(log);
+        }
+    }
+    
+    private PartitionLog open(String name) {
+        return PartitionLog.open(folder.getRoot().toPath().resolve(name), config);
+    }
+    
+    private static void appendUnkeyed(PartitionLog log, int count) {
+        for (int i = 0; i < count; i++) {
+            log.append(LogRecord.of(null, bytes("value-" + i)));
+        }
+    }
+    
+    private static long count(Path dir, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
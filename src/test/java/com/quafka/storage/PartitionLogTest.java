@@ -0,0 +1,287 @@
+package com.quafka.storage;
+
+import com.quafka.config.LogConfig;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link PartitionLog} için yeniden açılışta kurtarma, yarım kalmış batch'lerin kesilmesi,
+ * saklama sınırları ve sıkıştırma testleri.
+ */
+public class PartitionLogTest {
+    private static final int SEGMENT_BYTES = 1024;
+    
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    
+    private PartitionLog log;
+    
+    @After
+    public void closeLog() {
+        if (log != null) {
+            log.close();
+        }
+    }
+    
+    @Test
+    public void reopensAfterCleanShutdown() {
+        log = open();
+        appendValues(0, 100);
+        long end = log.getLogEndOffset();
+        int segments = log.getSegmentCount();
+        assertTrue(segments > 1);
+        log.close();
+        assertTrue(Files.exists(dir().resolve(PartitionLog.CLEAN_SHUTDOWN_FILE)));
+        
+        log = open();
+        // İşaret açılışta silinir; sonraki çökme tam doğrulamaya düşmeli
+        assertFalse(Files.exists(dir().resolve(PartitionLog.CLEAN_SHUTDOWN_FILE)));
+        assertEquals(end, log.getLogEndOffset());
+        assertEquals(segments, log.getSegmentCount());
+        assertValues(0, 100);
+        assertEquals(100, log.append(LogRecord.of(null, bytes("value-100"))));
+    }
+    
+    @Test
+    public void truncatesTornBatchAfterCrash() throws IOException {
+        log = open();
+        appendValues(0, 50);
+        crash();
+        // Sıradaki offset'li batch'in yalnızca bir kısmı diske yazılmış gibi
+        byte[] torn = encode(new LogRecord(50, System.currentTimeMillis(), null, bytes("value-50")));
+        appendToLastSegment(Arrays.copyOf(torn, torn.length - 5));
+        
+        log = open();
+        assertEquals(50, log.getLogEndOffset());
+        assertValues(0, 50);
+        assertEquals(50, log.append(LogRecord.of(null, bytes("value-50"))));
+        assertValues(0, 51);
+    }
+    
+    @Test
+    public void truncatesBatchWithBadCrcAfterCrash() throws IOException {
+        log = open();
+        appendValues(0, 40);
+        log.append(List.of(LogRecord.of(null, bytes("a")), LogRecord.of(null, bytes("b"))));
+        crash();
+        // Son batch'in son byte'ı bozulur; uzunluk alanı tam olduğu halde CRC tutmaz
+        Path segment = lastSegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            last.put(0, (byte) (last.get(0) ^ 0xFF)).clear();
+            channel.write(last, channel.size() - 1);
+        }
+        
+        log = open();
+        assertEquals(40, log.getLogEndOffset());
+        assertValues(0, 40);
+        assertEquals(40, log.append(LogRecord.of(null, bytes("value-40"))));
+    }
+    
+    @Test
+    public void truncatesGarbageTailAfterCrash() throws IOException {
+        log = open();
+        appendValues(0, 10);
+        crash();
+        appendToLastSegment(new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0x7F, 0x7F, 0x7F, 0x7F});
+        
+        log = open();
+        assertEquals(10, log.getLogEndOffset());
+        assertValues(0, 10);
+    }
+    
+    @Test
+    public void removesSegmentsBeyondRetentionBytes() {
+        log = open();
+        appendValues(0, 200);
+        int segments = log.getSegmentCount();
+        long size = log.sizeInBytes();
+        assertTrue(segments > 4);
+        
+        List<LogSegment> removed = log.removeExpiredSegments(-1, SEGMENT_BYTES * 2L, System.currentTimeMillis());
+        assertFalse(removed.isEmpty());
+        assertEquals(segments - removed.size(), log.getSegmentCount());
+        assertTrue(log.sizeInBytes() < size);
+        // Bir segment daha çıkarılsaydı log sınırın altına inerdi
+        assertTrue(log.sizeInBytes() >= SEGMENT_BYTES * 2L);
+        
+        long start = log.getLogStartOffset();
+        assertTrue(start > 0);
+        assertEquals(removed.get(removed.size() - 1).getNextOffset(), start);
+        List<LogRecord> records = log.read(0, 1);
+        assertEquals(start, records.get(0).getOffset());
+        assertEquals(200, log.getLogEndOffset());
+    }
+    
+    @Test
+    public void removesExpiredSegmentsButNeverTheActiveOne() {
+        log = open();
+        appendValues(0, 200);
+        long now = System.currentTimeMillis();
+        assertTrue(log.removeExpiredSegments(60_000, -1, now).isEmpty());
+        assertTrue(log.removeExpiredSegments(-1, -1, now + 3_600_000).isEmpty());
+        
+        List<LogSegment> removed = log.removeExpiredSegments(60_000, -1, now + 3_600_000);
+        assertFalse(removed.isEmpty());
+        assertEquals(1, log.getSegmentCount());
+        assertEquals(200, log.getLogEndOffset());
+        assertEquals(log.getLogStartOffset(), log.read(0, 1).get(0).getOffset());
+        assertEquals(200, log.append(LogRecord.of(null, bytes("value-200"))));
+    }
+    
+    @Test
+    public void compactionKeepsLatestValuePerKey() {
+        log = open();
+        // 8 anahtar, her biri 30 kez güncellenir
+        for (int round = 0; round < 30; round++) {
+            for (int key = 0; key < 8; key++) {
+                log.append(LogRecord.of(bytes("key-" + key), bytes("value-" + key + "-" + round)));
+            }
+        }
+        log.append(LogRecord.of(null, bytes("anahtarsız")));
+        long end = log.getLogEndOffset();
+        Map<String, String> before = latestValues(log.read(0, Integer.MAX_VALUE));
+        
+        List<LogSegment> replaced = log.compact(Long.MAX_VALUE, 0.0, System.currentTimeMillis());
+        assertFalse(replaced.isEmpty());
+        assertTrue(log.getCompactedOffset() > 0);
+        assertEquals(end, log.getLogEndOffset());
+        
+        List<LogRecord> records = log.read(0, Integer.MAX_VALUE);
+        assertEquals(before, latestValues(records));
+        long previous = -1;
+        Set<String> compactedKeys = new HashSet<>();
+        boolean unkeyed = false;
+        for (LogRecord record : records) {
+            // Offset'ler korunur ve artan sırada kalır
+            assertTrue(record.getOffset() > previous);
+            previous = record.getOffset();
+            if (record.getKey() == null) {
+                unkeyed = true;
+            } else if (record.getOffset() < log.getCompactedOffset()) {
+                assertTrue("tekrarlanan anahtar " + string(record.getKey()),
+                    compactedKeys.add(string(record.getKey())));
+            }
+        }
+        assertTrue(unkeyed);
+        assertTrue(records.size() < 30 * 8);
+    }
+    
+    @Test
+    public void compactionRemovesExpiredTombstones() {
+        log = open();
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 4; key++) {
+                log.append(LogRecord.of(bytes("key-" + key), bytes("value-" + key + "-" + round)));
+            }
+        }
+        long tombstone = log.append(LogRecord.of(bytes("key-0"), null));
+        // Aktif segment'i doldurarak silme işaretini sıkıştırılabilir kısma taşı
+        appendValues(log.getLogEndOffset(), 60);
+        
+        long now = System.currentTimeMillis();
+        log.compact(0, 0.0, now + 60_000);
+        assertTrue(log.getCompactedOffset() > tombstone);
+        Map<String, String> latest = latestValues(log.read(0, Integer.MAX_VALUE));
+        // Silme işareti ve anahtarın önceki değerleri atılır, diğer anahtarlar kalır
+        assertFalse("silinen anahtar hâlâ okunuyor", latest.containsKey("key-0"));
+        for (int key = 1; key < 4; key++) {
+            assertEquals("value-" + key + "-19", latest.get("key-" + key));
+        }
+    }
+    
+    private PartitionLog open() {
+        LogConfig config = new LogConfig.Builder()
+            .withLogDir(folder.getRoot().toPath())
+            .withSegmentBytes(SEGMENT_BYTES)
+            .withIndexIntervalBytes(128)
+            .build();
+        return PartitionLog.open(dir(), config);
+    }
+    
+    private Path dir() {
+        return folder.getRoot().toPath().resolve("test-0");
+    }
+    
+    /**
+     * Log'u işaret dosyası olmadan, çökmüş gibi bırakır.
+     */
+    private void crash() throws IOException {
+        log.close();
+        log = null;
+        Files.delete(dir().resolve(PartitionLog.CLEAN_SHUTDOWN_FILE));
+    }
+    
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir())) {
+            return files.filter(path -> path.getFileName().toString().endsWith(LogSegment.LOG_SUFFIX))
+                .max(Path::compareTo)
+                .orElseThrow();
+        }
+    }
+    
+    private void appendToLastSegment(byte[] bytes) throws IOException {
+        Files.write(lastSegment(), bytes, StandardOpenOption.APPEND);
+    }
+    
+    private void appendValues(long from, int count) {
+        for (long offset = from; offset < from + count; offset++) {
+            assertEquals(offset, log.append(LogRecord.of(null, bytes("value-" + offset))));
+        }
+    }
+    
+    private void assertValues(long from, long to) {
+        List<LogRecord> records = log.read(from, Integer.MAX_VALUE);
+        assertEquals(to - from, records.size());
+        for (LogRecord record : records) {
+            assertEquals("value-" + record.getOffset(), record.valueAsString());
+        }
+    }
+    
+    private static Map<String, String> latestValues(List<LogRecord> records) {
+        Map<String, String> latest = new HashMap<>();
+        for (LogRecord record : records) {
+            if (record.getKey() != null) {
+                latest.put(string(record.getKey()), record.getValue() == null ? null : record.valueAsString());
+            }
+        }
+        return latest;
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] encode(LogRecord record) {
+        List<LogRecord> records = List.of(record);
+        ByteBuffer batch = ByteBuffer.allocate(RecordBatch.sizeInBytes(records));
+        RecordBatch.encodeWithOffsets(records, batch);
+        return batch.array();
+    }
+}
@@ -0,0 +1,101 @@
+package com.quafka.storage;
+
+import com.quafka.compression.CompressionException;
+import com.quafka.compression.CompressionType;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link RecordBatch} için kodlama gidiş-dönüşü ile kayıt düzeni bozuk batch'lerin
+ * {@link RecordBatch#hasValidRecords()} tarafından reddedilmesi testleri.
+ */
+public class RecordBatchTest {
+    private static final List<LogRecord> RECORDS = List.of(
+        LogRecord.of(bytes("anahtar"), bytes("değer")),
+        LogRecord.of(null, bytes("anahtarsız")),
+        LogRecord.of(bytes("silinen"), null));
+    
+    @Test
+    public void roundTripsRecords() {
+        RecordBatch batch = new RecordBatch(RecordBatch.encode(RECORDS));
+        assertTrue(batch.isValid());
+        assertTrue(batch.hasValidRecords());
+        assertEquals(3, batch.recordCount());
+        assertEquals(2, batch.lastOffset());
+        
+        List<LogRecord> decoded = new ArrayList<>();
+        batch.readRecords(0, Integer.MAX_VALUE, decoded);
+        assertEquals(3, decoded.size());
+        assertEquals("değer", decoded.get(0).valueAsString());
+        assertNull(decoded.get(1).getKey());
+        assertNull(decoded.get(2).getValue());
+    }
+    
+    @Test
+    public void acceptsCompressedBatches() {
+        for (CompressionType type : new CompressionType[] {CompressionType.LZ4, CompressionType.DEFLATE}) {
+            RecordBatch batch = new RecordBatch(RecordBatch.compress(RecordBatch.encode(RECORDS), type));
+            assertEquals(type, batch.compressionType());
+            assertTrue(type.name(), batch.hasValidRecords());
+        }
+    }
+    
+    @Test
+    public void rejectsInconsistentRecordCount() {
+        assertFalse(batchWith(RecordBatch.RECORD_COUNT_OFFSET, 4).hasValidRecords());
+        assertFalse(batchWith(RecordBatch.RECORD_COUNT_OFFSET, 2).hasValidRecords());
+        assertFalse(batchWith(RecordBatch.RECORD_COUNT_OFFSET, Integer.MAX_VALUE).hasValidRecords());
+    }
+    
+    @Test
+    public void rejectsOutOfRangeFieldLengths() {
+        int keyLength = RecordBatch.RECORDS_OFFSET + 12;
+        assertFalse(batchWith(keyLength, Integer.MAX_VALUE).hasValidRecords());
+        assertFalse(batchWith(keyLength, -2).hasValidRecords());
+        // İlk kaydın değer uzunluğu, 7 byte'lık anahtarın ardından
+        int valueLength = keyLength + 4 + 7;
+        assertFalse(batchWith(valueLength, 1000).hasValidRecords());
+        assertFalse(batchWith(valueLength, Integer.MIN_VALUE).hasValidRecords());
+    }
+    
+    @Test
+    public void rejectsNonSequentialOffsetDeltas() {
+        assertFalse(batchWith(RecordBatch.RECORDS_OFFSET, 1).hasValidRecords());
+    }
+    
+    @Test
+    public void rejectsShortUncompressedLength() {
+        ByteBuffer compressed = RecordBatch.compress(RecordBatch.encode(RECORDS), CompressionType.LZ4);
+        compressed.putInt(RecordBatch.RECORDS_OFFSET, RecordBatch.RECORD_OVERHEAD * 3 - 1);
+        assertFalse(new RecordBatch(compressed).hasValidRecords());
+    }
+    
+    @Test(expected = CompressionException.class)
+    public void rejectsUnknownCompressionType() {
+        ByteBuffer buffer = RecordBatch.encode(RECORDS);
+        buffer.put(RecordBatch.ATTRIBUTES_OFFSET, (byte) 5);
+        new RecordBatch(buffer).hasValidRecords();
+    }
+    
+    /**
+     * Verilen pozisyondaki int alanı değiştirilmiş bir batch döndürür.
+     */
+    private static RecordBatch batchWith(int position, int value) {
+        ByteBuffer buffer = RecordBatch.encode(RECORDS);
+        buffer.putInt(position, value);
+        return new RecordBatch(buffer);
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}